@@ -2,13 +2,17 @@ package com.rosterreview.config;
 
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
+import org.springframework.core.env.Environment;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
@@ -33,6 +37,9 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 @EnableWebMvc
 public class AppConfig implements WebMvcConfigurer {
 
+    @Autowired
+    private Environment env;
+
     /**
      * Configures an {@link ObjectMapper} bean.
      *
@@ -46,6 +53,23 @@ public class AppConfig implements WebMvcConfigurer {
         return mapper;
     }
 
+    /**
+     * Configures the {@link ThreadPoolTaskScheduler} that runs
+     * {@link Scheduled} methods. A long-running task, such as a data update,
+     * holds its thread until it finishes, so the pool must have room for the
+     * periodic tasks that run alongside it.
+     *
+     * @return  a configured ThreadPoolTaskScheduler
+     */
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(env.getProperty("scheduler.pool.size", Integer.class, 4));
+        scheduler.setThreadNamePrefix("scheduler-");
+
+        return scheduler;
+    }
+
     @Override
     public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
         for (HttpMessageConverter<?> converter : converters) {
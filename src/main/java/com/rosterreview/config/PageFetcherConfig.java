@@ -0,0 +1,177 @@
+package com.rosterreview.config;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.rosterreview.data.ArchivingPageFetcher;
+import com.rosterreview.data.HtmlUnitPageFetcher;
+import com.rosterreview.data.HttpClientPageFetcher;
+import com.rosterreview.data.PageArchive;
+import com.rosterreview.data.PageFetcher;
+import com.rosterreview.data.RateLimitedPageFetcher;
+import com.rosterreview.data.ReplayPageFetcher;
+import com.rosterreview.data.WebClientPool;
+
+/**
+ * This {@link Configuration} class creates the {@link PageFetcher} used to
+ * retrieve web pages from external data sources. Requests are throttled per
+ * host by a {@link RateLimitedPageFetcher}, which adapts its request rate to
+ * the host's responses.
+ * <p>
+ * The following configuration properties may be defined in
+ * <code>classpath:rosterreview.properties</code>
+ * <ul>
+ * <li>player.data.source:                   <code>pfr</code> (default) to
+ *                                           retrieve pages from the live site, or
+ *                                           <code>replay</code> to replay pages
+ *                                           archived on the local file system.
+ *                                           Replayed pages are not throttled.</li>
+ * <li>player.data.archive.path:             The directory that pages retrieved
+ *                                           from the live site are archived to,
+ *                                           if set. See {@link PageArchive}.</li>
+ * <li>player.data.replay.path:              The directory or zip archive that
+ *                                           replayed pages are read from. See
+ *                                           {@link ReplayPageFetcher}.</li>
+ * <li>player.data.fetch.mode:               <code>htmlunit</code> (default) to
+ *                                           retrieve pages with a JavaScript enabled
+ *                                           HtmlUnit browser, or <code>http</code> to
+ *                                           retrieve them with a lightweight HTTP
+ *                                           client.</li>
+ * <li>player.data.fetch.timeout.ms:         The maximum time (ms) to wait for a
+ *                                           response in <code>http</code> mode.</li>
+ * <li>player.data.crawl.host.concurrency:   The maximum number of concurrent
+ *                                           requests sent to a single host.</li>
+ * <li>player.data.crawl.host.rate:          The initial rate (requests per second)
+ *                                           for each host.</li>
+ * <li>player.data.crawl.host.rate.min:      The minimum rate (requests per second)
+ *                                           for each host.</li>
+ * <li>player.data.crawl.host.rate.max:      The maximum rate (requests per second)
+ *                                           for each host.</li>
+ * <li>player.data.crawl.host.burst:         The maximum number of requests sent to
+ *                                           a host in a burst.</li>
+ * <li>player.data.crawl.host.max.pause.ms:  The maximum time (ms) that a
+ *                                           <code>Retry-After</code> header may
+ *                                           pause requests.</li>
+ * </ul>
+ */
+
+@Configuration
+public class PageFetcherConfig {
+
+    /**
+     * Fetch mode that retrieves pages with a JavaScript enabled HtmlUnit browser.
+     */
+    public static final String HTMLUNIT_MODE = "htmlunit";
+
+    /**
+     * Fetch mode that retrieves pages with a {@link java.net.http.HttpClient}.
+     */
+    public static final String HTTP_MODE = "http";
+
+    /**
+     * Data source that retrieves pages from https://www.pro-football-reference.com.
+     */
+    public static final String PFR_SOURCE = "pfr";
+
+    /**
+     * Data source that replays pages archived on the local file system.
+     */
+    public static final String REPLAY_SOURCE = "replay";
+
+    @Autowired
+    private Environment env;
+
+    @Autowired
+    private WebClientPool webClientPool;
+
+    @Autowired
+    private PageArchive pageArchive;
+
+    /**
+     * Configures a rate limited {@link PageFetcher} for the configured data
+     * source and fetch mode.
+     *
+     * @return  a configured PageFetcher
+     * @throws IllegalStateException  if the configured data source or fetch
+     *                                mode is not recognized
+     * @throws UncheckedIOException   if the replay archive cannot be opened
+     */
+    @Bean
+    public RateLimitedPageFetcher pageFetcher() {
+        String source = env.getProperty("player.data.source", PFR_SOURCE).trim();
+
+        switch (source) {
+            case PFR_SOURCE:
+                break;
+            case REPLAY_SOURCE:
+                // The local file system needs no protection from request bursts
+                return new RateLimitedPageFetcher(replayPageFetcher(), Integer.MAX_VALUE,
+                        1e9, 1e9, 1e9, Integer.MAX_VALUE, 0L);
+            default:
+                throw new IllegalStateException("Unrecognized player.data.source '"
+                        + source + "'");
+        }
+
+        PageFetcher pageFetcher = pageArchive.isEnabled()
+                ? new ArchivingPageFetcher(modePageFetcher(), pageArchive) : modePageFetcher();
+
+        return new RateLimitedPageFetcher(pageFetcher,
+                env.getProperty("player.data.crawl.host.concurrency", Integer.class, 2),
+                env.getProperty("player.data.crawl.host.rate", Double.class, 1.0),
+                env.getProperty("player.data.crawl.host.rate.min", Double.class, 0.1),
+                env.getProperty("player.data.crawl.host.rate.max", Double.class, 4.0),
+                env.getProperty("player.data.crawl.host.burst", Integer.class, 2),
+                env.getProperty("player.data.crawl.host.max.pause.ms", Long.class, 600000L));
+    }
+
+    /**
+     * Creates the {@link ReplayPageFetcher} for the configured replay archive.
+     *
+     * @return  a ReplayPageFetcher
+     * @throws IllegalStateException  if no replay archive is configured
+     * @throws UncheckedIOException   if the replay archive cannot be opened
+     */
+    private PageFetcher replayPageFetcher() {
+        String path = env.getProperty("player.data.replay.path", "").trim();
+        if (path.isEmpty()) {
+            throw new IllegalStateException("player.data.replay.path must be set when "
+                    + "player.data.source is '" + REPLAY_SOURCE + "'");
+        }
+
+        try {
+            return new ReplayPageFetcher(Paths.get(path), webClientPool);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to open replay archive '" + path + "'", ex);
+        }
+    }
+
+    /**
+     * Creates the {@link PageFetcher} for the configured fetch mode.
+     *
+     * @return  an unthrottled PageFetcher
+     * @throws IllegalStateException  if the configured fetch mode is not recognized
+     */
+    private PageFetcher modePageFetcher() {
+        String mode = env.getProperty("player.data.fetch.mode", HTMLUNIT_MODE).trim();
+
+        switch (mode) {
+            case HTMLUNIT_MODE:
+                return new HtmlUnitPageFetcher(webClientPool);
+            case HTTP_MODE:
+                long timeoutMillis = env.getProperty("player.data.fetch.timeout.ms",
+                        Long.class, 30000L);
+                return new HttpClientPageFetcher(webClientPool,
+                        Duration.ofMillis(timeoutMillis));
+            default:
+                throw new IllegalStateException("Unrecognized player.data.fetch.mode '"
+                        + mode + "'");
+        }
+    }
+}
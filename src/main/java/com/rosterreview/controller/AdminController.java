@@ -0,0 +1,219 @@
+package com.rosterreview.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.rosterreview.data.DraftClassIngester;
+import com.rosterreview.data.DraftClassIngester.DraftLoadStatistics;
+import com.rosterreview.data.HostThrottle.ThrottleStatistics;
+import com.rosterreview.data.IngestPipeline.StageStatistics;
+import com.rosterreview.data.PageReprocessJob;
+import com.rosterreview.data.PageReprocessJob.ReprocessStatistics;
+import com.rosterreview.data.PlayerBackfillJob;
+import com.rosterreview.data.PlayerCrawler;
+import com.rosterreview.data.RateLimitedPageFetcher;
+import com.rosterreview.entity.CrawlFrontierEntry;
+import com.rosterreview.entity.CrawlFrontierEntry.State;
+import com.rosterreview.service.CrawlFrontierService;
+import com.rosterreview.service.CrawlFrontierService.JobProgress;
+
+/**
+ * A {@link RestController} that handles requests for the state of the data
+ * update process.
+ * <p>
+ * Requests that start a job are refused with status 403 unless the
+ * <code>admin.jobs.enabled</code> property is <code>true</code>. It defaults
+ * to <code>false</code>, as the jobs are expensive and the requests are not
+ * authenticated; enable it only where the admin API is not publicly
+ * reachable.
+ */
+
+@RequestMapping("/api/admin")
+@RestController
+public class AdminController {
+
+    @Autowired
+    private PlayerCrawler playerCrawler;
+
+    @Autowired
+    private CrawlFrontierService crawlFrontierService;
+
+    @Autowired
+    private RateLimitedPageFetcher pageFetcher;
+
+    @Autowired
+    private PlayerBackfillJob playerBackfillJob;
+
+    @Autowired
+    private DraftClassIngester draftClassIngester;
+
+    @Autowired
+    private PageReprocessJob pageReprocessJob;
+
+    @Value("${admin.jobs.enabled:false}")
+    private boolean jobsEnabled;
+
+    /**
+     * Request the statistics of each stage of the current or most recent
+     * player crawl.
+     *
+     * @return  a list of stage statistics, which is empty if no crawl has run
+     */
+    @GetMapping(value = "/ingest")
+    @ResponseStatus(HttpStatus.OK)
+    public List<StageStatistics> getIngestStatistics() {
+        return playerCrawler.getStatistics();
+    }
+
+    /**
+     * Request the permitted and effective request rates for each host that
+     * data has been retrieved from.
+     *
+     * @return  a list of throttle statistics, one per host
+     */
+    @GetMapping(value = "/rate")
+    @ResponseStatus(HttpStatus.OK)
+    public List<ThrottleStatistics> getRateStatistics() {
+        return pageFetcher.getStatistics();
+    }
+
+    /**
+     * Request the number of pages in each state of the crawl frontier.
+     *
+     * @return  a mapping of every frontier state to the number of pages in it
+     */
+    @GetMapping(value = "/frontier")
+    @ResponseStatus(HttpStatus.OK)
+    public Map<State, Long> getFrontierStateCounts() {
+        return crawlFrontierService.getStateCounts();
+    }
+
+    /**
+     * Request the pages that failed during the current or most recent data
+     * update and will not be retried, with the error that caused each
+     * page's final failure.
+     *
+     * @return  a list of failed crawl frontier entries, most recently
+     *          attempted first
+     */
+    @GetMapping(value = "/frontier/failed")
+    @ResponseStatus(HttpStatus.OK)
+    public List<CrawlFrontierEntry> getFailedPages() {
+        return crawlFrontierService.getFailedPages();
+    }
+
+    /**
+     * Request that a historical backfill of every indexed player be started,
+     * or resumed if a previous backfill was interrupted.
+     *
+     * @return  the progress of the backfill, with status 202 if it was
+     *          started, or status 409 if a backfill or another crawl is
+     *          already in progress, or status 403 if jobs are disabled
+     */
+    @PostMapping(value = "/backfill")
+    public ResponseEntity<JobProgress> startBackfill() {
+        if (!jobsEnabled) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        HttpStatus status = playerBackfillJob.start() ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT;
+
+        return ResponseEntity.status(status).body(playerBackfillJob.getProgress());
+    }
+
+    /**
+     * Request the progress and estimated completion of the current or most
+     * recent historical backfill.
+     *
+     * @return  the progress of the backfill
+     */
+    @GetMapping(value = "/backfill")
+    @ResponseStatus(HttpStatus.OK)
+    public JobProgress getBackfillProgress() {
+        return playerBackfillJob.getProgress();
+    }
+
+    /**
+     * Request that the player data be re-derived from the archived player
+     * pages, without retrieving them again.
+     *
+     * @param positionsOnly  <code>true</code> to only recompute and write the
+     *                       positions of the stored players' seasons
+     * @return               the progress of the reprocess, with status 202 if
+     *                       it was started, or status 409 if the page archive
+     *                       is disabled, or a reprocess or a crawl is already
+     *                       in progress, or status 403 if jobs are disabled
+     */
+    @PostMapping(value = "/reprocess")
+    public ResponseEntity<ReprocessStatistics> startReprocess(@RequestParam(
+            value = "positionsOnly", defaultValue = "false") boolean positionsOnly) {
+        if (!jobsEnabled) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        HttpStatus status = pageReprocessJob.start(positionsOnly) ? HttpStatus.ACCEPTED
+                : HttpStatus.CONFLICT;
+
+        return ResponseEntity.status(status).body(pageReprocessJob.getStatistics());
+    }
+
+    /**
+     * Request the progress of the current or most recent reprocess of the
+     * archived player pages.
+     *
+     * @return  the progress of the reprocess
+     */
+    @GetMapping(value = "/reprocess")
+    @ResponseStatus(HttpStatus.OK)
+    public ReprocessStatistics getReprocessStatistics() {
+        return pageReprocessJob.getStatistics();
+    }
+
+    /**
+     * Request that the draft picks of a league's draft classes be loaded from
+     * the draft page of each year in a range.
+     *
+     * @param league  the league that held the drafts
+     * @param from    the first year to load
+     * @param to      the last year to load, inclusive
+     * @return        the progress of the load, with status 202 if it was
+     *                started, or status 409 if a load or a crawl is already
+     *                in progress, or status 403 if jobs are disabled
+     */
+    @PostMapping(value = "/drafts")
+    public ResponseEntity<DraftLoadStatistics> loadDraftClasses(
+            @RequestParam(value = "league", defaultValue = "NFL") String league,
+            @RequestParam(value = "from") int from,
+            @RequestParam(value = "to") int to) {
+        if (!jobsEnabled) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        HttpStatus status = draftClassIngester.start(league, from, to) ? HttpStatus.ACCEPTED
+                : HttpStatus.CONFLICT;
+
+        return ResponseEntity.status(status).body(draftClassIngester.getStatistics());
+    }
+
+    /**
+     * Request the progress of the current or most recent draft class load.
+     *
+     * @return  the progress of the load
+     */
+    @GetMapping(value = "/drafts")
+    @ResponseStatus(HttpStatus.OK)
+    public DraftLoadStatistics getDraftLoadStatistics() {
+        return draftClassIngester.getStatistics();
+    }
+}
@@ -1,18 +1,29 @@
 package com.rosterreview.controller;
 
 import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.rosterreview.data.HttpStatusException;
+import com.rosterreview.data.PlayerRefresher;
 import com.rosterreview.entity.Player;
+import com.rosterreview.service.PfrDataParsingService;
 import com.rosterreview.service.PlayerService;
 
 /**
@@ -28,6 +39,12 @@ public class PlayerController {
     @Autowired
     private PlayerService playerService;
 
+    @Autowired
+    private PlayerRefresher playerRefresher;
+
+    @Value("${player.data.refresh.timeout.ms:30000}")
+    private long refreshTimeoutMillis;
+
     /**
      * Request profile and statistical data for the {@link Player} specified by id.
      *
@@ -41,6 +58,49 @@ public class PlayerController {
         return playerService.getPlayer(id);
     }
 
+    /**
+     * Request that the data of the {@link Player} with the specified PFR id be
+     * refreshed from the player's profile page, outside of the scheduled data
+     * updates. Concurrent requests for the same player share one refresh, and
+     * a player refreshed recently is not refreshed again. See
+     * {@link PlayerRefresher}.
+     *
+     * @param pfrId  the PFR id of the player to refresh
+     * @return       the refreshed player with status 200; status 400 if the
+     *               PFR id is malformed, 202 if the refresh did not finish
+     *               within the refresh timeout, 404 if the player's page does
+     *               not exist, 503 if too many refreshes are pending, or 502
+     *               if the refresh failed
+     */
+    @PostMapping(value = "/refresh")
+    public ResponseEntity<Player> refreshPlayer(@RequestParam("pfrId") String pfrId) {
+        if (!PfrDataParsingService.isPfrId(pfrId)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            String playerId = playerRefresher.refresh(pfrId)
+                    .get(refreshTimeoutMillis, TimeUnit.MILLISECONDS);
+            return ResponseEntity.ok(playerService.getPlayer(playerId));
+        } catch (TimeoutException ex) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).build();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (ExecutionException | CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RejectedExecutionException) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+            }
+            if (cause instanceof HttpStatusException
+                    && ((HttpStatusException) cause).getStatusCode() == 404) {
+                return ResponseEntity.notFound().build();
+            }
+            LOG.warn("Unable to refresh player with PFR id: {}.", pfrId, cause);
+            return ResponseEntity.status(HttpStatus.BAD_GATEWAY).build();
+        }
+    }
+
     /**
      * Retrieves profile information for {@link Player Players} with names
      * similar to the passed 'name' argument.
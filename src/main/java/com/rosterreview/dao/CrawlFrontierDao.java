@@ -0,0 +1,347 @@
+package com.rosterreview.dao;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.query.Query;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import com.rosterreview.entity.CrawlFrontierEntry;
+import com.rosterreview.entity.CrawlFrontierEntry.State;
+
+/**
+ * A {@link Repository} for {@link CrawlFrontierEntry} data operations.
+ * <p>
+ * All operations must be performed within a transaction.
+ */
+
+@Repository
+public class CrawlFrontierDao {
+
+    @Autowired
+    private SessionFactory sessionFactory;
+
+    /**
+     * The maximum number of URLs added by a single statement.
+     */
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    /**
+     * Adds the indicated URLs to the frontier as {@link State#PENDING}
+     * entries of the indicated job with the indicated priorities. URLs
+     * already in the frontier are reset to pending and assigned to the job,
+     * and their attempts and errors are cleared.
+     *
+     * @param job            the name of the data update job
+     * @param urlPriorities  a mapping of the URLs to add to their priorities
+     */
+    public void addPendingUrls(String job, Map<String, Integer> urlPriorities) {
+        Session session = sessionFactory.getCurrentSession();
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>(urlPriorities.entrySet());
+
+        for (int start = 0; start < entries.size(); start += INSERT_BATCH_SIZE) {
+            List<Map.Entry<String, Integer>> batch = entries.subList(start,
+                    Math.min(start + INSERT_BATCH_SIZE, entries.size()));
+            String sql = "INSERT INTO crawl_frontier (url, job, priority, state, attempts) "
+                    + "VALUES " + String.join(", ",
+                            Collections.nCopies(batch.size(), "(?, ?, ?, 'PENDING', 0)"))
+                    + " ON DUPLICATE KEY UPDATE job = VALUES(job), priority = VALUES(priority), "
+                    + "state = 'PENDING', attempts = 0, next_attempt = NULL, "
+                    + "error_class = NULL, error_summary = NULL";
+
+            NativeQuery<?> query = session.createNativeQuery(sql);
+            int index = 1;
+            for (Map.Entry<String, Integer> entry : batch) {
+                query.setParameter(index++, entry.getKey());
+                query.setParameter(index++, job);
+                query.setParameter(index++, entry.getValue());
+            }
+            query.executeUpdate();
+        }
+    }
+
+    /**
+     * Claims up to the indicated number of {@link State#PENDING} entries whose
+     * next attempt is due, marking them {@link State#CLAIMED} and recording
+     * the attempt. Entries are claimed in order of descending priority, and
+     * then by the time of their last success, oldest first.
+     *
+     * @param limit  the maximum number of entries to claim
+     * @return       the URLs of the claimed entries, which is empty if no
+     *               entries are due
+     */
+    public List<String> claimPendingUrls(int limit) {
+        final String sql = "SELECT url FROM crawl_frontier WHERE state = 'PENDING' "
+                + "AND (next_attempt IS NULL OR next_attempt <= :now) "
+                + "ORDER BY priority DESC, last_success, url LIMIT :limit FOR UPDATE";
+        final String hql = "UPDATE CrawlFrontierEntry e SET e.state = :claimed, "
+                + "e.attempts = e.attempts + 1, e.lastAttempt = :now "
+                + "WHERE e.url IN (:urls)";
+
+        Session session = sessionFactory.getCurrentSession();
+        LocalDateTime now = LocalDateTime.now();
+        NativeQuery<?> select = session.createNativeQuery(sql);
+        select.setParameter("now", now);
+        select.setParameter("limit", limit);
+
+        List<String> urls = new ArrayList<>();
+        for (Object url : select.getResultList()) {
+            urls.add((String) url);
+        }
+
+        if (!urls.isEmpty()) {
+            Query<?> update = session.createQuery(hql);
+            update.setParameter("claimed", State.CLAIMED);
+            update.setParameter("now", now);
+            update.setParameterList("urls", urls);
+            update.executeUpdate();
+        }
+
+        return urls;
+    }
+
+    /**
+     * Updates the state of the indicated entry.
+     *
+     * @param url    the URL of the entry
+     * @param state  the entry's new state
+     * @return       <code>true</code> if the entry was updated,
+     *               <code>false</code> if it is not in the frontier
+     */
+    public boolean updateState(String url, State state) {
+        Session session = sessionFactory.getCurrentSession();
+        CrawlFrontierEntry entry = session.get(CrawlFrontierEntry.class, url);
+
+        if (entry == null) {
+            return false;
+        }
+
+        entry.setState(state);
+        if (state == State.COMPLETE) {
+            entry.setLastSuccess(LocalDateTime.now());
+            entry.setNextAttempt(null);
+            entry.setErrorClass(null);
+            entry.setErrorSummary(null);
+        }
+
+        return true;
+    }
+
+    /**
+     * Marks the indicated entries {@link State#COMPLETE} and clears their
+     * errors.
+     *
+     * @param urls  the URLs of the entries
+     * @return      the number of entries updated
+     */
+    public int completeEntries(Collection<String> urls) {
+        final String hql = "UPDATE CrawlFrontierEntry e SET e.state = :complete, "
+                + "e.lastSuccess = :now, e.nextAttempt = NULL, e.errorClass = NULL, "
+                + "e.errorSummary = NULL WHERE e.url IN (:urls)";
+
+        if (urls.isEmpty()) {
+            return 0;
+        }
+
+        Session session = sessionFactory.getCurrentSession();
+        Query<?> query = session.createQuery(hql);
+        query.setParameter("complete", State.COMPLETE);
+        query.setParameter("now", LocalDateTime.now());
+        query.setParameterList("urls", urls);
+
+        return query.executeUpdate();
+    }
+
+    /**
+     * Records a failed attempt to process the indicated entry. The entry is
+     * returned to {@link State#PENDING} if it will be retried, and marked
+     * {@link State#FAILED} otherwise.
+     *
+     * @param url           the URL of the entry
+     * @param errorClass    the class name of the exception that caused the
+     *                      failure
+     * @param errorSummary  a summary of the exception and its stack trace
+     * @param nextAttempt   the earliest time the entry may be retried, or
+     *                      <code>null</code> if it will not be retried
+     * @return              <code>true</code> if the entry was updated,
+     *                      <code>false</code> if it is not in the frontier
+     */
+    public boolean recordFailure(String url, String errorClass, String errorSummary,
+            LocalDateTime nextAttempt) {
+        Session session = sessionFactory.getCurrentSession();
+        CrawlFrontierEntry entry = session.get(CrawlFrontierEntry.class, url);
+
+        if (entry == null) {
+            return false;
+        }
+
+        entry.setState(nextAttempt == null ? State.FAILED : State.PENDING);
+        entry.setNextAttempt(nextAttempt);
+        entry.setErrorClass(errorClass);
+        entry.setErrorSummary(errorSummary);
+
+        return true;
+    }
+
+    /**
+     * Retrieves the attempt count of the indicated entry.
+     *
+     * @param url  the URL of the entry
+     * @return     the number of times the entry has been claimed, or
+     *             <code>null</code> if it is not in the frontier
+     */
+    public Integer getAttempts(String url) {
+        Session session = sessionFactory.getCurrentSession();
+        CrawlFrontierEntry entry = session.get(CrawlFrontierEntry.class, url);
+
+        return entry == null ? null : entry.getAttempts();
+    }
+
+    /**
+     * Retrieves the entries in the indicated state.
+     *
+     * @param state  the state of the entries to retrieve
+     * @return       a list of the entries, most recently attempted first
+     */
+    public List<CrawlFrontierEntry> getEntries(State state) {
+        final String hql = "FROM CrawlFrontierEntry e WHERE e.state = :state "
+                + "ORDER BY e.lastAttempt DESC";
+
+        Session session = sessionFactory.getCurrentSession();
+        Query<CrawlFrontierEntry> query = session.createQuery(hql, CrawlFrontierEntry.class);
+        query.setParameter("state", state);
+
+        return query.getResultList();
+    }
+
+    /**
+     * Returns every entry in one state to another state.
+     *
+     * @param from  the state of the entries to update
+     * @param to    the entries' new state
+     * @return      the number of entries updated
+     */
+    public int updateStates(State from, State to) {
+        final String hql = "UPDATE CrawlFrontierEntry e SET e.state = :to "
+                + "WHERE e.state = :from";
+
+        Session session = sessionFactory.getCurrentSession();
+        Query<?> query = session.createQuery(hql);
+        query.setParameter("to", to);
+        query.setParameter("from", from);
+
+        return query.executeUpdate();
+    }
+
+    /**
+     * Returns the indicated {@link State#CLAIMED} entries to
+     * {@link State#PENDING}.
+     *
+     * @param urls  the URLs of the entries
+     * @return      the number of entries updated
+     */
+    public int releaseClaims(Collection<String> urls) {
+        final String hql = "UPDATE CrawlFrontierEntry e SET e.state = :pending "
+                + "WHERE e.state = :claimed AND e.url IN (:urls)";
+
+        if (urls.isEmpty()) {
+            return 0;
+        }
+
+        Session session = sessionFactory.getCurrentSession();
+        Query<?> query = session.createQuery(hql);
+        query.setParameter("pending", State.PENDING);
+        query.setParameter("claimed", State.CLAIMED);
+        query.setParameterList("urls", urls);
+
+        return query.executeUpdate();
+    }
+
+    /**
+     * Retrieves the name of a job that has entries that are
+     * {@link State#PENDING} or {@link State#CLAIMED}.
+     *
+     * @return  the name of the job, or <code>null</code> if every entry has
+     *          completed or failed
+     */
+    public String getUnfinishedJob() {
+        final String hql = "SELECT e.job FROM CrawlFrontierEntry e "
+                + "WHERE e.state IN (:pending, :claimed)";
+
+        Session session = sessionFactory.getCurrentSession();
+        Query<String> query = session.createQuery(hql, String.class);
+        query.setParameter("pending", State.PENDING);
+        query.setParameter("claimed", State.CLAIMED);
+        query.setMaxResults(1);
+
+        return query.uniqueResult();
+    }
+
+    /**
+     * Counts the entries in the frontier by state.
+     *
+     * @return  a mapping of every state to the number of entries in it
+     */
+    public Map<State, Long> countEntriesByState() {
+        return countEntriesByState(null);
+    }
+
+    /**
+     * Counts the entries of the indicated job by state.
+     *
+     * @param job  the name of the data update job, or <code>null</code> to
+     *             count the entries of every job
+     * @return     a mapping of every state to the number of entries in it
+     */
+    public Map<State, Long> countEntriesByState(String job) {
+        final String hql = "SELECT e.state, COUNT(e) FROM CrawlFrontierEntry e "
+                + (job == null ? "" : "WHERE e.job = :job ") + "GROUP BY e.state";
+
+        Session session = sessionFactory.getCurrentSession();
+        Query<Object[]> query = session.createQuery(hql, Object[].class);
+        if (job != null) {
+            query.setParameter("job", job);
+        }
+        List<Object[]> results = query.getResultList();
+
+        Map<State, Long> counts = new EnumMap<>(State.class);
+        for (State state : State.values()) {
+            counts.put(state, 0L);
+        }
+        for (Object[] row : results) {
+            counts.put((State) row[0], (Long) row[1]);
+        }
+
+        return counts;
+    }
+
+    /**
+     * Counts the entries of the indicated job that have been completed since
+     * the indicated time.
+     *
+     * @param job    the name of the data update job
+     * @param since  the start of the period to count completions within
+     * @return       the number of entries completed since the indicated time
+     */
+    public long countCompletedSince(String job, LocalDateTime since) {
+        final String hql = "SELECT COUNT(e) FROM CrawlFrontierEntry e "
+                + "WHERE e.job = :job AND e.state = :complete AND e.lastSuccess >= :since";
+
+        Session session = sessionFactory.getCurrentSession();
+        Query<Long> query = session.createQuery(hql, Long.class);
+        query.setParameter("job", job);
+        query.setParameter("complete", State.COMPLETE);
+        query.setParameter("since", since);
+
+        return query.uniqueResult();
+    }
+}
@@ -0,0 +1,68 @@
+package com.rosterreview.dao;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import com.rosterreview.entity.DraftPick;
+
+/**
+ * A {@link Repository} for {@link DraftPick} data operations.
+ * <p>
+ * All operations must be performed within a transaction.
+ */
+
+@Repository
+public class DraftPickDao {
+
+    @Autowired
+    private SessionFactory sessionFactory;
+
+    /**
+     * The maximum number of draft picks written by a single statement.
+     */
+    private static final int UPSERT_BATCH_SIZE = 500;
+
+    /**
+     * Inserts the indicated draft picks, or updates them if a pick already
+     * exists for the same player and league, with multi-row statements.
+     *
+     * @param draftPicks  the draft picks to write
+     * @return            the number of draft picks written
+     */
+    public int upsertDraftPicks(List<DraftPick> draftPicks) {
+        Session session = sessionFactory.getCurrentSession();
+
+        for (int start = 0; start < draftPicks.size(); start += UPSERT_BATCH_SIZE) {
+            List<DraftPick> batch = draftPicks.subList(start,
+                    Math.min(start + UPSERT_BATCH_SIZE, draftPicks.size()));
+            String sql = "INSERT INTO draft_pick (player_id, league, franchise_id, "
+                    + "draft_year, round, slot, supplemental) VALUES "
+                    + String.join(", ", Collections.nCopies(batch.size(),
+                            "(?, ?, ?, ?, ?, ?, ?)"))
+                    + " ON DUPLICATE KEY UPDATE franchise_id = VALUES(franchise_id), "
+                    + "draft_year = VALUES(draft_year), round = VALUES(round), "
+                    + "slot = VALUES(slot), supplemental = VALUES(supplemental)";
+
+            NativeQuery<?> query = session.createNativeQuery(sql);
+            int index = 1;
+            for (DraftPick draftPick : batch) {
+                query.setParameter(index++, draftPick.getPlayerId());
+                query.setParameter(index++, draftPick.getLeague());
+                query.setParameter(index++, draftPick.getFranchiseId());
+                query.setParameter(index++, draftPick.getYear());
+                query.setParameter(index++, draftPick.getRound());
+                query.setParameter(index++, draftPick.getSlot());
+                query.setParameter(index++, draftPick.isSupplemental());
+            }
+            query.executeUpdate();
+        }
+
+        return draftPicks.size();
+    }
+}
@@ -1,6 +1,9 @@
 package com.rosterreview.dao;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.persistence.TypedQuery;
 
@@ -14,6 +17,7 @@ import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.rosterreview.entity.Player;
+import com.rosterreview.entity.PlayerSeason;
 
 /**
  * A {@link Repository} for {@link Player} data operations.
@@ -74,6 +78,116 @@ public class PlayerDao {
         return results.isEmpty() ? null : results.get(0);
     }
 
+    /**
+     * Retrieves the {@link Player} with the specified id from the repository
+     * without initializing any of its collections.
+     *
+     * @param id  the id that uniquely identifies the requested player
+     * @return    an uninitialized Player object or <code>null</code> if a
+     *            matching player could not be found
+     */
+    public Player getUninitializedPlayer(String id) {
+        Session session = sessionFactory.getCurrentSession();
+
+        return session.get(Player.class, id);
+    }
+
+    /**
+     * Retrieves the id, PFR id, and page version data of every {@link Player}
+     * in the repository that has a PFR id.
+     *
+     * @return  a list of detached Players with only those fields initialized
+     */
+    @Transactional
+    public List<Player> getPlayerPageVersions() {
+        final String hql = "SELECT p.id, p.pfrId, p.pfrEtag, p.pfrLastModified, "
+                + "p.pfrContentHash FROM Player p WHERE p.pfrId IS NOT NULL";
+
+        Session session = sessionFactory.getCurrentSession();
+        TypedQuery<Object[]> query = session.createQuery(hql, Object[].class);
+
+        List<Player> players = new ArrayList<>();
+        for (Object[] row : query.getResultList()) {
+            Player player = new Player((String) row[0]);
+            player.setPfrId((String) row[1]);
+            player.setPfrEtag((String) row[2]);
+            player.setPfrLastModified((String) row[3]);
+            player.setPfrContentHash((String) row[4]);
+            players.add(player);
+        }
+
+        return players;
+    }
+
+    /**
+     * Retrieves the latest season in which each {@link Player} with a PFR id
+     * has recorded statistics.
+     *
+     * @return  a mapping of PFR ids to each player's latest season, which is
+     *          <code>null</code> for players without statistics
+     */
+    @Transactional
+    public Map<String, Integer> getLatestSeasons() {
+        final String hql = "SELECT p.pfrId, MAX(s.season) FROM Player p "
+                + "LEFT JOIN p.statistics s WHERE p.pfrId IS NOT NULL GROUP BY p.pfrId";
+
+        Session session = sessionFactory.getCurrentSession();
+        TypedQuery<Object[]> query = session.createQuery(hql, Object[].class);
+
+        Map<String, Integer> latestSeasons = new HashMap<>();
+        for (Object[] row : query.getResultList()) {
+            latestSeasons.put((String) row[0], (Integer) row[1]);
+        }
+
+        return latestSeasons;
+    }
+
+    /**
+     * Retrieves the {@link PlayerSeason PlayerSeasons} of the indicated type
+     * that every player recorded with one team in one season.
+     *
+     * @param franchiseId  the id of the team's franchise
+     * @param season       the season
+     * @param seasonType   the type of season
+     * @return             the team's player seasons
+     */
+    @Transactional
+    public List<PlayerSeason> getTeamSeasonStatistics(String franchiseId, Integer season,
+            PlayerSeason.SeasonType seasonType) {
+        final String hql = "FROM PlayerSeason s WHERE s.franchiseId = :franchiseId "
+                + "AND s.season = :season AND s.seasonType = :seasonType";
+
+        Session session = sessionFactory.getCurrentSession();
+        TypedQuery<PlayerSeason> query = session.createQuery(hql, PlayerSeason.class);
+        query.setParameter("franchiseId", franchiseId);
+        query.setParameter("season", season);
+        query.setParameter("seasonType", seasonType);
+
+        return query.getResultList();
+    }
+
+    /**
+     * Retrieves the {@link PlayerSeason PlayerSeasons} of the indicated type
+     * that every player recorded with every team in one season.
+     *
+     * @param season      the season
+     * @param seasonType  the type of season
+     * @return            the season's player seasons
+     */
+    @Transactional
+    public List<PlayerSeason> getSeasonStatistics(Integer season,
+            PlayerSeason.SeasonType seasonType) {
+        final String hql = "FROM PlayerSeason s WHERE s.season = :season "
+                + "AND s.seasonType = :seasonType";
+
+        Session session = sessionFactory.getCurrentSession();
+        TypedQuery<PlayerSeason> query = session.createQuery(hql, PlayerSeason.class);
+        query.setParameter("season", season);
+        query.setParameter("seasonType", seasonType);
+
+        return query.getResultList();
+    }
+
     /**
      * Persists the specified {@link Player} to the repository.
      *
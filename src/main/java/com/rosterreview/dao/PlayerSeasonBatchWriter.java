@@ -0,0 +1,606 @@
+package com.rosterreview.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.Function;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.rosterreview.entity.PlayerSeason;
+import com.rosterreview.entity.StatColumn;
+
+/**
+ * A {@link Repository} that writes {@link PlayerSeason} data in bulk during
+ * data ingest.
+ * <p>
+ * Each player's complete set of seasons is queued, and queued seasons from
+ * many players are written together with multi-row
+ * <code>INSERT ... ON DUPLICATE KEY UPDATE</code> statements. Seasons that are
+ * no longer part of a queued player's statistics are removed with a single
+ * set-based <code>DELETE</code>. This bypasses Hibernate's per-entity dirty
+ * checking and orphan removal.
+ * <p>
+ * Queued seasons are written once the configured batch size is reached, on a
+ * fixed interval, when {@link #flush()} is called, and on shutdown. The
+ * following configuration properties may be defined in
+ * <code>classpath:rosterreview.properties</code>
+ * <ul>
+ * <li>player.data.persist.batch.size:         The number of season rows written
+ *                                             per statement.</li>
+ * <li>player.data.persist.flush.interval.ms:  The maximum time (ms) seasons
+ *                                             remain queued.</li>
+ * </ul>
+ */
+
+@Repository
+public class PlayerSeasonBatchWriter implements DisposableBean {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${player.data.persist.batch.size:500}")
+    private int batchSize;
+
+    private final Object queueLock = new Object();
+
+    private final Object flushLock = new Object();
+
+    private Map<String, QueuedPlayer> queuedPlayers = new LinkedHashMap<>();
+
+    private int queuedRowCount;
+
+    private static final Logger LOG = LoggerFactory.getLogger(PlayerSeasonBatchWriter.class);
+
+    /**
+     * The key columns of the player_season table.
+     */
+    private static final List<String> KEY_COLUMNS = Arrays.asList("player_id",
+            "franchise_id", "season", "season_type");
+
+    /**
+     * The columns of the player_season table and the {@link PlayerSeason}
+     * properties they are written from, beginning with the key columns. The
+     * statistics columns are those of the {@link StatColumn} registry.
+     */
+    private static final List<SeasonColumn> COLUMNS = createColumns();
+
+    private static final SeasonColumn POSITION_COLUMN = COLUMNS.stream()
+            .filter(column -> column.name.equals("position")).findFirst().get();
+
+    /**
+     * The column list and update clause of the upsert statement, which do not
+     * depend on the number of rows.
+     */
+    private static final String UPSERT_COLUMNS;
+
+    private static final String UPSERT_UPDATES;
+
+    private static final String UPSERT_ROW;
+
+    static {
+        StringJoiner columns = new StringJoiner(", ", " (", ")");
+        StringJoiner updates = new StringJoiner(", ", " ON DUPLICATE KEY UPDATE ", "");
+        StringJoiner row = new StringJoiner(", ", "(", ")");
+
+        for (SeasonColumn column : COLUMNS) {
+            columns.add(column.name);
+            row.add("?");
+            if (!KEY_COLUMNS.contains(column.name)) {
+                updates.add(column.name + " = VALUES(" + column.name + ")");
+            }
+        }
+
+        UPSERT_COLUMNS = columns.toString();
+        UPSERT_UPDATES = updates.toString();
+        UPSERT_ROW = row.toString();
+    }
+
+    /**
+     * Lists the columns of the player_season table, beginning with the key
+     * columns, followed by the descriptive columns and the statistics columns.
+     *
+     * @return  the columns of the player_season table
+     */
+    private static List<SeasonColumn> createColumns() {
+        List<SeasonColumn> columns = new ArrayList<>(Arrays.asList(
+                new SeasonColumn("player_id", PlayerSeason::getPlayerId),
+                new SeasonColumn("franchise_id", PlayerSeason::getFranchiseId),
+                new SeasonColumn("season", PlayerSeason::getSeason),
+                new SeasonColumn("season_type", PlayerSeason::getSeasonType),
+                new SeasonColumn("age", PlayerSeason::getAge),
+                new SeasonColumn("position", PlayerSeason::getPosition),
+                new SeasonColumn("probowl", PlayerSeason::getProbowl),
+                new SeasonColumn("all_pro", PlayerSeason::getAllPro)));
+
+        for (StatColumn<?> statColumn : StatColumn.values()) {
+            columns.add(new SeasonColumn(statColumn.getColumn(), statColumn::getValue));
+        }
+
+        return Collections.unmodifiableList(columns);
+    }
+
+    /**
+     * Queues the complete set of seasons for a player to be written. Any
+     * persisted season for the player that is not included will be deleted.
+     * If the player's seasons are already queued, they are replaced.
+     * <p>
+     * The player's content hash is stored in the same transaction that writes
+     * its seasons, so that a page is not treated as unchanged by a later data
+     * update unless its statistics were written.
+     *
+     * @param playerId     the id of the player
+     * @param contentHash  the content hash of the page the seasons were parsed
+     *                     from, or <code>null</code> to leave the stored hash
+     *                     unchanged
+     * @param seasons      all of the player's seasons
+     * @param callback     notified once the seasons have been written, or could
+     *                     not be; may be <code>null</code>
+     */
+    public void enqueue(String playerId, String contentHash, List<PlayerSeason> seasons,
+            WriteCallback callback) {
+        boolean flushNeeded;
+
+        synchronized (queueLock) {
+            QueuedPlayer queued = queuedPlayers.get(playerId);
+            if (queued == null) {
+                queued = new QueuedPlayer();
+                queuedPlayers.put(playerId, queued);
+            }
+            queuedRowCount += seasons.size() - queued.seasons.size();
+            queued.seasons = new ArrayList<>(seasons);
+            queued.contentHash = contentHash;
+            if (callback != null) {
+                queued.callbacks.add(callback);
+            }
+            flushNeeded = queuedRowCount >= batchSize;
+        }
+
+        if (flushNeeded) {
+            flush();
+        }
+    }
+
+    /**
+     * Queues the complete set of seasons for a player to be written once the
+     * current transaction commits, so that the seasons are not written if the
+     * player's own data is rolled back. If no transaction is active, the
+     * seasons are queued immediately. See
+     * {@link #enqueue(String, String, List, WriteCallback)}.
+     *
+     * @param playerId     the id of the player
+     * @param contentHash  the content hash of the page the seasons were parsed
+     *                     from, or <code>null</code> to leave the stored hash
+     *                     unchanged
+     * @param seasons      all of the player's seasons
+     * @param callback     notified once the seasons have been written, or could
+     *                     not be; may be <code>null</code>
+     */
+    public void enqueueAfterCommit(String playerId, String contentHash,
+            List<PlayerSeason> seasons, WriteCallback callback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(playerId, contentHash, seasons, callback);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(playerId, contentHash, seasons, callback);
+            }
+        });
+    }
+
+    /**
+     * Writes all queued seasons.
+     * <p>
+     * The seasons of every queued player are written in one transaction. If
+     * that transaction fails, each player's seasons are written again in a
+     * transaction of their own, so that one player's bad row does not fail
+     * the other players in the batch. If a player's seasons cannot be
+     * written, the player's stored content hash is cleared so that the
+     * player's page is parsed again by the next data update.
+     * <p>
+     * Every queued player's callbacks are notified, whatever the outcome; an
+     * exception thrown by one callback is logged and does not prevent the
+     * others from being notified.
+     */
+    @Scheduled(fixedDelayString = "${player.data.persist.flush.interval.ms:5000}")
+    public void flush() {
+        synchronized (flushLock) {
+            Map<String, QueuedPlayer> players;
+
+            synchronized (queueLock) {
+                if (queuedPlayers.isEmpty()) {
+                    return;
+                }
+                players = queuedPlayers;
+                queuedPlayers = new LinkedHashMap<>();
+                queuedRowCount = 0;
+            }
+
+            try {
+                writeInTransaction(players);
+            } catch (SQLException | RuntimeException ex) {
+                if (players.size() == 1) {
+                    failed(players, ex);
+                    return;
+                }
+                LOG.warn("Unable to write seasons for {} players together; writing each "
+                        + "player's seasons separately.", players.size(), ex);
+                for (Map.Entry<String, QueuedPlayer> entry : players.entrySet()) {
+                    Map<String, QueuedPlayer> player = Collections.singletonMap(
+                            entry.getKey(), entry.getValue());
+                    try {
+                        writeInTransaction(player);
+                    } catch (SQLException | RuntimeException playerEx) {
+                        failed(player, playerEx);
+                        continue;
+                    }
+                    written(entry.getValue());
+                }
+                return;
+            }
+
+            for (QueuedPlayer queued : players.values()) {
+                written(queued);
+            }
+        }
+    }
+
+    /**
+     * Writes the queued seasons and content hashes of the indicated players
+     * in a single transaction.
+     *
+     * @param players  a mapping of player ids to each player's queued seasons
+     * @throws SQLException  if the seasons cannot be written, in which case
+     *                       none of them are
+     */
+    private void writeInTransaction(Map<String, QueuedPlayer> players) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                int rowCount = write(connection, players);
+                updateContentHashes(connection, players);
+                connection.commit();
+                LOG.debug("Wrote {} seasons for {} players.", rowCount, players.size());
+            } catch (SQLException | RuntimeException ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Notifies the callbacks of a player whose queued seasons have been
+     * written.
+     *
+     * @param queued  the player's queued seasons
+     */
+    private static void written(QueuedPlayer queued) {
+        for (WriteCallback callback : queued.callbacks) {
+            try {
+                callback.written();
+            } catch (RuntimeException ex) {
+                LOG.error("A season write callback failed.", ex);
+            }
+        }
+    }
+
+    /**
+     * Records that the queued seasons of the indicated players could not be
+     * written, clearing their content hashes and notifying their callbacks.
+     *
+     * @param players  a mapping of player ids to each player's queued seasons
+     * @param ex       the reason the seasons could not be written
+     */
+    private void failed(Map<String, QueuedPlayer> players, Exception ex) {
+        LOG.error("Unable to write seasons for players: {}.", players.keySet(), ex);
+        invalidateContentHashes(players.keySet());
+        for (QueuedPlayer queued : players.values()) {
+            for (WriteCallback callback : queued.callbacks) {
+                try {
+                    callback.failed(ex);
+                } catch (RuntimeException callbackEx) {
+                    LOG.error("A season write callback failed.", callbackEx);
+                }
+            }
+        }
+    }
+
+    /**
+     * Immediately writes the indicated seasons in a single transaction. Unlike
+     * {@link #enqueue(String, String, List, WriteCallback)}, the players'
+     * other persisted seasons and content hashes are left unchanged.
+     *
+     * @param seasons  the seasons to write
+     * @throws SQLException  if the seasons cannot be written, in which case
+     *                       none of them are
+     */
+    public void writeSeasons(List<PlayerSeason> seasons) throws SQLException {
+        if (seasons.isEmpty()) {
+            return;
+        }
+
+        synchronized (flushLock) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(false);
+                try {
+                    for (int start = 0; start < seasons.size(); start += batchSize) {
+                        upsert(connection, seasons.subList(start,
+                                Math.min(start + batchSize, seasons.size())));
+                    }
+                    connection.commit();
+                    LOG.debug("Wrote {} seasons.", seasons.size());
+                } catch (SQLException ex) {
+                    connection.rollback();
+                    throw ex;
+                } finally {
+                    connection.setAutoCommit(true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Immediately updates the position of each indicated season that has
+     * been persisted, in a single transaction. The seasons' statistics and
+     * the players' other seasons are left unchanged, and seasons that have not
+     * been persisted are ignored.
+     *
+     * @param seasons  the seasons whose positions are written
+     * @throws SQLException  if the positions cannot be written, in which case
+     *                       none of them are
+     */
+    public void updatePositions(List<PlayerSeason> seasons) throws SQLException {
+        if (seasons.isEmpty()) {
+            return;
+        }
+
+        String sql = "UPDATE player_season SET position = ? WHERE "
+                + String.join(" = ? AND ", KEY_COLUMNS) + " = ?";
+
+        synchronized (flushLock) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(false);
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    for (int i = 0; i < seasons.size(); i++) {
+                        PlayerSeason season = seasons.get(i);
+                        statement.setObject(1, POSITION_COLUMN.getValue(season));
+                        for (int key = 0; key < KEY_COLUMNS.size(); key++) {
+                            statement.setObject(key + 2, COLUMNS.get(key).getValue(season));
+                        }
+                        statement.addBatch();
+                        if ((i + 1) % batchSize == 0 || i == seasons.size() - 1) {
+                            statement.executeBatch();
+                        }
+                    }
+                    connection.commit();
+                    LOG.debug("Updated the positions of {} seasons.", seasons.size());
+                } catch (SQLException ex) {
+                    connection.rollback();
+                    throw ex;
+                } finally {
+                    connection.setAutoCommit(true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes all queued seasons on shutdown.
+     */
+    @Override
+    public void destroy() {
+        flush();
+    }
+
+    /**
+     * Deletes stale seasons and upserts current seasons for the indicated
+     * players.
+     *
+     * @param connection  the connection to write with
+     * @param players     a mapping of player ids to each player's queued seasons
+     * @return            the number of seasons written
+     * @throws SQLException  if the seasons cannot be written
+     */
+    private int write(Connection connection, Map<String, QueuedPlayer> players)
+            throws SQLException {
+
+        List<PlayerSeason> rows = new ArrayList<>();
+        for (QueuedPlayer queued : players.values()) {
+            rows.addAll(queued.seasons);
+        }
+
+        deleteStaleSeasons(connection, new ArrayList<>(players.keySet()), rows);
+
+        for (int start = 0; start < rows.size(); start += batchSize) {
+            upsert(connection, rows.subList(start, Math.min(start + batchSize, rows.size())));
+        }
+
+        return rows.size();
+    }
+
+    /**
+     * Deletes every persisted season of the indicated players that is not one
+     * of the indicated current seasons, with a single statement.
+     *
+     * @param connection  the connection to write with
+     * @param playerIds   the ids of the players whose seasons are being written
+     * @param current     the current seasons of those players
+     * @throws SQLException  if the seasons cannot be deleted
+     */
+    private void deleteStaleSeasons(Connection connection, List<String> playerIds,
+            List<PlayerSeason> current) throws SQLException {
+
+        StringBuilder sql = new StringBuilder("DELETE FROM player_season WHERE player_id IN ")
+                .append(placeholders(playerIds.size(), "?"));
+        if (!current.isEmpty()) {
+            sql.append(" AND (").append(String.join(", ", KEY_COLUMNS)).append(") NOT IN ")
+                    .append(placeholders(current.size(), "(?, ?, ?, ?)"));
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+            int index = 1;
+            for (String playerId : playerIds) {
+                statement.setString(index++, playerId);
+            }
+            for (PlayerSeason season : current) {
+                for (int i = 0; i < KEY_COLUMNS.size(); i++) {
+                    statement.setObject(index++, COLUMNS.get(i).getValue(season));
+                }
+            }
+            statement.executeUpdate();
+        }
+    }
+
+    /**
+     * Inserts or updates the indicated seasons with a single multi-row
+     * statement.
+     *
+     * @param connection  the connection to write with
+     * @param rows        the seasons to write
+     * @throws SQLException  if the seasons cannot be written
+     */
+    private void upsert(Connection connection, List<PlayerSeason> rows) throws SQLException {
+        String sql = "INSERT INTO player_season" + UPSERT_COLUMNS + " VALUES "
+                + placeholders(rows.size(), UPSERT_ROW) + UPSERT_UPDATES;
+
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            int index = 1;
+            for (PlayerSeason season : rows) {
+                for (SeasonColumn column : COLUMNS) {
+                    statement.setObject(index++, column.getValue(season));
+                }
+            }
+            statement.executeUpdate();
+        }
+    }
+
+    /**
+     * Stores the content hash of each indicated player that has one.
+     *
+     * @param connection  the connection to write with
+     * @param players     a mapping of player ids to each player's queued seasons
+     * @throws SQLException  if the hashes cannot be written
+     */
+    private void updateContentHashes(Connection connection, Map<String, QueuedPlayer> players)
+            throws SQLException {
+        final String sql = "UPDATE player SET pfr_content_hash = ? WHERE id = ?";
+
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (Map.Entry<String, QueuedPlayer> entry : players.entrySet()) {
+                if (entry.getValue().contentHash != null) {
+                    statement.setString(1, entry.getValue().contentHash);
+                    statement.setString(2, entry.getKey());
+                    statement.addBatch();
+                }
+            }
+            statement.executeBatch();
+        }
+    }
+
+    /**
+     * Clears the stored content hash of the indicated players.
+     *
+     * @param playerIds  the ids of the players
+     */
+    private void invalidateContentHashes(Collection<String> playerIds) {
+        String sql = "UPDATE player SET pfr_content_hash = NULL WHERE id IN "
+                + placeholders(playerIds.size(), "?");
+
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(sql)) {
+            int index = 1;
+            for (String playerId : playerIds) {
+                statement.setString(index++, playerId);
+            }
+            statement.executeUpdate();
+        } catch (SQLException | RuntimeException ex) {
+            LOG.error("Unable to invalidate content hashes for players: {}.", playerIds, ex);
+        }
+    }
+
+    /**
+     * Builds a parenthesized, comma separated list of repeated placeholders.
+     *
+     * @param count        the number of repetitions
+     * @param placeholder  the placeholder to repeat
+     * @return             the placeholder list
+     */
+    private static String placeholders(int count, String placeholder) {
+        return "(" + String.join(", ", Collections.nCopies(count, placeholder)) + ")";
+    }
+
+    /**
+     * Receives notice of the outcome of writing a player's queued seasons.
+     */
+    public interface WriteCallback {
+
+        /**
+         * Invoked once the player's seasons have been written.
+         */
+        void written();
+
+        /**
+         * Invoked if the player's seasons could not be written.
+         *
+         * @param ex  the reason the seasons could not be written
+         */
+        void failed(Exception ex);
+    }
+
+    /**
+     * A player's queued seasons, content hash, and write callbacks.
+     */
+    private static class QueuedPlayer {
+
+        private List<PlayerSeason> seasons = Collections.emptyList();
+
+        private String contentHash;
+
+        private final List<WriteCallback> callbacks = new ArrayList<>();
+    }
+
+    /**
+     * A player_season column and the {@link PlayerSeason} property it is
+     * written from.
+     */
+    private static class SeasonColumn {
+
+        private final String name;
+
+        private final Function<PlayerSeason, Object> getter;
+
+        private SeasonColumn(String name, Function<PlayerSeason, Object> getter) {
+            this.name = name;
+            this.getter = getter;
+        }
+
+        private Object getValue(PlayerSeason season) {
+            Object value = getter.apply(season);
+
+            return (value instanceof Enum) ? ((Enum<?>) value).name() : value;
+        }
+    }
+}
@@ -69,6 +69,20 @@ public class TeamDao {
         return results.isEmpty() ? null : results.get(0);
     }
 
+    /**
+     * Retrieves all {@link Team Teams} from the repository.
+     *
+     * @return  a list of all teams, ordered by franchise and season
+     */
+    public List<Team> getAllTeams() {
+        final String hql = "FROM Team t ORDER BY t.franchiseId, t.season";
+
+        Session session = sessionFactory.getCurrentSession();
+        TypedQuery<Team> query = session.createQuery(hql, Team.class);
+
+        return query.getResultList();
+    }
+
     /**
      * Retrieves all unique football team locations throughout history.
      *
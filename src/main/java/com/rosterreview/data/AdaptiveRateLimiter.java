@@ -0,0 +1,241 @@
+package com.rosterreview.data;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A token bucket rate limiter that adapts its rate to feedback from the host
+ * it protects.
+ * <p>
+ * Tokens accrue at the current rate up to the burst capacity, and each request
+ * consumes one. When the host responds with <code>429 Too Many Requests</code>
+ * or <code>503 Service Unavailable</code>, the rate is halved and, if the
+ * response includes a <code>Retry-After</code> header, no further requests are
+ * permitted until the indicated time. Each healthy response raises the rate by
+ * a small fixed step, so the rate converges on the highest the host tolerates.
+ * The rate always remains between the configured minimum and maximum.
+ */
+public class AdaptiveRateLimiter {
+
+    private final double minRate;
+
+    private final double maxRate;
+
+    private final double burst;
+
+    private final double rateIncrease;
+
+    private final long maxPauseNanos;
+
+    private double rate;
+
+    private double tokens;
+
+    private long lastRefillNanos;
+
+    private long pausedUntilNanos;
+
+    private long throttledResponses;
+
+    private final Deque<Long> responseTimes = new ArrayDeque<>();
+
+    /**
+     * The factor applied to the rate when the host signals that it is
+     * overloaded.
+     */
+    private static final double BACKOFF_FACTOR = 0.5;
+
+    /**
+     * The number of healthy responses over which the rate recovers from the
+     * minimum to the maximum.
+     */
+    private static final int RECOVERY_RESPONSES = 100;
+
+    /**
+     * The window over which the effective request rate is measured.
+     */
+    private static final long RATE_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    /**
+     * A public constructor for {@link AdaptiveRateLimiter}.
+     *
+     * @param initialRate    the initial rate (requests per second)
+     * @param minRate        the minimum rate (requests per second)
+     * @param maxRate        the maximum rate (requests per second)
+     * @param burst          the maximum number of requests that may be sent
+     *                       in a burst after a period of inactivity
+     * @param maxPauseMillis the maximum time (ms) that a
+     *                       <code>Retry-After</code> header may pause requests
+     */
+    public AdaptiveRateLimiter(double initialRate, double minRate, double maxRate,
+            int burst, long maxPauseMillis) {
+        this.minRate = Math.max(0.001, minRate);
+        this.maxRate = Math.max(this.minRate, maxRate);
+        this.burst = Math.max(1, burst);
+        this.rateIncrease = (this.maxRate - this.minRate) / RECOVERY_RESPONSES;
+        this.maxPauseNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxPauseMillis));
+        this.rate = Math.min(this.maxRate, Math.max(this.minRate, initialRate));
+        this.tokens = 1;
+        this.lastRefillNanos = System.nanoTime();
+        this.pausedUntilNanos = lastRefillNanos;
+    }
+
+    /**
+     * Blocks until a request may be sent.
+     *
+     * @throws InterruptedException  if the calling thread is interrupted while
+     *                               waiting
+     */
+    public void acquire() throws InterruptedException {
+        long waitNanos = reserveToken();
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * Adjusts the rate according to the host's response to a request.
+     *
+     * @param statusCode  the HTTP status code of the response
+     * @param retryAfter  the value of the response's <code>Retry-After</code>
+     *                    header, or <code>null</code> if it has none
+     */
+    public synchronized void onResponse(int statusCode, String retryAfter) {
+        long now = System.nanoTime();
+        recordResponse(now);
+
+        if (statusCode == 429 || statusCode == 503) {
+            throttledResponses++;
+            rate = Math.max(minRate, rate * BACKOFF_FACTOR);
+
+            long pauseNanos = Math.min(maxPauseNanos, parseRetryAfter(retryAfter));
+            if (pauseNanos > 0) {
+                refill(now);
+                pausedUntilNanos = Math.max(pausedUntilNanos, now + pauseNanos);
+                tokens = Math.min(tokens, 0);
+                lastRefillNanos = pausedUntilNanos;
+            }
+        } else if (statusCode < 500 && now >= pausedUntilNanos) {
+            rate = Math.min(maxRate, rate + rateIncrease);
+        }
+    }
+
+    /**
+     * @return  the rate (requests per second) currently permitted
+     */
+    public synchronized double getRate() {
+        return rate;
+    }
+
+    /**
+     * @return  the rate (requests per second) at which responses have been
+     *          received over the last minute
+     */
+    public synchronized double getEffectiveRate() {
+        long now = System.nanoTime();
+        pruneResponseTimes(now);
+
+        return responseTimes.size() * 1e9 / RATE_WINDOW_NANOS;
+    }
+
+    /**
+     * @return  the number of responses that signaled the host was overloaded
+     */
+    public synchronized long getThrottledResponses() {
+        return throttledResponses;
+    }
+
+    /**
+     * @return  the remaining time (ms) for which requests are paused at the
+     *          host's request, or <code>0</code> if they are not paused
+     */
+    public synchronized long getPausedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(Math.max(0, pausedUntilNanos - System.nanoTime()));
+    }
+
+    /**
+     * Takes a token from the bucket, borrowing against future tokens if the
+     * bucket is empty.
+     *
+     * @return  the time (ns) the caller must wait before sending its request
+     */
+    private synchronized long reserveToken() {
+        long now = System.nanoTime();
+        refill(now);
+
+        tokens -= 1;
+        long startNanos = Math.max(now, pausedUntilNanos);
+        long tokenWaitNanos = tokens >= 0 ? 0 : (long) (-tokens / rate * 1e9);
+
+        return Math.max(startNanos - now, 0) + tokenWaitNanos;
+    }
+
+    /**
+     * Adds the tokens that have accrued since the bucket was last refilled.
+     *
+     * @param now  the current time, as reported by {@link System#nanoTime()}
+     */
+    private void refill(long now) {
+        if (now > lastRefillNanos) {
+            tokens = Math.min(burst, tokens + (now - lastRefillNanos) * rate / 1e9);
+            lastRefillNanos = now;
+        }
+    }
+
+    /**
+     * Records the time of a response for the effective rate measurement.
+     *
+     * @param now  the current time, as reported by {@link System#nanoTime()}
+     */
+    private void recordResponse(long now) {
+        responseTimes.addLast(now);
+        pruneResponseTimes(now);
+    }
+
+    /**
+     * Discards response times that fall outside the measurement window.
+     *
+     * @param now  the current time, as reported by {@link System#nanoTime()}
+     */
+    private void pruneResponseTimes(long now) {
+        while (!responseTimes.isEmpty() && now - responseTimes.peekFirst() > RATE_WINDOW_NANOS) {
+            responseTimes.removeFirst();
+        }
+    }
+
+    /**
+     * Parses the value of a <code>Retry-After</code> header, which is either a
+     * number of seconds or an HTTP date.
+     *
+     * @param retryAfter  the header value, or <code>null</code>
+     * @return            the time (ns) to wait, or <code>0</code> if the value
+     *                    is absent or cannot be parsed
+     */
+    static long parseRetryAfter(String retryAfter) {
+        if (retryAfter == null || retryAfter.trim().isEmpty()) {
+            return 0;
+        }
+
+        String value = retryAfter.trim();
+        try {
+            return TimeUnit.SECONDS.toNanos(Math.max(0, Long.parseLong(value)));
+        } catch (NumberFormatException nfe) {
+            // Not a number of seconds; try an HTTP date.
+        }
+
+        try {
+            ZonedDateTime retryTime = ZonedDateTime.parse(value,
+                    DateTimeFormatter.RFC_1123_DATE_TIME);
+            Duration wait = Duration.between(ZonedDateTime.now(retryTime.getZone()), retryTime);
+
+            return wait.isNegative() ? 0 : wait.toNanos();
+        } catch (DateTimeParseException pe) {
+            return 0;
+        }
+    }
+}
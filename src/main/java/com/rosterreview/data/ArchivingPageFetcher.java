@@ -0,0 +1,57 @@
+package com.rosterreview.data;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link PageFetcher} that appends every page retrieved by another
+ * PageFetcher to a {@link PageArchive}.
+ * <p>
+ * A page that cannot be archived is still returned; the failure is logged.
+ * The content of each page is buffered in memory so that it can be archived.
+ */
+public class ArchivingPageFetcher implements PageFetcher {
+
+    private final PageFetcher delegate;
+
+    private final PageArchive pageArchive;
+
+    private static final Logger LOG = LoggerFactory.getLogger(ArchivingPageFetcher.class);
+
+    /**
+     * A public constructor for {@link ArchivingPageFetcher}.
+     *
+     * @param delegate     the PageFetcher that retrieves pages
+     * @param pageArchive  the archive retrieved pages are appended to
+     */
+    public ArchivingPageFetcher(PageFetcher delegate, PageArchive pageArchive) {
+        this.delegate = delegate;
+        this.pageArchive = pageArchive;
+    }
+
+    @Override
+    public FetchedPage fetch(String url, Map<String, String> requestHeaders)
+            throws IOException, InterruptedException {
+
+        FetchedPage fetchedPage = delegate.fetch(url, requestHeaders);
+
+        try {
+            fetchedPage.getContent();
+        } catch (UncheckedIOException ex) {
+            fetchedPage.close();
+            throw ex.getCause();
+        }
+
+        try {
+            pageArchive.append(fetchedPage);
+        } catch (IOException ex) {
+            LOG.warn("Unable to archive page from url: {}.", url, ex);
+        }
+
+        return fetchedPage;
+    }
+}
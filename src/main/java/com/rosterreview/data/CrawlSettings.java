@@ -0,0 +1,86 @@
+package com.rosterreview.data;
+
+/**
+ * A class that describes the parallelism and checkpointing of an
+ * {@link IngestPipeline}.
+ */
+public class CrawlSettings {
+
+    private final int fetchThreads;
+
+    private final int parseThreads;
+
+    private final int persistThreads;
+
+    private final int queueCapacity;
+
+    private final int checkpointBatchSize;
+
+    /**
+     * A public constructor for {@link CrawlSettings}.
+     *
+     * @param fetchThreads         the number of fetch stage threads
+     * @param parseThreads         the number of parse stage threads
+     * @param persistThreads       the number of persist stage threads
+     * @param queueCapacity        the capacity of the queues between stages
+     * @param checkpointBatchSize  the number of completed pages checkpointed
+     *                             in the crawl frontier by a single
+     *                             transaction
+     */
+    public CrawlSettings(int fetchThreads, int parseThreads, int persistThreads,
+            int queueCapacity, int checkpointBatchSize) {
+        this.fetchThreads = fetchThreads;
+        this.parseThreads = parseThreads;
+        this.persistThreads = persistThreads;
+        this.queueCapacity = queueCapacity;
+        this.checkpointBatchSize = checkpointBatchSize;
+    }
+
+    /**
+     * @return  the number of fetch stage threads
+     */
+    public int getFetchThreads() {
+        return fetchThreads;
+    }
+
+    /**
+     * @return  the number of parse stage threads
+     */
+    public int getParseThreads() {
+        return parseThreads;
+    }
+
+    /**
+     * @return  the number of persist stage threads
+     */
+    public int getPersistThreads() {
+        return persistThreads;
+    }
+
+    /**
+     * @return  the capacity of the queues between stages
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * @return  the number of completed pages checkpointed in the crawl
+     *          frontier by a single transaction
+     */
+    public int getCheckpointBatchSize() {
+        return checkpointBatchSize;
+    }
+
+    /**
+     * Generates a <code>String</code> representation of this
+     * {@link CrawlSettings} for logging.
+     *
+     * @return  a String representation of this object
+     */
+    @Override
+    public String toString() {
+        return fetchThreads + " fetch, " + parseThreads + " parse and " + persistThreads
+                + " persist threads, checkpointing every " + checkpointBatchSize + " pages";
+    }
+}
@@ -1,64 +1,254 @@
 package com.rosterreview.data;
 
-import java.io.IOException;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import com.gargoylesoftware.htmlunit.WebClient;
-import com.gargoylesoftware.htmlunit.html.DomElement;
-import com.gargoylesoftware.htmlunit.html.DomNode;
-import com.gargoylesoftware.htmlunit.html.HtmlPage;
+import com.rosterreview.service.CrawlFrontierService;
 import com.rosterreview.service.PfrDataParsingService;
-import com.rosterreview.utils.WebScrapingUtils;
+import com.rosterreview.service.PlayerService;
 
 /**
  * A {@link Component} class that registers a scheduled event that periodically
  * updates the data store with recent data from an external source.
+ * <p>
+ * The players to update are selected according to the
+ * <code>player.data.update.mode</code> property:
+ * <ul>
+ * <li><code>incremental</code> (default):  Players whose careers include the
+ *     current or previous year, players whose latest persisted season is
+ *     older than the last year listed on the index, and active players that
+ *     have not been persisted. Players are crawled in order of the number of
+ *     seasons their persisted data is behind the index.</li>
+ * <li><code>active</code>:  Every player the index marks as active.</li>
+ * <li><code>team</code>:  The current season of every player listed on a
+ *     team's season page, read from one page per team. Only players that
+ *     have not been persisted, or whose new season the team page cannot
+ *     fully describe, are crawled individually.</li>
+ * <li><code>season</code>:  The current season of every player listed on the
+ *     season's statistics leader pages, read from one page per statistical
+ *     category. Players that have not been persisted, that played for more
+ *     than one team, or whose new season the leader pages cannot fully
+ *     describe, are crawled individually.</li>
+ * </ul>
+ * A scheduled update that starts while another crawl or data job is in
+ * progress waits up to <code>player.data.update.wait.ms</code> for it to
+ * finish, so that a short job such as a draft class load does not cause the
+ * update to be skipped. The update is skipped if the wait elapses first, as
+ * it does during a historical backfill. See {@link PlayerBackfillJob}.
  */
 
 @Component
 public class DataUpdateScheduler {
 
+    /**
+     * Update mode that crawls only players whose data may be out of date.
+     */
+    public static final String INCREMENTAL_MODE = "incremental";
+
+    /**
+     * Update mode that crawls every active player.
+     */
+    public static final String ACTIVE_MODE = "active";
+
+    /**
+     * Update mode that updates the current season from team season pages.
+     */
+    public static final String TEAM_MODE = "team";
+
+    /**
+     * Update mode that updates the current season from the season's
+     * statistics leader pages.
+     */
+    public static final String SEASON_MODE = "season";
+
+    @Autowired
+    private PlayerCrawler playerCrawler;
+
     @Autowired
-    private PfrDataParsingService pfrDataUpdater;
+    private CrawlFrontierService crawlFrontierService;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private PfrDataParsingService pfrDataParsingService;
+
+    @Autowired
+    private TeamSeasonIngester teamSeasonIngester;
+
+    @Autowired
+    private SeasonLeaderIngester seasonLeaderIngester;
+
+    @Value("${player.data.update.mode:" + INCREMENTAL_MODE + "}")
+    private String updateMode;
+
+    @Value("${player.data.update.timezone}")
+    private String timezone;
+
+    @Value("${player.data.update.wait.ms:3600000}")
+    private long waitMillis;
 
     private static final Logger LOG = LoggerFactory.getLogger(PfrDataParsingService.class);
 
     /**
      * Updates the data store with recent player data retrieved from
      * https://www.pro-football-reference.com.
+     * <p>
+     * Players are enumerated from the players by letter index pages, and those
+     * selected by the update mode are added to the crawl frontier, which is
+     * then processed in parallel by the {@link PlayerCrawler}. If the previous
+     * update, or a backfill, stopped before the frontier was processed, it is
+     * resumed instead.
      */
     @Scheduled(cron = "${player.data.update.schedule}",
                zone = "${player.data.update.timezone}")
     public void schedulePlayerDataUpdate() {
         LOG.info("Scheduled player data update is starting.");
 
-        WebClient webClient = WebScrapingUtils.getConfiguredWebClient();
+        if (!playerCrawler.crawl(this::planUpdate, waitMillis)) {
+            LOG.info("Skipping scheduled player data update; the {} job was still in "
+                    + "progress after {} ms.", playerCrawler.getCurrentJob(), waitMillis);
+            return;
+        }
 
-        for (char letter = 'A'; letter <= 'Z'; letter++) {
-            try {
-                String playersByLetterUrl = PfrDataParsingService.PFR_URL
-                        + "/players/" + letter;
+        LOG.info("Scheduled player data update has completed.");
+    }
 
-                HtmlPage page = webClient.getPage(playersByLetterUrl);
-                List<DomNode> activePlayerNodes = page.getByXPath("div[@id='div_players']/b/a");
+    /**
+     * Prepares the crawl frontier for the scheduled update, resuming any
+     * unfinished job or starting a new update.
+     *
+     * @return  the name of the job to crawl, or <code>null</code> if the
+     *          update was interrupted
+     */
+    private String planUpdate() {
+        String unfinishedJob = crawlFrontierService.getUnfinishedJob();
+        if (unfinishedJob != null) {
+            crawlFrontierService.resumeUpdate();
+            return unfinishedJob;
+        }
+
+        return startUpdate() ? CrawlFrontierService.UPDATE_JOB : null;
+    }
+
+    /**
+     * Selects the players to crawl according to the update mode and adds them
+     * to the crawl frontier.
+     *
+     * @return  <code>true</code> if the update should proceed,
+     *          <code>false</code> if it was interrupted
+     */
+    private boolean startUpdate() {
+        Map<String, Integer> urlPriorities = new LinkedHashMap<>();
+
+        try {
+            switch (updateMode.trim()) {
+                case INCREMENTAL_MODE:
+                    urlPriorities = planIncrementalUpdate(
+                            pfrDataParsingService.readPlayerIndex(),
+                            playerService.getLatestSeasons(),
+                            Year.now(TimeZone.getTimeZone(timezone).toZoneId()).getValue());
+                    break;
+                case ACTIVE_MODE:
+                    for (PlayerIndexEntry entry : pfrDataParsingService.readPlayerIndex()) {
+                        if (entry.isActive()) {
+                            urlPriorities.put(entry.getUrl(), 0);
+                        }
+                    }
+                    break;
+                case TEAM_MODE:
+                    for (String playerUrl : teamSeasonIngester.ingest(getCurrentSeason())) {
+                        urlPriorities.put(playerUrl, 0);
+                    }
+                    break;
+                case SEASON_MODE:
+                    for (String playerUrl : seasonLeaderIngester.ingest(getCurrentSeason())) {
+                        urlPriorities.put(playerUrl, 0);
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Unrecognized player.data.update.mode '"
+                            + updateMode + "'");
+            }
+        } catch (InterruptedException ie) {
+            LOG.warn("Scheduled player data update was interrupted.");
+            Thread.currentThread().interrupt();
+            return false;
+        }
+
+        LOG.info("Selected {} players to crawl for a {} update.", urlPriorities.size(),
+                updateMode.trim());
+        crawlFrontierService.startUpdate(CrawlFrontierService.UPDATE_JOB, urlPriorities);
+
+        return true;
+    }
 
-                for (DomNode node : activePlayerNodes) {
-                    String playerUrl = PfrDataParsingService.PFR_URL +
-                            ((DomElement) node).getAttribute("href");
-                    pfrDataUpdater.parseAndPersistPlayerDataFromUrl(playerUrl);
+    /**
+     * Determines the current season. A season that begins in the fall
+     * continues through the following February.
+     *
+     * @return  the current season
+     */
+    private int getCurrentSeason() {
+        LocalDate today = LocalDate.now(TimeZone.getTimeZone(timezone).toZoneId());
+
+        return today.getMonth().compareTo(Month.FEBRUARY) <= 0 ? today.getYear() - 1
+                : today.getYear();
+    }
+
+    /**
+     * Selects the players whose data may be out of date, and prioritizes them
+     * by the number of seasons their persisted data is behind the index.
+     * Players that have not been persisted are behind by their entire career.
+     *
+     * @param indexEntries   the entries of every players by letter index page
+     * @param latestSeasons  the latest persisted season of each persisted
+     *                       player, keyed by PFR id. See
+     *                       {@link PlayerService#getLatestSeasons()}.
+     * @param currentYear    the current year
+     * @return               a mapping of the selected players' URLs to their
+     *                       priorities
+     */
+    static Map<String, Integer> planIncrementalUpdate(List<PlayerIndexEntry> indexEntries,
+            Map<String, Integer> latestSeasons, int currentYear) {
+        Map<String, Integer> urlPriorities = new LinkedHashMap<>();
+
+        for (PlayerIndexEntry entry : indexEntries) {
+            boolean persisted = latestSeasons.containsKey(entry.getPfrId());
+            Integer latestSeason = latestSeasons.get(entry.getPfrId());
+            Integer firstYear = entry.getFirstYear();
+            Integer lastYear = entry.getLastYear();
+
+            if (lastYear == null) {
+                // The index does not list a career; fall back to the active flag
+                if (entry.isActive()) {
+                    urlPriorities.put(entry.getUrl(), 0);
                 }
-            } catch (IOException iox) {
-                LOG.error("There was an error while updating player data.", iox);
+                continue;
+            }
+
+            boolean recent = lastYear >= currentYear - 1;
+            boolean behind = persisted && (latestSeason == null || latestSeason < lastYear);
+            if (!recent && !behind && (persisted || !entry.isActive())) {
+                continue;
             }
+
+            int upToDateThrough = (latestSeason != null) ? latestSeason : firstYear - 1;
+            urlPriorities.put(entry.getUrl(), Math.max(0, lastYear - upToDateThrough));
         }
 
-        webClient.close();
-        LOG.info("Scheduled player data update has completed.");
+        return urlPriorities;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,314 @@
+package com.rosterreview.data;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.rosterreview.entity.DraftPick;
+import com.rosterreview.entity.Player;
+import com.rosterreview.service.PfrDataParsingService;
+import com.rosterreview.service.PlayerService;
+import com.rosterreview.service.TeamService;
+
+/**
+ * A {@link Component} that loads {@link DraftPick} data from the draft page of
+ * each year, rather than from the draft line of each player's profile page.
+ * <p>
+ * A draft page lists every pick of a league's draft class, so a class can be
+ * loaded with a single request and saved with a single set-based write. Picks
+ * are matched to persisted players by PFR id; picks of players that have not
+ * been persisted are skipped, and are loaded with the player's profile when
+ * the player is crawled.
+ * <p>
+ * Draft classes are loaded in the background, each while holding the
+ * {@link PlayerCrawler}'s crawl lock, so that a load neither runs alongside a
+ * crawl nor shares the permitted request rate with one. The lock is released
+ * between classes, so a scheduled data update that starts during a load
+ * waits for only the class being loaded; the load then waits up to
+ * <code>player.data.draft.wait.ms</code> for the update to finish, and stops
+ * if it does not.
+ */
+
+@Component
+public class DraftClassIngester implements DisposableBean {
+
+    /**
+     * The name a draft class load is reported as while it runs.
+     */
+    public static final String DRAFT_JOB = "drafts";
+
+    @Autowired
+    private PlayerCrawler playerCrawler;
+
+    @Autowired
+    private PfrDataParsingService pfrDataParsingService;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private PageFetcher pageFetcher;
+
+    @Value("${player.data.draft.wait.ms:3600000}")
+    private long waitMillis;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            new CustomizableThreadFactory("draft-class-"));
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final AtomicInteger failedYears = new AtomicInteger();
+
+    private volatile Map<Integer, Integer> savedPicks = Collections.emptyMap();
+
+    private volatile String league;
+
+    private volatile int firstYear;
+
+    private volatile int lastYear;
+
+    private volatile LocalDateTime startTime;
+
+    private volatile LocalDateTime endTime;
+
+    private static final Logger LOG = LoggerFactory.getLogger(DraftClassIngester.class);
+
+    /**
+     * Starts loading the draft picks of a league's draft classes within a
+     * range of years in the background.
+     *
+     * @param league     the league that held the drafts, e.g. <code>NFL</code>
+     * @param firstYear  the first year to load
+     * @param lastYear   the last year to load, inclusive
+     * @return           <code>true</code> if the load was started,
+     *                   <code>false</code> if a load or a crawl is already in
+     *                   progress
+     */
+    public boolean start(String league, int firstYear, int lastYear) {
+        if (playerCrawler.getCurrentJob() != null || !running.compareAndSet(false, true)) {
+            return false;
+        }
+        this.league = league;
+        this.firstYear = firstYear;
+        this.lastYear = lastYear;
+
+        executor.execute(() -> {
+            try {
+                ingest();
+            } catch (RuntimeException ex) {
+                LOG.error("Draft class load failed.", ex);
+            } finally {
+                running.set(false);
+            }
+        });
+
+        return true;
+    }
+
+    /**
+     * @return  the progress of the current or most recent draft class load
+     */
+    public DraftLoadStatistics getStatistics() {
+        return new DraftLoadStatistics(running.get(), league, firstYear, lastYear,
+                new LinkedHashMap<>(savedPicks), failedYears.get(), startTime, endTime);
+    }
+
+    /**
+     * Stops the load, if one is in progress.
+     */
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Loads the draft picks of the requested draft classes, one class at a
+     * time. Draft pages that cannot be retrieved, parsed, or saved are logged
+     * and skipped.
+     */
+    private void ingest() {
+        Map<Integer, Integer> yearPicks = Collections.synchronizedMap(new LinkedHashMap<>());
+        savedPicks = yearPicks;
+        failedYears.set(0);
+        startTime = LocalDateTime.now();
+        endTime = null;
+
+        try {
+            teamService.refreshTeamIndex();
+            Map<String, Player> knownPlayers = playerService.getPlayerPageVersions();
+
+            for (int year = firstYear; year <= lastYear
+                    && !Thread.currentThread().isInterrupted(); year++) {
+                int draftYear = year;
+                if (!playerCrawler.runExclusively(DRAFT_JOB,
+                        () -> ingest(draftYear, knownPlayers, yearPicks), waitMillis)) {
+                    LOG.warn("Draft class load stopped before {}; the {} job was still in "
+                            + "progress after {} ms.", year, playerCrawler.getCurrentJob(),
+                            waitMillis);
+                    break;
+                }
+            }
+        } finally {
+            endTime = LocalDateTime.now();
+        }
+
+        if (Thread.currentThread().isInterrupted()) {
+            LOG.warn("Draft class load was interrupted.");
+        }
+        LOG.info("Draft class load has stopped. {}.", getStatistics());
+    }
+
+    /**
+     * Loads the draft picks of a single draft class. A draft page that cannot
+     * be retrieved, parsed, or saved is logged and skipped.
+     *
+     * @param year          the year of the draft
+     * @param knownPlayers  the persisted players, keyed by PFR id
+     * @param yearPicks     the number of picks saved for each year loaded
+     */
+    private void ingest(int year, Map<String, Player> knownPlayers,
+            Map<Integer, Integer> yearPicks) {
+        String draftUrl = pfrDataParsingService.getDraftUrl(league, year);
+
+        try (FetchedPage fetchedPage = pageFetcher.fetch(draftUrl)) {
+            if (!fetchedPage.isSuccessful()) {
+                throw new HttpStatusException(draftUrl, fetchedPage.getStatusCode());
+            }
+
+            List<DraftPick> draftPicks = pfrDataParsingService.parseDraftPage(
+                    fetchedPage, league, year, knownPlayers);
+            yearPicks.put(year, playerService.saveDraftPicks(draftPicks));
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException ex) {
+            failedYears.incrementAndGet();
+            LOG.error("Unable to load draft picks from url: {}.", draftUrl, ex);
+        }
+    }
+
+    /**
+     * The progress of a draft class load.
+     */
+    public static class DraftLoadStatistics {
+
+        private final boolean running;
+
+        private final String league;
+
+        private final int firstYear;
+
+        private final int lastYear;
+
+        private final Map<Integer, Integer> savedPicks;
+
+        private final int failedYears;
+
+        private final LocalDateTime startTime;
+
+        private final LocalDateTime endTime;
+
+        private DraftLoadStatistics(boolean running, String league, int firstYear,
+                int lastYear, Map<Integer, Integer> savedPicks, int failedYears,
+                LocalDateTime startTime, LocalDateTime endTime) {
+            this.running = running;
+            this.league = league;
+            this.firstYear = firstYear;
+            this.lastYear = lastYear;
+            this.savedPicks = savedPicks;
+            this.failedYears = failedYears;
+            this.startTime = startTime;
+            this.endTime = endTime;
+        }
+
+        /**
+         * @return  <code>true</code> if a load is in progress
+         */
+        public boolean isRunning() {
+            return running;
+        }
+
+        /**
+         * @return  the league whose draft classes are loaded, or
+         *          <code>null</code> if no load has run
+         */
+        public String getLeague() {
+            return league;
+        }
+
+        /**
+         * @return  the first year loaded
+         */
+        public int getFirstYear() {
+            return firstYear;
+        }
+
+        /**
+         * @return  the last year loaded, inclusive
+         */
+        public int getLastYear() {
+            return lastYear;
+        }
+
+        /**
+         * @return  a mapping of each year whose draft page has been loaded to
+         *          the number of draft picks saved
+         */
+        public Map<Integer, Integer> getSavedPicks() {
+            return savedPicks;
+        }
+
+        /**
+         * @return  the number of years whose draft page could not be loaded
+         */
+        public int getFailedYears() {
+            return failedYears;
+        }
+
+        /**
+         * @return  the time the load started, or <code>null</code> if no load
+         *          has run
+         */
+        public LocalDateTime getStartTime() {
+            return startTime;
+        }
+
+        /**
+         * @return  the time the load stopped, or <code>null</code> if it has
+         *          not stopped
+         */
+        public LocalDateTime getEndTime() {
+            return endTime;
+        }
+
+        /**
+         * Generates a <code>String</code> representation of this
+         * {@link DraftLoadStatistics} for logging.
+         *
+         * @return  a String representation of this object
+         */
+        @Override
+        public String toString() {
+            return savedPicks.values().stream().mapToInt(Integer::intValue).sum() + " "
+                    + league + " draft picks loaded from " + savedPicks.size() + " of "
+                    + (lastYear - firstYear + 1) + " draft pages, " + failedYears + " failed";
+        }
+    }
+}
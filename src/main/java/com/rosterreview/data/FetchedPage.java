@@ -0,0 +1,425 @@
+package com.rosterreview.data;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.gargoylesoftware.htmlunit.html.HtmlPage;
+import com.rosterreview.data.WebClientPool.PooledWebClient;
+import com.rosterreview.utils.WebScrapingUtils;
+import com.rosterreview.utils.WebScrapingUtils.ContentHasher;
+
+/**
+ * A class that describes a web page retrieved by a {@link PageFetcher}.
+ * <p>
+ * The raw page content is either buffered in memory or streamed from the
+ * response body. A streamed body may be read once, with a reader from
+ * {@link #openContentReader(String)}, without ever holding the full content
+ * in memory; requesting the full content first buffers the rest of the body.
+ * <p>
+ * An {@link HtmlPage} is built from the content on request, using a
+ * {@link com.gargoylesoftware.htmlunit.WebClient} borrowed from a
+ * {@link WebClientPool}. Any client held by this page is returned to the pool,
+ * and any unread body is closed, when the page is closed, so consumers should
+ * use a try-with-resources statement.
+ */
+public class FetchedPage implements AutoCloseable {
+
+    private final String url;
+
+    private final int statusCode;
+
+    private String content;
+
+    private String contentHash;
+
+    // The response body, for a page whose content is streamed
+    private Reader body;
+
+    // Computes the hash of a streamed body as it is read
+    private ContentHasher contentHasher;
+
+    private boolean contentReaderOpened;
+
+    // The content retained from a streamed body for getHtmlPage(String)
+    private StringBuilder retainedContent;
+
+    private String retainEndMarker;
+
+    private String retainedPrefix;
+
+    private final Map<String, String> headers;
+
+    private final WebClientPool webClientPool;
+
+    private HtmlPage htmlPage;
+
+    private PooledWebClient webClient;
+
+    /**
+     * A public constructor for {@link FetchedPage}.
+     *
+     * @param url            the URL the page was retrieved from
+     * @param statusCode     the HTTP status code of the response
+     * @param content        the raw content of the response
+     * @param headers        the HTTP headers of the response
+     * @param webClientPool  the pool from which a client will be borrowed
+     *                       to build the {@link HtmlPage}
+     */
+    public FetchedPage(String url, int statusCode, String content,
+            Map<String, String> headers, WebClientPool webClientPool) {
+        this(url, statusCode, content, headers, webClientPool, null, null);
+    }
+
+    /**
+     * A public constructor for a {@link FetchedPage} that has already been
+     * parsed into an {@link HtmlPage}.
+     *
+     * @param url            the URL the page was retrieved from
+     * @param statusCode     the HTTP status code of the response
+     * @param content        the raw content of the response
+     * @param headers        the HTTP headers of the response
+     * @param webClientPool  the pool the web client was borrowed from
+     * @param htmlPage       the parsed page
+     * @param webClient      the client that owns the parsed page, which will be
+     *                       returned to the pool when this page is closed
+     */
+    public FetchedPage(String url, int statusCode, String content,
+            Map<String, String> headers, WebClientPool webClientPool,
+            HtmlPage htmlPage, PooledWebClient webClient) {
+        this.url = url;
+        this.statusCode = statusCode;
+        this.content = content;
+        this.headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        this.headers.putAll(headers);
+        this.webClientPool = webClientPool;
+        this.htmlPage = htmlPage;
+        this.webClient = webClient;
+    }
+
+    /**
+     * A public constructor for a {@link FetchedPage} whose content is streamed
+     * from the response body rather than buffered.
+     *
+     * @param url            the URL the page was retrieved from
+     * @param statusCode     the HTTP status code of the response
+     * @param body           the decoded response body, which will be closed
+     *                       when it has been read or this page is closed
+     * @param charset        the character set of the response body
+     * @param headers        the HTTP headers of the response
+     * @param webClientPool  the pool from which a client will be borrowed
+     *                       to build the {@link HtmlPage}
+     */
+    public FetchedPage(String url, int statusCode, InputStream body, Charset charset,
+            Map<String, String> headers, WebClientPool webClientPool) {
+        this(url, statusCode, (String) null, headers, webClientPool, null, null);
+        this.body = new InputStreamReader(body, charset);
+        this.contentHasher = new ContentHasher();
+    }
+
+    /**
+     * @return  the URL the page was retrieved from
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * @return  the HTTP status code of the response
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * @return  <code>true</code> if the response has a 2xx status code,
+     *          <code>false</code> otherwise
+     */
+    public boolean isSuccessful() {
+        return statusCode >= 200 && statusCode < 300;
+    }
+
+    /**
+     * @return  <code>true</code> if the server responded to a conditional
+     *          request with 304 Not Modified, <code>false</code> otherwise
+     */
+    public boolean isNotModified() {
+        return statusCode == 304;
+    }
+
+    /**
+     * @return  <code>true</code> if the content of the response is held in
+     *          memory, <code>false</code> if it is streamed from the response
+     *          body
+     */
+    public boolean isBuffered() {
+        return content != null;
+    }
+
+    /**
+     * Retrieves the raw content of the response. A streamed body is read in
+     * full and buffered.
+     *
+     * @return  the raw content of the response
+     * @throws UncheckedIOException   if a streamed body cannot be read
+     * @throws IllegalStateException  if a streamed body has already been read
+     *                                by a content reader
+     */
+    public String getContent() {
+        if (content == null) {
+            if (contentReaderOpened) {
+                throw new IllegalStateException("The content of " + url
+                        + " has already been streamed.");
+            }
+            StringBuilder buffer = new StringBuilder(64 * 1024);
+            char[] chars = new char[8192];
+            try {
+                int read;
+                while ((read = readBody(chars, 0, chars.length)) != -1) {
+                    buffer.append(chars, 0, read);
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Unable to read the content of " + url + ".",
+                        ex);
+            }
+            content = buffer.toString();
+        }
+
+        return content;
+    }
+
+    /**
+     * Opens a reader of the raw content of the response. A streamed body is
+     * read directly from the response and may be read only once.
+     *
+     * @return  a reader of the raw content
+     * @throws IllegalStateException  if a streamed body has already been read
+     */
+    public Reader openContentReader() {
+        return openContentReader(null);
+    }
+
+    /**
+     * Opens a reader of the raw content of the response. A streamed body is
+     * read directly from the response and may be read only once; the content
+     * that precedes the element containing the first occurrence of the
+     * indicated marker is retained as it is read, so that
+     * {@link #getHtmlPage(String)} may be called afterwards.
+     *
+     * @param endMarker  text that identifies the first element not to retain,
+     *                   or <code>null</code> to retain nothing
+     * @return           a reader of the raw content
+     * @throws IllegalStateException  if a streamed body has already been read
+     */
+    public Reader openContentReader(String endMarker) {
+        if (content != null) {
+            return new StringReader(content);
+        }
+        if (contentReaderOpened) {
+            throw new IllegalStateException("The content of " + url
+                    + " has already been streamed.");
+        }
+        contentReaderOpened = true;
+        if (endMarker != null) {
+            retainEndMarker = endMarker;
+            retainedContent = new StringBuilder(16 * 1024);
+        }
+
+        return new Reader() {
+
+            @Override
+            public int read(char[] chars, int offset, int length) throws IOException {
+                return readBody(chars, offset, length);
+            }
+
+            @Override
+            public void close() {
+                // The body is closed when it has been read or the page is closed.
+            }
+        };
+    }
+
+    /**
+     * Retrieves the hash of the normalized content of the response. Any part
+     * of a streamed body that has not been read is read and discarded.
+     *
+     * @return  the hash as a lowercase hexadecimal string
+     * @throws IOException  if a streamed body cannot be read
+     * @see     WebScrapingUtils#hashNormalizedContent(String)
+     */
+    public String getContentHash() throws IOException {
+        if (contentHash == null) {
+            if (contentHasher == null) {
+                contentHash = WebScrapingUtils.hashNormalizedContent(content);
+            } else if (!contentReaderOpened) {
+                // Buffering the body hashes it
+                try {
+                    getContent();
+                } catch (UncheckedIOException ex) {
+                    throw ex.getCause();
+                }
+                contentHash = contentHasher.digest();
+            } else {
+                char[] chars = new char[8192];
+                while (readBody(chars, 0, chars.length) != -1) {
+                    // Discard the content; it has been hashed.
+                }
+                contentHash = contentHasher.digest();
+            }
+        }
+
+        return contentHash;
+    }
+
+    /**
+     * @return  the HTTP headers of the response, keyed case insensitively
+     */
+    public Map<String, String> getHeaders() {
+        return Collections.unmodifiableMap(headers);
+    }
+
+    /**
+     * @param name  the name of an HTTP header
+     * @return      the value of the header, or <code>null</code> if the
+     *              response did not include it
+     */
+    public String getHeader(String name) {
+        return headers.get(name);
+    }
+
+    /**
+     * Retrieves the {@link HtmlPage} for this page, parsing the raw content if
+     * it has not already been parsed.
+     *
+     * @return  the parsed page
+     * @throws IOException           if the content cannot be parsed
+     * @throws InterruptedException  if interrupted while waiting for a client
+     *                               from the pool
+     */
+    public HtmlPage getHtmlPage() throws IOException, InterruptedException {
+        if (htmlPage == null) {
+            String pageContent = getContent();
+            webClient = webClientPool.borrow();
+            htmlPage = WebScrapingUtils.parseHtmlPage(webClient.getWebClient(), url,
+                    WebScrapingUtils.uncommentTables(pageContent));
+        }
+
+        return htmlPage;
+    }
+
+    /**
+     * Retrieves an {@link HtmlPage} built from only the raw content preceding
+     * the element that contains the first occurrence of the indicated marker.
+     * This avoids building a document model for the remainder of the page when
+     * only its leading content is needed. If this page has already been parsed
+     * in full, or the marker does not occur, the full page is returned.
+     *
+     * @param endMarker  text that identifies the first element to exclude
+     * @return           the parsed page
+     * @throws IOException           if the content cannot be parsed
+     * @throws InterruptedException  if interrupted while waiting for a client
+     *                               from the pool
+     * @throws IllegalStateException  if a streamed body has been read by a
+     *                                content reader that did not retain the
+     *                                content preceding the marker
+     */
+    public HtmlPage getHtmlPage(String endMarker) throws IOException, InterruptedException {
+        if (htmlPage == null && content == null && contentReaderOpened) {
+            /*
+             * The body has been streamed; build the page from the content
+             * retained for this marker, or from all of the content if the
+             * marker did not occur.
+             */
+            if (!endMarker.equals(retainEndMarker)
+                    || (retainedPrefix == null && body != null)) {
+                throw new IllegalStateException("The content of " + url
+                        + " preceding '" + endMarker + "' was not retained.");
+            }
+            webClient = webClientPool.borrow();
+            htmlPage = WebScrapingUtils.parseHtmlPage(webClient.getWebClient(), url,
+                    (retainedPrefix != null) ? retainedPrefix
+                            : WebScrapingUtils.uncommentTables(retainedContent.toString()));
+        }
+        if (htmlPage == null) {
+            String pageContent = getContent();
+            int markerIndex = pageContent.indexOf(endMarker);
+            int endIndex = (markerIndex < 0) ? -1 : pageContent.lastIndexOf('<', markerIndex);
+            if (endIndex > 0) {
+                webClient = webClientPool.borrow();
+                htmlPage = WebScrapingUtils.parseHtmlPage(webClient.getWebClient(), url,
+                        pageContent.substring(0, endIndex));
+            }
+        }
+
+        return getHtmlPage();
+    }
+
+    /**
+     * Returns any web client held by this page to its pool, and closes any
+     * unread response body.
+     */
+    @Override
+    public void close() {
+        if (webClient != null) {
+            webClient.close();
+            webClient = null;
+        }
+        htmlPage = null;
+        closeBody();
+    }
+
+    /**
+     * Reads the next characters of a streamed response body, adding them to
+     * the content hash and retaining them if requested.
+     *
+     * @param chars   the buffer into which characters are read
+     * @param offset  the index at which to store the first character
+     * @param length  the maximum number of characters to read
+     * @return        the number of characters read, or -1 if the body has
+     *                been read in full
+     * @throws IOException  if the body cannot be read
+     */
+    private int readBody(char[] chars, int offset, int length) throws IOException {
+        if (body == null) {
+            return -1;
+        }
+
+        int read = body.read(chars, offset, length);
+        if (read == -1) {
+            closeBody();
+            return -1;
+        }
+
+        contentHasher.update(chars, offset, read);
+        if (retainedContent != null && retainedPrefix == null) {
+            int searchFrom = Math.max(0, retainedContent.length() - retainEndMarker.length() + 1);
+            retainedContent.append(chars, offset, read);
+            int markerIndex = retainedContent.indexOf(retainEndMarker, searchFrom);
+            int endIndex = (markerIndex < 0) ? -1 : retainedContent.lastIndexOf("<", markerIndex);
+            if (endIndex > 0) {
+                retainedPrefix = retainedContent.substring(0, endIndex);
+                retainedContent = null;
+            }
+        }
+
+        return read;
+    }
+
+    private void closeBody() {
+        if (body != null) {
+            try {
+                body.close();
+            } catch (IOException ex) {
+                // The body is no longer needed.
+            }
+            body = null;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.rosterreview.data;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * A class that limits the load placed upon a single web host by bounding
+ * the number of concurrent requests sent to it and by limiting the rate at
+ * which requests are sent with an {@link AdaptiveRateLimiter}.
+ * <p>
+ * Consumers must call {@link #acquire()} before sending a request to the host,
+ * report the host's response with {@link #onResponse(int, String)}, and call
+ * {@link #release()} once the request has completed.
+ */
+public class HostThrottle {
+
+    private final String host;
+
+    private final int concurrency;
+
+    private final Semaphore permits;
+
+    private final AdaptiveRateLimiter rateLimiter;
+
+    /**
+     * A public constructor for {@link HostThrottle}.
+     *
+     * @param host         the name of the host being throttled
+     * @param concurrency  the maximum number of concurrent requests permitted
+     * @param rateLimiter  the limiter governing the rate of requests
+     */
+    public HostThrottle(String host, int concurrency, AdaptiveRateLimiter rateLimiter) {
+        this.host = host;
+        this.concurrency = Math.max(1, concurrency);
+        this.permits = new Semaphore(this.concurrency, true);
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * Blocks until a request may be sent to the host.
+     *
+     * @throws InterruptedException  if the calling thread is interrupted while
+     *                               waiting
+     */
+    public void acquire() throws InterruptedException {
+        permits.acquire();
+
+        try {
+            rateLimiter.acquire();
+        } catch (InterruptedException ie) {
+            permits.release();
+            throw ie;
+        }
+    }
+
+    /**
+     * Reports the host's response to a request so that the request rate can
+     * be adapted. See {@link AdaptiveRateLimiter#onResponse(int, String)}.
+     *
+     * @param statusCode  the HTTP status code of the response
+     * @param retryAfter  the value of the response's <code>Retry-After</code>
+     *                    header, or <code>null</code> if it has none
+     */
+    public void onResponse(int statusCode, String retryAfter) {
+        rateLimiter.onResponse(statusCode, retryAfter);
+    }
+
+    /**
+     * Signals that a request previously permitted by {@link #acquire()} has
+     * completed.
+     */
+    public void release() {
+        permits.release();
+    }
+
+    /**
+     * @return  the name of the host being throttled
+     */
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * @return  a snapshot of the current statistics of this throttle
+     */
+    public ThrottleStatistics getStatistics() {
+        return new ThrottleStatistics(host, concurrency,
+                concurrency - permits.availablePermits(), rateLimiter.getRate(),
+                rateLimiter.getEffectiveRate(), rateLimiter.getThrottledResponses(),
+                rateLimiter.getPausedMillis());
+    }
+
+    /**
+     * A snapshot of the statistics of a {@link HostThrottle}.
+     */
+    public static class ThrottleStatistics {
+
+        private final String host;
+
+        private final int concurrency;
+
+        private final int inFlight;
+
+        private final double permittedRate;
+
+        private final double effectiveRate;
+
+        private final long throttledResponses;
+
+        private final long pausedMillis;
+
+        private ThrottleStatistics(String host, int concurrency, int inFlight,
+                double permittedRate, double effectiveRate, long throttledResponses,
+                long pausedMillis) {
+            this.host = host;
+            this.concurrency = concurrency;
+            this.inFlight = inFlight;
+            this.permittedRate = permittedRate;
+            this.effectiveRate = effectiveRate;
+            this.throttledResponses = throttledResponses;
+            this.pausedMillis = pausedMillis;
+        }
+
+        /**
+         * @return  the name of the host being throttled
+         */
+        public String getHost() {
+            return host;
+        }
+
+        /**
+         * @return  the maximum number of concurrent requests permitted
+         */
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        /**
+         * @return  the number of requests currently in progress
+         */
+        public int getInFlight() {
+            return inFlight;
+        }
+
+        /**
+         * @return  the rate (requests per second) currently permitted
+         */
+        public double getPermittedRate() {
+            return permittedRate;
+        }
+
+        /**
+         * @return  the rate (requests per second) at which responses have been
+         *          received over the last minute
+         */
+        public double getEffectiveRate() {
+            return effectiveRate;
+        }
+
+        /**
+         * @return  the number of responses that signaled the host was
+         *          overloaded
+         */
+        public long getThrottledResponses() {
+            return throttledResponses;
+        }
+
+        /**
+         * @return  the remaining time (ms) for which requests are paused at the
+         *          host's request
+         */
+        public long getPausedMillis() {
+            return pausedMillis;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.rosterreview.data;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.gargoylesoftware.htmlunit.WebRequest;
+import com.gargoylesoftware.htmlunit.WebResponse;
+import com.gargoylesoftware.htmlunit.util.NameValuePair;
+import com.rosterreview.data.WebClientPool.PooledWebClient;
+
+/**
+ * A {@link PageFetcher} that retrieves web pages with a JavaScript enabled
+ * HtmlUnit {@link com.gargoylesoftware.htmlunit.WebClient} borrowed from a
+ * {@link WebClientPool}.
+ * <p>
+ * Only the response is loaded; the client is returned to the pool as soon as
+ * it arrives, and no document model is built or script run until an
+ * {@link com.gargoylesoftware.htmlunit.html.HtmlPage} is requested from the
+ * {@link FetchedPage}. HtmlUnit holds each response body in memory, or in a
+ * temporary file if it is large, and the FetchedPage streams its content from
+ * there.
+ */
+public class HtmlUnitPageFetcher implements PageFetcher {
+
+    private final WebClientPool webClientPool;
+
+    /**
+     * A public constructor for {@link HtmlUnitPageFetcher}.
+     *
+     * @param webClientPool  the pool from which web clients will be borrowed
+     */
+    public HtmlUnitPageFetcher(WebClientPool webClientPool) {
+        this.webClientPool = webClientPool;
+    }
+
+    @Override
+    public FetchedPage fetch(String url, Map<String, String> requestHeaders)
+            throws IOException, InterruptedException {
+        WebRequest request = new WebRequest(new URL(url));
+        request.setAdditionalHeaders(requestHeaders);
+
+        WebResponse response;
+        try (PooledWebClient webClient = webClientPool.borrow()) {
+            response = webClient.getWebClient().loadWebResponse(request);
+        }
+
+        InputStream body;
+        try {
+            body = response.getContentAsStream();
+        } catch (IOException | RuntimeException ex) {
+            response.cleanUp();
+            throw ex;
+        }
+
+        return new FetchedPage(url, response.getStatusCode(), new FilterInputStream(body) {
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    response.cleanUp();
+                }
+            }
+        }, response.getContentCharset(), getHeaders(response), webClientPool);
+    }
+
+    /**
+     * Collects the HTTP headers of a {@link WebResponse}.
+     *
+     * @param response  the response
+     * @return          a mapping of header names to values
+     */
+    private Map<String, String> getHeaders(WebResponse response) {
+        Map<String, String> headers = new HashMap<>();
+        for (NameValuePair header : response.getResponseHeaders()) {
+            headers.put(header.getName(), header.getValue());
+        }
+
+        return headers;
+    }
+}
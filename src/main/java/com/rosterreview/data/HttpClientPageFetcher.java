@@ -0,0 +1,136 @@
+package com.rosterreview.data;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import com.gargoylesoftware.htmlunit.BrowserVersion;
+
+/**
+ * A {@link PageFetcher} that retrieves web pages with a
+ * {@link java.net.http.HttpClient} rather than a full HtmlUnit browser.
+ * <p>
+ * Pages are requested over HTTP/2 where the server supports it, and
+ * connections are kept alive and reused between requests. Response bodies
+ * are not buffered: each {@link FetchedPage} streams its content from the
+ * connection, decoding compressed responses as they are read. No
+ * JavaScript is executed; retrieved content is parsed by a JavaScript-disabled
+ * {@link com.gargoylesoftware.htmlunit.WebClient} from the {@link WebClientPool}
+ * only when an {@link com.gargoylesoftware.htmlunit.html.HtmlPage} is requested.
+ */
+public class HttpClientPageFetcher implements PageFetcher {
+
+    private final HttpClient httpClient;
+
+    private final WebClientPool webClientPool;
+
+    private final Duration requestTimeout;
+
+    /**
+     * A public constructor for {@link HttpClientPageFetcher}.
+     *
+     * @param webClientPool   the pool from which web clients will be borrowed
+     *                        to parse retrieved pages
+     * @param requestTimeout  the maximum time to wait for a response
+     */
+    public HttpClientPageFetcher(WebClientPool webClientPool, Duration requestTimeout) {
+        this.webClientPool = webClientPool;
+        this.requestTimeout = requestTimeout;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(requestTimeout)
+                .build();
+    }
+
+    @Override
+    public FetchedPage fetch(String url, Map<String, String> requestHeaders)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder requestBuilder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(requestTimeout)
+                .header("User-Agent", BrowserVersion.CHROME.getUserAgent())
+                .header("Accept", "text/html,application/xhtml+xml")
+                .header("Accept-Encoding", "gzip, deflate")
+                .GET();
+        requestHeaders.forEach(requestBuilder::header);
+        HttpRequest request = requestBuilder.build();
+
+        HttpResponse<InputStream> response = httpClient.send(request,
+                BodyHandlers.ofInputStream());
+
+        Map<String, String> headers = new HashMap<>();
+        for (Map.Entry<String, List<String>> header : response.headers().map().entrySet()) {
+            headers.put(header.getKey(), String.join(", ", header.getValue()));
+        }
+
+        String contentEncoding = response.headers().firstValue("Content-Encoding").orElse("");
+        Charset charset = getCharset(response.headers().firstValue("Content-Type").orElse(""));
+
+        InputStream body;
+        try {
+            body = decode(response.body(), contentEncoding);
+        } catch (IOException ex) {
+            response.body().close();
+            throw ex;
+        }
+
+        return new FetchedPage(url, response.statusCode(), body, charset, headers,
+                webClientPool);
+    }
+
+    /**
+     * Wraps a response body in a decoder appropriate for its content encoding.
+     *
+     * @param body             the raw response body
+     * @param contentEncoding  the value of the response's Content-Encoding header
+     * @return                 a stream of the decoded response body
+     * @throws IOException     if the body cannot be decoded
+     */
+    private InputStream decode(InputStream body, String contentEncoding) throws IOException {
+        switch (contentEncoding.trim().toLowerCase()) {
+            case "gzip":
+            case "x-gzip":
+                return new GZIPInputStream(body, 8192);
+            case "deflate":
+                return new InflaterInputStream(body);
+            default:
+                return body;
+        }
+    }
+
+    /**
+     * Determines the character set of a response from its Content-Type header.
+     *
+     * @param contentType  the value of the response's Content-Type header
+     * @return             the declared character set, or UTF-8 if none is
+     *                     declared or it is unsupported
+     */
+    private Charset getCharset(String contentType) {
+        for (String param : contentType.split(";")) {
+            String[] keyValue = param.trim().split("=", 2);
+            if (keyValue.length == 2 && keyValue[0].equalsIgnoreCase("charset")) {
+                try {
+                    return Charset.forName(keyValue[1].replace("\"", "").trim());
+                } catch (IllegalCharsetNameException | UnsupportedCharsetException ex) {
+                    break;
+                }
+            }
+        }
+
+        return StandardCharsets.UTF_8;
+    }
+}
@@ -0,0 +1,54 @@
+package com.rosterreview.data;
+
+import java.io.IOException;
+
+/**
+ * An {@link IOException} signaling that a web host responded to a request with
+ * an unsuccessful HTTP status code.
+ */
+public class HttpStatusException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String url;
+
+    private final int statusCode;
+
+    /**
+     * A public constructor for {@link HttpStatusException}.
+     *
+     * @param url         the URL the request was sent to
+     * @param statusCode  the HTTP status code of the response
+     */
+    public HttpStatusException(String url, int statusCode) {
+        super("Received HTTP status " + statusCode + " from " + url);
+        this.url = url;
+        this.statusCode = statusCode;
+    }
+
+    /**
+     * @return  the URL the request was sent to
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * @return  the HTTP status code of the response
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Determines if the response's status code indicates a condition that may
+     * clear if the request is retried: a request timeout, too many requests,
+     * or a server error.
+     *
+     * @return  <code>true</code> if the request may succeed if retried,
+     *          <code>false</code> otherwise
+     */
+    public boolean isTransient() {
+        return statusCode == 408 || statusCode == 429 || statusCode >= 500;
+    }
+}
@@ -0,0 +1,777 @@
+package com.rosterreview.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import com.rosterreview.dao.PlayerSeasonBatchWriter;
+import com.rosterreview.dao.PlayerSeasonBatchWriter.WriteCallback;
+import com.rosterreview.entity.Player;
+import com.rosterreview.service.CrawlFrontierService;
+import com.rosterreview.service.PfrDataParsingService;
+import com.rosterreview.service.PlayerService;
+
+/**
+ * A single run of the player data ingest, split into stages that are connected
+ * by bounded queues.
+ * <ol>
+ * <li><b>fetch</b>:   Retrieves player pages claimed from the crawl frontier.
+ *                     Requests are throttled by the {@link PageFetcher}.</li>
+ * <li><b>parse</b>:   Parses retrieved pages into detached {@link Player}
+ *                     graphs.</li>
+ * <li><b>persist</b>: Saves parsed players and queues their statistics with
+ *                     a {@link PlayerSeasonBatchWriter}.</li>
+ * </ol>
+ * Each stage runs on its own worker threads. When a stage falls behind, the
+ * queue feeding it fills and the upstream stage blocks until there is room,
+ * so a slow database throttles fetching rather than accumulating pages in
+ * memory. Per-stage statistics are available while the pipeline runs.
+ * <p>
+ * Pages are claimed from the {@link CrawlFrontierService} only as the fetch
+ * stage has room for them, and each page is checkpointed in the frontier once
+ * its statistics have been written, once it is found to be unchanged, or once
+ * it fails. Completed pages may be checkpointed in batches to reduce the
+ * number of frontier transactions; a batch that cannot be checkpointed is
+ * retried with the next, and pages whose checkpoint is lost when the process
+ * stops are crawled again, and are found to be unchanged. Pages that fail
+ * transiently are claimed again once their retry is due, so the pipeline runs
+ * until every page it has claimed has been checkpointed and no page is left
+ * pending. While it waits, the pipeline flushes the statistics writer itself
+ * rather than relying on the writer's scheduled flush. When the pipeline is
+ * stopped, it claims no further pages, releases the pages it has not
+ * started, and finishes the pages in progress.
+ */
+public class IngestPipeline {
+
+    private final PfrDataParsingService parsingService;
+
+    private final PlayerService playerService;
+
+    private final CrawlFrontierService frontier;
+
+    private final PlayerSeasonBatchWriter statisticsWriter;
+
+    private final int claimSize;
+
+    private final int checkpointBatchSize;
+
+    private final long drainTimeoutMillis;
+
+    private final Stage<String, FetchResult> fetchStage;
+
+    private final Stage<FetchResult, ParsedPlayer> parseStage;
+
+    private final Stage<ParsedPlayer, Void> persistStage;
+
+    private final List<String> completedUrls = new ArrayList<>();
+
+    /**
+     * The pages claimed by this pipeline that have not yet been checkpointed
+     * or released.
+     */
+    private final Set<String> claimedUrls = ConcurrentHashMap.newKeySet();
+
+    private final CountDownLatch finished = new CountDownLatch(1);
+
+    private volatile boolean stopping;
+
+    private Map<String, Player> knownPlayers = Collections.emptyMap();
+
+    private static final Logger LOG = LoggerFactory.getLogger(IngestPipeline.class);
+
+    /**
+     * The interval (ms) at which the frontier is polled while pages are
+     * waiting to be retried.
+     */
+    private static final long RETRY_POLL_MILLIS = 1000;
+
+    /**
+     * A public constructor for {@link IngestPipeline}.
+     *
+     * @param parsingService      the service used to fetch and parse pages
+     * @param playerService       the service used to save players
+     * @param frontier            the frontier pages are claimed from
+     * @param statisticsWriter    the writer player statistics are queued with
+     * @param settings            the parallelism and checkpointing of the
+     *                            pipeline
+     * @param drainTimeoutMillis  the maximum time (ms) to wait for pages in
+     *                            progress to finish once the pipeline is
+     *                            interrupted
+     */
+    public IngestPipeline(PfrDataParsingService parsingService, PlayerService playerService,
+            CrawlFrontierService frontier, PlayerSeasonBatchWriter statisticsWriter,
+            CrawlSettings settings, long drainTimeoutMillis) {
+
+        this.parsingService = parsingService;
+        this.playerService = playerService;
+        this.frontier = frontier;
+        this.statisticsWriter = statisticsWriter;
+        this.claimSize = Math.max(1, settings.getQueueCapacity());
+        this.checkpointBatchSize = Math.max(1, settings.getCheckpointBatchSize());
+        this.drainTimeoutMillis = drainTimeoutMillis;
+
+        BlockingQueue<String> fetchQueue = new ArrayBlockingQueue<>(claimSize);
+        BlockingQueue<FetchResult> parseQueue = new ArrayBlockingQueue<>(claimSize);
+        BlockingQueue<ParsedPlayer> persistQueue = new ArrayBlockingQueue<>(claimSize);
+
+        this.fetchStage = new Stage<>("fetch", settings.getFetchThreads(), fetchQueue,
+                parseQueue, this::fetch, url -> url, FetchResult.SKIP);
+        this.parseStage = new Stage<>("parse", settings.getParseThreads(), parseQueue,
+                persistQueue, this::parse, FetchResult::toString, ParsedPlayer.SKIP);
+        this.persistStage = new Stage<>("persist", settings.getPersistThreads(), persistQueue,
+                null, this::persist, ParsedPlayer::toString, null);
+    }
+
+    /**
+     * Ingests the player data found at each page claimed from the crawl
+     * frontier.
+     * <p>
+     * This method blocks until every page in the frontier has completed or
+     * failed, or until the pipeline is stopped and the pages in progress have
+     * passed through it. Pages completed by statistics that are still queued
+     * with the statistics writer are checkpointed when the writer is flushed,
+     * which must be followed by a call to {@link #flushCheckpoints()}.
+     *
+     * @param knownPlayers  the page versions of persisted players, keyed by
+     *                      PFR id. See {@link PlayerService#getPlayerPageVersions()}.
+     * @throws InterruptedException  if interrupted while waiting for the
+     *                               pipeline to complete, in which case the
+     *                               pipeline is stopped and given up to the
+     *                               drain timeout to finish pages in progress
+     */
+    public void run(Map<String, Player> knownPlayers) throws InterruptedException {
+
+        this.knownPlayers = knownPlayers;
+
+        List<Stage<?, ?>> stages = Arrays.asList(fetchStage, parseStage, persistStage);
+        int threads = stages.stream().mapToInt(stage -> stage.threads).sum();
+        ExecutorService executor = Executors.newFixedThreadPool(threads,
+                new CustomizableThreadFactory("ingest-pipeline-"));
+
+        try {
+            for (Stage<?, ?> stage : stages) {
+                stage.start(executor);
+            }
+
+            feed();
+            awaitStages(Long.MAX_VALUE);
+        } catch (InterruptedException ie) {
+            stop();
+            if (!awaitStages(TimeUnit.MILLISECONDS.toNanos(drainTimeoutMillis))) {
+                LOG.warn("Pages still in progress after {} ms will be crawled again "
+                        + "when the data update resumes.", drainTimeoutMillis);
+            }
+            throw ie;
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+            releaseAbandonedPages();
+            flushCheckpoints();
+            finished.countDown();
+        }
+    }
+
+    /**
+     * Stops this pipeline from claiming further pages and releases the pages
+     * it has claimed but not yet started. Pages in progress continue through
+     * the pipeline.
+     */
+    public void stop() {
+        stopping = true;
+
+        List<String> unstarted = new ArrayList<>();
+        fetchStage.input.drainTo(unstarted);
+        release(unstarted);
+    }
+
+    /**
+     * Checkpoints the completed pages that have not yet been checkpointed in
+     * the crawl frontier.
+     */
+    public void flushCheckpoints() {
+        List<String> urls;
+        synchronized (completedUrls) {
+            if (completedUrls.isEmpty()) {
+                return;
+            }
+            urls = new ArrayList<>(completedUrls);
+            completedUrls.clear();
+        }
+
+        try {
+            frontier.complete(urls);
+            claimedUrls.removeAll(urls);
+        } catch (RuntimeException ex) {
+            LOG.error("Unable to checkpoint {} pages as complete; the checkpoint will be "
+                    + "retried.", urls.size(), ex);
+            synchronized (completedUrls) {
+                completedUrls.addAll(urls);
+            }
+        }
+    }
+
+    /**
+     * Waits for {@link #run(Map)} to return.
+     *
+     * @param timeoutMillis  the maximum time (ms) to wait
+     * @return               <code>true</code> if the run has returned,
+     *                       <code>false</code> if the timeout elapsed first
+     * @throws InterruptedException  if interrupted while waiting
+     */
+    public boolean awaitTermination(long timeoutMillis) throws InterruptedException {
+        return finished.await(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return  the current statistics of each stage of this pipeline
+     */
+    public List<StageStatistics> getStatistics() {
+        return Arrays.asList(fetchStage.getStatistics(), parseStage.getStatistics(),
+                persistStage.getStatistics());
+    }
+
+    /**
+     * Claims pages from the frontier and hands them to the fetch stage as it
+     * has room for them, until every page claimed by this pipeline has been
+     * checkpointed and no page is pending, or the pipeline is stopped. Pages
+     * scheduled for retry are claimed once their next attempt is due.
+     *
+     * @throws InterruptedException  if interrupted while waiting for room in
+     *                               the fetch stage
+     */
+    private void feed() throws InterruptedException {
+        while (!stopping) {
+            List<String> urls = frontier.claim(claimSize);
+            claimedUrls.addAll(urls);
+            if (urls.isEmpty()) {
+                /*
+                 * Pages in progress may be waiting on queued statistics, and
+                 * may yet fail and be scheduled for retry, so write the queued
+                 * statistics and wait until every claimed page has been
+                 * checkpointed.
+                 */
+                statisticsWriter.flush();
+                flushCheckpoints();
+                if (claimedUrls.isEmpty() && !frontier.hasPendingPages()) {
+                    return;
+                }
+                Thread.sleep(RETRY_POLL_MILLIS);
+                continue;
+            }
+
+            for (int i = 0; i < urls.size(); i++) {
+                if (stopping) {
+                    release(urls.subList(i, urls.size()));
+                    return;
+                }
+                try {
+                    fetchStage.input.put(urls.get(i));
+                } catch (InterruptedException ie) {
+                    release(urls.subList(i, urls.size()));
+                    throw ie;
+                }
+            }
+        }
+    }
+
+    /**
+     * Waits for each stage in turn to finish the items passed to it by the
+     * previous stage.
+     *
+     * @param timeoutNanos  the maximum time (ns) to wait for all stages
+     * @return              <code>true</code> if every stage finished,
+     *                      <code>false</code> if the timeout elapsed first
+     * @throws InterruptedException  if interrupted while waiting
+     */
+    private boolean awaitStages(long timeoutNanos) throws InterruptedException {
+        long startNanos = System.nanoTime();
+
+        fetchStage.upstreamComplete = true;
+        if (!fetchStage.complete.await(timeoutNanos, TimeUnit.NANOSECONDS)) {
+            return false;
+        }
+        parseStage.upstreamComplete = true;
+        if (!parseStage.complete.await(timeoutNanos - (System.nanoTime() - startNanos),
+                TimeUnit.NANOSECONDS)) {
+            return false;
+        }
+        persistStage.upstreamComplete = true;
+
+        return persistStage.complete.await(timeoutNanos - (System.nanoTime() - startNanos),
+                TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Releases the pages left in the queues of stopped stages, and returns any
+     * resources held by abandoned pages.
+     */
+    private void releaseAbandonedPages() {
+        List<String> abandoned = new ArrayList<>();
+
+        fetchStage.input.drainTo(abandoned);
+        FetchResult fetchResult;
+        while ((fetchResult = parseStage.input.poll()) != null) {
+            fetchResult.fetchedPage.close();
+            abandoned.add(fetchResult.toString());
+        }
+        ParsedPlayer parsedPlayer;
+        while ((parsedPlayer = persistStage.input.poll()) != null) {
+            abandoned.add(parsedPlayer.toString());
+        }
+
+        release(abandoned);
+    }
+
+    /**
+     * Retrieves a player's page.
+     *
+     * @param playerUrl  the URL for the player's PFR profile page
+     * @return           the retrieved page, or {@link FetchResult#SKIP} if the
+     *                   page has not been modified
+     * @throws Exception  if the page cannot be retrieved
+     */
+    private FetchResult fetch(String playerUrl) throws Exception {
+        Player knownPlayer = knownPlayers.get(PfrDataParsingService.getPfrId(playerUrl));
+        FetchedPage fetchedPage = parsingService.fetchPlayerPage(playerUrl, knownPlayer);
+
+        if (fetchedPage.isNotModified()) {
+            fetchedPage.close();
+            return FetchResult.SKIP;
+        }
+
+        return new FetchResult(fetchedPage, knownPlayer);
+    }
+
+    /**
+     * Parses a retrieved page into a detached {@link Player} graph.
+     *
+     * @param fetchResult  the retrieved page
+     * @return             the parsed player, or {@link ParsedPlayer#SKIP} if
+     *                     the page is unchanged since it was last parsed
+     * @throws Exception  if the page cannot be parsed
+     */
+    private ParsedPlayer parse(FetchResult fetchResult) throws Exception {
+        try (FetchedPage fetchedPage = fetchResult.fetchedPage) {
+            Player player = parsingService.parsePlayerPage(fetchedPage,
+                    fetchResult.knownPlayer);
+
+            return player == null ? ParsedPlayer.SKIP
+                    : new ParsedPlayer(fetchedPage.getUrl(), player);
+        }
+    }
+
+    /**
+     * Saves a parsed player while holding the player's lock. The player's page
+     * is checkpointed once its statistics have been written. A player that
+     * was not persisted when the pipeline started, but has since been saved
+     * by an on-demand refresh, is left as the refresh saved it.
+     *
+     * @param parsedPlayer  the parsed player
+     * @return              <code>null</code>, as the persist stage is the last
+     */
+    private Void persist(ParsedPlayer parsedPlayer) {
+        String pfrId = PfrDataParsingService.getPfrId(parsedPlayer.url);
+        Lock playerLock = playerService.getPlayerLock(pfrId);
+        WriteCallback callback = new WriteCallback() {
+
+            @Override
+            public void written() {
+                complete(parsedPlayer.url);
+            }
+
+            @Override
+            public void failed(Exception ex) {
+                fail(parsedPlayer.url, ex);
+            }
+        };
+
+        playerLock.lock();
+        try {
+            if (!knownPlayers.containsKey(pfrId)
+                    && playerService.getPlayerPageVersion(pfrId) != null) {
+                playerService.releasePlayerId(parsedPlayer.player.getId());
+                complete(parsedPlayer.url);
+                return null;
+            }
+
+            playerService.savePlayer(parsedPlayer.player, statisticsWriter, callback);
+        } finally {
+            playerLock.unlock();
+        }
+
+        return null;
+    }
+
+    /**
+     * Checkpoints a page whose data is up to date, once a batch of such pages
+     * has accumulated.
+     *
+     * @param url  the URL of the page
+     */
+    private void complete(String url) {
+        boolean full;
+        synchronized (completedUrls) {
+            completedUrls.add(url);
+            full = completedUrls.size() >= checkpointBatchSize;
+        }
+        if (full) {
+            flushCheckpoints();
+        }
+    }
+
+    /**
+     * Checkpoints a page that could not be processed.
+     *
+     * @param url  the URL of the page
+     * @param ex   the reason the page could not be processed
+     */
+    private void fail(String url, Exception ex) {
+        try {
+            frontier.fail(url, ex);
+            claimedUrls.remove(url);
+        } catch (RuntimeException rex) {
+            LOG.error("Unable to checkpoint {} as failed; releasing it.", url, rex);
+            release(Collections.singletonList(url));
+        }
+    }
+
+    /**
+     * Returns claimed pages that will not be processed by this pipeline to the
+     * frontier. Pages that cannot be released are returned when the data
+     * update resumes.
+     *
+     * @param urls  the URLs of the pages
+     */
+    private void release(List<String> urls) {
+        if (urls.isEmpty()) {
+            return;
+        }
+
+        claimedUrls.removeAll(urls);
+        try {
+            frontier.release(urls);
+        } catch (RuntimeException ex) {
+            LOG.error("Unable to release {} claimed pages.", urls.size(), ex);
+        }
+    }
+
+    /**
+     * A retrieved page and the persisted player it belongs to, if any.
+     */
+    private static class FetchResult {
+
+        /**
+         * Returned by the fetch stage for a page that has not been modified.
+         */
+        private static final FetchResult SKIP = new FetchResult(null, null);
+
+        private final FetchedPage fetchedPage;
+
+        private final Player knownPlayer;
+
+        private FetchResult(FetchedPage fetchedPage, Player knownPlayer) {
+            this.fetchedPage = fetchedPage;
+            this.knownPlayer = knownPlayer;
+        }
+
+        @Override
+        public String toString() {
+            return fetchedPage.getUrl();
+        }
+    }
+
+    /**
+     * A parsed player and the URL of the page it was parsed from.
+     */
+    private static class ParsedPlayer {
+
+        /**
+         * Returned by the parse stage for a page that is unchanged since it
+         * was last parsed.
+         */
+        private static final ParsedPlayer SKIP = new ParsedPlayer(null, null);
+
+        private final String url;
+
+        private final Player player;
+
+        private ParsedPlayer(String url, Player player) {
+            this.url = url;
+            this.player = player;
+        }
+
+        @Override
+        public String toString() {
+            return url;
+        }
+    }
+
+    /**
+     * The work performed on each item by a stage.
+     *
+     * @param <I>  the type of item consumed by the stage
+     * @param <O>  the type of item produced by the stage
+     */
+    @FunctionalInterface
+    private interface StageFunction<I, O> {
+
+        /**
+         * @param item  an item from the stage's input queue
+         * @return      the item to pass to the next stage, the stage's skip
+         *              item if the item needs no further processing, or
+         *              <code>null</code> from the final stage
+         * @throws Exception  if the item cannot be processed
+         */
+        O apply(I item) throws Exception;
+    }
+
+    /**
+     * A stage of the pipeline and its worker threads. An item that fails, or
+     * that the stage skips because it needs no further processing, has its
+     * page checkpointed by the stage.
+     *
+     * @param <I>  the type of item consumed by the stage
+     * @param <O>  the type of item produced by the stage
+     */
+    private class Stage<I, O> {
+
+        private final String name;
+
+        private final int threads;
+
+        private final BlockingQueue<I> input;
+
+        private final BlockingQueue<O> output;
+
+        private final StageFunction<I, O> function;
+
+        private final Function<I, String> urlOf;
+
+        private final O skip;
+
+        private final CountDownLatch complete;
+
+        private volatile boolean upstreamComplete;
+
+        private final AtomicLong processed = new AtomicLong();
+
+        private final AtomicLong skipped = new AtomicLong();
+
+        private final AtomicLong failed = new AtomicLong();
+
+        private final AtomicLong busyNanos = new AtomicLong();
+
+        private final AtomicLong outputWaitNanos = new AtomicLong();
+
+        private volatile long startNanos;
+
+        private Stage(String name, int threads, BlockingQueue<I> input,
+                BlockingQueue<O> output, StageFunction<I, O> function,
+                Function<I, String> urlOf, O skip) {
+            this.name = name;
+            this.threads = Math.max(1, threads);
+            this.input = input;
+            this.output = output;
+            this.function = function;
+            this.urlOf = urlOf;
+            this.skip = skip;
+            this.complete = new CountDownLatch(this.threads);
+        }
+
+        private void start(ExecutorService executor) {
+            startNanos = System.nanoTime();
+            for (int i = 0; i < threads; i++) {
+                executor.execute(this::work);
+            }
+        }
+
+        private void work() {
+            try {
+                while (true) {
+                    I item = input.poll(100, TimeUnit.MILLISECONDS);
+                    if (item == null) {
+                        if (upstreamComplete && input.isEmpty()) {
+                            break;
+                        }
+                        continue;
+                    }
+
+                    long itemStartNanos = System.nanoTime();
+                    O result = null;
+                    boolean itemFailed = false;
+                    try {
+                        result = function.apply(item);
+                    } catch (InterruptedException ie) {
+                        throw ie;
+                    } catch (Exception ex) {
+                        itemFailed = true;
+                        failed.incrementAndGet();
+                        LOG.error("The {} stage was unable to process {}.", name, item, ex);
+                        fail(urlOf.apply(item), ex);
+                    }
+                    busyNanos.addAndGet(System.nanoTime() - itemStartNanos);
+                    processed.incrementAndGet();
+
+                    if (itemFailed) {
+                        continue;
+                    }
+                    if (skip != null && result == skip) {
+                        skipped.incrementAndGet();
+                        complete(urlOf.apply(item));
+                    } else if (output != null) {
+                        long waitStartNanos = System.nanoTime();
+                        output.put(result);
+                        outputWaitNanos.addAndGet(System.nanoTime() - waitStartNanos);
+                    }
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            } finally {
+                complete.countDown();
+            }
+        }
+
+        private StageStatistics getStatistics() {
+            long elapsedNanos = Math.max(1, System.nanoTime() - startNanos);
+
+            return new StageStatistics(name, threads, input.size(),
+                    input.size() + input.remainingCapacity(), processed.get(),
+                    skipped.get(), failed.get(),
+                    processed.get() * 1e9 / elapsedNanos,
+                    TimeUnit.NANOSECONDS.toMillis(busyNanos.get()),
+                    TimeUnit.NANOSECONDS.toMillis(outputWaitNanos.get()));
+        }
+    }
+
+    /**
+     * A snapshot of the statistics of one stage of an {@link IngestPipeline}.
+     */
+    public static class StageStatistics {
+
+        private final String stage;
+
+        private final int threads;
+
+        private final int queueDepth;
+
+        private final int queueCapacity;
+
+        private final long processed;
+
+        private final long skipped;
+
+        private final long failed;
+
+        private final double throughputPerSecond;
+
+        private final long busyMillis;
+
+        private final long blockedMillis;
+
+        private StageStatistics(String stage, int threads, int queueDepth,
+                int queueCapacity, long processed, long skipped, long failed,
+                double throughputPerSecond, long busyMillis, long blockedMillis) {
+            this.stage = stage;
+            this.threads = threads;
+            this.queueDepth = queueDepth;
+            this.queueCapacity = queueCapacity;
+            this.processed = processed;
+            this.skipped = skipped;
+            this.failed = failed;
+            this.throughputPerSecond = throughputPerSecond;
+            this.busyMillis = busyMillis;
+            this.blockedMillis = blockedMillis;
+        }
+
+        /**
+         * @return  the name of the stage
+         */
+        public String getStage() {
+            return stage;
+        }
+
+        /**
+         * @return  the number of worker threads in the stage
+         */
+        public int getThreads() {
+            return threads;
+        }
+
+        /**
+         * @return  the number of items waiting in the stage's input queue
+         */
+        public int getQueueDepth() {
+            return queueDepth;
+        }
+
+        /**
+         * @return  the capacity of the stage's input queue
+         */
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        /**
+         * @return  the number of items the stage has processed
+         */
+        public long getProcessed() {
+            return processed;
+        }
+
+        /**
+         * @return  the number of processed items that were dropped because
+         *          they needed no further processing, such as pages that have
+         *          not been modified; failed items are not included
+         */
+        public long getSkipped() {
+            return skipped;
+        }
+
+        /**
+         * @return  the number of items the stage failed to process
+         */
+        public long getFailed() {
+            return failed;
+        }
+
+        /**
+         * @return  the average number of items processed per second since the
+         *          stage started
+         */
+        public double getThroughputPerSecond() {
+            return throughputPerSecond;
+        }
+
+        /**
+         * @return  the total time (ms) the stage's threads spent processing items
+         */
+        public long getBusyMillis() {
+            return busyMillis;
+        }
+
+        /**
+         * @return  the total time (ms) the stage's threads spent blocked waiting
+         *          for room in the next stage's queue
+         */
+        public long getBlockedMillis() {
+            return blockedMillis;
+        }
+    }
+}
@@ -0,0 +1,472 @@
+package com.rosterreview.data;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * A {@link Component} that archives the raw content of every retrieved page,
+ * so that pages can be parsed again without being retrieved again.
+ * <p>
+ * Pages are compressed individually and appended to segment files in the
+ * directory named by the <code>player.data.archive.path</code> property; the
+ * archive is disabled if the property is not set. Each segment
+ * (<code>pages-NNNNNN.seg</code>) is accompanied by an append-only offset
+ * index (<code>pages-NNNNNN.idx</code>) with one line per page, holding the
+ * page's offset, its record length, and its URL. A new segment is started
+ * once the current one reaches <code>player.data.archive.segment.size</code>
+ * bytes, which keeps every segment small enough to be memory-mapped. A page
+ * that is archived more than once is read from its most recent record.
+ * <p>
+ * Records that were not fully written before a crash are ignored when the
+ * index is read, and their index entries are removed when their segment is
+ * reopened for appending, so that they cannot describe later records.
+ * <p>
+ * Each record holds the length of the compressed data followed by the
+ * deflated UTF-8 text of the page's URL, its <code>ETag</code> and
+ * <code>Last-Modified</code> headers, and its content. See
+ * {@link PageReprocessJob}.
+ */
+
+@Component
+public class PageArchive implements DisposableBean {
+
+    @Value("${player.data.archive.path:}")
+    private String archivePath;
+
+    @Value("${player.data.archive.segment.size:268435456}")
+    private long segmentSize;
+
+    private FileChannel segment;
+
+    private BufferedWriter index;
+
+    private int segmentNumber;
+
+    /**
+     * The largest segment that may be memory-mapped.
+     */
+    private static final long MAX_SEGMENT_SIZE = Integer.MAX_VALUE;
+
+    /**
+     * The headers that are archived with each page.
+     */
+    private static final List<String> ARCHIVED_HEADERS = List.of("ETag", "Last-Modified");
+
+    private static final String SEGMENT_PREFIX = "pages-";
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private static final String INDEX_SUFFIX = ".idx";
+
+    private static final Logger LOG = LoggerFactory.getLogger(PageArchive.class);
+
+    /**
+     * @return  <code>true</code> if pages are archived,
+     *          <code>false</code> if the archive is disabled
+     */
+    public boolean isEnabled() {
+        return !archivePath.trim().isEmpty();
+    }
+
+    /**
+     * Appends a retrieved page to the archive. Only pages with successful
+     * responses are archived. Nothing is archived if the archive is disabled.
+     *
+     * @param fetchedPage  the retrieved page
+     * @throws IOException  if the page cannot be written
+     */
+    public void append(FetchedPage fetchedPage) throws IOException {
+        if (!isEnabled() || !fetchedPage.isSuccessful() || fetchedPage.isNotModified()) {
+            return;
+        }
+
+        byte[] record = compress(encode(fetchedPage));
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + record.length);
+        buffer.putInt(record.length).put(record).flip();
+
+        synchronized (this) {
+            openSegment(buffer.remaining());
+            long offset = segment.size();
+            while (buffer.hasRemaining()) {
+                segment.write(buffer, offset + buffer.position());
+            }
+            index.write(offset + "\t" + (Integer.BYTES + record.length) + "\t"
+                    + fetchedPage.getUrl());
+            index.newLine();
+            index.flush();
+        }
+    }
+
+    /**
+     * Reads the offset indexes of every segment, selecting the most recent
+     * record of each archived page.
+     *
+     * @return  the location of the most recent record of each page, keyed by
+     *          URL, in the order the pages were first archived
+     * @throws IOException  if an index cannot be read
+     */
+    public Map<String, PageLocation> readIndex() throws IOException {
+        Map<String, PageLocation> locations = new LinkedHashMap<>();
+
+        for (Map.Entry<Integer, Path> entry : listSegments().entrySet()) {
+            Path segmentFile = entry.getValue();
+            Path indexFile = getIndexFile(segmentFile);
+            if (!Files.exists(indexFile)) {
+                continue;
+            }
+
+            long segmentLength = Files.size(segmentFile);
+            for (String line : Files.readAllLines(indexFile, StandardCharsets.UTF_8)) {
+                String[] fields = line.split("\t", 3);
+                if (fields.length < 3) {
+                    continue;
+                }
+                try {
+                    long offset = Long.parseLong(fields[0]);
+                    int length = Integer.parseInt(fields[1]);
+                    // A record that was not fully written before a crash is ignored
+                    if (offset + length <= segmentLength) {
+                        locations.put(fields[2], new PageLocation(segmentFile, offset, length));
+                    }
+                } catch (NumberFormatException ex) {
+                    LOG.warn("Ignoring malformed page archive index entry in {}: '{}'.",
+                            indexFile, line);
+                }
+            }
+        }
+
+        return locations;
+    }
+
+    /**
+     * Maps a segment into memory, read only.
+     *
+     * @param segmentFile  the segment
+     * @return             the mapped segment
+     * @throws IOException  if the segment cannot be mapped
+     */
+    public MappedByteBuffer map(Path segmentFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentFile, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    /**
+     * Reads an archived page from a mapped segment.
+     *
+     * @param mappedSegment  the segment the page's record belongs to; its
+     *                       position is not modified
+     * @param location       the location of the page's record
+     * @param webClientPool  the pool from which a client will be borrowed to
+     *                       parse the page
+     * @return               the archived page
+     * @throws IOException  if the record is corrupt
+     */
+    public FetchedPage read(ByteBuffer mappedSegment, PageLocation location,
+            WebClientPool webClientPool) throws IOException {
+
+        ByteBuffer record = mappedSegment.duplicate();
+        record.position((int) location.getOffset());
+        int compressedLength = record.getInt();
+        if (compressedLength != location.getLength() - Integer.BYTES) {
+            throw new IOException("Corrupt page archive record at offset "
+                    + location.getOffset() + " of " + location.getSegment());
+        }
+        record.limit(record.position() + compressedLength);
+
+        String text = decompress(record);
+        int urlEnd = text.indexOf('\n');
+        int headersEnd = text.indexOf("\n\n", urlEnd);
+        if (urlEnd < 0 || headersEnd < 0) {
+            throw new IOException("Corrupt page archive record at offset "
+                    + location.getOffset() + " of " + location.getSegment());
+        }
+
+        // A page archived without headers has an empty header section
+        Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        String headerText = (headersEnd > urlEnd) ? text.substring(urlEnd + 1, headersEnd) : "";
+        for (String header : headerText.split("\n")) {
+            int separator = header.indexOf(':');
+            if (separator > 0) {
+                headers.put(header.substring(0, separator), header.substring(separator + 1));
+            }
+        }
+
+        return new FetchedPage(text.substring(0, urlEnd), 200, text.substring(headersEnd + 2),
+                headers, webClientPool);
+    }
+
+    /**
+     * Closes the current segment and its index.
+     *
+     * @throws IOException  if the segment or index cannot be closed
+     */
+    @Override
+    public synchronized void destroy() throws IOException {
+        closeSegment();
+    }
+
+    /**
+     * Opens the segment a record will be appended to, starting a new segment
+     * if the record would make the current one larger than the segment size.
+     *
+     * @param recordLength  the length of the record
+     * @throws IOException  if the segment cannot be opened
+     */
+    private void openSegment(int recordLength) throws IOException {
+        long maxSize = Math.min(MAX_SEGMENT_SIZE, segmentSize);
+
+        if (segmentNumber == 0) {
+            Files.createDirectories(Paths.get(archivePath.trim()));
+            Map<Integer, Path> segments = listSegments();
+            segmentNumber = segments.isEmpty() ? 1 : Collections.max(segments.keySet());
+        }
+
+        while (true) {
+            if (segment == null) {
+                Path segmentFile = getSegmentFile(segmentNumber);
+                segment = FileChannel.open(segmentFile, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE);
+                recoverIndex(segmentFile, segment.size());
+                index = Files.newBufferedWriter(getIndexFile(segmentFile),
+                        StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                        StandardOpenOption.APPEND);
+            }
+            if (segment.size() == 0 || segment.size() + recordLength <= maxSize) {
+                return;
+            }
+            closeSegment();
+            segmentNumber++;
+        }
+    }
+
+    /**
+     * Removes the entries of a segment's index that do not describe a fully
+     * written record, before records are appended to the segment. This
+     * includes an incomplete last line, which would otherwise be joined with
+     * the next entry, and the entries of records at the segment's truncated
+     * tail, which would otherwise describe the records appended in their
+     * place. The index is left unchanged if every entry is complete.
+     *
+     * @param segmentFile    the segment
+     * @param segmentLength  the length of the segment
+     * @throws IOException  if the index cannot be read or rewritten
+     */
+    private static void recoverIndex(Path segmentFile, long segmentLength) throws IOException {
+        Path indexFile = getIndexFile(segmentFile);
+        if (!Files.exists(indexFile)) {
+            return;
+        }
+
+        String text = Files.readString(indexFile, StandardCharsets.UTF_8);
+        List<String> lines = new ArrayList<>(List.of(text.split("\\R", -1)));
+        // The text after the last line separator is empty unless the last line is incomplete
+        boolean recovered = !lines.remove(lines.size() - 1).isEmpty();
+
+        for (Iterator<String> iterator = lines.iterator(); iterator.hasNext(); ) {
+            String[] fields = iterator.next().split("\t", 3);
+            try {
+                if (fields.length == 3 && Long.parseLong(fields[0])
+                        + Integer.parseInt(fields[1]) <= segmentLength) {
+                    continue;
+                }
+            } catch (NumberFormatException ex) {
+                // Fall through; the entry is removed.
+            }
+            iterator.remove();
+            recovered = true;
+        }
+
+        if (recovered) {
+            LOG.warn("Removing incomplete page archive index entries from {}.", indexFile);
+            Files.write(indexFile, lines, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Closes the current segment and its index, if open.
+     *
+     * @throws IOException  if the segment or index cannot be closed
+     */
+    private void closeSegment() throws IOException {
+        if (segment != null) {
+            try {
+                index.close();
+            } finally {
+                segment.close();
+                segment = null;
+                index = null;
+            }
+        }
+    }
+
+    /**
+     * Lists the archive's segments.
+     *
+     * @return  the archive's segments, keyed and sorted by segment number
+     * @throws IOException  if the archive directory cannot be read
+     */
+    private Map<Integer, Path> listSegments() throws IOException {
+        Path directory = Paths.get(archivePath.trim());
+        if (!isEnabled() || !Files.isDirectory(directory)) {
+            return Collections.emptyMap();
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+            }).collect(Collectors.toMap(PageArchive::getSegmentNumber, file -> file,
+                    (first, second) -> first, TreeMap::new));
+        }
+    }
+
+    private Path getSegmentFile(int number) {
+        return Paths.get(archivePath.trim(),
+                String.format("%s%06d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+    }
+
+    private static Path getIndexFile(Path segmentFile) {
+        String name = segmentFile.getFileName().toString();
+
+        return segmentFile.resolveSibling(name.substring(0,
+                name.length() - SEGMENT_SUFFIX.length()) + INDEX_SUFFIX);
+    }
+
+    private static int getSegmentNumber(Path segmentFile) {
+        String name = segmentFile.getFileName().toString();
+
+        try {
+            return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(),
+                    name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException ex) {
+            return 0;
+        }
+    }
+
+    /**
+     * Encodes a page as the text of an archive record.
+     *
+     * @param fetchedPage  the page
+     * @return             the UTF-8 encoded text of the page's record
+     */
+    private static byte[] encode(FetchedPage fetchedPage) {
+        StringBuilder text = new StringBuilder(fetchedPage.getContent().length() + 256);
+        text.append(fetchedPage.getUrl()).append('\n');
+        for (String header : ARCHIVED_HEADERS) {
+            String value = fetchedPage.getHeader(header);
+            if (value != null) {
+                text.append(header).append(':').append(value).append('\n');
+            }
+        }
+        text.append('\n').append(fetchedPage.getContent());
+
+        return text.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] compress(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+            byte[] buffer = new byte[16384];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static String decompress(ByteBuffer compressed) throws IOException {
+        byte[] input = new byte[compressed.remaining()];
+        compressed.get(input);
+
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 4);
+            byte[] buffer = new byte[16384];
+            while (!inflater.finished()) {
+                int inflated = inflater.inflate(buffer);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Truncated page archive record");
+                }
+                out.write(buffer, 0, inflated);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        } catch (DataFormatException ex) {
+            throw new IOException("Corrupt page archive record", ex);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * A class that describes the location of a page's record in the archive.
+     */
+    public static class PageLocation {
+
+        private final Path segment;
+
+        private final long offset;
+
+        private final int length;
+
+        private PageLocation(Path segment, long offset, int length) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        /**
+         * @return  the segment the record belongs to
+         */
+        public Path getSegment() {
+            return segment;
+        }
+
+        /**
+         * @return  the offset of the record within its segment
+         */
+        public long getOffset() {
+            return offset;
+        }
+
+        /**
+         * @return  the length of the record, in bytes
+         */
+        public int getLength() {
+            return length;
+        }
+    }
+}
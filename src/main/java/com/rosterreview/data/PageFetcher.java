@@ -0,0 +1,50 @@
+package com.rosterreview.data;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * An interface for classes that retrieve web pages on behalf of the data
+ * management utilities.
+ * <p>
+ * Implementations are selected with the <code>player.data.fetch.mode</code>
+ * property. See {@link com.rosterreview.config.PageFetcherConfig}.
+ */
+public interface PageFetcher {
+
+    /**
+     * Retrieves the web page at the indicated URL.
+     * <p>
+     * Responses with an unsuccessful HTTP status code are returned rather
+     * than thrown; callers should check {@link FetchedPage#isSuccessful()}.
+     *
+     * @param url  the URL of the page to retrieve
+     * @return     the retrieved page
+     * @throws IOException           if the page cannot be retrieved
+     * @throws InterruptedException  if the calling thread is interrupted while
+     *                               the page is being retrieved
+     */
+    default FetchedPage fetch(String url) throws IOException, InterruptedException {
+        return fetch(url, Collections.emptyMap());
+    }
+
+    /**
+     * Retrieves the web page at the indicated URL, sending additional request
+     * headers.
+     * <p>
+     * This supports conditional requests; a server may respond to a request
+     * with an <code>If-None-Match</code> or <code>If-Modified-Since</code>
+     * header with {@link FetchedPage#isNotModified() 304 Not Modified} and no
+     * content.
+     *
+     * @param url             the URL of the page to retrieve
+     * @param requestHeaders  additional HTTP headers to send with the request
+     * @return                the retrieved page
+     * @throws IOException           if the page cannot be retrieved
+     * @throws InterruptedException  if the calling thread is interrupted while
+     *                               the page is being retrieved
+     */
+    FetchedPage fetch(String url, Map<String, String> requestHeaders)
+            throws IOException, InterruptedException;
+}
@@ -0,0 +1,503 @@
+package com.rosterreview.data;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.rosterreview.config.PageFetcherConfig;
+import com.rosterreview.dao.PlayerSeasonBatchWriter;
+import com.rosterreview.dao.PlayerSeasonBatchWriter.WriteCallback;
+import com.rosterreview.data.PageArchive.PageLocation;
+import com.rosterreview.entity.Player;
+import com.rosterreview.entity.PlayerSeason;
+import com.rosterreview.service.PfrDataParsingService;
+import com.rosterreview.service.PlayerService;
+import com.rosterreview.service.TeamService;
+
+/**
+ * A {@link Component} that re-derives the player data in the data store from
+ * the player pages held in the {@link PageArchive}, rather than by crawling
+ * them again.
+ * <p>
+ * The most recent archived copy of every player page is parsed again, even if
+ * its content is unchanged, so that changes to the parsing rules are applied
+ * to every player. Each archive segment is memory-mapped and its pages are
+ * parsed and saved in parallel by <code>player.data.reprocess.threads</code>
+ * threads, which default to the number of available processors. The pages
+ * are parsed with a {@link WebClientPool} of their own, one client per
+ * thread, rather than the crawler's pool. No pages are retrieved.
+ * <p>
+ * Each segment is reprocessed, and its player data written, while holding
+ * the {@link PlayerCrawler}'s crawl lock, so that the reprocess never runs
+ * alongside a crawl. The lock is released between segments, so a scheduled
+ * data update that starts during a reprocess waits for only the segment
+ * being reprocessed; the reprocess then waits up to
+ * <code>player.data.reprocess.wait.ms</code> for the update to finish, and
+ * stops if it does not.
+ * <p>
+ * A positions-only reprocess recomputes the position of every stored season
+ * from the archived pages, with the current position inference rules, and
+ * writes only the positions. Seasons' statistics are left unchanged, and
+ * players that have not been stored are skipped.
+ */
+
+@Component
+public class PageReprocessJob implements DisposableBean {
+
+    /**
+     * The name the reprocess is reported as while it runs.
+     */
+    public static final String REPROCESS_JOB = "reprocess";
+
+    @Autowired
+    private PlayerCrawler playerCrawler;
+
+    @Autowired
+    private PfrDataParsingService pfrDataParsingService;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private PageArchive pageArchive;
+
+    @Autowired
+    private PlayerSeasonBatchWriter playerSeasonBatchWriter;
+
+    @Value("${player.data.reprocess.threads:0}")
+    private int threads;
+
+    @Value("${player.data.reprocess.wait.ms:3600000}")
+    private long waitMillis;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            new CustomizableThreadFactory("page-reprocess-"));
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final AtomicLong pages = new AtomicLong();
+
+    private final AtomicLong reprocessed = new AtomicLong();
+
+    private final AtomicLong failed = new AtomicLong();
+
+    private final Object positionsLock = new Object();
+
+    private List<PlayerSeason> pendingPositions = new ArrayList<>();
+
+    private int pendingPositionPlayers;
+
+    private volatile boolean positionsOnly;
+
+    private volatile LocalDateTime startTime;
+
+    private volatile LocalDateTime endTime;
+
+    /**
+     * The number of seasons whose positions are written together during a
+     * positions-only reprocess.
+     */
+    private static final int POSITION_BATCH_SIZE = 1000;
+
+    /**
+     * Matches the URL of a player's profile page.
+     */
+    private static final Pattern PLAYER_PAGE_PATTERN = Pattern.compile(
+            "/players/[A-Z]/[^/]+\\.htm$");
+
+    private static final Logger LOG = LoggerFactory.getLogger(PageReprocessJob.class);
+
+    /**
+     * Starts reprocessing the archived player pages in the background.
+     *
+     * @param positionsOnly  <code>true</code> to write only the recomputed
+     *                       positions of the stored players' seasons
+     * @return               <code>true</code> if the reprocess was started,
+     *                       <code>false</code> if the archive is disabled, or
+     *                       a reprocess or a crawl is already in progress
+     */
+    public boolean start(boolean positionsOnly) {
+        if (!pageArchive.isEnabled() || playerCrawler.getCurrentJob() != null
+                || !running.compareAndSet(false, true)) {
+            return false;
+        }
+        this.positionsOnly = positionsOnly;
+
+        executor.execute(() -> {
+            try {
+                reprocess();
+            } catch (RuntimeException ex) {
+                LOG.error("Page reprocess failed.", ex);
+            } finally {
+                running.set(false);
+            }
+        });
+
+        return true;
+    }
+
+    /**
+     * @return  the progress of the current or most recent reprocess
+     */
+    public ReprocessStatistics getStatistics() {
+        return new ReprocessStatistics(running.get(), pages.get(), reprocessed.get(),
+                failed.get(), startTime, endTime);
+    }
+
+    /**
+     * Stops the reprocess, if one is in progress.
+     */
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Reparses and saves every archived player page, one segment at a time.
+     */
+    private void reprocess() {
+        pages.set(0);
+        reprocessed.set(0);
+        failed.set(0);
+        startTime = LocalDateTime.now();
+        endTime = null;
+
+        int workerThreads = (threads > 0) ? threads : Runtime.getRuntime().availableProcessors();
+        ExecutorService workers = Executors.newFixedThreadPool(workerThreads,
+                new CustomizableThreadFactory("page-reprocess-worker-"));
+        // Archived pages are only parsed, so their clients need no JavaScript
+        WebClientPool webClientPool = new WebClientPool(workerThreads,
+                PageFetcherConfig.HTTP_MODE);
+
+        try {
+            Map<Path, Map<String, PageLocation>> segments = getPlayerPagesBySegment();
+
+            LOG.info("Reprocessing {} archived player pages from {} segments with {} threads{}.",
+                    pages.get(), segments.size(), workerThreads,
+                    positionsOnly ? ", writing positions only" : "");
+
+            for (Map.Entry<Path, Map<String, PageLocation>> segment : segments.entrySet()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    break;
+                }
+                if (!playerCrawler.runExclusively(REPROCESS_JOB, () -> reprocess(
+                        segment.getKey(), segment.getValue(), workers, webClientPool),
+                        waitMillis)) {
+                    LOG.warn("Page reprocess stopped before segment {}; the {} job was still "
+                            + "in progress after {} ms.", segment.getKey(),
+                            playerCrawler.getCurrentJob(), waitMillis);
+                    break;
+                }
+            }
+        } catch (IOException ex) {
+            LOG.error("Unable to read the page archive.", ex);
+        } finally {
+            workers.shutdownNow();
+            webClientPool.destroy();
+            endTime = LocalDateTime.now();
+        }
+
+        if (Thread.currentThread().isInterrupted()) {
+            LOG.warn("Page reprocess was interrupted.");
+        }
+        LOG.info("Page reprocess has stopped. {}.", getStatistics());
+    }
+
+    /**
+     * Reparses and saves the archived player pages held by a single segment,
+     * and waits for their player data to be written. The persisted players
+     * are read again for each segment, as a crawl may have saved new players
+     * since the previous one.
+     *
+     * @param segment        the segment's path
+     * @param segmentPages   the URLs and locations of the segment's player
+     *                       pages
+     * @param workers        the threads that reprocess the pages
+     * @param webClientPool  the pool from which each page's client is
+     *                       borrowed
+     */
+    private void reprocess(Path segment, Map<String, PageLocation> segmentPages,
+            ExecutorService workers, WebClientPool webClientPool) {
+        List<Future<?>> tasks = new ArrayList<>();
+
+        try {
+            teamService.refreshTeamIndex();
+            Map<String, Player> knownPlayers = playerService.getPlayerPageVersions();
+            MappedByteBuffer mappedSegment = pageArchive.map(segment);
+
+            for (Map.Entry<String, PageLocation> page : segmentPages.entrySet()) {
+                tasks.add(workers.submit(() -> reprocessPage(mappedSegment, page.getKey(),
+                        page.getValue(), knownPlayers, webClientPool)));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (IOException ex) {
+            failed.addAndGet(segmentPages.size());
+            LOG.error("Unable to read archive segment {}.", segment, ex);
+        } catch (ExecutionException ex) {
+            LOG.error("Unable to reprocess archive segment {}.", segment, ex.getCause());
+        } catch (InterruptedException ie) {
+            tasks.forEach(task -> task.cancel(true));
+            Thread.currentThread().interrupt();
+        } finally {
+            if (positionsOnly) {
+                writePositions(drainPendingPositions(0));
+            }
+            playerSeasonBatchWriter.flush();
+        }
+
+        LOG.info("Page reprocess progress: {}.", getStatistics());
+    }
+
+    /**
+     * Selects the most recent archived copy of every player page, and groups
+     * them by the segment that holds them.
+     *
+     * @return  a mapping of segments to the URLs and locations of the player
+     *          pages they hold
+     * @throws IOException  if the archive index cannot be read
+     */
+    private Map<Path, Map<String, PageLocation>> getPlayerPagesBySegment() throws IOException {
+        Map<Path, Map<String, PageLocation>> segments = new LinkedHashMap<>();
+
+        for (Map.Entry<String, PageLocation> entry : pageArchive.readIndex().entrySet()) {
+            if (PLAYER_PAGE_PATTERN.matcher(entry.getKey()).find()) {
+                segments.computeIfAbsent(entry.getValue().getSegment(),
+                        segment -> new LinkedHashMap<>()).put(entry.getKey(), entry.getValue());
+                pages.incrementAndGet();
+            }
+        }
+
+        return segments;
+    }
+
+    /**
+     * Reparses and saves a single archived player page.
+     *
+     * @param mappedSegment  the segment that holds the page
+     * @param url            the URL of the page
+     * @param location       the location of the page in the segment
+     * @param knownPlayers   the persisted players, keyed by PFR id
+     * @param webClientPool  the pool from which the page's client is borrowed
+     */
+    private void reprocessPage(MappedByteBuffer mappedSegment, String url,
+            PageLocation location, Map<String, Player> knownPlayers,
+            WebClientPool webClientPool) {
+
+        try (FetchedPage fetchedPage = pageArchive.read(mappedSegment, location,
+                webClientPool)) {
+            // The content hash is omitted so that unchanged pages are parsed again
+            Player knownPlayer = knownPlayers.get(PfrDataParsingService.getPfrId(url));
+            if (positionsOnly && knownPlayer == null) {
+                return;
+            }
+            Player player = pfrDataParsingService.parsePlayerPage(fetchedPage,
+                    (knownPlayer == null) ? null : new Player(knownPlayer.getId()));
+
+            if (positionsOnly) {
+                writePositions(queuePositions(player.getStatistics()));
+                return;
+            }
+
+            playerService.savePlayer(player, playerSeasonBatchWriter, new WriteCallback() {
+
+                @Override
+                public void written() {
+                    reprocessed.incrementAndGet();
+                }
+
+                @Override
+                public void failed(Exception ex) {
+                    failed.incrementAndGet();
+                    LOG.error("Unable to write reprocessed player data from url: {}.", url, ex);
+                }
+            });
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        } catch (Exception ex) {
+            failed.incrementAndGet();
+            LOG.error("Unable to reprocess archived page from url: {}.", url, ex);
+        }
+    }
+
+    /**
+     * Queues the seasons of a player whose positions are to be written.
+     *
+     * @param seasons  all of the player's seasons
+     * @return         a full batch of queued seasons and the number of players
+     *                 they belong to, or <code>null</code> if the batch is not
+     *                 yet full
+     */
+    private PositionBatch queuePositions(List<PlayerSeason> seasons) {
+        synchronized (positionsLock) {
+            pendingPositions.addAll(seasons);
+            pendingPositionPlayers++;
+
+            return drainPendingPositions(POSITION_BATCH_SIZE);
+        }
+    }
+
+    /**
+     * Removes the queued seasons whose positions are to be written, if at
+     * least the indicated number are queued.
+     *
+     * @param minimumSize  the minimum number of queued seasons
+     * @return             the queued seasons and the number of players they
+     *                     belong to, or <code>null</code> if fewer are queued
+     */
+    private PositionBatch drainPendingPositions(int minimumSize) {
+        synchronized (positionsLock) {
+            if (pendingPositionPlayers == 0 || pendingPositions.size() < minimumSize) {
+                return null;
+            }
+            PositionBatch batch = new PositionBatch(pendingPositions, pendingPositionPlayers);
+            pendingPositions = new ArrayList<>();
+            pendingPositionPlayers = 0;
+
+            return batch;
+        }
+    }
+
+    /**
+     * Writes the positions of a batch of seasons.
+     *
+     * @param batch  the seasons, or <code>null</code> to write nothing
+     */
+    private void writePositions(PositionBatch batch) {
+        if (batch == null) {
+            return;
+        }
+
+        try {
+            playerSeasonBatchWriter.updatePositions(batch.seasons);
+            reprocessed.addAndGet(batch.players);
+        } catch (SQLException ex) {
+            failed.addAndGet(batch.players);
+            LOG.error("Unable to write the positions of {} seasons.", batch.seasons.size(), ex);
+        }
+    }
+
+    /**
+     * The seasons of one or more players whose positions are written
+     * together.
+     */
+    private static class PositionBatch {
+
+        private final List<PlayerSeason> seasons;
+
+        private final int players;
+
+        private PositionBatch(List<PlayerSeason> seasons, int players) {
+            this.seasons = seasons;
+            this.players = players;
+        }
+    }
+
+    /**
+     * A class that describes the progress of a reprocess.
+     */
+    public static class ReprocessStatistics {
+
+        private final boolean running;
+
+        private final long pages;
+
+        private final long reprocessed;
+
+        private final long failed;
+
+        private final LocalDateTime startTime;
+
+        private final LocalDateTime endTime;
+
+        private ReprocessStatistics(boolean running, long pages, long reprocessed,
+                long failed, LocalDateTime startTime, LocalDateTime endTime) {
+            this.running = running;
+            this.pages = pages;
+            this.reprocessed = reprocessed;
+            this.failed = failed;
+            this.startTime = startTime;
+            this.endTime = endTime;
+        }
+
+        /**
+         * @return  <code>true</code> if a reprocess is in progress
+         */
+        public boolean isRunning() {
+            return running;
+        }
+
+        /**
+         * @return  the number of archived player pages being reprocessed
+         */
+        public long getPages() {
+            return pages;
+        }
+
+        /**
+         * @return  the number of pages whose data has been saved
+         */
+        public long getReprocessed() {
+            return reprocessed;
+        }
+
+        /**
+         * @return  the number of pages that could not be reprocessed
+         */
+        public long getFailed() {
+            return failed;
+        }
+
+        /**
+         * @return  the time the reprocess started, or <code>null</code> if no
+         *          reprocess has run
+         */
+        public LocalDateTime getStartTime() {
+            return startTime;
+        }
+
+        /**
+         * @return  the time the reprocess stopped, or <code>null</code> if it
+         *          has not stopped
+         */
+        public LocalDateTime getEndTime() {
+            return endTime;
+        }
+
+        /**
+         * Generates a <code>String</code> representation of this
+         * {@link ReprocessStatistics} for logging.
+         *
+         * @return  a String representation of this object
+         */
+        @Override
+        public String toString() {
+            return reprocessed + " of " + pages + " pages reprocessed, " + failed + " failed";
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.rosterreview.data;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.rosterreview.service.CrawlFrontierService;
+import com.rosterreview.service.CrawlFrontierService.JobProgress;
+import com.rosterreview.service.PfrDataParsingService;
+
+/**
+ * A {@link Component} that populates the data store with every player listed
+ * on the players by letter index pages, active and retired.
+ * <p>
+ * The backfill adds every indexed player to the crawl frontier as the
+ * {@link CrawlFrontierService#BACKFILL_JOB backfill job}, and crawls them with
+ * the {@link PlayerCrawler} using the <code>player.data.backfill.*</code>
+ * settings, which allow more parallelism and checkpoint completed pages in
+ * batches. Pages that have never been crawled are claimed first. Requests
+ * remain throttled per host, so the backfill's duration is bounded by the
+ * permitted request rate.
+ * <p>
+ * The backfill is resumable: if it is interrupted, starting it again, or the
+ * next scheduled data update, continues with the pages it had not completed.
+ * Its progress and estimated completion are logged periodically while it
+ * runs.
+ */
+
+@Component
+public class PlayerBackfillJob implements DisposableBean {
+
+    @Autowired
+    private PlayerCrawler playerCrawler;
+
+    @Autowired
+    private CrawlFrontierService crawlFrontierService;
+
+    @Autowired
+    private PfrDataParsingService pfrDataParsingService;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            new CustomizableThreadFactory("player-backfill-"));
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private static final Logger LOG = LoggerFactory.getLogger(PlayerBackfillJob.class);
+
+    /**
+     * Starts the backfill in the background, or resumes it if a previous
+     * backfill was interrupted.
+     *
+     * @return  <code>true</code> if the backfill was started,
+     *          <code>false</code> if a backfill or another crawl is already in
+     *          progress
+     */
+    public boolean start() {
+        if (playerCrawler.getCurrentJob() != null || !running.compareAndSet(false, true)) {
+            return false;
+        }
+
+        executor.execute(() -> {
+            try {
+                if (!playerCrawler.crawl(this::planBackfill)) {
+                    LOG.warn("Player backfill was not started; the {} job is in progress.",
+                            playerCrawler.getCurrentJob());
+                    return;
+                }
+                LOG.info("Player backfill has stopped. {}.", getProgress());
+            } catch (RuntimeException ex) {
+                LOG.error("Player backfill failed.", ex);
+            } finally {
+                running.set(false);
+            }
+        });
+
+        return true;
+    }
+
+    /**
+     * @return  the progress of the current or most recent backfill
+     */
+    public JobProgress getProgress() {
+        return crawlFrontierService.getProgress(CrawlFrontierService.BACKFILL_JOB);
+    }
+
+    /**
+     * Logs the progress of the backfill while it is running.
+     */
+    @Scheduled(fixedDelayString = "${player.data.backfill.progress.interval.ms:60000}")
+    public void logProgress() {
+        if (CrawlFrontierService.BACKFILL_JOB.equals(playerCrawler.getCurrentJob())) {
+            LOG.info("Player backfill progress: {}.", getProgress());
+        }
+    }
+
+    /**
+     * Stops the background thread. Any crawl in progress is stopped by the
+     * {@link PlayerCrawler}.
+     */
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Prepares the crawl frontier for the backfill, resuming an interrupted
+     * backfill or adding every indexed player.
+     *
+     * @return  the name of the backfill job, or <code>null</code> if the
+     *          backfill was interrupted
+     */
+    private String planBackfill() {
+        if (CrawlFrontierService.BACKFILL_JOB.equals(crawlFrontierService.getUnfinishedJob())) {
+            crawlFrontierService.resumeUpdate();
+            return CrawlFrontierService.BACKFILL_JOB;
+        }
+
+        List<PlayerIndexEntry> indexEntries;
+        try {
+            indexEntries = pfrDataParsingService.readPlayerIndex();
+        } catch (InterruptedException ie) {
+            LOG.warn("Player backfill was interrupted.");
+            Thread.currentThread().interrupt();
+            return null;
+        }
+
+        Map<String, Integer> urlPriorities = new LinkedHashMap<>();
+        for (PlayerIndexEntry entry : indexEntries) {
+            urlPriorities.put(entry.getUrl(), 0);
+        }
+
+        LOG.info("Starting a backfill of {} indexed players.", urlPriorities.size());
+        crawlFrontierService.startUpdate(CrawlFrontierService.BACKFILL_JOB, urlPriorities);
+
+        return CrawlFrontierService.BACKFILL_JOB;
+    }
+}
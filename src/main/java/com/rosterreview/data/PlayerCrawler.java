@@ -0,0 +1,333 @@
+package com.rosterreview.data;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.rosterreview.dao.PlayerSeasonBatchWriter;
+import com.rosterreview.data.HostThrottle.ThrottleStatistics;
+import com.rosterreview.data.IngestPipeline.StageStatistics;
+import com.rosterreview.entity.Player;
+import com.rosterreview.service.CrawlFrontierService;
+import com.rosterreview.service.PfrDataParsingService;
+import com.rosterreview.service.PlayerService;
+import com.rosterreview.service.TeamService;
+
+/**
+ * A {@link Component} that crawls player profile pages in parallel.
+ * <p>
+ * Each crawl runs an {@link IngestPipeline}: pages claimed from the crawl
+ * frontier are fetched, parsed into detached players, and persisted by
+ * separate pools of worker threads that are connected by bounded queues.
+ * Player statistics are written in bulk by a {@link PlayerSeasonBatchWriter},
+ * which is flushed before a crawl completes. Requests are throttled per host
+ * by the {@link RateLimitedPageFetcher}. Only one crawl runs at a time, and
+ * callers that wait for the crawl lock acquire it in the order they began
+ * waiting. On shutdown, a crawl in progress stops claiming pages and is given
+ * time to finish the pages it has started.
+ * <p>
+ * The crawler is configured with the following properties:
+ * <ul>
+ * <li>player.data.crawl.threads:                  The number of fetch
+ *                                                 threads.</li>
+ * <li>player.data.crawl.parse.threads:            The number of parse
+ *                                                 threads.</li>
+ * <li>player.data.crawl.persist.threads:          The number of persist
+ *                                                 threads.</li>
+ * <li>player.data.crawl.queue.capacity:           The capacity of the queues
+ *                                                 between stages.</li>
+ * <li>player.data.crawl.checkpoint.batch.size:    The number of completed
+ *                                                 pages checkpointed per
+ *                                                 frontier transaction.</li>
+ * <li>player.data.crawl.drain.timeout.ms:         The maximum time (ms) to
+ *                                                 wait for pages in progress
+ *                                                 on shutdown.</li>
+ * </ul>
+ * Crawls of the {@link CrawlFrontierService#BACKFILL_JOB backfill job} are
+ * configured by the corresponding <code>player.data.backfill.*</code>
+ * properties instead, apart from the drain timeout.
+ */
+
+@Component
+public class PlayerCrawler implements DisposableBean {
+
+    @Autowired
+    private PfrDataParsingService pfrDataParsingService;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private CrawlFrontierService crawlFrontierService;
+
+    @Autowired
+    private WebClientPool webClientPool;
+
+    @Autowired
+    private RateLimitedPageFetcher pageFetcher;
+
+    @Autowired
+    private PlayerSeasonBatchWriter playerSeasonBatchWriter;
+
+    @Value("${player.data.crawl.threads:4}")
+    private int threads;
+
+    @Value("${player.data.crawl.parse.threads:2}")
+    private int parseThreads;
+
+    @Value("${player.data.crawl.persist.threads:1}")
+    private int persistThreads;
+
+    @Value("${player.data.crawl.queue.capacity:16}")
+    private int queueCapacity;
+
+    @Value("${player.data.crawl.checkpoint.batch.size:1}")
+    private int checkpointBatchSize;
+
+    @Value("${player.data.backfill.threads:4}")
+    private int backfillThreads;
+
+    @Value("${player.data.backfill.parse.threads:4}")
+    private int backfillParseThreads;
+
+    @Value("${player.data.backfill.persist.threads:2}")
+    private int backfillPersistThreads;
+
+    @Value("${player.data.backfill.queue.capacity:64}")
+    private int backfillQueueCapacity;
+
+    @Value("${player.data.backfill.checkpoint.batch.size:100}")
+    private int backfillCheckpointBatchSize;
+
+    @Value("${player.data.crawl.drain.timeout.ms:30000}")
+    private long drainTimeoutMillis;
+
+    private final ReentrantLock crawlLock = new ReentrantLock(true);
+
+    private volatile IngestPipeline currentPipeline;
+
+    private volatile String currentJob;
+
+    private static final Logger LOG = LoggerFactory.getLogger(PlayerCrawler.class);
+
+    /**
+     * Parses and persists the player data found at each page that is pending
+     * in the crawl frontier. See {@link CrawlFrontierService}.
+     * <p>
+     * Once no other crawl is in progress, the planner is invoked to prepare
+     * the frontier, for example by adding the pages of a new data update or by
+     * resuming an interrupted one. The crawl then uses the settings of the job
+     * named by the planner. This method blocks until no pages remain pending,
+     * or until the crawler is shut down.
+     *
+     * @param planner  prepares the frontier, and supplies the name of the job
+     *                 to crawl, or <code>null</code> if there is nothing to
+     *                 crawl
+     * @return         <code>true</code> if the planner was invoked,
+     *                 <code>false</code> if another crawl was in progress
+     */
+    public boolean crawl(Supplier<String> planner) {
+        return crawl(planner, 0L);
+    }
+
+    /**
+     * Parses and persists the player data found at each page that is pending
+     * in the crawl frontier, once any crawl or exclusive task in progress has
+     * finished. See {@link #crawl(Supplier)}.
+     *
+     * @param planner     prepares the frontier, and supplies the name of the
+     *                    job to crawl, or <code>null</code> if there is
+     *                    nothing to crawl
+     * @param waitMillis  the maximum time (ms) to wait for a crawl or task in
+     *                    progress to finish
+     * @return            <code>true</code> if the planner was invoked,
+     *                    <code>false</code> if another crawl or task was still
+     *                    in progress when the wait elapsed, or the wait was
+     *                    interrupted
+     */
+    public boolean crawl(Supplier<String> planner, long waitMillis) {
+        try {
+            if (!crawlLock.tryLock(waitMillis, TimeUnit.MILLISECONDS)) {
+                return false;
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+
+        try {
+            String job = planner.get();
+            if (job != null) {
+                crawl(job);
+            }
+        } finally {
+            crawlLock.unlock();
+        }
+
+        return true;
+    }
+
+    /**
+     * Runs a task that writes player data in place of a crawl, once no other
+     * crawl is in progress, so that the task and crawls do not write the same
+     * players concurrently. The task is reported as the current job while it
+     * runs.
+     *
+     * @param job   the name of the task
+     * @param task  the task
+     * @return      <code>true</code> if the task was run,
+     *              <code>false</code> if a crawl was in progress
+     */
+    public boolean runExclusively(String job, Runnable task) {
+        return runExclusively(job, task, 0L);
+    }
+
+    /**
+     * Runs a task that writes player data in place of a crawl, once any crawl
+     * or other task in progress has finished. See
+     * {@link #runExclusively(String, Runnable)}.
+     *
+     * @param job         the name of the task
+     * @param task        the task
+     * @param waitMillis  the maximum time (ms) to wait for a crawl or task in
+     *                    progress to finish
+     * @return            <code>true</code> if the task was run,
+     *                    <code>false</code> if a crawl or task was still in
+     *                    progress when the wait elapsed, or the wait was
+     *                    interrupted
+     */
+    public boolean runExclusively(String job, Runnable task, long waitMillis) {
+        try {
+            if (!crawlLock.tryLock(waitMillis, TimeUnit.MILLISECONDS)) {
+                return false;
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+
+        currentJob = job;
+        try {
+            task.run();
+        } finally {
+            currentJob = null;
+            crawlLock.unlock();
+        }
+
+        return true;
+    }
+
+    /**
+     * Runs an {@link IngestPipeline} over the pending pages of the frontier
+     * with the settings of the indicated job.
+     *
+     * @param job  the name of the data update job
+     */
+    private void crawl(String job) {
+        CrawlSettings settings = getSettings(job);
+        IngestPipeline pipeline = new IngestPipeline(pfrDataParsingService,
+                playerService, crawlFrontierService, playerSeasonBatchWriter,
+                settings, drainTimeoutMillis);
+        long startMillis = System.currentTimeMillis();
+
+        LOG.info("Crawling player pages for the {} job with {}.", job, settings);
+
+        currentJob = job;
+        currentPipeline = pipeline;
+        try {
+            teamService.refreshTeamIndex();
+            Map<String, Player> knownPlayers = playerService.getPlayerPageVersions();
+            pipeline.run(knownPlayers);
+        } catch (InterruptedException ie) {
+            LOG.warn("Player crawl was interrupted.");
+            Thread.currentThread().interrupt();
+        } finally {
+            playerSeasonBatchWriter.flush();
+            pipeline.flushCheckpoints();
+            currentJob = null;
+        }
+
+        LOG.info("Crawled player pages in {} seconds. Frontier: {}.",
+                (System.currentTimeMillis() - startMillis) / 1000,
+                crawlFrontierService.getStateCounts());
+        for (StageStatistics stats : pipeline.getStatistics()) {
+            LOG.info("Stage {}: {} processed, {} skipped, {} failed, {} ms busy, "
+                    + "{} ms blocked.", stats.getStage(), stats.getProcessed(),
+                    stats.getSkipped(), stats.getFailed(), stats.getBusyMillis(),
+                    stats.getBlockedMillis());
+        }
+        for (ThrottleStatistics stats : pageFetcher.getStatistics()) {
+            LOG.info("Host {}: {} requests per second permitted, {} effective, "
+                    + "{} throttled responses.", stats.getHost(),
+                    String.format("%.2f", stats.getPermittedRate()),
+                    String.format("%.2f", stats.getEffectiveRate()),
+                    stats.getThrottledResponses());
+        }
+        webClientPool.logStatistics();
+    }
+
+    /**
+     * Stops any crawl in progress from claiming further pages, and waits for
+     * the pages it has started to finish.
+     *
+     * @throws InterruptedException  if interrupted while waiting
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        IngestPipeline pipeline = currentPipeline;
+        if (pipeline == null) {
+            return;
+        }
+
+        pipeline.stop();
+        if (!pipeline.awaitTermination(drainTimeoutMillis)) {
+            LOG.warn("Player crawl did not finish within {} ms of shutdown.",
+                    drainTimeoutMillis);
+        }
+    }
+
+    /**
+     * @return  the name of the job being crawled, or <code>null</code> if no
+     *          crawl is in progress
+     */
+    public String getCurrentJob() {
+        return currentJob;
+    }
+
+    /**
+     * @return  the statistics of each stage of the current or most recent
+     *          crawl, or an empty list if no crawl has run
+     */
+    public List<StageStatistics> getStatistics() {
+        IngestPipeline pipeline = currentPipeline;
+
+        return pipeline == null ? Collections.emptyList() : pipeline.getStatistics();
+    }
+
+    /**
+     * @param job  the name of a data update job
+     * @return     the crawl settings of the job
+     */
+    private CrawlSettings getSettings(String job) {
+        if (CrawlFrontierService.BACKFILL_JOB.equals(job)) {
+            return new CrawlSettings(backfillThreads, backfillParseThreads,
+                    backfillPersistThreads, backfillQueueCapacity, backfillCheckpointBatchSize);
+        }
+
+        return new CrawlSettings(threads, parseThreads, persistThreads, queueCapacity,
+                checkpointBatchSize);
+    }
+}
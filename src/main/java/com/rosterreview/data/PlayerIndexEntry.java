@@ -0,0 +1,77 @@
+package com.rosterreview.data;
+
+/**
+ * A class that describes a player's entry on a Pro-Football-Reference players
+ * by letter index page.
+ */
+public class PlayerIndexEntry {
+
+    private final String url;
+
+    private final String pfrId;
+
+    private final boolean active;
+
+    private final Integer firstYear;
+
+    private final Integer lastYear;
+
+    /**
+     * A public constructor for {@link PlayerIndexEntry}.
+     *
+     * @param url        the URL of the player's PFR profile page
+     * @param pfrId      the player's PFR id
+     * @param active     <code>true</code> if the index marks the player as
+     *                   active, <code>false</code> otherwise
+     * @param firstYear  the first year of the player's career, or
+     *                   <code>null</code> if the index does not list it
+     * @param lastYear   the last year of the player's career, or
+     *                   <code>null</code> if the index does not list it
+     */
+    public PlayerIndexEntry(String url, String pfrId, boolean active, Integer firstYear,
+            Integer lastYear) {
+        this.url = url;
+        this.pfrId = pfrId;
+        this.active = active;
+        this.firstYear = firstYear;
+        this.lastYear = lastYear;
+    }
+
+    /**
+     * @return  the URL of the player's PFR profile page
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * @return  the player's PFR id
+     */
+    public String getPfrId() {
+        return pfrId;
+    }
+
+    /**
+     * @return  <code>true</code> if the index marks the player as active,
+     *          <code>false</code> otherwise
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * @return  the first year of the player's career, or <code>null</code> if
+     *          the index does not list it
+     */
+    public Integer getFirstYear() {
+        return firstYear;
+    }
+
+    /**
+     * @return  the last year of the player's career, or <code>null</code> if
+     *          the index does not list it
+     */
+    public Integer getLastYear() {
+        return lastYear;
+    }
+}
@@ -0,0 +1,224 @@
+package com.rosterreview.data;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.rosterreview.dao.PlayerSeasonBatchWriter;
+import com.rosterreview.dao.PlayerSeasonBatchWriter.WriteCallback;
+import com.rosterreview.entity.Player;
+import com.rosterreview.service.PfrDataParsingService;
+import com.rosterreview.service.PlayerService;
+import com.rosterreview.service.TeamService;
+
+/**
+ * A {@link Component} that refreshes the data of a single player on demand,
+ * outside of the scheduled data updates.
+ * <p>
+ * Refreshes are single-flight: concurrent requests to refresh the same player
+ * share one retrieval, parse, and save of the player's page. A player that
+ * was refreshed within the last <code>player.data.refresh.ttl.ms</code> is
+ * not refreshed again.
+ * <p>
+ * Refreshes run one at a time on a thread separate from request threads, with
+ * at most <code>player.data.refresh.queue.capacity</code> refreshes waiting;
+ * further refreshes are rejected until the queue drains. Refreshes run
+ * alongside crawls and other data jobs, and reload the team index first as a
+ * crawl does. A refresh saves the player while holding the player's lock
+ * (see {@link PlayerService#getPlayerLock(String)}), so that a crawl does not
+ * save the same player concurrently.
+ */
+
+@Component
+public class PlayerRefresher implements DisposableBean {
+
+    @Autowired
+    private PfrDataParsingService pfrDataParsingService;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private PlayerSeasonBatchWriter playerSeasonBatchWriter;
+
+    @Value("${player.data.refresh.ttl.ms:300000}")
+    private long ttlMillis;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+
+    private final Map<String, RecentRefresh> recentRefreshes = new ConcurrentHashMap<>();
+
+    private static final Logger LOG = LoggerFactory.getLogger(PlayerRefresher.class);
+
+    /**
+     * A public constructor for {@link PlayerRefresher}.
+     *
+     * @param queueCapacity  the number of refreshes that may wait for the
+     *                       refresh thread
+     */
+    public PlayerRefresher(
+            @Value("${player.data.refresh.queue.capacity:16}") int queueCapacity) {
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                new CustomizableThreadFactory("player-refresh-"));
+    }
+
+    /**
+     * Refreshes the data of the player with the indicated PFR id, or joins a
+     * refresh of the player that is already in progress.
+     *
+     * @param pfrId  the PFR id of the player
+     * @return       a future that completes with the id of the refreshed
+     *               player once its data has been saved, or exceptionally if
+     *               the player could not be refreshed; an
+     *               {@link IllegalArgumentException} indicates the PFR id is
+     *               malformed, an {@link HttpStatusException} that the
+     *               player's page could not be retrieved, and a
+     *               {@link RejectedExecutionException} that too many refreshes
+     *               are pending
+     */
+    public CompletableFuture<String> refresh(String pfrId) {
+        if (!PfrDataParsingService.isPfrId(pfrId)) {
+            return CompletableFuture.failedFuture(
+                    new IllegalArgumentException("Invalid PFR id: " + pfrId));
+        }
+
+        RecentRefresh recent = recentRefreshes.get(pfrId);
+        if (recent != null && System.nanoTime() - recent.refreshedNanos
+                < TimeUnit.MILLISECONDS.toNanos(ttlMillis)) {
+            return CompletableFuture.completedFuture(recent.playerId);
+        }
+
+        CompletableFuture<String> refresh = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(pfrId, refresh);
+        if (existing != null) {
+            return existing;
+        }
+
+        refresh.whenComplete((playerId, ex) -> {
+            if (ex == null) {
+                long now = System.nanoTime();
+                recentRefreshes.values().removeIf(refreshed -> now - refreshed.refreshedNanos
+                        >= TimeUnit.MILLISECONDS.toNanos(ttlMillis));
+                recentRefreshes.put(pfrId, new RecentRefresh(playerId, now));
+            }
+            inFlight.remove(pfrId, refresh);
+        });
+
+        try {
+            executor.execute(() -> refresh(pfrId, refresh));
+        } catch (RejectedExecutionException ex) {
+            refresh.completeExceptionally(ex);
+        }
+
+        return refresh;
+    }
+
+    /**
+     * Stops the refresh thread.
+     */
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Retrieves, parses, and saves a player's page. A player that was not
+     * persisted when the page was retrieved, but has since been saved by a
+     * crawl, is left as the crawl saved it.
+     *
+     * @param pfrId    the PFR id of the player
+     * @param refresh  the future to complete once the player's data is saved
+     */
+    private void refresh(String pfrId, CompletableFuture<String> refresh) {
+        String playerUrl = pfrDataParsingService.getPlayerUrl(pfrId);
+
+        try {
+            teamService.refreshTeamIndex();
+
+            Player knownPlayer = playerService.getPlayerPageVersion(pfrId);
+            Player player;
+            try (FetchedPage fetchedPage = pfrDataParsingService.fetchPlayerPage(playerUrl,
+                    knownPlayer)) {
+                player = fetchedPage.isNotModified() ? null
+                        : pfrDataParsingService.parsePlayerPage(fetchedPage, knownPlayer);
+            }
+
+            if (player == null) {
+                LOG.debug("Player data at url: {} is unchanged.", playerUrl);
+                refresh.complete(knownPlayer.getId());
+                return;
+            }
+
+            WriteCallback callback = new WriteCallback() {
+
+                @Override
+                public void written() {
+                    refresh.complete(player.getId());
+                }
+
+                @Override
+                public void failed(Exception ex) {
+                    refresh.completeExceptionally(ex);
+                }
+            };
+
+            Lock playerLock = playerService.getPlayerLock(pfrId);
+            playerLock.lock();
+            try {
+                Player savedPlayer = (knownPlayer == null)
+                        ? playerService.getPlayerPageVersion(pfrId) : null;
+                if (savedPlayer != null) {
+                    playerService.releasePlayerId(player.getId());
+                    refresh.complete(savedPlayer.getId());
+                    return;
+                }
+
+                playerService.savePlayer(player, playerSeasonBatchWriter, callback);
+            } finally {
+                playerLock.unlock();
+            }
+            // Write the player's statistics now rather than with the next batch
+            playerSeasonBatchWriter.flush();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            refresh.completeExceptionally(ie);
+        } catch (Exception ex) {
+            LOG.error("Unable to refresh player data from url: {}.", playerUrl, ex);
+            refresh.completeExceptionally(ex);
+        }
+    }
+
+    /**
+     * A class that records when a player was last refreshed.
+     */
+    private static class RecentRefresh {
+
+        private final String playerId;
+
+        private final long refreshedNanos;
+
+        private RecentRefresh(String playerId, long refreshedNanos) {
+            this.playerId = playerId;
+            this.refreshedNanos = refreshedNanos;
+        }
+    }
+}
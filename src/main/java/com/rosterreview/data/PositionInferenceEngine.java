@@ -0,0 +1,344 @@
+package com.rosterreview.data;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.springframework.stereotype.Component;
+
+import com.rosterreview.entity.PlayerPosition;
+import com.rosterreview.entity.PlayerSeason;
+import com.rosterreview.entity.Position;
+
+/**
+ * A {@link Component} that infers the primary {@link Position} of each
+ * season of a player's career.
+ * <p>
+ * Positions are weighted in a <code>double[]</code> indexed by
+ * {@link Position#ordinal()}, which is reused for every season of a player.
+ * The positions associated with the player's profile and with all of the
+ * player's seasons are flattened into ordinal arrays once per player, rather
+ * than once per season that must consider them. Weightings are accumulated in
+ * the same order as they always have been, so the inferred positions are
+ * identical to those of the original <code>EnumMap</code> based inference.
+ */
+
+@Component
+public class PositionInferenceEngine {
+
+    private static final int POSITION_COUNT = Position.values().length;
+
+    private static final Position[] POSITIONS = Position.values();
+
+    private static final int QB = Position.QB.ordinal();
+
+    private static final int KR = Position.KR.ordinal();
+
+    private static final int PR = Position.PR.ordinal();
+
+    private static final int[] BACKS = ordinals(Position.HB, Position.FB, Position.RB);
+
+    private static final int[] RECEIVERS = ordinals(Position.WR, Position.TE);
+
+    private static final int[] LINEMEN = ordinals(Position.OL, Position.T, Position.G,
+            Position.C);
+
+    private static final int[] DEFENSIVE_ENDS = ordinals(Position.DL, Position.DE);
+
+    private static final int[] DEFENSIVE_TACKLES = ordinals(Position.DT, Position.NT);
+
+    private static final int[] LINEBACKERS = ordinals(Position.LB, Position.ILB,
+            Position.MLB, Position.OLB);
+
+    private static final int[] DEFENSIVE_BACKS = ordinals(Position.DB, Position.CB,
+            Position.S, Position.FS, Position.SS);
+
+    /**
+     * The first-level generic form of each position, e.g. {@link Position#S}
+     * for {@link Position#FS}, or -1 if the position has none.
+     */
+    private static final int[] SECONDARY = new int[POSITION_COUNT];
+
+    /**
+     * The second-level generic form of each position, e.g.
+     * {@link Position#DB} for {@link Position#FS}, or -1 if the position has
+     * none.
+     */
+    private static final int[] TERTIARY = new int[POSITION_COUNT];
+
+    static {
+        Arrays.fill(SECONDARY, -1);
+        Arrays.fill(TERTIARY, -1);
+        setGeneric(SECONDARY, Position.RB, Position.HB, Position.FB);
+        setGeneric(SECONDARY, Position.OL, Position.T, Position.G, Position.C);
+        setGeneric(SECONDARY, Position.DL, Position.DE, Position.DT, Position.NT);
+        setGeneric(SECONDARY, Position.LB, Position.OLB, Position.ILB, Position.MLB);
+        setGeneric(SECONDARY, Position.S, Position.FS, Position.SS);
+        setGeneric(SECONDARY, Position.DB, Position.S, Position.CB);
+        setGeneric(TERTIARY, Position.DB, Position.FS, Position.SS);
+    }
+
+    /**
+     * Updates each {@link PlayerSeason} in a player's career with a primary
+     * {@link Position}.
+     * <p>
+     * Positions are determined by examining:
+     * <ul>
+     * <li>positions associated with the player's profile</li>
+     * <li>positions associated with all seasons in the players career</li>
+     * <li>the player's statistics</li>
+     * <li>the player's jersey number</li>
+     * </ul>
+     *
+     * @param seasonPositions  a map of the years in which a player played to a
+     *                         list of the positions they played that year
+     * @param careerPositions  the positions associated with a player's profile
+     * @param statistics       a player's seasonal statistics
+     */
+    public void assignSeasonPositions(Map<Integer, List<Position>> seasonPositions,
+            Collection<PlayerPosition> careerPositions, List<PlayerSeason> statistics) {
+
+        Career career = null;
+        double[] weightings = new double[POSITION_COUNT];
+
+        for (PlayerSeason season : statistics) {
+            List<Position> positions = seasonPositions.get(season.getSeason());
+            /*
+             * If only one position is associated with this season choose it.
+             * Prefer not to select PR or KR however
+             */
+            if (positions.size() == 1 && !isReturner(positions.get(0).ordinal())) {
+                season.setPosition(positions.get(0));
+            } else {
+                if (career == null) {
+                    career = new Career(careerPositions, seasonPositions);
+                }
+                season.setPosition(consolidate(positions, career, season, weightings));
+            }
+        }
+    }
+
+    /**
+     * Calculates a single {@link Position} that best describes a player's
+     * role during the indicated {@link PlayerSeason}.
+     *
+     * @param seasonPositions  the positions associated with the season argument
+     * @param career           the player's career-wide positions
+     * @param season           the season for which a position is being calculated
+     * @param weightings       the array to calculate the weighting of each
+     *                         position in
+     * @return                 a position
+     */
+    private Position consolidate(List<Position> seasonPositions, Career career,
+            PlayerSeason season, double[] weightings) {
+
+        // Assign weightings to each position associated with the season
+        Arrays.fill(weightings, 0.0);
+        for (Position position : seasonPositions) {
+            addWeighting(position.ordinal(), weightings, 1.0, 0.9, 0.8);
+        }
+
+        /*
+         * If any of the following are true, we need to consider career
+         * positions and positions associated with other seasons to decide what
+         * position should be associated with this season.
+         *
+         * 1.) There are no positions associated with this season
+         * 2.) There is one position associated with this season, but it is
+         *     either KR or PR
+         * 3.) There are two or more positions associated with this season, but
+         *     there is a tie for the highest weighted position.
+         */
+        if (seasonPositions.size() < 2 || isTied(weightings)) {
+            for (int ordinal : career.careerOrdinals) {
+                addWeighting(ordinal, weightings, 0.5, 0.4, 0.3);
+            }
+            for (int ordinal : career.allSeasonOrdinals) {
+                addWeighting(ordinal, weightings, 0.1, 0.05, 0.025);
+            }
+        }
+
+        /*
+         * Also consider the player's statistics and jersey number for
+         * calculating the season position
+         */
+        addStatisticAndJerseyNumberWeightings(season, weightings);
+
+        // Identify the first position with the highest weighting
+        int maxOrdinal = -1;
+        for (int i = 0; i < POSITION_COUNT; i++) {
+            if (weightings[i] > 0 && (maxOrdinal < 0 || weightings[i] > weightings[maxOrdinal])) {
+                maxOrdinal = i;
+            }
+        }
+        if (maxOrdinal < 0) {
+            throw new NoSuchElementException("No position is associated with the "
+                    + season.getSeason() + " season of player " + season.getPlayerId() + ".");
+        }
+
+        return POSITIONS[maxOrdinal];
+    }
+
+    /**
+     * Determines if two or more positions share the highest weighting.
+     * Positions with no weighting are not associated with the season.
+     *
+     * @param weightings  the weighting of each position
+     * @return            <code>true</code> if the highest weighting is tied
+     */
+    private static boolean isTied(double[] weightings) {
+        double first = 0.0;
+        double second = 0.0;
+
+        for (double weighting : weightings) {
+            if (weighting > first) {
+                second = first;
+                first = weighting;
+            } else if (weighting > second) {
+                second = weighting;
+            }
+        }
+
+        return second > 0 && first == second;
+    }
+
+    /**
+     * Adds the weighting of one position associated with a player's season.
+     * If the position is a specific position, its generic forms receive a
+     * lesser weighting. KR and PR always receive a weighting of 0.1, as these
+     * should be deemphasized.
+     *
+     * @param ordinal             the ordinal of the position
+     * @param weightings          the weighting of each position
+     * @param primaryWeighting    the weighting to be assigned to the position
+     * @param secondaryWeighting  the weighting to be applied to its first-level
+     *                            generic form
+     * @param tertiaryWeighting   the weighting to be applied to its
+     *                            second-level generic form
+     */
+    private static void addWeighting(int ordinal, double[] weightings,
+            double primaryWeighting, double secondaryWeighting, double tertiaryWeighting) {
+
+        weightings[ordinal] += isReturner(ordinal) ? 0.1 : primaryWeighting;
+        if (SECONDARY[ordinal] >= 0) {
+            weightings[SECONDARY[ordinal]] += secondaryWeighting;
+        }
+        if (TERTIARY[ordinal] >= 0) {
+            weightings[TERTIARY[ordinal]] += tertiaryWeighting;
+        }
+    }
+
+    /**
+     * Updates the weightings of the positions associated with a player's
+     * season based upon the season's statistics and jersey number.
+     *
+     * @param season      the player's season statistics
+     * @param weightings  the weighting of each position
+     */
+    private static void addStatisticAndJerseyNumberWeightings(PlayerSeason season,
+            double[] weightings) {
+
+        int passAtt = season.getPassAtt();
+
+        /*
+         *  Any player with 20 or more pass attempts in a season should be regarded
+         *  as a QB
+         */
+        if (passAtt >= 20) {
+            weightings[QB] = Double.MAX_VALUE;
+            return;
+        }
+
+        // The jersey number is only read if a position it applies to is weighted
+        Integer jerseyNum = season.getJerseyNumber();
+        if (weightings[QB] > 0) {
+            weightings[QB] = weightings[QB] + (jerseyNum < 20 ? 0.1 : 0) + (passAtt * 0.01);
+        }
+        for (int ordinal : BACKS) {
+            if (weightings[ordinal] > 0) {
+                weightings[ordinal] = weightings[ordinal]
+                        + (jerseyNum >= 20 && jerseyNum < 50 ? 0.1 : 0)
+                        + (season.getRushAtt() * 0.01) + (season.getReceptions() * 0.005);
+            }
+        }
+        for (int ordinal : RECEIVERS) {
+            if (weightings[ordinal] > 0) {
+                boolean receiverNumber = (jerseyNum >= 80 && jerseyNum < 90)
+                        || (ordinal == Position.WR.ordinal()
+                                ? jerseyNum >= 10 && jerseyNum < 20
+                                : jerseyNum >= 40 && jerseyNum < 50);
+                weightings[ordinal] = weightings[ordinal] + (receiverNumber ? 0.1 : 0)
+                        + (season.getReceptions() * 0.01);
+            }
+        }
+        for (int ordinal : LINEMEN) {
+            if (weightings[ordinal] > 0) {
+                weightings[ordinal] += jerseyNum >= 50 && jerseyNum < 80 ? 0.1 : 0;
+            }
+        }
+        for (int ordinal : DEFENSIVE_ENDS) {
+            if (weightings[ordinal] > 0) {
+                weightings[ordinal] += (jerseyNum >= 50 && jerseyNum < 60)
+                        || (jerseyNum >= 70 && jerseyNum < 80) || (jerseyNum >= 90) ? 0.1 : 0;
+            }
+        }
+        for (int ordinal : DEFENSIVE_TACKLES) {
+            if (weightings[ordinal] > 0) {
+                weightings[ordinal] += (jerseyNum >= 70 && jerseyNum < 80)
+                        || (jerseyNum >= 90) ? 0.1 : 0;
+            }
+        }
+        for (int ordinal : LINEBACKERS) {
+            if (weightings[ordinal] > 0) {
+                weightings[ordinal] += (jerseyNum >= 40 && jerseyNum < 60)
+                        || (jerseyNum >= 90) ? 0.1 : 0;
+            }
+        }
+        for (int ordinal : DEFENSIVE_BACKS) {
+            if (weightings[ordinal] > 0) {
+                weightings[ordinal] += (jerseyNum >= 20 && jerseyNum < 50) ? 0.1 : 0;
+            }
+        }
+    }
+
+    private static boolean isReturner(int ordinal) {
+        return ordinal == KR || ordinal == PR;
+    }
+
+    private static int[] ordinals(Position... positions) {
+        return Arrays.stream(positions).mapToInt(Position::ordinal).toArray();
+    }
+
+    private static void setGeneric(int[] generics, Position generic, Position... positions) {
+        for (Position position : positions) {
+            generics[position.ordinal()] = generic.ordinal();
+        }
+    }
+
+    /**
+     * The career-wide positions of a player, flattened into ordinal arrays
+     * once per player.
+     */
+    private static final class Career {
+
+        private final int[] careerOrdinals;
+
+        private final int[] allSeasonOrdinals;
+
+        /**
+         * @param careerPositions  the positions associated with the player's
+         *                         profile
+         * @param seasonPositions  the positions associated with each of the
+         *                         player's seasons, including duplicates
+         */
+        private Career(Collection<PlayerPosition> careerPositions,
+                Map<Integer, List<Position>> seasonPositions) {
+            this.careerOrdinals = careerPositions.stream()
+                    .mapToInt(position -> position.getPosition().ordinal()).toArray();
+            this.allSeasonOrdinals = seasonPositions.values().stream()
+                    .flatMap(List::stream).mapToInt(Position::ordinal).toArray();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.rosterreview.data;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.rosterreview.data.HostThrottle.ThrottleStatistics;
+
+/**
+ * A {@link PageFetcher} that throttles the requests made by another
+ * PageFetcher.
+ * <p>
+ * Each host is assigned a {@link HostThrottle} that bounds the number of
+ * concurrent requests sent to it and adapts the rate at which they are sent
+ * to the host's responses. See {@link AdaptiveRateLimiter}. A request is
+ * complete once its response headers arrive; a streamed response body is
+ * read after the request's slot has been released.
+ */
+public class RateLimitedPageFetcher implements PageFetcher {
+
+    private final PageFetcher delegate;
+
+    private final int concurrency;
+
+    private final double initialRate;
+
+    private final double minRate;
+
+    private final double maxRate;
+
+    private final int burst;
+
+    private final long maxPauseMillis;
+
+    private final Map<String, HostThrottle> hostThrottles = new ConcurrentHashMap<>();
+
+    /**
+     * A public constructor for {@link RateLimitedPageFetcher}.
+     *
+     * @param delegate        the PageFetcher that retrieves pages
+     * @param concurrency     the maximum number of concurrent requests sent
+     *                        to a single host
+     * @param initialRate     the initial rate (requests per second) for each host
+     * @param minRate         the minimum rate (requests per second) for each host
+     * @param maxRate         the maximum rate (requests per second) for each host
+     * @param burst           the maximum number of requests sent to a host in
+     *                        a burst after a period of inactivity
+     * @param maxPauseMillis  the maximum time (ms) that a host's
+     *                        <code>Retry-After</code> header may pause requests
+     */
+    public RateLimitedPageFetcher(PageFetcher delegate, int concurrency, double initialRate,
+            double minRate, double maxRate, int burst, long maxPauseMillis) {
+        this.delegate = delegate;
+        this.concurrency = concurrency;
+        this.initialRate = initialRate;
+        this.minRate = minRate;
+        this.maxRate = maxRate;
+        this.burst = burst;
+        this.maxPauseMillis = maxPauseMillis;
+    }
+
+    @Override
+    public FetchedPage fetch(String url, Map<String, String> requestHeaders)
+            throws IOException, InterruptedException {
+
+        HostThrottle throttle = getHostThrottle(url);
+
+        throttle.acquire();
+        try {
+            FetchedPage fetchedPage = delegate.fetch(url, requestHeaders);
+            throttle.onResponse(fetchedPage.getStatusCode(),
+                    fetchedPage.getHeader("Retry-After"));
+
+            return fetchedPage;
+        } finally {
+            throttle.release();
+        }
+    }
+
+    /**
+     * @return  the current statistics of the throttle for each host that
+     *          has been sent a request
+     */
+    public List<ThrottleStatistics> getStatistics() {
+        List<ThrottleStatistics> statistics = new ArrayList<>();
+        for (HostThrottle throttle : hostThrottles.values()) {
+            statistics.add(throttle.getStatistics());
+        }
+
+        return statistics;
+    }
+
+    /**
+     * Retrieves the {@link HostThrottle} that governs requests sent to the
+     * host of the indicated URL.
+     *
+     * @param url  the URL a request will be sent to
+     * @return     the throttle for the URL's host
+     */
+    private HostThrottle getHostThrottle(String url) {
+        String host = URI.create(url).getHost();
+
+        return hostThrottles.computeIfAbsent(host, h -> new HostThrottle(h, concurrency,
+                new AdaptiveRateLimiter(initialRate, minRate, maxRate, burst,
+                        maxPauseMillis)));
+    }
+}
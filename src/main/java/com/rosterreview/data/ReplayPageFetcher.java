@@ -0,0 +1,161 @@
+package com.rosterreview.data;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * A {@link PageFetcher} that replays pages archived on the local file system
+ * instead of retrieving them from the network.
+ * <p>
+ * Pages are stored at the path of their URL, relative to the root of a
+ * directory or zip archive; e.g. the page
+ * <code>https://www.pro-football-reference.com/players/R/RodgAa00.htm</code>
+ * is replayed from <code>players/R/RodgAa00.htm</code>. The URL of an index
+ * page that ends with a <code>/</code> is replayed from the
+ * <code>index.htm</code> file of the corresponding directory. Pages that have
+ * not been archived are returned as <code>404 Not Found</code> responses.
+ * Request headers are ignored, so conditional requests are never answered
+ * with <code>304 Not Modified</code>.
+ * <p>
+ * Replayed ingests are reproducible and do not touch the live site, which
+ * makes them suitable for regression runs and throughput measurements. See
+ * {@link com.rosterreview.config.PageFetcherConfig}.
+ */
+public class ReplayPageFetcher implements PageFetcher, AutoCloseable {
+
+    private final Path directory;
+
+    private final ZipFile archive;
+
+    private final WebClientPool webClientPool;
+
+    /**
+     * The name of the file an index page URL is replayed from.
+     */
+    private static final String INDEX_FILE = "index.htm";
+
+    /**
+     * The headers of every replayed page.
+     */
+    private static final Map<String, String> HEADERS =
+            Collections.singletonMap("Content-Type", "text/html; charset=UTF-8");
+
+    /**
+     * A public constructor for {@link ReplayPageFetcher}.
+     *
+     * @param source         the directory or zip archive that contains the
+     *                       archived pages
+     * @param webClientPool  the pool from which a client will be borrowed to
+     *                       parse each replayed page
+     * @throws IOException  if the source does not exist or the archive cannot
+     *                      be opened
+     */
+    public ReplayPageFetcher(Path source, WebClientPool webClientPool) throws IOException {
+        if (Files.isDirectory(source)) {
+            this.directory = source.toAbsolutePath().normalize();
+            this.archive = null;
+        } else if (Files.isRegularFile(source)) {
+            this.directory = null;
+            this.archive = new ZipFile(source.toFile());
+        } else {
+            throw new NoSuchFileException(source.toString());
+        }
+        this.webClientPool = webClientPool;
+    }
+
+    @Override
+    public FetchedPage fetch(String url, Map<String, String> requestHeaders)
+            throws IOException {
+
+        String relativePath = getRelativePath(url);
+        String content = (relativePath == null) ? null : read(relativePath);
+
+        if (content == null) {
+            return new FetchedPage(url, 404, "", Collections.emptyMap(), webClientPool);
+        }
+
+        return new FetchedPage(url, 200, content, HEADERS, webClientPool);
+    }
+
+    /**
+     * Closes the zip archive pages are replayed from, if any.
+     *
+     * @throws IOException  if the archive cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (archive != null) {
+            archive.close();
+        }
+    }
+
+    /**
+     * Determines the path, relative to the archive root, of the file a URL is
+     * replayed from.
+     *
+     * @param url  the URL of the page
+     * @return     the relative path of the page's file, using <code>/</code>
+     *             separators, or <code>null</code> if the URL cannot name an
+     *             archived file
+     */
+    static String getRelativePath(String url) {
+        String path;
+        try {
+            path = URI.create(url).getPath();
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+
+        if (path == null) {
+            return null;
+        }
+        if (path.isEmpty() || path.endsWith("/")) {
+            path += INDEX_FILE;
+        }
+        path = path.replaceFirst("^/+", "");
+
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty() || segment.equals(".") || segment.equals("..")) {
+                return null;
+            }
+        }
+
+        return path;
+    }
+
+    /**
+     * Reads an archived page.
+     *
+     * @param relativePath  the relative path of the page's file
+     * @return              the content of the page, or <code>null</code> if
+     *                      the page has not been archived
+     * @throws IOException  if the page cannot be read
+     */
+    private String read(String relativePath) throws IOException {
+        if (archive != null) {
+            ZipEntry entry = archive.getEntry(relativePath);
+            if (entry == null || entry.isDirectory()) {
+                return null;
+            }
+            try (InputStream in = archive.getInputStream(entry)) {
+                return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        }
+
+        Path file = directory.resolve(relativePath);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        return Files.readString(file, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,117 @@
+package com.rosterreview.data;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.rosterreview.dao.PlayerSeasonBatchWriter;
+import com.rosterreview.entity.PlayerSeason;
+import com.rosterreview.service.PfrDataParsingService;
+import com.rosterreview.service.PlayerService;
+import com.rosterreview.service.TeamService;
+
+/**
+ * A {@link Component} that updates a season's {@link PlayerSeason} data from
+ * the season's statistics leader pages, rather than from each player's profile
+ * page.
+ * <p>
+ * Each leader page lists every player that recorded statistics of one
+ * category during the season, so the season can be refreshed with one request
+ * per category. The pages are parsed together, so that a player listed in
+ * several categories is described by a single season, and the seasons are
+ * written in a single batch. Players that have not been persisted, players
+ * that played for more than one team during the season, and players whose new
+ * season cannot be fully described by the pages are returned so that their
+ * profile pages can be crawled.
+ */
+
+@Component
+public class SeasonLeaderIngester {
+
+    /**
+     * The statistical categories of the leader pages that are read.
+     */
+    public static final List<String> CATEGORIES = Arrays.asList("passing", "rushing",
+            "receiving", "defense", "kicking", "returns", "scoring");
+
+    @Autowired
+    private PfrDataParsingService pfrDataParsingService;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private PageFetcher pageFetcher;
+
+    @Autowired
+    private PlayerSeasonBatchWriter playerSeasonBatchWriter;
+
+    private static final Logger LOG = LoggerFactory.getLogger(SeasonLeaderIngester.class);
+
+    /**
+     * Updates the regular season statistics of every player listed on the
+     * indicated season's statistics leader pages. Leader pages that cannot be
+     * retrieved are logged and skipped; the statistics of their category are
+     * not updated.
+     *
+     * @param season  the season to update
+     * @return        the URLs of the profile pages of players that must be
+     *                crawled individually
+     * @throws InterruptedException  if interrupted while retrieving a page
+     */
+    public Set<String> ingest(Integer season) throws InterruptedException {
+        teamService.refreshTeamIndex();
+        Set<String> playerUrls = new LinkedHashSet<>();
+        List<FetchedPage> fetchedPages = new ArrayList<>();
+
+        try {
+            for (String category : CATEGORIES) {
+                String leaderUrl = pfrDataParsingService.getSeasonLeaderUrl(season, category);
+                FetchedPage fetchedPage = null;
+                try {
+                    fetchedPage = pageFetcher.fetch(leaderUrl);
+                    if (!fetchedPage.isSuccessful()) {
+                        throw new HttpStatusException(leaderUrl, fetchedPage.getStatusCode());
+                    }
+                    // Every page is parsed at once, so none may hold its connection open
+                    fetchedPage.getContent();
+                    fetchedPages.add(fetchedPage);
+                } catch (IOException | RuntimeException ex) {
+                    if (fetchedPage != null) {
+                        fetchedPage.close();
+                    }
+                    LOG.error("Unable to retrieve player seasons from url: {}.", leaderUrl, ex);
+                }
+            }
+
+            List<PlayerSeason> seasons = pfrDataParsingService.parseSeasonLeaderPages(
+                    fetchedPages, season, playerService.getPlayerPageVersions(),
+                    playerService.getSeasonStatistics(season), playerUrls);
+            playerSeasonBatchWriter.writeSeasons(seasons);
+
+            LOG.info("Updated {} player seasons from {} of {} {} leader pages; {} players "
+                    + "must be crawled individually.", seasons.size(), fetchedPages.size(),
+                    CATEGORIES.size(), season, playerUrls.size());
+        } catch (IOException | SQLException | RuntimeException ex) {
+            LOG.error("Unable to update {} player seasons from leader pages.", season, ex);
+        } finally {
+            for (FetchedPage fetchedPage : fetchedPages) {
+                fetchedPage.close();
+            }
+        }
+
+        return playerUrls;
+    }
+}
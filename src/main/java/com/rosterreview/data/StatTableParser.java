@@ -0,0 +1,551 @@
+package com.rosterreview.data;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import org.apache.commons.text.StringEscapeUtils;
+
+/**
+ * A streaming parser that extracts the rows of statistics tables from raw
+ * HTML without building a document model.
+ * <p>
+ * Markup is tokenized as it is read. Tables whose attributes satisfy the
+ * parser's filter are reported to a {@link StatTableHandler}; the content of
+ * all other elements is discarded as soon as it is read. Content inside HTML
+ * comments is tokenized as regular markup, since Pro-Football-Reference
+ * delivers many of its tables inside comments.
+ * <p>
+ * For each matching table, the <code>data-stat</code> attributes of the cells
+ * in the last row of the table header are reported along with the text content
+ * of every row in the first table body, mirroring
+ * {@link com.gargoylesoftware.htmlunit.html.HtmlTable#getHeader()} and
+ * {@link com.gargoylesoftware.htmlunit.html.HtmlTable#getBodies()}.
+ */
+public class StatTableParser {
+
+    private final Predicate<Map<String, String>> tableFilter;
+
+    /**
+     * A public constructor for {@link StatTableParser}.
+     *
+     * @param tableFilter  a predicate that accepts the attributes of a
+     *                     <code>table</code> element and determines if the
+     *                     table should be reported
+     */
+    public StatTableParser(Predicate<Map<String, String>> tableFilter) {
+        this.tableFilter = tableFilter;
+    }
+
+    /**
+     * Creates a {@link Predicate} that accepts tables whose class attribute
+     * contains all of the indicated class names.
+     *
+     * @param classNames  the required class names
+     * @return            a table filter
+     */
+    public static Predicate<Map<String, String>> hasClasses(String... classNames) {
+        return attributes -> {
+            String tableClass = attributes.getOrDefault("class", "");
+            for (String className : classNames) {
+                if (!tableClass.contains(className)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    /**
+     * Parses the HTML read from the indicated {@link Reader}, reporting matching
+     * tables to the handler.
+     *
+     * @param reader   a source of raw HTML
+     * @param handler  the handler that will receive table events
+     * @throws IOException  if the HTML cannot be read
+     */
+    public void parse(Reader reader, StatTableHandler handler) throws IOException {
+        new Tokenizer(reader, handler).run();
+    }
+
+    /**
+     * A handler that receives events from a {@link StatTableParser}.
+     */
+    public interface StatTableHandler {
+
+        /**
+         * Signals the start of a matching table.
+         *
+         * @param tableId     the id attribute of the table
+         * @param attributes  all attributes of the table
+         */
+        void startTable(String tableId, Map<String, String> attributes);
+
+        /**
+         * Reports a row from the first body of the current table.
+         *
+         * @param row  the row
+         */
+        void row(StatTableRow row);
+
+        /**
+         * Signals the end of the current table.
+         *
+         * @param tableId  the id attribute of the table
+         */
+        void endTable(String tableId);
+    }
+
+    /**
+     * A row read from a statistics table.
+     */
+    public static class StatTableRow {
+
+        private final String tableId;
+
+        private final List<String> header;
+
+        private final List<String> cells;
+
+        private final List<Map<String, String>> cellAttributes;
+
+        private StatTableRow(String tableId, List<String> header, List<String> cells,
+                List<Map<String, String>> cellAttributes) {
+            this.tableId = tableId;
+            this.header = header;
+            this.cells = cells;
+            this.cellAttributes = cellAttributes;
+        }
+
+        /**
+         * @return  the id attribute of the table this row belongs to
+         */
+        public String getTableId() {
+            return tableId;
+        }
+
+        /**
+         * @return  the <code>data-stat</code> attribute of each cell in the
+         *          last row of the table header, or an empty string for cells
+         *          without one
+         */
+        public List<String> getHeader() {
+            return header;
+        }
+
+        /**
+         * @return  the text content of each cell in this row
+         */
+        public List<String> getCells() {
+            return cells;
+        }
+
+        /**
+         * @param index  the index of a cell in this row
+         * @param name   the name of an attribute
+         * @return       the value of the attribute on the indicated cell, or an
+         *               empty string if the cell does not have the attribute
+         */
+        public String getCellAttribute(int index, String name) {
+            return cellAttributes.get(index).getOrDefault(name, "");
+        }
+    }
+
+    /**
+     * The table sections that rows may belong to.
+     */
+    private enum Section { NONE, HEAD, BODY, FOOT }
+
+    /**
+     * A single-use tokenizer that reads HTML and tracks the state of the
+     * current matching table.
+     */
+    private class Tokenizer {
+
+        private final Reader reader;
+
+        private final StatTableHandler handler;
+
+        private final char[] buffer = new char[8192];
+
+        private int bufferPos;
+
+        private int bufferLen;
+
+        private boolean inTable;
+
+        private int nestedTableDepth;
+
+        private String tableId;
+
+        private Section section = Section.NONE;
+
+        private int bodyCount;
+
+        private List<String> header = Collections.emptyList();
+
+        private boolean inRow;
+
+        private List<String> rowCells = new ArrayList<>();
+
+        private List<Map<String, String>> rowCellAttributes = new ArrayList<>();
+
+        private StringBuilder cellText;
+
+        private Map<String, String> cellAttributes;
+
+        private Tokenizer(Reader reader, StatTableHandler handler) {
+            this.reader = reader;
+            this.handler = handler;
+        }
+
+        private void run() throws IOException {
+            int c;
+            while ((c = read()) != -1) {
+                if (c == '<') {
+                    readMarkup();
+                } else if (cellText != null) {
+                    if (c == '&') {
+                        readEntity();
+                    } else if (c != '\r') {
+                        cellText.append((char) c);
+                    }
+                }
+            }
+
+            if (inTable) {
+                endTable();
+            }
+        }
+
+        private void readMarkup() throws IOException {
+            int c = read();
+
+            if (c == '!') {
+                if (peek() == '-') {
+                    read();
+                    if (peek() == '-') {
+                        // Comment delimiter; tokenize the comment's content as markup
+                        read();
+                        return;
+                    }
+                }
+                skipTag();
+            } else if (c == '?') {
+                skipTag();
+            } else if (c == '/') {
+                String name = readTagName(read());
+                skipTag();
+                endTag(name);
+            } else if (isLetter(c)) {
+                String name = readTagName(c);
+                boolean needAttributes = name.equals("table") || (inTable &&
+                        (name.equals("td") || name.equals("th")));
+                Map<String, String> attributes = needAttributes ?
+                        readAttributes() : skipAttributes();
+                startTag(name, attributes);
+
+                if (name.equals("script") || name.equals("style")) {
+                    skipRawText(name);
+                }
+            } else if (cellText != null) {
+                cellText.append('<');
+                if (c != -1) {
+                    cellText.append((char) c);
+                }
+            }
+        }
+
+        private void startTag(String name, Map<String, String> attributes) {
+            switch (name) {
+                case "table":
+                    if (inTable) {
+                        nestedTableDepth++;
+                    } else if (tableFilter.test(attributes)) {
+                        inTable = true;
+                        tableId = attributes.getOrDefault("id", "");
+                        section = Section.NONE;
+                        bodyCount = 0;
+                        header = Collections.emptyList();
+                        handler.startTable(tableId, attributes);
+                    }
+                    break;
+                case "thead":
+                    if (inTable && nestedTableDepth == 0) {
+                        endRow();
+                        section = Section.HEAD;
+                    }
+                    break;
+                case "tbody":
+                    if (inTable && nestedTableDepth == 0) {
+                        endRow();
+                        section = Section.BODY;
+                        bodyCount++;
+                    }
+                    break;
+                case "tfoot":
+                    if (inTable && nestedTableDepth == 0) {
+                        endRow();
+                        section = Section.FOOT;
+                    }
+                    break;
+                case "tr":
+                    if (inTable && nestedTableDepth == 0) {
+                        endRow();
+                        inRow = true;
+                    }
+                    break;
+                case "td":
+                case "th":
+                    if (inTable && nestedTableDepth == 0) {
+                        endCell();
+                        if (!inRow) {
+                            inRow = true;
+                        }
+                        cellText = new StringBuilder();
+                        cellAttributes = attributes;
+                    }
+                    break;
+                default: // Do nothing.
+            }
+        }
+
+        private void endTag(String name) {
+            if (!inTable) {
+                return;
+            }
+
+            switch (name) {
+                case "table":
+                    if (nestedTableDepth > 0) {
+                        nestedTableDepth--;
+                    } else {
+                        endTable();
+                    }
+                    break;
+                case "thead":
+                case "tbody":
+                case "tfoot":
+                    if (nestedTableDepth == 0) {
+                        endRow();
+                        section = Section.NONE;
+                    }
+                    break;
+                case "tr":
+                    if (nestedTableDepth == 0) {
+                        endRow();
+                    }
+                    break;
+                case "td":
+                case "th":
+                    if (nestedTableDepth == 0) {
+                        endCell();
+                    }
+                    break;
+                default: // Do nothing.
+            }
+        }
+
+        private void endCell() {
+            if (cellText != null) {
+                rowCells.add(cellText.toString());
+                rowCellAttributes.add(cellAttributes);
+                cellText = null;
+                cellAttributes = null;
+            }
+        }
+
+        private void endRow() {
+            endCell();
+            if (!inRow) {
+                return;
+            }
+            inRow = false;
+
+            if (section == Section.HEAD) {
+                List<String> dataStats = new ArrayList<>(rowCellAttributes.size());
+                for (Map<String, String> attributes : rowCellAttributes) {
+                    dataStats.add(attributes.getOrDefault("data-stat", ""));
+                }
+                header = Collections.unmodifiableList(dataStats);
+            } else if ((section == Section.BODY && bodyCount == 1) ||
+                    (section == Section.NONE && bodyCount == 0)) {
+                // Rows outside of any section belong to an implied first body
+                handler.row(new StatTableRow(tableId, header, rowCells, rowCellAttributes));
+                rowCells = new ArrayList<>(rowCells.size());
+                rowCellAttributes = new ArrayList<>(rowCellAttributes.size());
+                return;
+            }
+
+            rowCells.clear();
+            rowCellAttributes.clear();
+        }
+
+        private void endTable() {
+            endRow();
+            inTable = false;
+            nestedTableDepth = 0;
+            section = Section.NONE;
+            handler.endTable(tableId);
+        }
+
+        private String readTagName(int first) throws IOException {
+            StringBuilder name = new StringBuilder(8);
+            int c = first;
+            while (c != -1 && !Character.isWhitespace(c) && c != '>' && c != '/') {
+                name.append(Character.toLowerCase((char) c));
+                c = read();
+            }
+            unread();
+
+            return name.toString();
+        }
+
+        private Map<String, String> readAttributes() throws IOException {
+            Map<String, String> attributes = new HashMap<>();
+            int c = read();
+
+            while (c != -1 && c != '>') {
+                if (Character.isWhitespace(c) || c == '/') {
+                    c = read();
+                    continue;
+                }
+
+                StringBuilder name = new StringBuilder();
+                while (c != -1 && c != '=' && c != '>' && !Character.isWhitespace(c)) {
+                    name.append(Character.toLowerCase((char) c));
+                    c = read();
+                }
+                while (c != -1 && Character.isWhitespace(c)) {
+                    c = read();
+                }
+
+                String value = "";
+                if (c == '=') {
+                    c = read();
+                    while (c != -1 && Character.isWhitespace(c)) {
+                        c = read();
+                    }
+
+                    StringBuilder valueBuilder = new StringBuilder();
+                    if (c == '"' || c == '\'') {
+                        int quote = c;
+                        c = read();
+                        while (c != -1 && c != quote) {
+                            valueBuilder.append((char) c);
+                            c = read();
+                        }
+                        c = read();
+                    } else {
+                        while (c != -1 && c != '>' && !Character.isWhitespace(c)) {
+                            valueBuilder.append((char) c);
+                            c = read();
+                        }
+                    }
+                    value = valueBuilder.indexOf("&") < 0 ? valueBuilder.toString() :
+                            StringEscapeUtils.unescapeHtml4(valueBuilder.toString());
+                }
+
+                attributes.putIfAbsent(name.toString(), value);
+            }
+
+            return attributes;
+        }
+
+        private Map<String, String> skipAttributes() throws IOException {
+            skipTag();
+            return Collections.emptyMap();
+        }
+
+        private void skipTag() throws IOException {
+            int quote = -1;
+            int c;
+            while ((c = read()) != -1) {
+                if (quote != -1) {
+                    if (c == quote) {
+                        quote = -1;
+                    }
+                } else if (c == '"' || c == '\'') {
+                    quote = c;
+                } else if (c == '>') {
+                    return;
+                }
+            }
+        }
+
+        private void skipRawText(String tagName) throws IOException {
+            String endTag = "</" + tagName;
+            int matched = 0;
+            int c;
+            while ((c = read()) != -1) {
+                if (Character.toLowerCase(c) == endTag.charAt(matched)) {
+                    matched++;
+                    if (matched == endTag.length()) {
+                        skipTag();
+                        return;
+                    }
+                } else {
+                    matched = (c == '<') ? 1 : 0;
+                }
+            }
+        }
+
+        private void readEntity() throws IOException {
+            StringBuilder entity = new StringBuilder(10).append('&');
+            int c;
+            while ((c = read()) != -1 && entity.length() < 12) {
+                if (c == ';') {
+                    entity.append(';');
+                    cellText.append(StringEscapeUtils.unescapeHtml4(entity.toString()));
+                    return;
+                }
+                if (!(isLetter(c) || Character.isDigit(c) || c == '#')) {
+                    break;
+                }
+                entity.append((char) c);
+            }
+
+            cellText.append(entity);
+            if (c != -1) {
+                unread();
+            }
+        }
+
+        private boolean isLetter(int c) {
+            return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+        }
+
+        private int read() throws IOException {
+            if (bufferPos >= bufferLen) {
+                bufferLen = reader.read(buffer, 0, buffer.length);
+                bufferPos = 0;
+                if (bufferLen <= 0) {
+                    bufferLen = 0;
+                    return -1;
+                }
+            }
+
+            return buffer[bufferPos++];
+        }
+
+        private int peek() throws IOException {
+            int c = read();
+            if (c != -1) {
+                unread();
+            }
+
+            return c;
+        }
+
+        private void unread() {
+            if (bufferPos > 0) {
+                bufferPos--;
+            }
+        }
+    }
+}
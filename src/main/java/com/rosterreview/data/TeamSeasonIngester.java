@@ -0,0 +1,102 @@
+package com.rosterreview.data;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.rosterreview.dao.PlayerSeasonBatchWriter;
+import com.rosterreview.entity.Player;
+import com.rosterreview.entity.PlayerSeason;
+import com.rosterreview.entity.Team;
+import com.rosterreview.service.PfrDataParsingService;
+import com.rosterreview.service.PlayerService;
+import com.rosterreview.service.TeamService;
+
+/**
+ * A {@link Component} that updates a season's {@link PlayerSeason} data from
+ * the season page of each team, rather than from each player's profile page.
+ * <p>
+ * A team season page lists the statistics of every player on the team's
+ * roster, so a season can be refreshed with one request per team instead of
+ * one per player. The seasons parsed from each page are written in bulk.
+ * Players that have not been persisted, and players whose new season cannot
+ * be fully described by the team page, are returned so that their profile
+ * pages can be crawled.
+ */
+
+@Component
+public class TeamSeasonIngester {
+
+    @Autowired
+    private PfrDataParsingService pfrDataParsingService;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private PageFetcher pageFetcher;
+
+    @Autowired
+    private PlayerSeasonBatchWriter playerSeasonBatchWriter;
+
+    private static final Logger LOG = LoggerFactory.getLogger(TeamSeasonIngester.class);
+
+    /**
+     * Updates the regular season statistics of every player listed on the
+     * season pages of the teams that competed in the indicated season. Team
+     * pages that cannot be retrieved, parsed, or written are logged and
+     * skipped.
+     *
+     * @param season  the season to update
+     * @return        the URLs of the profile pages of players that must be
+     *                crawled individually
+     * @throws InterruptedException  if interrupted while retrieving a page
+     */
+    public Set<String> ingest(Integer season) throws InterruptedException {
+        teamService.refreshTeamIndex();
+        List<Team> teams = teamService.getTeams(season);
+        Map<String, Player> knownPlayers = playerService.getPlayerPageVersions();
+        Set<String> playerUrls = new LinkedHashSet<>();
+        int seasonCount = 0;
+        int failedTeams = 0;
+
+        for (Team team : teams) {
+            if (team.getPfrId() == null) {
+                continue;
+            }
+
+            String teamSeasonUrl = pfrDataParsingService.getTeamSeasonUrl(team);
+            try (FetchedPage fetchedPage = pageFetcher.fetch(teamSeasonUrl)) {
+                if (!fetchedPage.isSuccessful()) {
+                    throw new HttpStatusException(teamSeasonUrl, fetchedPage.getStatusCode());
+                }
+
+                List<PlayerSeason> seasons = pfrDataParsingService.parseTeamSeasonPage(
+                        fetchedPage, team, knownPlayers,
+                        playerService.getTeamSeasonStatistics(team), playerUrls);
+                playerSeasonBatchWriter.writeSeasons(seasons);
+                seasonCount += seasons.size();
+            } catch (IOException | SQLException | RuntimeException ex) {
+                failedTeams++;
+                LOG.error("Unable to update player seasons from url: {}.", teamSeasonUrl, ex);
+            }
+        }
+
+        LOG.info("Updated {} player seasons from {} of {} {} team pages; {} players must be "
+                + "crawled individually.", seasonCount, teams.size() - failedTeams,
+                teams.size(), season, playerUrls.size());
+
+        return playerUrls;
+    }
+}
@@ -0,0 +1,244 @@
+package com.rosterreview.data;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.gargoylesoftware.htmlunit.WebClient;
+import com.rosterreview.config.PageFetcherConfig;
+import com.rosterreview.utils.WebScrapingUtils;
+
+/**
+ * A {@link Component} that maintains a pool of reusable, pre-configured
+ * {@link WebClient WebClients}.
+ * <p>
+ * Creating a WebClient is expensive; each one starts its own JavaScript engine,
+ * cookie store, and connection manager. Consumers should therefore borrow a
+ * client from this pool rather than creating their own. Borrowed clients must
+ * be returned by closing the {@link PooledWebClient}, preferably with a
+ * try-with-resources statement. Clients are reset before they are handed to
+ * the next consumer.
+ * <p>
+ * The maximum number of clients is defined by the
+ * <code>player.data.webclient.pool.size</code> property, which defaults to
+ * the number of crawler worker threads so each worker effectively owns one
+ * client. When pages are fetched in <code>http</code> mode, the clients are
+ * only used to parse HTML and are created with JavaScript disabled.
+ */
+
+@Component
+public class WebClientPool implements DisposableBean {
+
+    @Value("${player.data.webclient.pool.size:${player.data.crawl.threads:4}}")
+    private int maxSize;
+
+    @Value("${player.data.fetch.mode:" + PageFetcherConfig.HTMLUNIT_MODE + "}")
+    private String fetchMode;
+
+    private final BlockingQueue<PooledWebClient> idleClients = new LinkedBlockingQueue<>();
+
+    private final List<PooledWebClient> allClients = new CopyOnWriteArrayList<>();
+
+    private final AtomicLong borrowCount = new AtomicLong();
+
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    private static final Logger LOG = LoggerFactory.getLogger(WebClientPool.class);
+
+    /**
+     * A no-argument {@link WebClientPool} constructor required by Spring. The
+     * pool's size and fetch mode are injected.
+     */
+    public WebClientPool() {}
+
+    /**
+     * Creates a pool for a single task that must not compete with the crawler
+     * for clients, such as a reprocess of archived pages. The owner must
+     * {@link #destroy() destroy} the pool once the task completes.
+     *
+     * @param maxSize    the maximum number of clients
+     * @param fetchMode  the fetch mode of the pages the clients parse; see
+     *                   {@link PageFetcherConfig}
+     */
+    public WebClientPool(int maxSize, String fetchMode) {
+        this.maxSize = maxSize;
+        this.fetchMode = fetchMode;
+    }
+
+    /**
+     * Borrows a {@link WebClient} from the pool, creating a new one if none
+     * are idle and the pool has not reached its maximum size. Otherwise, this
+     * method blocks until a client is returned to the pool.
+     *
+     * @return  a pooled web client
+     * @throws InterruptedException  if the calling thread is interrupted while
+     *                               waiting for a client
+     */
+    public PooledWebClient borrow() throws InterruptedException {
+        long startNanos = System.nanoTime();
+        PooledWebClient client = idleClients.poll();
+
+        if (client == null) {
+            client = createClientIfPermitted();
+        }
+        if (client == null) {
+            client = idleClients.take();
+        }
+
+        long waitNanos = System.nanoTime() - startNanos;
+        borrowCount.incrementAndGet();
+        totalWaitNanos.addAndGet(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+        client.borrows.incrementAndGet();
+
+        return client;
+    }
+
+    /**
+     * @return  the number of times a client has been borrowed from the pool
+     */
+    public long getBorrowCount() {
+        return borrowCount.get();
+    }
+
+    /**
+     * @return  the average time (ms) consumers waited to borrow a client
+     */
+    public double getAverageBorrowWaitMillis() {
+        long borrows = borrowCount.get();
+
+        return borrows == 0 ? 0.0 :
+            TimeUnit.NANOSECONDS.toMicros(totalWaitNanos.get()) / 1000.0 / borrows;
+    }
+
+    /**
+     * @return  the longest time (ms) a consumer waited to borrow a client
+     */
+    public double getMaxBorrowWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMicros(maxWaitNanos.get()) / 1000.0;
+    }
+
+    /**
+     * @return  the number of clients created by the pool
+     */
+    public int getClientCount() {
+        return allClients.size();
+    }
+
+    /**
+     * @return  the average number of times each client in the pool has been
+     *          borrowed
+     */
+    public double getAverageBorrowsPerClient() {
+        return allClients.stream().mapToLong(c -> c.borrows.get())
+                .average().orElse(0.0);
+    }
+
+    /**
+     * Writes the pool's usage statistics to the log.
+     */
+    public void logStatistics() {
+        LOG.info("WebClient pool: {} clients, {} borrows, {} borrows per client, "
+                + "borrow wait avg {} ms / max {} ms.", getClientCount(),
+                getBorrowCount(), String.format("%.1f", getAverageBorrowsPerClient()),
+                String.format("%.2f", getAverageBorrowWaitMillis()),
+                String.format("%.2f", getMaxBorrowWaitMillis()));
+    }
+
+    /**
+     * Closes every client owned by the pool when the application context
+     * is shut down.
+     */
+    @Override
+    public void destroy() {
+        allClients.forEach(c -> c.webClient.close());
+        allClients.clear();
+        idleClients.clear();
+    }
+
+    /**
+     * Creates a new pooled client if the pool has not reached its maximum size.
+     *
+     * @return  a new pooled client, or <code>null</code> if the pool is full
+     */
+    private synchronized PooledWebClient createClientIfPermitted() {
+        if (allClients.size() >= Math.max(1, maxSize)) {
+            return null;
+        }
+
+        boolean javaScriptEnabled = !PageFetcherConfig.HTTP_MODE.equals(fetchMode.trim());
+        PooledWebClient client = new PooledWebClient(
+                WebScrapingUtils.getConfiguredWebClient(javaScriptEnabled));
+        allClients.add(client);
+        LOG.debug("Created pooled WebClient {} of {}.", allClients.size(), maxSize);
+
+        return client;
+    }
+
+    /**
+     * Resets the indicated client and makes it available to other consumers.
+     *
+     * @param client  the client being returned
+     */
+    private void release(PooledWebClient client) {
+        try {
+            WebClient webClient = client.webClient;
+            webClient.getCurrentWindow().getJobManager().removeAllJobs();
+            webClient.getCookieManager().clearCookies();
+            webClient.getCache().clear();
+            // Drop the previous page so its DOM can be garbage collected.
+            webClient.getPage("about:blank");
+        } catch (Exception ex) {
+            LOG.warn("Unable to reset a pooled WebClient; discarding it.", ex);
+            allClients.remove(client);
+            client.webClient.close();
+            client = createClientIfPermitted();
+            if (client == null) {
+                return;
+            }
+        }
+
+        idleClients.offer(client);
+    }
+
+    /**
+     * A {@link WebClient} borrowed from a {@link WebClientPool}. Closing this
+     * object returns the client to the pool.
+     */
+    public class PooledWebClient implements AutoCloseable {
+
+        private final WebClient webClient;
+
+        private final AtomicLong borrows = new AtomicLong();
+
+        private PooledWebClient(WebClient webClient) {
+            this.webClient = webClient;
+        }
+
+        /**
+         * @return  the borrowed web client
+         */
+        public WebClient getWebClient() {
+            return webClient;
+        }
+
+        /**
+         * Returns the borrowed client to the pool.
+         */
+        @Override
+        public void close() {
+            release(this);
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.rosterreview.entity;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
+
+/**
+ * An {@link Entity} describing a page in the crawl frontier: a URL that a
+ * data update has enumerated, and its progress through that update.
+ * <p>
+ * The frontier is persisted so that an update interrupted by a restart can
+ * resume with the pages it had not yet completed.
+ */
+
+@Entity
+@Table(name="crawl_frontier")
+public class CrawlFrontierEntry {
+
+    /**
+     * The progress of a page through a data update.
+     */
+    public enum State {
+
+        /**
+         * The page is waiting to be claimed by a crawler, no earlier than its
+         * next attempt time if it has one.
+         */
+        PENDING,
+
+        /**
+         * The page has been claimed by a crawler and is being processed.
+         */
+        CLAIMED,
+
+        /**
+         * The page's data has been persisted.
+         */
+        COMPLETE,
+
+        /**
+         * The page could not be processed and will not be retried during the
+         * current data update.
+         */
+        FAILED
+    }
+
+    @Id
+    @Column(name="url")
+    private String url;
+
+    @Column(name="job")
+    private String job;
+
+    @Column(name="state")
+    @Enumerated(EnumType.STRING)
+    private State state;
+
+    @Column(name="priority")
+    private Integer priority;
+
+    @Column(name="attempts")
+    private Integer attempts;
+
+    @Column(name="last_attempt")
+    private LocalDateTime lastAttempt;
+
+    @Column(name="last_success")
+    private LocalDateTime lastSuccess;
+
+    @Column(name="next_attempt")
+    private LocalDateTime nextAttempt;
+
+    @Column(name="error_class")
+    private String errorClass;
+
+    @Column(name="error_summary")
+    private String errorSummary;
+
+    /**
+     * A no-argument {@link CrawlFrontierEntry} constructor required by Spring.
+     */
+    CrawlFrontierEntry() {}
+
+    public CrawlFrontierEntry(String url, String job) {
+        this.url = url;
+        this.job = job;
+        this.state = State.PENDING;
+        this.priority = 0;
+        this.attempts = 0;
+        this.lastAttempt = null;
+        this.lastSuccess = null;
+        this.nextAttempt = null;
+        this.errorClass = null;
+        this.errorSummary = null;
+    }
+
+    /**
+     * @return  the URL of the page
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * @param url  the URL of the page
+     */
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    /**
+     * @return  the name of the data update job that enumerated the page
+     */
+    public String getJob() {
+        return job;
+    }
+
+    /**
+     * @param job  the name of the data update job that enumerated the page
+     */
+    public void setJob(String job) {
+        this.job = job;
+    }
+
+    /**
+     * @return  the progress of the page through the current data update
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * @param state  the progress of the page through the current data update
+     */
+    public void setState(State state) {
+        this.state = state;
+    }
+
+    /**
+     * @return  the priority of the page; pages with a higher priority are
+     *          claimed first
+     */
+    public Integer getPriority() {
+        return priority;
+    }
+
+    /**
+     * @param priority  the priority of the page; pages with a higher priority
+     *                  are claimed first
+     */
+    public void setPriority(Integer priority) {
+        this.priority = priority;
+    }
+
+    /**
+     * @return  the number of times the page has been claimed during the current
+     *          data update
+     */
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * @param attempts  the number of times the page has been claimed during
+     *                  the current data update
+     */
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    /**
+     * @return  the time the page was last claimed
+     */
+    public LocalDateTime getLastAttempt() {
+        return lastAttempt;
+    }
+
+    /**
+     * @param lastAttempt  the time the page was last claimed
+     */
+    public void setLastAttempt(LocalDateTime lastAttempt) {
+        this.lastAttempt = lastAttempt;
+    }
+
+    /**
+     * @return  the time the page's data was last persisted
+     */
+    public LocalDateTime getLastSuccess() {
+        return lastSuccess;
+    }
+
+    /**
+     * @param lastSuccess  the time the page's data was last persisted
+     */
+    public void setLastSuccess(LocalDateTime lastSuccess) {
+        this.lastSuccess = lastSuccess;
+    }
+
+    /**
+     * @return  the earliest time the page may be claimed again after a failed
+     *          attempt, or <code>null</code> if it may be claimed at any time
+     */
+    public LocalDateTime getNextAttempt() {
+        return nextAttempt;
+    }
+
+    /**
+     * @param nextAttempt  the earliest time the page may be claimed again
+     *                     after a failed attempt, or <code>null</code> if it
+     *                     may be claimed at any time
+     */
+    public void setNextAttempt(LocalDateTime nextAttempt) {
+        this.nextAttempt = nextAttempt;
+    }
+
+    /**
+     * @return  the class name of the exception that caused the most recent
+     *          failed attempt, or <code>null</code> if no attempt has failed
+     */
+    public String getErrorClass() {
+        return errorClass;
+    }
+
+    /**
+     * @param errorClass  the class name of the exception that caused the most
+     *                    recent failed attempt
+     */
+    public void setErrorClass(String errorClass) {
+        this.errorClass = errorClass;
+    }
+
+    /**
+     * @return  a summary of the exception and stack trace that caused the most
+     *          recent failed attempt, or <code>null</code> if no attempt has
+     *          failed
+     */
+    public String getErrorSummary() {
+        return errorSummary;
+    }
+
+    /**
+     * @param errorSummary  a summary of the exception and stack trace that
+     *                      caused the most recent failed attempt
+     */
+    public void setErrorSummary(String errorSummary) {
+        this.errorSummary = errorSummary;
+    }
+
+    /**
+     * Generates a <code>String</code> representation of this
+     * {@link CrawlFrontierEntry}.
+     *
+     * @return  a String representation of this object
+     */
+    @Override
+    public String toString() {
+        return ReflectionToStringBuilder.toString(this);
+    }
+}
@@ -20,6 +20,8 @@ import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
 import org.hibernate.annotations.DynamicInsert;
 import org.hibernate.annotations.DynamicUpdate;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 /**
  * An {@link Entity} defining a professional football player.
  */
@@ -82,6 +84,15 @@ public class Player {
     @Column(name="hof_year")
     private Integer hofYear;
 
+    @Column(name="pfr_etag")
+    private String pfrEtag;
+
+    @Column(name="pfr_last_modified")
+    private String pfrLastModified;
+
+    @Column(name="pfr_content_hash")
+    private String pfrContentHash;
+
     /**
      * A no-argument {@link Player} constructor required by Spring.
      */
@@ -353,6 +364,57 @@ public class Player {
         this.hofYear = hofYear;
     }
 
+    /**
+     * @return  the ETag returned with the last retrieval of this player's
+     *          PFR profile page
+     */
+    @JsonIgnore
+    public String getPfrEtag() {
+        return pfrEtag;
+    }
+
+    /**
+     * @param pfrEtag  the ETag returned with the last retrieval of this
+     *                 player's PFR profile page
+     */
+    public void setPfrEtag(String pfrEtag) {
+        this.pfrEtag = pfrEtag;
+    }
+
+    /**
+     * @return  the Last-Modified date returned with the last retrieval of this
+     *          player's PFR profile page
+     */
+    @JsonIgnore
+    public String getPfrLastModified() {
+        return pfrLastModified;
+    }
+
+    /**
+     * @param pfrLastModified  the Last-Modified date returned with the last
+     *                         retrieval of this player's PFR profile page
+     */
+    public void setPfrLastModified(String pfrLastModified) {
+        this.pfrLastModified = pfrLastModified;
+    }
+
+    /**
+     * @return  a hash of the normalized content of this player's PFR profile
+     *          page when it was last parsed
+     */
+    @JsonIgnore
+    public String getPfrContentHash() {
+        return pfrContentHash;
+    }
+
+    /**
+     * @param pfrContentHash  a hash of the normalized content of this player's
+     *                        PFR profile page when it was last parsed
+     */
+    public void setPfrContentHash(String pfrContentHash) {
+        this.pfrContentHash = pfrContentHash;
+    }
+
     /**
      * Generates a <code>String</code> representation of this {@link Player}.
      * <p>
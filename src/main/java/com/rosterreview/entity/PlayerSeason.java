@@ -22,16 +22,21 @@ import org.hibernate.annotations.FetchMode;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
 /**
  * An {@link Entity} describing the statistics generated during a single season
  * of a professional football player's career.
+ * <p>
+ * Each statistic is also declared in the {@link StatColumn} registry, which
+ * drives its parsing, JSON serialization and bulk writes.
  */
 
 @Entity
 @DynamicInsert
 @DynamicUpdate
 @Table(name="player_season")
+@JsonSerialize(using = PlayerSeasonSerializer.class)
 public class PlayerSeason implements Serializable {
 
     private static final long serialVersionUID = 1L;
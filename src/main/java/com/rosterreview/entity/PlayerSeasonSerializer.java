@@ -0,0 +1,83 @@
+package com.rosterreview.entity;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * A Jackson serializer for {@link PlayerSeason} that writes each statistic
+ * through the accessors declared by its {@link StatColumn}, rather than
+ * through bean introspection and reflective getter calls.
+ * <p>
+ * The serialized properties are the same as those of the default bean
+ * serialization: the season's identifying properties, its team, age,
+ * position and honors, followed by every registered statistic.
+ */
+public class PlayerSeasonSerializer extends StdSerializer<PlayerSeason> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * A public constructor for {@link PlayerSeasonSerializer}.
+     */
+    public PlayerSeasonSerializer() {
+        super(PlayerSeason.class);
+    }
+
+    @Override
+    public void serialize(PlayerSeason playerSeason, JsonGenerator gen,
+            SerializerProvider provider) throws IOException {
+
+        gen.writeStartObject(playerSeason);
+        writeStringField(gen, "franchiseId", playerSeason.getFranchiseId());
+        writeIntegerField(gen, "season", playerSeason.getSeason());
+        provider.defaultSerializeField("seasonType", playerSeason.getSeasonType(), gen);
+        provider.defaultSerializeField("team", playerSeason.getTeam(), gen);
+        writeIntegerField(gen, "age", playerSeason.getAge());
+        provider.defaultSerializeField("position", playerSeason.getPosition(), gen);
+        writeBooleanField(gen, "probowl", playerSeason.getProbowl());
+        writeBooleanField(gen, "allPro", playerSeason.getAllPro());
+
+        for (StatColumn<?> statColumn : StatColumn.values()) {
+            Object value = statColumn.getValue(playerSeason);
+            if (value == null) {
+                gen.writeNullField(statColumn.getProperty());
+            } else if (value instanceof Integer) {
+                gen.writeNumberField(statColumn.getProperty(), (Integer) value);
+            } else {
+                gen.writeNumberField(statColumn.getProperty(), (Double) value);
+            }
+        }
+
+        gen.writeEndObject();
+    }
+
+    private static void writeStringField(JsonGenerator gen, String name, String value)
+            throws IOException {
+        if (value == null) {
+            gen.writeNullField(name);
+        } else {
+            gen.writeStringField(name, value);
+        }
+    }
+
+    private static void writeIntegerField(JsonGenerator gen, String name, Integer value)
+            throws IOException {
+        if (value == null) {
+            gen.writeNullField(name);
+        } else {
+            gen.writeNumberField(name, value);
+        }
+    }
+
+    private static void writeBooleanField(JsonGenerator gen, String name, Boolean value)
+            throws IOException {
+        if (value == null) {
+            gen.writeNullField(name);
+        } else {
+            gen.writeBooleanField(name, value);
+        }
+    }
+}
@@ -0,0 +1,410 @@
+package com.rosterreview.entity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import com.rosterreview.utils.WebScrapingUtils;
+
+/**
+ * The registry of the statistics recorded by a {@link PlayerSeason}.
+ * <p>
+ * Each StatColumn declares one statistic: the JSON property and the
+ * <code>player_season</code> column it is stored as, its type and default
+ * value, its accessors, and the <code>data-stat</code> names of the Pro
+ * Football Reference table columns it is parsed from. The statistics table
+ * parsers, the JSON serialization of a PlayerSeason, and the bulk writes of
+ * the <code>player_season</code> table are all derived from this registry, and
+ * use the declared accessors rather than reflection. Adding a statistic only
+ * requires its field and accessors in PlayerSeason and one declaration here.
+ *
+ * @param <T>  the type of the statistic
+ */
+public final class StatColumn<T> {
+
+    private static final List<StatColumn<?>> COLUMNS = new ArrayList<>();
+
+    private static final Map<String, StatColumn<?>> COLUMNS_BY_DATA_STAT = new HashMap<>();
+
+    public static final StatColumn<Integer> JERSEY_NUMBER = nullableInteger("jerseyNumber",
+            "jersey_number", PlayerSeason::getJerseyNumber, PlayerSeason::setJerseyNumber,
+            "uniform_number");
+
+    public static final StatColumn<Integer> GAMES_PLAYED = integer("gamesPlayed",
+            "games_played", PlayerSeason::getGamesPlayed, PlayerSeason::setGamesPlayed, "g");
+
+    public static final StatColumn<Integer> GAMES_STARTED = integer("gamesStarted",
+            "games_started", PlayerSeason::getGamesStarted, PlayerSeason::setGamesStarted, "gs");
+
+    public static final StatColumn<Integer> PASS_COMP = integer("passComp",
+            "pass_comp", PlayerSeason::getPassComp, PlayerSeason::setPassComp, "pass_cmp");
+
+    public static final StatColumn<Integer> PASS_ATT = integer("passAtt",
+            "pass_att", PlayerSeason::getPassAtt, PlayerSeason::setPassAtt, "pass_att");
+
+    public static final StatColumn<Integer> PASS_YDS = integer("passYds",
+            "pass_yds", PlayerSeason::getPassYds, PlayerSeason::setPassYds, "pass_yds");
+
+    public static final StatColumn<Integer> PASS_TDS = integer("passTds",
+            "pass_tds", PlayerSeason::getPassTds, PlayerSeason::setPassTds, "pass_td");
+
+    public static final StatColumn<Integer> PASS_INTS = integer("passInts",
+            "pass_ints", PlayerSeason::getPassInts, PlayerSeason::setPassInts, "pass_int");
+
+    public static final StatColumn<Integer> PASS_LONG = integer("passLong",
+            "pass_long", PlayerSeason::getPassLong, PlayerSeason::setPassLong, "pass_long");
+
+    public static final StatColumn<Double> PASSER_RATING = decimal("passerRating",
+            "passer_rating", PlayerSeason::getPasserRating, PlayerSeason::setPassRating,
+            "pass_rating");
+
+    public static final StatColumn<Integer> SACKED = integer("sacked",
+            "sacked", PlayerSeason::getSacked, PlayerSeason::setSacked, "pass_sacked");
+
+    public static final StatColumn<Integer> SACKED_YDS = integer("sackedYds",
+            "sacked_yds", PlayerSeason::getSackedYds, PlayerSeason::setSackedYds,
+            "pass_sacked_yds");
+
+    public static final StatColumn<Integer> RUSH_ATT = integer("rushAtt",
+            "rush_att", PlayerSeason::getRushAtt, PlayerSeason::setRushAtt, "rush_att");
+
+    public static final StatColumn<Integer> RUSH_YDS = integer("rushYds",
+            "rush_yds", PlayerSeason::getRushYds, PlayerSeason::setRushYds, "rush_yds");
+
+    public static final StatColumn<Integer> RUSH_TDS = integer("rushTds",
+            "rush_tds", PlayerSeason::getRushTds, PlayerSeason::setRushTds, "rush_td", "rushtd");
+
+    public static final StatColumn<Integer> RUSH_LONG = integer("rushLong",
+            "rush_long", PlayerSeason::getRushLong, PlayerSeason::setRushLong, "rush_long");
+
+    public static final StatColumn<Integer> TARGETS = integer("targets",
+            "targets", PlayerSeason::getTargets, PlayerSeason::setTargets, "targets");
+
+    public static final StatColumn<Integer> RECEPTIONS = integer("receptions",
+            "rec", PlayerSeason::getReceptions, PlayerSeason::setReceptions, "rec");
+
+    public static final StatColumn<Integer> REC_YDS = integer("recYds",
+            "rec_yds", PlayerSeason::getRecYds, PlayerSeason::setRecYds, "rec_yds");
+
+    public static final StatColumn<Integer> REC_TDS = integer("recTds",
+            "rec_tds", PlayerSeason::getRecTds, PlayerSeason::setRecTds, "rec_td", "rectd");
+
+    public static final StatColumn<Integer> REC_LONG = integer("recLong",
+            "rec_long", PlayerSeason::getRecLong, PlayerSeason::setRecLong, "rec_long");
+
+    public static final StatColumn<Integer> FUMBLES = integer("fumbles",
+            "fumbles", PlayerSeason::getFumbles, PlayerSeason::setFumbles, "fumbles");
+
+    public static final StatColumn<Integer> INTERCEPTIONS = integer("interceptions",
+            "interceptions", PlayerSeason::getInterceptions, PlayerSeason::setInterceptions,
+            "def_int");
+
+    public static final StatColumn<Integer> INT_YDS = integer("intYds",
+            "int_yds", PlayerSeason::getIntYds, PlayerSeason::setIntYds, "def_int_yds");
+
+    public static final StatColumn<Integer> INT_TDS = integer("intTds",
+            "int_tds", PlayerSeason::getIntTds, PlayerSeason::setIntTds, "def_int_td", "ditd");
+
+    public static final StatColumn<Integer> INT_LONG = integer("intLong",
+            "int_long", PlayerSeason::getIntLong, PlayerSeason::setIntLong, "def_int_long");
+
+    public static final StatColumn<Integer> PASS_DEF = integer("passDef",
+            "pass_def", PlayerSeason::getPassDef, PlayerSeason::setPassDef, "pass_defended");
+
+    public static final StatColumn<Integer> FUM_FORCED = integer("fumForced",
+            "fum_forced", PlayerSeason::getFumForced, PlayerSeason::setFumForced, "fumbles_forced");
+
+    public static final StatColumn<Integer> FUM_REC = integer("fumRec",
+            "fum_rec", PlayerSeason::getFumRec, PlayerSeason::setFumRec, "fumbles_rec");
+
+    public static final StatColumn<Integer> FUM_REC_YDS = integer("fumRecYds",
+            "fum_rec_yds", PlayerSeason::getFumRecYds, PlayerSeason::setFumRecYds,
+            "fumbles_rec_yds");
+
+    public static final StatColumn<Integer> FUM_REC_TDS = integer("fumRecTds",
+            "fum_rec_tds", PlayerSeason::getFumRecTds, PlayerSeason::setFumRecTds, "fumbles_rec_td",
+            "frtd");
+
+    public static final StatColumn<Double> SACKS = decimal("sacks",
+            "sacks", PlayerSeason::getSacks, PlayerSeason::setSacks, "sacks");
+
+    public static final StatColumn<Integer> TACKLES = integer("tackles",
+            "tackles", PlayerSeason::getTackles, PlayerSeason::setTackles, "tackles_solo");
+
+    public static final StatColumn<Integer> ASSISTS = integer("assists",
+            "assists", PlayerSeason::getAssists, PlayerSeason::setAssists, "tackles_assists");
+
+    public static final StatColumn<Integer> SAFETIES = integer("safeties",
+            "safeties", PlayerSeason::getSafeties, PlayerSeason::setSafeties, "safety_md");
+
+    public static final StatColumn<Integer> FGA_TEENS = integer("fgaTeens",
+            "fga_teens", PlayerSeason::getFgaTeens, PlayerSeason::setFgaTeens, "fga1");
+
+    public static final StatColumn<Integer> FGM_TEENS = integer("fgmTeens",
+            "fgm_teens", PlayerSeason::getFgmTeens, PlayerSeason::setFgmTeens, "fgm1");
+
+    public static final StatColumn<Integer> FGA_TWENTIES = integer("fgaTwenties",
+            "fga_twenties", PlayerSeason::getFgaTwenties, PlayerSeason::setFgaTwenties, "fga2");
+
+    public static final StatColumn<Integer> FGM_TWENTIES = integer("fgmTwenties",
+            "fgm_twenties", PlayerSeason::getFgmTwenties, PlayerSeason::setFgmTwenties, "fgm2");
+
+    public static final StatColumn<Integer> FGA_THIRTIES = integer("fgaThirties",
+            "fga_thirties", PlayerSeason::getFgaThirties, PlayerSeason::setFgaThirties, "fga3");
+
+    public static final StatColumn<Integer> FGM_THIRTIES = integer("fgmThirties",
+            "fgm_thirties", PlayerSeason::getFgmThirties, PlayerSeason::setFgmThirties, "fgm3");
+
+    public static final StatColumn<Integer> FGA_FOURTIES = integer("fgaFourties",
+            "fga_fourties", PlayerSeason::getFgaFourties, PlayerSeason::setFgaFourties, "fga4");
+
+    public static final StatColumn<Integer> FGM_FOURTIES = integer("fgmFourties",
+            "fgm_fourties", PlayerSeason::getFgmFourties, PlayerSeason::setFgmFourties, "fgm4");
+
+    public static final StatColumn<Integer> FGA_FIFTY_PLUS = integer("fgaFiftyPlus",
+            "fga_fifty_plus", PlayerSeason::getFgaFiftyPlus, PlayerSeason::setFgaFiftyPlus, "fga5");
+
+    public static final StatColumn<Integer> FGM_FIFTY_PLUS = integer("fgmFiftyPlus",
+            "fgm_fifty_plus", PlayerSeason::getFgmFiftyPlus, PlayerSeason::setFgmFiftyPlus, "fgm5");
+
+    public static final StatColumn<Integer> FGA_TOTAL = integer("fgaTotal",
+            "fga_total", PlayerSeason::getFgaTotal, PlayerSeason::setFgaTotal, "fga");
+
+    public static final StatColumn<Integer> FGM_TOTAL = integer("fgmTotal",
+            "fgm_total", PlayerSeason::getFgmTotal, PlayerSeason::setFgmTotal, "fgm");
+
+    public static final StatColumn<Integer> FG_LONG = integer("fgLong",
+            "fg_long", PlayerSeason::getFgLong, PlayerSeason::setFgLong, "fg_long");
+
+    public static final StatColumn<Integer> XPA = integer("xpa",
+            "xpa", PlayerSeason::getXpa, PlayerSeason::setXpa, "xpa");
+
+    public static final StatColumn<Integer> XPM = integer("xpm",
+            "xpm", PlayerSeason::getXpm, PlayerSeason::setXpm, "xpm");
+
+    public static final StatColumn<Integer> PUNTS = integer("punts",
+            "punts", PlayerSeason::getPunts, PlayerSeason::setPunts, "punt");
+
+    public static final StatColumn<Integer> PUNT_YDS = integer("puntYds",
+            "punt_yds", PlayerSeason::getPuntYds, PlayerSeason::setPuntYds, "punt_yds");
+
+    public static final StatColumn<Integer> PUNT_LONG = integer("puntLong",
+            "punt_long", PlayerSeason::getPuntLong, PlayerSeason::setPuntLong, "punt_long");
+
+    public static final StatColumn<Integer> PUNT_BLOCKED = integer("puntBlocked",
+            "punt_blocked", PlayerSeason::getPuntBlocked, PlayerSeason::setPuntBlocked,
+            "punt_blocked");
+
+    public static final StatColumn<Integer> PUNT_RET = integer("puntRet",
+            "punt_ret", PlayerSeason::getPuntRet, PlayerSeason::setPuntRet, "punt_ret");
+
+    public static final StatColumn<Integer> PUNT_RET_YDS = integer("puntRetYds",
+            "punt_ret_yds", PlayerSeason::getPuntRetYds, PlayerSeason::setPuntRetYds,
+            "punt_ret_yds");
+
+    public static final StatColumn<Integer> PUNT_RET_TDS = integer("puntRetTds",
+            "punt_ret_tds", PlayerSeason::getPuntRetTds, PlayerSeason::setPuntRetTds, "punt_ret_td",
+            "prtd");
+
+    public static final StatColumn<Integer> PUNT_RET_LONG = integer("puntRetLong",
+            "punt_ret_long", PlayerSeason::getPuntRetLong, PlayerSeason::setPuntRetLong,
+            "punt_ret_long");
+
+    public static final StatColumn<Integer> KICK_RET = integer("kickRet",
+            "kick_ret", PlayerSeason::getKickRet, PlayerSeason::setKickRet, "kick_ret");
+
+    public static final StatColumn<Integer> KICK_RET_YDS = integer("kickRetYds",
+            "kick_ret_yds", PlayerSeason::getKickRetYds, PlayerSeason::setKickRetYds,
+            "kick_ret_yds");
+
+    public static final StatColumn<Integer> KICK_RET_TDS = integer("kickRetTds",
+            "kick_ret_tds", PlayerSeason::getKickRetTds, PlayerSeason::setKickRetTds, "kick_ret_td",
+            "krtd");
+
+    public static final StatColumn<Integer> KICK_RET_LONG = integer("kickRetLong",
+            "kick_ret_long", PlayerSeason::getKickRetLong, PlayerSeason::setKickRetLong,
+            "kick_ret_long");
+
+    public static final StatColumn<Integer> OTHER_TDS = integer("otherTds",
+            "other_tds", PlayerSeason::getOtherTds, PlayerSeason::setOtherTds, "otd");
+
+    public static final StatColumn<Integer> ALL_TDS = integer("allTds",
+            "all_tds", PlayerSeason::getAllTds, PlayerSeason::setAllTds, "alltd");
+
+    public static final StatColumn<Integer> TWO_POINT_CONV = integer("twoPointConv",
+            "two_point_conv", PlayerSeason::getTwoPointConv, PlayerSeason::setTwoPointConv,
+            "two_pt_md");
+
+    public static final StatColumn<Integer> AVG_VALUE = integer("avgValue",
+            "avg_value", PlayerSeason::getAvgValue, PlayerSeason::setAvgValue, "av");
+
+    private final String property;
+
+    private final String column;
+
+    private final Class<T> type;
+
+    private final T defaultValue;
+
+    private final Function<PlayerSeason, T> getter;
+
+    private final BiConsumer<PlayerSeason, T> setter;
+
+    private final Function<String, T> parser;
+
+    private final List<String> dataStats;
+
+    private StatColumn(String property, String column, Class<T> type, T defaultValue,
+            Function<PlayerSeason, T> getter, BiConsumer<PlayerSeason, T> setter,
+            Function<String, T> parser, String... dataStats) {
+        this.property = property;
+        this.column = column;
+        this.type = type;
+        this.defaultValue = defaultValue;
+        this.getter = getter;
+        this.setter = setter;
+        this.parser = parser;
+        this.dataStats = Collections.unmodifiableList(Arrays.asList(dataStats));
+    }
+
+    /**
+     * Declares an <code>Integer</code> statistic that defaults to 0.
+     */
+    private static StatColumn<Integer> integer(String property, String column,
+            Function<PlayerSeason, Integer> getter, BiConsumer<PlayerSeason, Integer> setter,
+            String... dataStats) {
+        return register(new StatColumn<>(property, column, Integer.class, 0, getter, setter,
+                cellData -> WebScrapingUtils.parseInt(cellData, 0), dataStats));
+    }
+
+    /**
+     * Declares an <code>Integer</code> statistic that defaults to
+     * <code>null</code>.
+     */
+    private static StatColumn<Integer> nullableInteger(String property, String column,
+            Function<PlayerSeason, Integer> getter, BiConsumer<PlayerSeason, Integer> setter,
+            String... dataStats) {
+        return register(new StatColumn<>(property, column, Integer.class, null, getter, setter,
+                cellData -> WebScrapingUtils.parseIntegerWithDefault(cellData, null), dataStats));
+    }
+
+    /**
+     * Declares a <code>Double</code> statistic that defaults to 0.0.
+     */
+    private static StatColumn<Double> decimal(String property, String column,
+            Function<PlayerSeason, Double> getter, BiConsumer<PlayerSeason, Double> setter,
+            String... dataStats) {
+        return register(new StatColumn<>(property, column, Double.class, 0.0, getter, setter,
+                cellData -> WebScrapingUtils.parseDouble(cellData, 0.0), dataStats));
+    }
+
+    private static <T> StatColumn<T> register(StatColumn<T> statColumn) {
+        COLUMNS.add(statColumn);
+        for (String dataStat : statColumn.dataStats) {
+            StatColumn<?> existing = COLUMNS_BY_DATA_STAT.putIfAbsent(dataStat, statColumn);
+            if (existing != null) {
+                throw new IllegalStateException("The data-stat '" + dataStat
+                        + "' is declared by both " + existing.property + " and "
+                        + statColumn.property + ".");
+            }
+        }
+
+        return statColumn;
+    }
+
+    /**
+     * @return  every registered statistic, in declaration order
+     */
+    public static List<StatColumn<?>> values() {
+        return Collections.unmodifiableList(COLUMNS);
+    }
+
+    /**
+     * @param dataStat  the <code>data-stat</code> name of a PFR table column
+     * @return          the statistic parsed from the column, or
+     *                  <code>null</code> if the column is not parsed
+     */
+    public static StatColumn<?> forDataStat(String dataStat) {
+        return COLUMNS_BY_DATA_STAT.get(dataStat);
+    }
+
+    /**
+     * @return  the name of the JSON property the statistic is serialized as
+     */
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * @return  the name of the <code>player_season</code> column the
+     *          statistic is stored in
+     */
+    public String getColumn() {
+        return column;
+    }
+
+    /**
+     * @return  the type of the statistic
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * @return  the value of the statistic when its table cell is blank
+     */
+    public T getDefaultValue() {
+        return defaultValue;
+    }
+
+    /**
+     * @return  the <code>data-stat</code> names of the PFR table columns the
+     *          statistic is parsed from
+     */
+    public List<String> getDataStats() {
+        return dataStats;
+    }
+
+    /**
+     * @param playerSeason  a season
+     * @return              the value of the statistic in the season
+     */
+    public T getValue(PlayerSeason playerSeason) {
+        return getter.apply(playerSeason);
+    }
+
+    /**
+     * @param playerSeason  a season
+     * @param value         the new value of the statistic in the season
+     */
+    public void setValue(PlayerSeason playerSeason, T value) {
+        setter.accept(playerSeason, value);
+    }
+
+    /**
+     * Parses the text content of a PFR table cell and stores it as the value
+     * of the statistic in a season. A blank cell stores the default value.
+     *
+     * @param playerSeason  a season
+     * @param cellData      the text content of the table cell
+     */
+    public void parse(PlayerSeason playerSeason, String cellData) {
+        setter.accept(playerSeason, parser.apply(cellData));
+    }
+
+    /**
+     * Generates a <code>String</code> representation of this
+     * {@link StatColumn} for logging.
+     *
+     * @return  the JSON property of the statistic
+     */
+    @Override
+    public String toString() {
+        return property;
+    }
+}
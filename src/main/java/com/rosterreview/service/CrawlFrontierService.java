@@ -0,0 +1,471 @@
+package com.rosterreview.service;
+
+import java.io.IOException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.rosterreview.dao.CrawlFrontierDao;
+import com.rosterreview.data.HttpStatusException;
+import com.rosterreview.entity.CrawlFrontierEntry;
+import com.rosterreview.entity.CrawlFrontierEntry.State;
+
+/**
+ * A {@link Service} for the crawl frontier: the persisted set of
+ * {@link CrawlFrontierEntry CrawlFrontierEntries} that a data update has
+ * enumerated.
+ * <p>
+ * A data update begins by adding the pages it will crawl with
+ * {@link #startUpdate(String, Map)}. Each update belongs to a named job, such
+ * as the scheduled {@link #UPDATE_JOB} or the {@link #BACKFILL_JOB} of every
+ * indexed player, so that its progress can be reported. Crawlers claim
+ * pending pages, and each
+ * page is checkpointed as complete or failed once it has been processed. If
+ * an update is interrupted, {@link #resumeUpdate()} returns any pages that
+ * were claimed but not checkpointed to the pending state, so that the next
+ * update continues where the interrupted one stopped.
+ * <p>
+ * A page that fails with a transient error, such as a network error or a
+ * server error response, is returned to the pending state and retried after
+ * an exponentially increasing delay. A page that fails with any other error,
+ * or that exhausts its attempts, is marked failed and held for review until
+ * the next update; see {@link #getFailedPages()}. Retries are configured with
+ * the following properties:
+ * <ul>
+ * <li>player.data.crawl.retry.max.attempts:  The maximum number of attempts
+ *                                            made for a page.</li>
+ * <li>player.data.crawl.retry.delay.ms:      The delay (ms) before the first
+ *                                            retry, doubled for each further
+ *                                            retry.</li>
+ * <li>player.data.crawl.retry.max.delay.ms:  The maximum delay (ms) before a
+ *                                            retry.</li>
+ * </ul>
+ */
+
+@Service
+public class CrawlFrontierService {
+
+    /**
+     * The job name of scheduled data updates.
+     */
+    public static final String UPDATE_JOB = "update";
+
+    /**
+     * The job name of the historical backfill of every indexed player.
+     */
+    public static final String BACKFILL_JOB = "backfill";
+
+    @Autowired
+    private CrawlFrontierDao crawlFrontierDao;
+
+    @Value("${player.data.crawl.retry.max.attempts:4}")
+    private int maxAttempts;
+
+    @Value("${player.data.crawl.retry.delay.ms:30000}")
+    private long retryDelayMillis;
+
+    @Value("${player.data.crawl.retry.max.delay.ms:600000}")
+    private long maxRetryDelayMillis;
+
+    /**
+     * The maximum number of stack frames included in an error summary for
+     * each exception in the cause chain.
+     */
+    private static final int SUMMARY_FRAMES = 3;
+
+    /**
+     * The maximum length of an error summary.
+     */
+    private static final int SUMMARY_LENGTH = 2000;
+
+    /**
+     * The period (minutes) over which the recent completion rate of a job is
+     * measured to estimate its time remaining.
+     */
+    private static final int PROGRESS_WINDOW_MINUTES = 10;
+
+    private static final Logger LOG = LoggerFactory.getLogger(CrawlFrontierService.class);
+
+    /**
+     * Determines if the most recent data update stopped before every page in
+     * the frontier was processed.
+     *
+     * @return  <code>true</code> if any page is pending or claimed,
+     *          <code>false</code> otherwise
+     */
+    @Transactional
+    public boolean isUpdateInProgress() {
+        Map<State, Long> counts = crawlFrontierDao.countEntriesByState();
+
+        return counts.get(State.PENDING) > 0 || counts.get(State.CLAIMED) > 0;
+    }
+
+    /**
+     * Determines if any page in the frontier is waiting to be claimed,
+     * including failed pages whose retry is not yet due.
+     *
+     * @return  <code>true</code> if any page is pending, <code>false</code>
+     *          otherwise
+     */
+    @Transactional
+    public boolean hasPendingPages() {
+        return crawlFrontierDao.countEntriesByState().get(State.PENDING) > 0;
+    }
+
+    /**
+     * Retrieves the job of the data update that stopped before every page in
+     * the frontier was processed.
+     *
+     * @return  the name of the job, or <code>null</code> if no update is in
+     *          progress
+     */
+    @Transactional
+    public String getUnfinishedJob() {
+        return crawlFrontierDao.getUnfinishedJob();
+    }
+
+    /**
+     * Begins a new data update of the indicated pages. Pages with a higher
+     * priority are claimed first.
+     *
+     * @param job            the name of the data update job
+     * @param urlPriorities  a mapping of the URLs of the pages to crawl to
+     *                       their priorities
+     */
+    @Transactional
+    public void startUpdate(String job, Map<String, Integer> urlPriorities) {
+        crawlFrontierDao.addPendingUrls(job, urlPriorities);
+        LOG.info("Added {} pages to the crawl frontier for the {} job.",
+                urlPriorities.size(), job);
+    }
+
+    /**
+     * Prepares an interrupted data update to be resumed by returning every
+     * claimed page to the pending state.
+     */
+    @Transactional
+    public void resumeUpdate() {
+        int released = crawlFrontierDao.updateStates(State.CLAIMED, State.PENDING);
+        LOG.info("Resuming data update with {} pages released from previous claims.",
+                released);
+    }
+
+    /**
+     * Claims pending pages for processing.
+     *
+     * @param limit  the maximum number of pages to claim
+     * @return       the URLs of the claimed pages, which is empty if no pages
+     *               are pending
+     */
+    @Transactional
+    public List<String> claim(int limit) {
+        return crawlFrontierDao.claimPendingUrls(limit);
+    }
+
+    /**
+     * Returns claimed pages that will not be processed to the pending state.
+     *
+     * @param urls  the URLs of the pages
+     */
+    @Transactional
+    public void release(Collection<String> urls) {
+        crawlFrontierDao.releaseClaims(urls);
+    }
+
+    /**
+     * Checkpoints a page whose data has been persisted.
+     *
+     * @param url  the URL of the page
+     */
+    @Transactional
+    public void complete(String url) {
+        crawlFrontierDao.updateState(url, State.COMPLETE);
+    }
+
+    /**
+     * Checkpoints pages whose data has been persisted, in a single
+     * transaction.
+     *
+     * @param urls  the URLs of the pages
+     */
+    @Transactional
+    public void complete(Collection<String> urls) {
+        crawlFrontierDao.completeEntries(urls);
+    }
+
+    /**
+     * Checkpoints a page that could not be processed. The page is scheduled
+     * to be retried if the failure is transient and the page has attempts
+     * remaining, and is marked failed otherwise.
+     *
+     * @param url  the URL of the page
+     * @param ex   the reason the page could not be processed
+     */
+    @Transactional
+    public void fail(String url, Throwable ex) {
+        Integer attempts = crawlFrontierDao.getAttempts(url);
+        if (attempts == null) {
+            return;
+        }
+
+        LocalDateTime nextAttempt = null;
+        if (isTransient(ex) && attempts < maxAttempts) {
+            long delayMillis = retryDelayMillis << Math.min(Math.max(0, attempts - 1), 20);
+            nextAttempt = LocalDateTime.now().plus(
+                    Math.min(delayMillis, maxRetryDelayMillis), ChronoUnit.MILLIS);
+        }
+
+        crawlFrontierDao.recordFailure(url, ex.getClass().getName(), summarize(ex),
+                nextAttempt);
+
+        if (nextAttempt == null) {
+            LOG.warn("Giving up on {} after {} attempts: {}", url, attempts, ex.toString());
+        } else {
+            LOG.info("Will retry {} after {}: {}", url, nextAttempt, ex.toString());
+        }
+    }
+
+    /**
+     * Retrieves the pages that have failed and will not be retried during the
+     * current data update.
+     *
+     * @return  a list of failed pages, most recently attempted first
+     */
+    @Transactional
+    public List<CrawlFrontierEntry> getFailedPages() {
+        return crawlFrontierDao.getEntries(State.FAILED);
+    }
+
+    /**
+     * Counts the pages in the frontier by state.
+     *
+     * @return  a mapping of every state to the number of pages in it
+     */
+    @Transactional
+    public Map<State, Long> getStateCounts() {
+        return crawlFrontierDao.countEntriesByState();
+    }
+
+    /**
+     * Reports the progress of the indicated job. The time remaining is
+     * estimated from the rate at which the job's pages were completed over
+     * the last {@value #PROGRESS_WINDOW_MINUTES} minutes.
+     *
+     * @param job  the name of the data update job
+     * @return     the job's progress
+     */
+    @Transactional
+    public JobProgress getProgress(String job) {
+        Map<State, Long> counts = crawlFrontierDao.countEntriesByState(job);
+        LocalDateTime now = LocalDateTime.now();
+        long recentlyCompleted = crawlFrontierDao.countCompletedSince(job,
+                now.minusMinutes(PROGRESS_WINDOW_MINUTES));
+
+        return new JobProgress(job, counts, (double) recentlyCompleted / PROGRESS_WINDOW_MINUTES,
+                now);
+    }
+
+    /**
+     * Determines if a failure may clear if the page is retried. Network
+     * errors, HTTP responses with a transient status code, and transient
+     * database errors are considered transient; parsing and data errors are
+     * not.
+     *
+     * @param ex  the reason a page could not be processed
+     * @return    <code>true</code> if the failure is transient,
+     *            <code>false</code> otherwise
+     */
+    private static boolean isTransient(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpStatusException) {
+                return ((HttpStatusException) cause).isTransient();
+            }
+            if (cause instanceof IOException
+                    || cause instanceof SQLTransientException
+                    || cause instanceof SQLRecoverableException
+                    || cause instanceof TransientDataAccessException
+                    || cause instanceof RecoverableDataAccessException) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Summarizes an exception, its causes, and the top frames of each of their
+     * stack traces.
+     *
+     * @param ex  the exception to summarize
+     * @return    the summary
+     */
+    private static String summarize(Throwable ex) {
+        StringBuilder summary = new StringBuilder();
+
+        for (Throwable cause = ex; cause != null && summary.length() < SUMMARY_LENGTH;
+                cause = cause.getCause()) {
+            if (cause != ex) {
+                summary.append("\nCaused by: ");
+            }
+            summary.append(cause);
+
+            StackTraceElement[] frames = cause.getStackTrace();
+            for (int i = 0; i < Math.min(SUMMARY_FRAMES, frames.length); i++) {
+                summary.append("\n\tat ").append(frames[i]);
+            }
+        }
+
+        return StringUtils.abbreviate(summary.toString(), SUMMARY_LENGTH);
+    }
+
+    /**
+     * A snapshot of the progress of a data update job through the crawl
+     * frontier.
+     */
+    public static class JobProgress {
+
+        private final String job;
+
+        private final long total;
+
+        private final long pending;
+
+        private final long claimed;
+
+        private final long complete;
+
+        private final long failed;
+
+        private final double completedPerMinute;
+
+        private final Long estimatedSecondsRemaining;
+
+        private final LocalDateTime estimatedCompletion;
+
+        private JobProgress(String job, Map<State, Long> counts, double completedPerMinute,
+                LocalDateTime now) {
+            this.job = job;
+            this.pending = counts.get(State.PENDING);
+            this.claimed = counts.get(State.CLAIMED);
+            this.complete = counts.get(State.COMPLETE);
+            this.failed = counts.get(State.FAILED);
+            this.total = pending + claimed + complete + failed;
+            this.completedPerMinute = completedPerMinute;
+
+            long remaining = pending + claimed;
+            if (remaining == 0) {
+                this.estimatedSecondsRemaining = 0L;
+                this.estimatedCompletion = now;
+            } else if (completedPerMinute > 0) {
+                this.estimatedSecondsRemaining = Math.round(remaining * 60 / completedPerMinute);
+                this.estimatedCompletion = now.plusSeconds(estimatedSecondsRemaining);
+            } else {
+                this.estimatedSecondsRemaining = null;
+                this.estimatedCompletion = null;
+            }
+        }
+
+        /**
+         * @return  the name of the data update job
+         */
+        public String getJob() {
+            return job;
+        }
+
+        /**
+         * @return  the number of pages in the job
+         */
+        public long getTotal() {
+            return total;
+        }
+
+        /**
+         * @return  the number of pages waiting to be claimed
+         */
+        public long getPending() {
+            return pending;
+        }
+
+        /**
+         * @return  the number of pages being processed
+         */
+        public long getClaimed() {
+            return claimed;
+        }
+
+        /**
+         * @return  the number of pages whose data has been persisted
+         */
+        public long getComplete() {
+            return complete;
+        }
+
+        /**
+         * @return  the number of pages that failed and will not be retried
+         */
+        public long getFailed() {
+            return failed;
+        }
+
+        /**
+         * @return  the percentage of the job's pages that have completed or
+         *          failed
+         */
+        public double getPercentDone() {
+            return total == 0 ? 100 : (complete + failed) * 100.0 / total;
+        }
+
+        /**
+         * @return  the number of pages completed per minute over the recent
+         *          measurement period
+         */
+        public double getCompletedPerMinute() {
+            return completedPerMinute;
+        }
+
+        /**
+         * @return  the estimated time (s) until every page has been processed,
+         *          or <code>null</code> if no pages have recently completed
+         */
+        public Long getEstimatedSecondsRemaining() {
+            return estimatedSecondsRemaining;
+        }
+
+        /**
+         * @return  the estimated time at which every page will have been
+         *          processed, or <code>null</code> if no pages have recently
+         *          completed
+         */
+        public LocalDateTime getEstimatedCompletion() {
+            return estimatedCompletion;
+        }
+
+        /**
+         * Generates a <code>String</code> representation of this
+         * {@link JobProgress} for logging.
+         *
+         * @return  a String representation of this object
+         */
+        @Override
+        public String toString() {
+            return String.format("%s job: %d of %d pages done (%.1f%%), %d failed, "
+                    + "%.1f pages per minute, estimated completion %s", job,
+                    complete + failed, total, getPercentDone(), failed, completedPerMinute,
+                    estimatedCompletion == null ? "unknown" : estimatedCompletion);
+        }
+    }
+}
@@ -1,42 +1,55 @@
 package com.rosterreview.service;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 import java.util.StringJoiner;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.BooleanUtils;
+import org.apache.commons.lang3.SerializationUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import com.gargoylesoftware.htmlunit.WebClient;
+import com.gargoylesoftware.htmlunit.html.DomNode;
+import com.gargoylesoftware.htmlunit.html.DomText;
+import com.gargoylesoftware.htmlunit.html.HtmlAnchor;
+import com.gargoylesoftware.htmlunit.html.HtmlBold;
 import com.gargoylesoftware.htmlunit.html.HtmlPage;
-import com.gargoylesoftware.htmlunit.html.HtmlTable;
-import com.gargoylesoftware.htmlunit.html.HtmlTableBody;
-import com.gargoylesoftware.htmlunit.html.HtmlTableCell;
-import com.gargoylesoftware.htmlunit.html.HtmlTableRow;
+import com.rosterreview.data.FetchedPage;
+import com.rosterreview.data.HttpStatusException;
+import com.rosterreview.data.PageFetcher;
 import com.rosterreview.data.PersonName;
+import com.rosterreview.data.PlayerIndexEntry;
+import com.rosterreview.data.PositionInferenceEngine;
+import com.rosterreview.data.StatTableParser;
+import com.rosterreview.data.StatTableParser.StatTableHandler;
+import com.rosterreview.data.StatTableParser.StatTableRow;
 import com.rosterreview.entity.DraftPick;
 import com.rosterreview.entity.Player;
 import com.rosterreview.entity.PlayerPosition;
 import com.rosterreview.entity.PlayerSeason;
 import com.rosterreview.entity.Position;
+import com.rosterreview.entity.StatColumn;
 import com.rosterreview.entity.Team;
 import com.rosterreview.utils.WebScrapingUtils;
 
@@ -45,10 +58,13 @@ import com.rosterreview.utils.WebScrapingUtils;
  * data for football players from <a href="https://www.pro-football-reference.com">
  * https://www.pro-football-reference.com</a>.
  * <p>
- * To ingest player data, consumers of this service must pass a <code>String</code>
- * representation of the URL for a player's Pro-Football Reference profile to the
- * {@link #parseAndPersistPlayerDataFromUrl(String) parseAndPersistPlayerDataFromUrl}
- * method.
+ * A player's data is ingested by retrieving the player's profile page with
+ * {@link #fetchPlayerPage(String, Player)}, parsing it into a detached
+ * {@link Player} graph with {@link #parsePlayerPage(FetchedPage, Player)}, and
+ * saving the graph with {@link PlayerService#savePlayer}. The
+ * {@link com.rosterreview.data.IngestPipeline} does so for each page of a
+ * crawl, and the {@link com.rosterreview.data.PlayerRefresher} for a single
+ * player on demand.
  */
 @Service
 public class PfrDataParsingService {
@@ -59,103 +75,451 @@ public class PfrDataParsingService {
     @Autowired
     private TeamService teamService;
 
+    @Autowired
+    private PageFetcher pageFetcher;
+
+    @Autowired
+    private PositionInferenceEngine positionInferenceEngine;
+
+    /**
+     * The base URL for the Pro Football Reference website. It may be
+     * overridden with the <code>player.data.pfr.url</code> property, e.g. to
+     * crawl a local stand-in server.
+     */
+    @Value("${player.data.pfr.url:" + DEFAULT_PFR_URL + "}")
+    private String pfrUrl = DEFAULT_PFR_URL;
+
     private static final Logger LOG = LoggerFactory.getLogger(PfrDataParsingService.class);
 
     /**
-     * The base URL for the Pro Football Reference website.
+     * The URL of the live Pro Football Reference website.
+     */
+    public static final String DEFAULT_PFR_URL = "https://www.pro-football-reference.com";
+
+    /**
+     * Matches a player's PFR id, e.g. <code>RodgAa00</code>.
      */
-    public static final String PFR_URL = "https://www.pro-football-reference.com";
+    private static final Pattern PFR_ID_PATTERN = Pattern.compile("[A-Z][A-Za-z.'-]{5}\\d{2}");
 
     /**
-     * Scrapes, parses, and persists demographic and statistical data for a
-     * football player from <a href="https://www.pro-football-reference.com">
-     * https://www.pro-football-reference.com</a>.
+     * Matches the career years listed on a players by letter index page.
+     */
+    private static final Pattern INDEX_YEARS_PATTERN = Pattern.compile(
+            "(\\d{4})\\s*-\\s*(\\d{4})");
+
+    /**
+     * Extracts player statistics tables from raw page content.
+     */
+    private static final StatTableParser STAT_TABLE_PARSER = new StatTableParser(
+            StatTableParser.hasClasses("per_match_toggle", "stats_table"));
+
+    /**
+     * Extracts statistics tables from raw team season page content.
+     */
+    private static final StatTableParser TEAM_STAT_TABLE_PARSER = new StatTableParser(
+            StatTableParser.hasClasses("stats_table"));
+
+    /**
+     * The compiled headers of the statistics tables parsed so far, keyed by
+     * table id and header. PFR uses few distinct table layouts, so the cache
+     * stays small.
+     */
+    private static final Map<String, ColumnPlan> COLUMN_PLANS = new ConcurrentHashMap<>();
+
+    /**
+     * Retrieves a player's PFR profile page.
      * <p>
-     * Parsed data is used to construct and persist a {@link Player} entity.
+     * If the player's page has previously been parsed, the page is requested
+     * conditionally using the ETag and Last-Modified validators from that
+     * retrieval; callers should check {@link FetchedPage#isNotModified()}.
      *
      * @param playerUrl  the URL for the player's PFR profile page
+     * @param player     the player, or <code>null</code> if the player has not
+     *                   been persisted
+     * @return           the retrieved page, which must be closed by the caller
+     * @throws IOException           if the page cannot be retrieved, or an
+     *                               {@link HttpStatusException} if the response
+     *                               has an unsuccessful status code
+     * @throws InterruptedException  if interrupted while retrieving the page
+     */
+    public FetchedPage fetchPlayerPage(String playerUrl, Player player)
+            throws IOException, InterruptedException {
+
+        FetchedPage fetchedPage = pageFetcher.fetch(playerUrl,
+                getConditionalRequestHeaders(player));
+
+        if (!fetchedPage.isSuccessful() && !fetchedPage.isNotModified()) {
+            fetchedPage.close();
+            throw new HttpStatusException(playerUrl, fetchedPage.getStatusCode());
+        }
+
+        return fetchedPage;
+    }
+
+    /**
+     * Parses a player's PFR profile page into a new, detached {@link Player}
+     * graph, including the player's statistics. Nothing is persisted.
+     * <p>
+     * If the player has not been persisted, a new unique player id is reserved
+     * for the returned Player.
+     * <p>
+     * The statistics tables are parsed as the page content is read, and only
+     * the profile data that precedes them is retained, so a streamed page is
+     * never held in memory in full. A streamed page is hashed as it is read,
+     * so the statistics of an unchanged streamed page are parsed and then
+     * discarded.
+     *
+     * @param fetchedPage  the player's retrieved profile page
+     * @param knownPlayer  the persisted player, which need only have its id and
+     *                     content hash initialized, or <code>null</code> if the
+     *                     player has not been persisted
+     * @return             the parsed Player, or <code>null</code> if the page
+     *                     content is unchanged since it was last parsed
+     * @throws IOException           if the page cannot be parsed
+     * @throws InterruptedException  if interrupted while parsing the page
      */
-    @Transactional
-    public void parseAndPersistPlayerDataFromUrl(String playerUrl) {
-
-        try (WebClient webClient = WebScrapingUtils.getConfiguredWebClient()) {
-            // Retrieve the web page corresponding to the passed url
-            HtmlPage page = webClient.getPage(playerUrl);
-
-            // The base xpath for player personal data
-            String personXPath = "//div[@itemtype='https://schema.org/Person']";
-
-            // Scrape raw data from web page
-            String nickname = WebScrapingUtils.getElementText(page,
-                    personXPath.concat("/h1[@itemprop='name']"));
-            String fullName = WebScrapingUtils.getElementText(page,
-                    personXPath.concat("/p[1]/strong[not(contains(text(), 'Position'))]"));
-            String positionRawData = WebScrapingUtils.getElementText(page,
-                    personXPath.concat("/p[strong[text()='Position']]"));
-            String heightRawData = WebScrapingUtils.getElementText(page,
-                    personXPath.concat("/p/span[@itemprop='height']"));
-            String weightRawData = WebScrapingUtils.getElementText(page,
-                    personXPath.concat("/p/span[@itemprop='weight']"));
-            String birthDateRawData = WebScrapingUtils.getElementAttribute(page,
-                    personXPath.concat("/p/span[@itemprop='birthDate']"), "data-birth");
-            String collegeRawData = WebScrapingUtils.getElementText(page,
-                    personXPath.concat("/p[strong[text()='College']]"));
-            String draftRawData = WebScrapingUtils.getElementText(page,
-                    personXPath.concat("/p[strong[text()='Draft']]"));
-            String hofYearRawData = WebScrapingUtils.getElementText(page,
-                    personXPath.concat("/p[strong[text()='Hall of Fame']]/a[1]"));
-
-            // Parse player's name data
-            PersonName personName = parsePlayerName(fullName, nickname);
-
-            String pfrId = playerUrl.substring(playerUrl.lastIndexOf('/') + 1,
-                    playerUrl.lastIndexOf('.'));
-
-            Player player = playerService.getPlayerByPfrId(pfrId);
-
-            if (player == null) {
-                player = playerService.createPlayer(personName.getFirstName(),
-                        personName.getLastName());
+    public Player parsePlayerPage(FetchedPage fetchedPage, Player knownPlayer)
+            throws IOException, InterruptedException {
+
+        // A buffered page can be hashed before it is parsed
+        if (knownPlayer != null && fetchedPage.isBuffered()
+                && fetchedPage.getContentHash().equals(knownPlayer.getPfrContentHash())) {
+            return null;
+        }
+
+        Player player = new Player((knownPlayer != null) ? knownPlayer.getId() : null);
+        PlayerStatisticsHandler statisticsHandler = new PlayerStatisticsHandler(player,
+                player.getStatistics());
+        try (Reader content = fetchedPage.openContentReader("stats_table")) {
+            STAT_TABLE_PARSER.parse(content, statisticsHandler);
+        }
+
+        String contentHash = fetchedPage.getContentHash();
+        if (knownPlayer != null && contentHash.equals(knownPlayer.getPfrContentHash())) {
+            return null;
+        }
+
+        PlayerProfile profile = scrapePlayerProfile(fetchedPage);
+
+        if (knownPlayer == null) {
+            player.setId(playerService.reservePlayerId(profile.personName.getFirstName(),
+                    profile.personName.getLastName()));
+        }
+        try {
+            applyPlayerProfile(player, getPfrId(fetchedPage.getUrl()), profile);
+            statisticsHandler.assignPositions();
+        } catch (RuntimeException ex) {
+            if (knownPlayer == null) {
+                playerService.releasePlayerId(player.getId());
             }
+            throw ex;
+        }
+        updateCacheValidators(player, fetchedPage);
+        player.setPfrContentHash(contentHash);
+
+        return player;
+    }
+
+    /**
+     * Scrapes the raw profile data from a player's PFR profile page.
+     *
+     * @param fetchedPage  the player's retrieved profile page
+     * @return             the raw profile data
+     * @throws IOException           if the page cannot be parsed
+     * @throws InterruptedException  if interrupted while parsing the page
+     */
+    private PlayerProfile scrapePlayerProfile(FetchedPage fetchedPage)
+            throws IOException, InterruptedException {
+
+        /*
+         * Player profile data precedes the statistics tables, which are
+         * read from the raw content, so only the profile needs a DOM. It is
+         * built from the content retained while the tables were read.
+         */
+        HtmlPage page = fetchedPage.getHtmlPage("stats_table");
+
+        // The base xpath for player personal data
+        String personXPath = "//div[@itemtype='https://schema.org/Person']";
+
+        // Scrape raw data from web page
+        PlayerProfile profile = new PlayerProfile();
+        String nickname = WebScrapingUtils.getElementText(page,
+                personXPath.concat("/h1[@itemprop='name']"));
+        String fullName = WebScrapingUtils.getElementText(page,
+                personXPath.concat("/p[1]/strong[not(contains(text(), 'Position'))]"));
+        profile.positionRawData = WebScrapingUtils.getElementText(page,
+                personXPath.concat("/p[strong[text()='Position']]"));
+        profile.heightRawData = WebScrapingUtils.getElementText(page,
+                personXPath.concat("/p/span[@itemprop='height']"));
+        profile.weightRawData = WebScrapingUtils.getElementText(page,
+                personXPath.concat("/p/span[@itemprop='weight']"));
+        profile.birthDateRawData = WebScrapingUtils.getElementAttribute(page,
+                personXPath.concat("/p/span[@itemprop='birthDate']"), "data-birth");
+        profile.collegeRawData = WebScrapingUtils.getElementText(page,
+                personXPath.concat("/p[strong[text()='College']]"));
+        profile.draftRawData = WebScrapingUtils.getElementText(page,
+                personXPath.concat("/p[strong[text()='Draft']]"));
+        profile.hofYearRawData = WebScrapingUtils.getElementText(page,
+                personXPath.concat("/p[strong[text()='Hall of Fame']]/a[1]"));
+
+        // Parse player's name data
+        profile.personName = parsePlayerName(fullName, nickname);
+
+        return profile;
+    }
+
+    /**
+     * Parses raw profile data and updates the {@link Player} argument with
+     * the parsed data.
+     *
+     * @param player   the player whose data will be parsed
+     * @param pfrId    the player's PFR id
+     * @param profile  the raw profile data
+     */
+    private void applyPlayerProfile(Player player, String pfrId, PlayerProfile profile) {
+
+        // Set player PFR id
+        player.setPfrId(pfrId);
+
+        // Set player name data
+        PersonName personName = profile.personName;
+        player.setNickname(personName.getNickname());
+        player.setFirstName(personName.getFirstName());
+        player.setMiddleName(personName.getMiddleName());
+        player.setLastName(personName.getLastName());
+        player.setSuffix(personName.getSuffix());
+
+        // Parse and set player's college data
+        player.setCollege(parseCollege(profile.collegeRawData));
+
+        // Parse and set player's height
+        player.setHeight(parseHeight(player.getId(), profile.heightRawData));
+
+        // Parse and set player's weight
+        player.setWeight(parseWeight(player.getId(), profile.weightRawData));
+
+        // Parse and set player's birth date.
+        player.setBirthDate(parseBirthDate(player.getId(), profile.birthDateRawData));
+
+        // Parse and set player's hall of fame year.
+        player.setHofYear(parseHofYear(player.getId(), profile.hofYearRawData));
+
+        // Parse and set player's position data
+        parsePlayerPositions(player, profile.positionRawData);
+
+        // Parse and set player's draft pick data
+        parseDraftPicks(player, profile.draftRawData);
+    }
+
+    /**
+     * Raw profile data scraped from a player's PFR profile page.
+     */
+    private static class PlayerProfile {
+
+        private PersonName personName;
+
+        private String positionRawData;
+
+        private String heightRawData;
+
+        private String weightRawData;
+
+        private String birthDateRawData;
+
+        private String collegeRawData;
+
+        private String draftRawData;
+
+        private String hofYearRawData;
+    }
+
+    /**
+     * Returns the base URL of the Pro Football Reference website, without a
+     * trailing slash.
+     *
+     * @return  the base URL of the PFR website
+     */
+    public String getPfrUrl() {
+        return StringUtils.removeEnd(pfrUrl, "/");
+    }
+
+    /**
+     * Determines if a string is a well-formed PFR player id.
+     *
+     * @param pfrId  the string to check
+     * @return       <code>true</code> if the string is a PFR id,
+     *               <code>false</code> otherwise
+     */
+    public static boolean isPfrId(String pfrId) {
+        return pfrId != null && PFR_ID_PATTERN.matcher(pfrId).matches();
+    }
 
-            // Set player PFR id
-            player.setPfrId(pfrId);
+    /**
+     * Builds the URL of a player's PFR profile page from their PFR id.
+     *
+     * @param pfrId  the player's PFR id
+     * @return       the URL for the player's PFR profile page
+     * @throws IllegalArgumentException  if <code>pfrId</code> is not a PFR id
+     */
+    public String getPlayerUrl(String pfrId) {
+        if (!isPfrId(pfrId)) {
+            throw new IllegalArgumentException("Invalid PFR id: " + pfrId);
+        }
 
-            // Set player name data
-            player.setNickname(personName.getNickname());
-            player.setFirstName(personName.getFirstName());
-            player.setMiddleName(personName.getMiddleName());
-            player.setLastName(personName.getLastName());
-            player.setSuffix(personName.getSuffix());
+        return getPfrUrl() + "/players/" + pfrId.charAt(0) + "/" + pfrId + ".htm";
+    }
 
-            // Parse and set player's college data
-            player.setCollege(parseCollege(collegeRawData));
+    /**
+     * Builds the URL of a team's PFR season page.
+     *
+     * @param team  the team
+     * @return      the URL for the team's PFR season page
+     */
+    public String getTeamSeasonUrl(Team team) {
+        return getPfrUrl() + "/teams/" + team.getPfrId() + "/" + team.getSeason() + ".htm";
+    }
 
-            // Parse and set player's height
-            player.setHeight(parseHeight(player.getId(), heightRawData));
+    /**
+     * Builds the URL of one of a season's PFR statistics leader pages.
+     *
+     * @param season    the season
+     * @param category  the statistical category of the page, e.g.
+     *                  <code>passing</code>
+     * @return          the URL for the season's PFR statistics leader page
+     */
+    public String getSeasonLeaderUrl(Integer season, String category) {
+        return getPfrUrl() + "/years/" + season + "/" + category + ".htm";
+    }
+
+    /**
+     * Builds the URL of a league's PFR draft page for a single year.
+     *
+     * @param league  the league that held the draft, e.g. <code>NFL</code>
+     * @param year    the year of the draft
+     * @return        the URL for the draft's PFR page
+     */
+    public String getDraftUrl(String league, Integer year) {
+        String page = "NFL".equals(league) ? "draft.htm"
+                : league.toLowerCase() + "-draft.htm";
+
+        return getPfrUrl() + "/years/" + year + "/" + page;
+    }
+
+    /**
+     * Extracts a player's PFR id from the URL of their PFR profile page.
+     *
+     * @param playerUrl  the URL for the player's PFR profile page
+     * @return           the player's PFR id
+     */
+    public static String getPfrId(String playerUrl) {
+        int start = playerUrl.lastIndexOf('/') + 1;
+        int end = playerUrl.lastIndexOf('.');
 
-            // Parse and set player's weight
-            player.setWeight(parseWeight(player.getId(), weightRawData));
+        return (end > start) ? playerUrl.substring(start, end) : playerUrl.substring(start);
+    }
 
-            // Parse and set player's birth date.
-            player.setBirthDate(parseBirthDate(player.getId(), birthDateRawData));
+    /**
+     * Retrieves and parses every PFR players by letter index page. Pages that
+     * cannot be retrieved or parsed are logged and skipped.
+     *
+     * @return  the entries of the index pages, in page order
+     * @throws InterruptedException  if interrupted while retrieving a page
+     */
+    public List<PlayerIndexEntry> readPlayerIndex() throws InterruptedException {
+        List<PlayerIndexEntry> indexEntries = new ArrayList<>();
 
-            // Parse and set player's hall of fame year.
-            player.setHofYear(parseHofYear(player.getId(), hofYearRawData));
+        for (char letter = 'A'; letter <= 'Z'; letter++) {
+            String playersByLetterUrl = getPfrUrl() + "/players/" + letter;
 
-            // Parse and set player's position data
-            parsePlayerPositions(player, positionRawData);
+            try (FetchedPage fetchedPage = pageFetcher.fetch(playersByLetterUrl)) {
+                if (!fetchedPage.isSuccessful()) {
+                    throw new HttpStatusException(playersByLetterUrl,
+                            fetchedPage.getStatusCode());
+                }
+                indexEntries.addAll(parsePlayerIndex(fetchedPage.getHtmlPage()));
+            } catch (IOException iox) {
+                LOG.error("Unable to read the player index at url: {}.",
+                        playersByLetterUrl, iox);
+            }
+        }
 
-            // Parse and set player's draft pick data
-            parseDraftPicks(player, draftRawData);
+        return indexEntries;
+    }
 
-            // Parse and set player's statistics
-            parsePlayerStatistics(page, player);
+    /**
+     * Parses every player listed on a PFR players by letter index page
+     * (e.g. <code>/players/A/</code>).
+     * <p>
+     * Each player is listed as a link to their profile page, which is bolded
+     * if the player is active, followed by their position and the years of
+     * their career, e.g. <code>(QB) 2001-2020</code>.
+     *
+     * @param page  the index page
+     * @return      the index's entries, in page order
+     */
+    public List<PlayerIndexEntry> parsePlayerIndex(HtmlPage page) {
+        List<PlayerIndexEntry> entries = new ArrayList<>();
+        List<HtmlAnchor> anchors = page.getByXPath(
+                "//div[@id='div_players']//a[starts-with(@href, '/players/')]");
+
+        for (HtmlAnchor anchor : anchors) {
+            String url = getPfrUrl() + anchor.getHrefAttribute();
+            DomNode listing = anchor.getParentNode() instanceof HtmlBold ?
+                    anchor.getParentNode() : anchor;
+            boolean active = listing != anchor;
+
+            // The career years follow the link in the same line of text
+            Integer firstYear = null;
+            Integer lastYear = null;
+            DomNode sibling = listing.getNextSibling();
+            if (sibling instanceof DomText) {
+                Matcher matcher = INDEX_YEARS_PATTERN.matcher(sibling.getTextContent());
+                if (matcher.find()) {
+                    firstYear = Integer.valueOf(matcher.group(1));
+                    lastYear = Integer.valueOf(matcher.group(2));
+                }
+            }
 
-        } catch (Exception ex) {
-            LOG.error("An exception occurred while parsing player data from url: {}.",
-                    playerUrl, ex);
+            entries.add(new PlayerIndexEntry(url, getPfrId(url), active, firstYear, lastYear));
         }
+
+        return entries;
+    }
+
+    /**
+     * Builds the request headers for a conditional request for a player's PFR
+     * profile page, using the validators recorded when it was last retrieved.
+     *
+     * @param player  the player, or <code>null</code> if the player has not
+     *                been persisted
+     * @return        the conditional request headers, which will be empty if
+     *                no validators have been recorded
+     */
+    private Map<String, String> getConditionalRequestHeaders(Player player) {
+        Map<String, String> headers = new HashMap<>();
+
+        if (player != null && player.getPfrContentHash() != null) {
+            if (player.getPfrEtag() != null) {
+                headers.put("If-None-Match", player.getPfrEtag());
+            }
+            if (player.getPfrLastModified() != null) {
+                headers.put("If-Modified-Since", player.getPfrLastModified());
+            }
+        }
+
+        return headers;
+    }
+
+    /**
+     * Records the ETag and Last-Modified validators of a player's PFR profile
+     * page so that later requests for the page can be conditional.
+     *
+     * @param player       the player
+     * @param fetchedPage  the player's retrieved profile page
+     */
+    private void updateCacheValidators(Player player, FetchedPage fetchedPage) {
+        player.setPfrEtag(fetchedPage.getHeader("ETag"));
+        player.setPfrLastModified(fetchedPage.getHeader("Last-Modified"));
     }
 
     /**
@@ -639,473 +1003,636 @@ public class PfrDataParsingService {
 
     /**
      * Parses a player's season statistics.
-     * Updates the {@link Player} argument with the parsed data.
+     * Updates the statistics argument with the parsed data.
+     * <p>
+     * Statistics tables are read from the raw page content by a streaming
+     * {@link StatTableParser}, so no document model is built for them.
      *
-     * @param page   the html page to parse
-     * @param player the player whose data will be parsed
+     * @param content     the raw content of the player's page
+     * @param player      the player whose data will be parsed, whose profile
+     *                    data must already be parsed
+     * @param statistics  the player's existing seasons, which will be updated
+     *                    with the parsed seasons
+     * @throws IOException  if the content cannot be read
      */
-    private void parsePlayerStatistics(HtmlPage page, Player player) {
-
-        List<PlayerSeason> playerStatistics = new ArrayList<>();
-        HashMap<Integer, List<Position>> seasonPositions = new HashMap<>();
-
-        String xpath = "//table[contains(@class, 'per_match_toggle') and "
-                + "contains(@class, 'stats_table')]";
-        List<HtmlTable> statTables = page.getByXPath(xpath);
-
-        for (HtmlTable statTable : statTables) {
-            // parse the current table
-            int numHeaderRows = statTable.getHeader().getRows().size();
-            List<HtmlTableCell> tableHeader = statTable.getHeader().getRows()
-                    .get(numHeaderRows - 1).getCells();
-            HtmlTableBody tableBody = statTable.getBodies().get(0);
-
-            // Variables for players who switched teams mid-season
-            Integer season = null;
-            Integer age = null;
-
-            for (HtmlTableRow row : tableBody.getRows()) {
-                String yearCellContent = row.getCell(0).getTextContent();
-                if (yearCellContent.length() >= 4) {
-                    season = Integer.valueOf(yearCellContent.substring(0, 4));
-                    age = WebScrapingUtils.parseIntegerWithDefault(row.getCell(1)
-                            .getTextContent(), null);
-                }
+    private void parsePlayerStatistics(Reader content, Player player,
+            List<PlayerSeason> statistics) throws IOException {
 
-                String teamAbbrev = row.getCell(2).getTextContent();
-                /*
-                 * If player played for more than 1 team in a season, teamAbbrev
-                 * might have a value like '2TM'
-                 */
-                if (!Character.isDigit(teamAbbrev.charAt(0))) {
-                    Team team = teamService.getTeamWithPfrAbbrev(teamAbbrev, season);
-                    PlayerSeason searchPs = new PlayerSeason();
-                    searchPs.setPlayerId(player.getId());
-                    searchPs.setFranchiseId(team.getFranchiseId());
-                    searchPs.setSeason(season);
-                    searchPs.setSeasonType(PlayerSeason.SeasonType.REGULAR);
-                    PlayerSeason playerSeason = player.getStatistics().stream()
-                            .filter(ps -> ps.equals(searchPs))
-                            .findFirst().orElse(searchPs);
+        PlayerStatisticsHandler statisticsHandler = new PlayerStatisticsHandler(player,
+                statistics);
+        STAT_TABLE_PARSER.parse(content, statisticsHandler);
+        statisticsHandler.assignPositions();
+    }
 
-                    /*
-                     * Post-season data tables do not include jersey number or
-                     * average value data, so copy it from the corresponding
-                     * regular season if it exists.
-                     */
-                    if (statTable.getId().contains("playoffs")) {
-                        Integer avgValue = playerSeason.getAvgValue();
-                        Integer jerseyNum = playerSeason.getJerseyNumber();
-                        searchPs.setSeasonType(PlayerSeason.SeasonType.POST);
-                        playerSeason = player.getStatistics().stream()
-                                .filter(ps -> ps.equals(searchPs))
-                                .findFirst().orElse(searchPs);
-                        playerSeason.setJerseyNumber(jerseyNum);
-                        playerSeason.setAvgValue(avgValue);
-                    }
+    /**
+     * A {@link StatTableHandler} that parses each row of a player's statistics
+     * tables into the corresponding {@link PlayerSeason}.
+     * <p>
+     * The player's seasons are indexed by {@link SeasonKey} for the duration
+     * of the parse, so that the season a row describes is found in constant
+     * time rather than by searching the player's statistics.
+     */
+    private class PlayerStatisticsHandler implements StatTableHandler {
 
-                    playerSeason.setAge(age);
-                    playerSeason.setTeam(team);
-                    playerSeason.setProbowl(yearCellContent.contains("*"));
-                    playerSeason.setAllPro(yearCellContent.contains("+"));
+        private final Player player;
 
-                    if (!playerStatistics.contains(playerSeason)) {
-                        playerStatistics.add(playerSeason);
-                        if (!player.getStatistics().contains(playerSeason)) {
-                            player.getStatistics().add(playerSeason);
-                        }
-                    }
+        private final List<PlayerSeason> statistics;
 
-                    switch (statTable.getId()) {
-                        case "passing":
-                        case "passing_playoffs":
-                            parsePassingStatistics(playerSeason, seasonPositions,
-                                    tableHeader, row);
-                            break;
-                        case "rushing_and_receiving":
-                        case "receiving_and_rushing":
-                        case "rushing_and_receiving_playoffs":
-                        case "receiving_and_rushing_playoffs":
-                            parseRushingAndReceivingStatistics(playerSeason,
-                                    seasonPositions, tableHeader, row);
-                            break;
-                        case "defense":
-                        case "defense_playoffs":
-                            parseDefensiveStatistics(playerSeason, seasonPositions,
-                                    tableHeader, row);
-                            break;
-                        case "kicking":
-                        case "kicking_playoffs":
-                            parseKickingStatistics(playerSeason, seasonPositions,
-                                    tableHeader, row);
-                            break;
-                        case "returns":
-                        case "returns_playoffs":
-                            parseReturnStatistics(playerSeason, seasonPositions,
-                                    tableHeader, row);
-                            break;
-                        case "scoring":
-                        case "scoring_playoffs":
-                            parseScoringStatistics(playerSeason, seasonPositions,
-                                    tableHeader, row);
-                            break;
-                        case "games_played":
-                            parseGamesPlayedStatistics(playerSeason, seasonPositions,
-                                    tableHeader, row);
-                            break;
-                        default: // Do nothing, don't need data from all tables
-                    }
-                }
+        private final List<PlayerSeason> playerStatistics;
+
+        // The player's existing and newly parsed seasons
+        private final Map<SeasonKey, PlayerSeason> seasonIndex = new HashMap<>();
+
+        // The seasons that have been added to playerStatistics
+        private final Set<SeasonKey> parsedSeasons = new HashSet<>();
+
+        private final Map<Integer, List<Position>> seasonPositions = new HashMap<>();
+
+        // Variables for players who switched teams mid-season
+        private Integer season;
+
+        private Integer age;
+
+        // The header of the current table and its compiled column plan
+        private List<String> columnPlanHeader;
+
+        private ColumnPlan columnPlan;
+
+        private PlayerStatisticsHandler(Player player, List<PlayerSeason> statistics) {
+            this.player = player;
+            this.statistics = statistics;
+            this.playerStatistics = new ArrayList<>();
+
+            for (PlayerSeason playerSeason : statistics) {
+                seasonIndex.put(new SeasonKey(playerSeason.getFranchiseId(),
+                        playerSeason.getSeason(), playerSeason.getSeasonType()), playerSeason);
             }
         }
 
-        /*
-         * Calculate which position should be associated with each season
-         * in playerStatistics
+        @Override
+        public void startTable(String tableId, Map<String, String> attributes) {
+            season = null;
+            age = null;
+        }
+
+        @Override
+        public void endTable(String tableId) {
+            // Do nothing.
+        }
+
+        @Override
+        public void row(StatTableRow statTableRow) {
+            String tableId = statTableRow.getTableId();
+            List<String> tableHeader = statTableRow.getHeader();
+            List<String> row = statTableRow.getCells();
+
+            String yearCellContent = row.get(0);
+            if (yearCellContent.length() >= 4) {
+                season = Integer.valueOf(yearCellContent.substring(0, 4));
+                age = WebScrapingUtils.parseIntegerWithDefault(row.get(1), null);
+            }
+
+            String teamAbbrev = row.get(2);
+            /*
+             * If player played for more than 1 team in a season, teamAbbrev
+             * might have a value like '2TM'
+             */
+            if (Character.isDigit(teamAbbrev.charAt(0))) {
+                return;
+            }
+
+            Team team = teamService.getTeamWithPfrAbbrev(teamAbbrev, season);
+            if (team == null) {
+                throw new IllegalStateException("No team with PFR abbreviation '"
+                        + teamAbbrev + "' competed in the " + season + " season.");
+            }
+            SeasonKey regularKey = new SeasonKey(team.getFranchiseId(), season,
+                    PlayerSeason.SeasonType.REGULAR);
+            SeasonKey seasonKey = regularKey;
+            PlayerSeason playerSeason;
+
+            /*
+             * Post-season data tables do not include jersey number or
+             * average value data, so copy it from the corresponding
+             * regular season if it exists.
+             */
+            if (tableId.contains("playoffs")) {
+                PlayerSeason regularSeason = seasonIndex.get(regularKey);
+                seasonKey = new SeasonKey(team.getFranchiseId(), season,
+                        PlayerSeason.SeasonType.POST);
+                playerSeason = getSeason(seasonKey);
+                playerSeason.setJerseyNumber((regularSeason == null)
+                        ? StatColumn.JERSEY_NUMBER.getDefaultValue()
+                        : regularSeason.getJerseyNumber());
+                playerSeason.setAvgValue((regularSeason == null)
+                        ? StatColumn.AVG_VALUE.getDefaultValue()
+                        : regularSeason.getAvgValue());
+            } else {
+                playerSeason = getSeason(seasonKey);
+            }
+
+            playerSeason.setAge(age);
+            playerSeason.setTeam(team);
+            playerSeason.setProbowl(yearCellContent.contains("*"));
+            playerSeason.setAllPro(yearCellContent.contains("+"));
+
+            if (parsedSeasons.add(seasonKey)) {
+                playerStatistics.add(playerSeason);
+            }
+
+            if (tableHeader != columnPlanHeader) {
+                columnPlan = getColumnPlan(tableId, tableHeader);
+                columnPlanHeader = tableHeader;
+            }
+            parseStatisticsRow(columnPlan, playerSeason, seasonPositions, row);
+        }
+
+        /**
+         * Completes the parsed seasons once the statistics tables have been
+         * parsed and the player's profile data, including the player's id and
+         * positions, is known. The position associated with each parsed
+         * season is calculated, and the player's seasons that were not parsed
+         * are removed from the player's statistics.
          */
-        calculateSeasonPositions(seasonPositions, player.getPositions(),
-                playerStatistics);
+        private void assignPositions() {
+            for (PlayerSeason playerSeason : playerStatistics) {
+                playerSeason.setPlayerId(player.getId());
+            }
 
-        player.getStatistics().retainAll(playerStatistics);
+            positionInferenceEngine.assignSeasonPositions(seasonPositions,
+                    player.getPositions(), playerStatistics);
+
+            statistics.retainAll(new HashSet<>(playerStatistics));
+        }
+
+        /**
+         * Retrieves one of the player's seasons, creating it and adding it to
+         * the player's statistics if the player has no such season.
+         *
+         * @param seasonKey  the key of the season
+         * @return           the season
+         */
+        private PlayerSeason getSeason(SeasonKey seasonKey) {
+            PlayerSeason playerSeason = seasonIndex.get(seasonKey);
+            if (playerSeason == null) {
+                playerSeason = new PlayerSeason();
+                playerSeason.setPlayerId(player.getId());
+                playerSeason.setFranchiseId(seasonKey.franchiseId);
+                playerSeason.setSeason(seasonKey.season);
+                playerSeason.setSeasonType(seasonKey.seasonType);
+                seasonIndex.put(seasonKey, playerSeason);
+                statistics.add(playerSeason);
+            }
+
+            return playerSeason;
+        }
     }
 
     /**
-     * Updates each {@link PlayerSeason} in a player's career with a primary
-     * {@link Position}.
-     * <p>
-     * Positions are determined by examining:
-     * <ul>
-     * <li>positions associated with the player's profile</li>
-     * <li>positions associated with all seasons in the players career</li>
-     * <li>the player's statistics</li>
-     * <li>the player's jersey number</li>
-     * </ul>
+     * Parses one row of a statistics table into a {@link PlayerSeason}, with
+     * the {@link ColumnPlan} compiled from the table's header. Columns are
+     * identified by their <code>data-stat</code> names, so rows from player
+     * pages and from team pages are parsed alike.
      *
-     * @param seasonPositions  a map of the years in which a player played to a
-     *                         list of the positions they played that year
-     * @param careerPositions  the positions associated with a player's profile
-     * @param statistics       a player's seasonal statistics
+     * @param columnPlan       the compiled header of the row's table
+     * @param playerSeason     the season for which statistical data is being parsed
+     * @param seasonPositions  a mapping of seasons to positions
+     * @param row              the text content of the table row's cells
      */
-    private void calculateSeasonPositions(HashMap<Integer, List<Position>> seasonPositions,
-            Set<PlayerPosition> careerPositions, List<PlayerSeason> statistics) {
-
-        // Set the position to associate with each season.
-        for (PlayerSeason season : statistics) {
-            List<Position> positions = seasonPositions.get(season.getSeason());
-            /*
-             * If only one position is associated with this season choose it.
-             * Prefer not to select PR or KR however
-             */
-            if (positions.size() == 1 && !(positions.get(0).equals(Position.KR) ||
-                positions.get(0).equals(Position.PR))) {
-                season.setPosition(positions.get(0));
-            } else {
-                /*
-                 * Create a list of all of the season positions across all
-                 * years (include duplicates)
-                 */
-                List<Position> allPositions = seasonPositions.values().stream()
-                        .flatMap(List::stream).collect(Collectors.toList());
-                /*
-                 * Use career positions, and all season positions to deduce what
-                 * position should be associated with this season.
-                 */
-                season.setPosition(consolidate(positions, careerPositions,
-                        allPositions, season));
+    private void parseStatisticsRow(ColumnPlan columnPlan, PlayerSeason playerSeason,
+            Map<Integer, List<Position>> seasonPositions, List<String> row) {
+
+        StatColumn<?>[] statColumns = columnPlan.statColumns;
+        int columns = Math.min(statColumns.length, row.size());
+        for (int j = 0; j < columns; j++) {
+            if (statColumns[j] != null) {
+                statColumns[j].parse(playerSeason, row.get(j));
             }
         }
+
+        int positionColumn = columnPlan.positionColumn;
+        if (positionColumn >= 0 && positionColumn < row.size()) {
+            seasonPositions.computeIfAbsent(playerSeason.getSeason(),
+                    k -> new ArrayList<Position>()).addAll(parsePositions(row.get(positionColumn)));
+        }
     }
 
     /**
-     * Calculates a single {@link Position} that best describes a player's
-     * role during the indicated {@link PlayerSeason}.
+     * Parses the regular season statistics of every player listed on a PFR
+     * team season page (e.g. <code>/teams/gnb/2020.htm</code>) into the
+     * {@link PlayerSeason} each player's row describes.
      * <p>
-     * The position is determined by examining:
-     * <ul>
-     * <li>positions associated with the player's profile</li>
-     * <li>positions associated with all seasons in the players career</li>
-     * <li>the player's statistics</li>
-     * <li>the player's jersey number</li>
-     * </ul>
+     * Players are identified by the PFR id of their profile link. The season
+     * of a persisted player is updated in place if it is among the indicated
+     * persisted seasons, and created otherwise. Only the statistics listed on
+     * the page are updated, so values that the page omits are retained. Players
+     * that have not been persisted, and players with a new season whose
+     * position cannot be determined from the page, are not parsed; the URLs of
+     * their profile pages are added to <code>playerUrls</code> instead.
      *
-     * @param seasonPositions  the positions associated with the season argument
-     * @param careerPositions  the positions associated with the player's profile
-     * @param allPositions     the positions associated with seasons from the
-     *                         player's entire career
-     * @param season           the season for which a position is being calculated
-     * @return                 a position
+     * @param fetchedPage       the team season page
+     * @param team              the team the page describes
+     * @param knownPlayers      the persisted players, keyed by PFR id, which
+     *                          need only have their ids initialized
+     * @param persistedSeasons  the team's persisted regular seasons, which
+     *                          will not be modified
+     * @param playerUrls        receives the URLs of the profile pages of the
+     *                          players that must be parsed individually
+     * @return                  the parsed seasons
+     * @throws IOException  if the page cannot be read
      */
-    private Position consolidate(List<Position> seasonPositions,
-            Set<PlayerPosition> careerPositions,List<Position> allPositions,
-            PlayerSeason season) {
+    public List<PlayerSeason> parseTeamSeasonPage(FetchedPage fetchedPage, Team team,
+            Map<String, Player> knownPlayers, Collection<PlayerSeason> persistedSeasons,
+            Set<String> playerUrls) throws IOException {
+
+        SeasonStatisticsHandler handler = new SeasonStatisticsHandler(team.getSeason(), team,
+                knownPlayers, persistedSeasons, playerUrls);
+        try (Reader content = fetchedPage.openContentReader()) {
+            TEAM_STAT_TABLE_PARSER.parse(content, handler);
+        }
 
-        // Assign weightings to each position associated with the season
-        Map<Position, Double> positionWeightings = new EnumMap<>(Position.class);
-        calculatePositionWeightings(seasonPositions, positionWeightings, 1.0, 0.9, 0.8);
+        return handler.getSeasons();
+    }
+
+    /**
+     * Parses the regular season statistics of every player listed on a
+     * season's PFR statistics leader pages (e.g.
+     * <code>/years/2020/passing.htm</code>) into the {@link PlayerSeason} each
+     * player's rows describe. A player listed on several pages, such as a
+     * quarterback with passing and rushing statistics, is parsed into a single
+     * season.
+     * <p>
+     * Players are identified in the same manner as on a team season page; see
+     * {@link #parseTeamSeasonPage}. Players that played for more than one team
+     * during the season are listed with combined statistics, which cannot be
+     * attributed to each team, so they are also not parsed and the URLs of
+     * their profile pages are added to <code>playerUrls</code>.
+     *
+     * @param fetchedPages      the season's statistics leader pages
+     * @param season            the season the pages describe
+     * @param knownPlayers      the persisted players, keyed by PFR id, which
+     *                          need only have their ids initialized
+     * @param persistedSeasons  the season's persisted regular seasons, which
+     *                          will not be modified
+     * @param playerUrls        receives the URLs of the profile pages of the
+     *                          players that must be parsed individually
+     * @return                  the parsed seasons
+     * @throws IOException  if a page cannot be read
+     */
+    public List<PlayerSeason> parseSeasonLeaderPages(List<FetchedPage> fetchedPages,
+            Integer season, Map<String, Player> knownPlayers,
+            Collection<PlayerSeason> persistedSeasons, Set<String> playerUrls)
+            throws IOException {
+
+        SeasonStatisticsHandler handler = new SeasonStatisticsHandler(season, null,
+                knownPlayers, persistedSeasons, playerUrls);
+        for (FetchedPage fetchedPage : fetchedPages) {
+            try (Reader content = fetchedPage.openContentReader()) {
+                TEAM_STAT_TABLE_PARSER.parse(content, handler);
+            }
+        }
+
+        return handler.getSeasons();
+    }
+
+    /**
+     * A {@link StatTableHandler} that parses each player row of a team season
+     * page's, or a season's statistics leader pages', statistics tables into
+     * the corresponding {@link PlayerSeason}.
+     */
+    private class SeasonStatisticsHandler implements StatTableHandler {
+
+        private final Integer season;
 
         /*
-         * Sort the current position weightings largest to smallest (need to
-         * determine largest two)
+         * The team every row describes, or null if each row's team is read
+         * from its team column.
          */
-        ArrayList<Double> weightingValues = new ArrayList<>(positionWeightings.values());
-        Collections.sort(weightingValues, Collections.reverseOrder());
+        private final Team team;
 
-        /*
-         * If any of the following are true, we need to consider career
-         * positions and positions associated with other seasons to decide what
-         * position should be associated with this season.
+        private final Map<String, Player> knownPlayers;
+
+        private final Map<String, PlayerSeason> persistedSeasons = new HashMap<>();
+
+        private final Set<String> playerUrls;
+
+        private final Map<String, PlayerSeason> seasons = new LinkedHashMap<>();
+
+        private final Map<String, Map<Integer, List<Position>>> seasonPositions =
+                new HashMap<>();
+
+        private final Map<String, String> pfrIds = new HashMap<>();
+
+        private final Set<String> multipleTeamPlayers = new HashSet<>();
+
+        // The header of the current table and its compiled column plan
+        private List<String> columnPlanHeader;
+
+        private ColumnPlan columnPlan;
+
+        private SeasonStatisticsHandler(Integer season, Team team,
+                Map<String, Player> knownPlayers, Collection<PlayerSeason> persistedSeasons,
+                Set<String> playerUrls) {
+            this.season = season;
+            this.team = team;
+            this.knownPlayers = knownPlayers;
+            this.playerUrls = playerUrls;
+
+            for (PlayerSeason persisted : persistedSeasons) {
+                this.persistedSeasons.put(getSeasonKey(persisted.getPlayerId(),
+                        persisted.getFranchiseId()), persisted);
+            }
+        }
+
+        @Override
+        public void startTable(String tableId, Map<String, String> attributes) {
+            // Do nothing.
+        }
+
+        @Override
+        public void endTable(String tableId) {
+            // Do nothing.
+        }
+
+        @Override
+        public void row(StatTableRow statTableRow) {
+            List<String> tableHeader = statTableRow.getHeader();
+            List<String> row = statTableRow.getCells();
+
+            int playerColumn = tableHeader.indexOf("player");
+            if (playerColumn < 0 || playerColumn >= row.size()) {
+                return;
+            }
+
+            // Team and opponent total rows do not link to a player
+            String pfrId = statTableRow.getCellAttribute(playerColumn, "data-append-csv");
+            if (pfrId.isEmpty()) {
+                return;
+            }
+
+            Player knownPlayer = knownPlayers.get(pfrId);
+            if (knownPlayer == null) {
+                playerUrls.add(getPlayerUrl(pfrId));
+                return;
+            }
+
+            String playerId = knownPlayer.getId();
+            pfrIds.put(playerId, pfrId);
+
+            Team rowTeam = (team != null) ? team : getRowTeam(playerId, tableHeader, row);
+            if (rowTeam == null) {
+                return;
+            }
+
+            PlayerSeason playerSeason = seasons.computeIfAbsent(
+                    getSeasonKey(playerId, rowTeam.getFranchiseId()),
+                    key -> copyPersistedSeason(key, playerId, rowTeam));
+
+            String playerCellContent = row.get(playerColumn);
+            playerSeason.setTeam(rowTeam);
+            playerSeason.setProbowl(playerCellContent.contains("*"));
+            playerSeason.setAllPro(playerCellContent.contains("+"));
+
+            int ageColumn = tableHeader.indexOf("age");
+            if (ageColumn >= 0 && ageColumn < row.size()) {
+                playerSeason.setAge(WebScrapingUtils.parseIntegerWithDefault(
+                        row.get(ageColumn), playerSeason.getAge()));
+            }
+
+            if (tableHeader != columnPlanHeader) {
+                columnPlan = getColumnPlan(statTableRow.getTableId(), tableHeader);
+                columnPlanHeader = tableHeader;
+            }
+            parseStatisticsRow(columnPlan, playerSeason,
+                    seasonPositions.computeIfAbsent(playerId, id -> new HashMap<>()), row);
+        }
+
+        /**
+         * Identifies the team a row describes from its team column. Players
+         * whose row combines the statistics of several teams, and players
+         * whose team cannot be identified, are recorded so that they are
+         * parsed individually.
          *
-         * 1.) There are no positions associated with this season
-         * 2.) There is one position associated with this season, but it is
-         *     either KR or PR
-         * 3.) There are two or more positions associated with this season, but
-         *     there is a tie for the highest weighted position.
+         * @param playerId     the id of the row's player
+         * @param tableHeader  the data-stat names of the table's columns
+         * @param row          the text content of the table row's cells
+         * @return             the row's team, or <code>null</code> if the row
+         *                     must be skipped
          */
-        if ((seasonPositions.size() < 2) || (weightingValues.size() > 1 &&
-                weightingValues.get(0).equals(weightingValues.get(1)))) {
-            List<Position> careerPosList = careerPositions.stream()
-                    .map(PlayerPosition::getPosition)
-                    .collect(Collectors.toList());
-            calculatePositionWeightings(careerPosList, positionWeightings, 0.5, 0.4, 0.3);
-            calculatePositionWeightings(allPositions, positionWeightings, 0.1, 0.05, 0.025);
+        private Team getRowTeam(String playerId, List<String> tableHeader, List<String> row) {
+            int teamColumn = tableHeader.indexOf("team");
+            if (teamColumn < 0 || teamColumn >= row.size()) {
+                return null;
+            }
+
+            /*
+             * If player played for more than 1 team in a season, teamAbbrev
+             * might have a value like '2TM'
+             */
+            String teamAbbrev = row.get(teamColumn).trim();
+            Team rowTeam = teamAbbrev.isEmpty() || Character.isDigit(teamAbbrev.charAt(0))
+                    ? null : teamService.getTeamWithPfrAbbrev(teamAbbrev, season);
+            if (rowTeam == null) {
+                multipleTeamPlayers.add(playerId);
+            }
+
+            return rowTeam;
         }
 
-        /*
-         * Also consider the player's statistics and jersey number for
-         * calculating the season position
+        /**
+         * Creates a copy of a player's persisted season with a team, so that
+         * the persisted season is not modified, or a new season if the player
+         * has none.
+         *
+         * @param seasonKey   the key of the season
+         * @param playerId    the id of the player
+         * @param seasonTeam  the team the player played for
+         * @return            the season to parse the player's statistics into
          */
-        calculateStatisticAndJerseyNumberWeightings(season, positionWeightings);
+        private PlayerSeason copyPersistedSeason(String seasonKey, String playerId,
+                Team seasonTeam) {
+            PlayerSeason persisted = persistedSeasons.get(seasonKey);
+            PlayerSeason playerSeason = (persisted == null) ? new PlayerSeason()
+                    : SerializationUtils.clone(persisted);
+
+            playerSeason.setPlayerId(playerId);
+            playerSeason.setFranchiseId(seasonTeam.getFranchiseId());
+            playerSeason.setSeason(season);
+            playerSeason.setSeasonType(PlayerSeason.SeasonType.REGULAR);
+
+            return playerSeason;
+        }
 
-        // Identify the position with the highest calculated weighting and return it
-        Entry<Position, Double> maxEntry = Collections.max(positionWeightings.entrySet(),
-                (Entry<Position, Double> e1, Entry<Position, Double> e2) -> e1.getValue()
-                .compareTo(e2.getValue()));
+        /**
+         * Completes the parsed seasons, assigning a position to each new
+         * season from the positions listed on the pages. Players that must be
+         * parsed individually are omitted and the URLs of their profile pages
+         * are added to <code>playerUrls</code>.
+         *
+         * @return  the parsed seasons
+         */
+        private List<PlayerSeason> getSeasons() {
+            List<PlayerSeason> parsedSeasons = new ArrayList<>();
 
-        return maxEntry.getKey();
+            for (PlayerSeason playerSeason : seasons.values()) {
+                String playerId = playerSeason.getPlayerId();
+                if (multipleTeamPlayers.contains(playerId)) {
+                    continue;
+                }
+
+                if (playerSeason.getPosition() == null) {
+                    Position position = seasonPositions.get(playerId)
+                            .getOrDefault(season, Collections.emptyList()).stream()
+                            .filter(pos -> !pos.equals(Position.KR) && !pos.equals(Position.PR))
+                            .findFirst().orElse(null);
+                    if (position == null) {
+                        playerUrls.add(getPlayerUrl(pfrIds.get(playerId)));
+                        continue;
+                    }
+                    playerSeason.setPosition(position);
+                }
+                parsedSeasons.add(playerSeason);
+            }
+
+            // Players with a row that could not be attributed to a single team
+            for (String playerId : multipleTeamPlayers) {
+                playerUrls.add(getPlayerUrl(pfrIds.get(playerId)));
+            }
+
+            return parsedSeasons;
+        }
     }
 
     /**
-     * Calculates weightings for each {@link Position} associated with a
-     * player's season. Positions specified by PFR receive the primary weighting.
-     * If the PFR position is a specific position, include it's generic with a
-     * lesser weighting.
+     * Builds the key that identifies a player's season with a team among the
+     * seasons of a single season and season type.
+     *
+     * @param playerId     the id of the player
+     * @param franchiseId  the id of the team's franchise
+     * @return             the season's key
+     */
+    private static String getSeasonKey(String playerId, String franchiseId) {
+        return playerId + "/" + franchiseId;
+    }
+
+    /**
+     * Parses every pick listed on a league's draft page for a single year.
      * <p>
-     * Example: The position {@link Position#FS} is a specific position and would
-     * be assigned a primary weighting.  The first level generic for this position
-     * would be {@link Position#S} which would recieve a secondaryweighting. This
-     * position also has a second level generic {@link Position#DB} which would
-     * recieve a tertiary weighting.
+     * Picks are matched to players by PFR id. Picks of players that have not
+     * been persisted, and picks whose drafting team cannot be identified, are
+     * logged and skipped.
      *
-     * @param seasonPositions     the positions associated with a given season
-     * @param positionWeightings  a mapping of positions to their weightings
-     * @param primaryWeighting    the weighting to be assigned to the original PFR
-     *                            positions
-     * @param secondaryWeighting  the weighting to be applied to first-level generic
-     *                            forms of specific positions
-     * @param tertiaryWeighting   the weighting to be applied to second-level generic
-     *                            forms of specific positions
+     * @param fetchedPage   the draft page
+     * @param league        the league that held the draft
+     * @param year          the year of the draft
+     * @param knownPlayers  the persisted players, keyed by PFR id, which need
+     *                      only have their ids initialized
+     * @return              the parsed draft picks
+     * @throws IOException  if the page cannot be read
      */
-    private void calculatePositionWeightings(List<Position> seasonPositions,
-            Map<Position, Double> positionWeightings, double primaryWeighting,
-            double secondaryWeighting, double tertiaryWeighting) {
+    public List<DraftPick> parseDraftPage(FetchedPage fetchedPage, String league,
+            Integer year, Map<String, Player> knownPlayers) throws IOException {
 
-        for (Position pos : seasonPositions) {
-            /*
-             * Assign a primary weighting for positions that were listed for the
-             * given season
-             */
-            Double primaryVal = positionWeightings.getOrDefault(pos, 0.0);
-            if (pos.equals(Position.KR) || pos.equals(Position.PR)) {
-                /*
-                 * Assign a lower weighting for KR and PR, as these should
-                 * be deemphasized.
-                 */
-                positionWeightings.put(pos, primaryVal + 0.1);
-            } else {
-                positionWeightings.put(pos, primaryVal + primaryWeighting);
-            }
+        DraftPageHandler handler = new DraftPageHandler(league, year, knownPlayers);
+        try (Reader content = fetchedPage.openContentReader()) {
+            TEAM_STAT_TABLE_PARSER.parse(content, handler);
+        }
 
-            /*
-             * If position is a specific position, apply a secondary or tertiary
-             * weighting for the positions more generic counterparts.
-             */
-            switch (pos) {
-                case HB:
-                case FB:
-                    Double rbVal = positionWeightings.getOrDefault(Position.RB, 0.0);
-                    positionWeightings.put(Position.RB, rbVal + secondaryWeighting);
-                    break;
-                case T:
-                case G:
-                case C:
-                    Double olVal = positionWeightings.getOrDefault(Position.OL, 0.0);
-                    positionWeightings.put(Position.OL, olVal + secondaryWeighting);
-                    break;
-                case DE:
-                case DT:
-                case NT:
-                    Double dlVal = positionWeightings.getOrDefault(Position.DL, 0.0);
-                    positionWeightings.put(Position.DL, dlVal + secondaryWeighting);
-                    break;
-                case OLB:
-                case ILB:
-                case MLB:
-                    Double lbVal = positionWeightings.getOrDefault(Position.LB, 0.0);
-                    positionWeightings.put(Position.LB, lbVal + secondaryWeighting);
-                    break;
-                case FS:
-                case SS:
-                    Double sVal = positionWeightings.getOrDefault(Position.S, 0.0);
-                    positionWeightings.put(Position.S, sVal + secondaryWeighting);
-
-                    Double dbVal = positionWeightings.getOrDefault(Position.DB, 0.0);
-                    positionWeightings.put(Position.DB, dbVal + tertiaryWeighting);
-                    break;
-                case S:
-                    Double dbVal2 = positionWeightings.getOrDefault(Position.DB, 0.0);
-                    positionWeightings.put(Position.DB, dbVal2 + secondaryWeighting);
-                    break;
-                case CB:
-                    Double dbVal3 = positionWeightings.getOrDefault(Position.DB, 0.0);
-                    positionWeightings.put(Position.DB, dbVal3 + secondaryWeighting);
-                    break;
-                default: // do nothing
-            }
+        if (handler.unknownPlayers > 0 || handler.unknownTeams > 0) {
+            LOG.info("Skipped {} picks of unknown players and {} picks by unknown teams "
+                    + "from the {} {} draft.", handler.unknownPlayers, handler.unknownTeams,
+                    year, league);
         }
+
+        return handler.draftPicks;
     }
 
     /**
-     * Updates {@link Position} weightings based upon the statistics and jersey
-     * number stored within the indicated {@link PlayerSeason}.
-     *
-     * @param season      the player's season statistics
-     * @param weightings  a mapping of positions associated with a player's season
-     *                    to their weightings
+     * A {@link StatTableHandler} that parses each row of a draft page's
+     * <code>drafts</code> table into a {@link DraftPick}.
      */
-    private void calculateStatisticAndJerseyNumberWeightings(PlayerSeason season,
-            Map<Position, Double> weightings) {
+    private class DraftPageHandler implements StatTableHandler {
 
-        Integer passAtt = season.getPassAtt();
-        Integer jerseyNum = season.getJerseyNumber();
-        Integer rushAtt = season.getRushAtt();
-        Integer rec = season.getReceptions();
-        double jerseyVal;
+        private final String league;
 
-        /*
-         *  Any player with 20 or more pass attempts in a season should be regarded
-         *  as a QB
-         */
-        if (passAtt >= 20) {
-            weightings.put(Position.QB, Double.MAX_VALUE);
-            return;
-        }
-        if (weightings.get(Position.QB) != null) {
-            jerseyVal = jerseyNum < 20 ? 0.1 : 0;
-            weightings.put(Position.QB, weightings.get(Position.QB) + jerseyVal +
-                    (passAtt * 0.01));
-        }
-        if (weightings.get(Position.HB) != null) {
-            jerseyVal = jerseyNum >= 20 && jerseyNum < 50 ? 0.1 : 0;
-            weightings.put(Position.HB, weightings.get(Position.HB) + jerseyVal +
-                    (rushAtt * 0.01) + (rec * 0.005));
-        }
-        if (weightings.get(Position.FB) != null) {
-            jerseyVal = jerseyNum >= 20 && jerseyNum < 50 ? 0.1 : 0;
-            weightings.put(Position.FB, weightings.get(Position.FB) + jerseyVal +
-                    (rushAtt * 0.01) + (rec * 0.005));
-        }
-        if (weightings.get(Position.RB) != null) {
-            jerseyVal = jerseyNum >= 20 && jerseyNum < 50 ? 0.1 : 0;
-            weightings.put(Position.RB, weightings.get(Position.RB) + jerseyVal +
-                    (rushAtt * 0.01) + (rec * 0.005));
-        }
-        if (weightings.get(Position.WR) != null) {
-            jerseyVal = (jerseyNum >= 80 && jerseyNum < 90) ||
-                    (jerseyNum >= 10 && jerseyNum < 20) ? 0.1 : 0;
-            weightings.put(Position.WR, weightings.get(Position.WR)
-                    + jerseyVal + (rec * 0.01));
-        }
-        if (weightings.get(Position.TE) != null) {
-            jerseyVal = (jerseyNum >= 80 && jerseyNum < 90) ||
-                    (jerseyNum >= 40 && jerseyNum < 50) ? 0.1 : 0;
-            weightings.put(Position.TE, weightings.get(Position.TE)
-                    + jerseyVal + (rec * 0.01));
-        }
-        if (weightings.get(Position.OL) != null) {
-            jerseyVal = jerseyNum >= 50 && jerseyNum < 80 ? 0.1 : 0;
-            weightings.put(Position.OL, weightings.get(Position.OL) + jerseyVal);
-        }
-        if (weightings.get(Position.T) != null) {
-            jerseyVal = jerseyNum >= 50 && jerseyNum < 80 ? 0.1 : 0;
-            weightings.put(Position.T, weightings.get(Position.T) + jerseyVal);
-        }
-        if (weightings.get(Position.G) != null) {
-            jerseyVal = jerseyNum >= 50 && jerseyNum < 80 ? 0.1 : 0;
-            weightings.put(Position.G, weightings.get(Position.G) + jerseyVal);
-        }
-        if (weightings.get(Position.C) != null) {
-            jerseyVal = jerseyNum >= 50 && jerseyNum < 80 ? 0.1 : 0;
-            weightings.put(Position.C, weightings.get(Position.C) + jerseyVal);
-        }
-        if (weightings.get(Position.DL) != null) {
-            jerseyVal = (jerseyNum >= 50 && jerseyNum < 60) ||
-                    (jerseyNum >= 70 && jerseyNum < 80) || (jerseyNum >= 90) ? 0.1 : 0;
-            weightings.put(Position.DL, weightings.get(Position.DL) + jerseyVal);
-        }
-        if (weightings.get(Position.DE) != null) {
-            jerseyVal = (jerseyNum >= 50 && jerseyNum < 60) ||
-                    (jerseyNum >= 70 && jerseyNum < 80) || (jerseyNum >= 90) ? 0.1 : 0;
-            weightings.put(Position.DE, weightings.get(Position.DE) + jerseyVal);
-        }
-        if (weightings.get(Position.DT) != null) {
-            jerseyVal = (jerseyNum >= 70 && jerseyNum < 80) ||
-                    (jerseyNum >= 90) ? 0.1 : 0;
-            weightings.put(Position.DT, weightings.get(Position.DT) + jerseyVal);
-        }
-        if (weightings.get(Position.NT) != null) {
-            jerseyVal = (jerseyNum >= 70 && jerseyNum < 80) ||
-                    (jerseyNum >= 90) ? 0.1 : 0;
-            weightings.put(Position.NT, weightings.get(Position.NT) + jerseyVal);
-        }
-        if (weightings.get(Position.LB) != null) {
-            jerseyVal = (jerseyNum >= 40 && jerseyNum < 60) ||
-                    (jerseyNum >= 90) ? 0.1 : 0;
-            weightings.put(Position.LB, weightings.get(Position.LB) + jerseyVal);
-        }
-        if (weightings.get(Position.ILB) != null) {
-            jerseyVal = (jerseyNum >= 40 && jerseyNum < 60) ||
-                    (jerseyNum >= 90) ? 0.1 : 0;
-            weightings.put(Position.ILB, weightings.get(Position.ILB) + jerseyVal);
-        }
-        if (weightings.get(Position.MLB) != null) {
-            jerseyVal = (jerseyNum >= 40 && jerseyNum < 60) ||
-                    (jerseyNum >= 90) ? 0.1 : 0;
-            weightings.put(Position.MLB, weightings.get(Position.MLB) + jerseyVal);
-        }
-        if (weightings.get(Position.OLB) != null) {
-            jerseyVal = (jerseyNum >= 40 && jerseyNum < 60) ||
-                    (jerseyNum >= 90) ? 0.1 : 0;
-            weightings.put(Position.OLB, weightings.get(Position.OLB) + jerseyVal);
-        }
-        if (weightings.get(Position.DB) != null) {
-            jerseyVal = (jerseyNum >= 20 && jerseyNum < 50) ? 0.1 : 0;
-            weightings.put(Position.DB, weightings.get(Position.DB) + jerseyVal);
-        }
-        if (weightings.get(Position.CB) != null) {
-            jerseyVal = (jerseyNum >= 20 && jerseyNum < 50) ? 0.1 : 0;
-            weightings.put(Position.CB, weightings.get(Position.CB) + jerseyVal);
-        }
-        if (weightings.get(Position.S) != null) {
-            jerseyVal = (jerseyNum >= 20 && jerseyNum < 50) ? 0.1 : 0;
-            weightings.put(Position.S, weightings.get(Position.S) + jerseyVal);
-        }
-        if (weightings.get(Position.FS) != null) {
-            jerseyVal = (jerseyNum >= 20 && jerseyNum < 50) ? 0.1 : 0;
-            weightings.put(Position.FS, weightings.get(Position.FS) + jerseyVal);
-        }
-        if (weightings.get(Position.SS) != null) {
-            jerseyVal = (jerseyNum >= 20 && jerseyNum < 50) ? 0.1 : 0;
-            weightings.put(Position.SS, weightings.get(Position.SS) + jerseyVal);
+        private final Integer year;
+
+        private final Map<String, Player> knownPlayers;
+
+        private final List<DraftPick> draftPicks = new ArrayList<>();
+
+        private int unknownPlayers;
+
+        private int unknownTeams;
+
+        private DraftPageHandler(String league, Integer year,
+                Map<String, Player> knownPlayers) {
+            this.league = league;
+            this.year = year;
+            this.knownPlayers = knownPlayers;
+        }
+
+        @Override
+        public void startTable(String tableId, Map<String, String> attributes) {
+            // Do nothing.
+        }
+
+        @Override
+        public void endTable(String tableId) {
+            // Do nothing.
+        }
+
+        @Override
+        public void row(StatTableRow statTableRow) {
+            if (!"drafts".equals(statTableRow.getTableId())) {
+                return;
+            }
+
+            List<String> tableHeader = statTableRow.getHeader();
+            List<String> row = statTableRow.getCells();
+
+            int playerColumn = tableHeader.indexOf("player");
+            int roundColumn = tableHeader.indexOf("draft_round");
+            int slotColumn = tableHeader.indexOf("draft_pick");
+            int teamColumn = tableHeader.indexOf("team");
+            if (playerColumn < 0 || roundColumn < 0 || slotColumn < 0 || teamColumn < 0
+                    || Math.max(Math.max(playerColumn, roundColumn),
+                            Math.max(slotColumn, teamColumn)) >= row.size()) {
+                return;
+            }
+
+            // Repeated header rows and unlinked players have no PFR id
+            String pfrId = statTableRow.getCellAttribute(playerColumn, "data-append-csv");
+            if (pfrId.isEmpty()) {
+                return;
+            }
+
+            Player knownPlayer = knownPlayers.get(pfrId);
+            if (knownPlayer == null) {
+                unknownPlayers++;
+                return;
+            }
+
+            Integer round = WebScrapingUtils.parseIntegerWithDefault(row.get(roundColumn), null);
+            Integer slot = WebScrapingUtils.parseIntegerWithDefault(row.get(slotColumn), null);
+            if (round == null || slot == null) {
+                return;
+            }
+
+            String teamAbbrev = row.get(teamColumn).trim();
+            Team team = teamService.getTeamWithPfrAbbrev(teamAbbrev, year);
+            if (team == null) {
+                unknownTeams++;
+                LOG.warn("Could not identify the team that drafted the player with PFR "
+                        + "id: {}: (year: {}, league: {}, team: {}).", pfrId, year, league,
+                        teamAbbrev);
+                return;
+            }
+
+            DraftPick draftPick = new DraftPick(knownPlayer.getId(), league,
+                    team.getFranchiseId(), year, round, slot, false);
+            draftPick.setTeam(team);
+            draftPicks.add(draftPick);
         }
     }
 
@@ -1140,475 +1667,129 @@ public class PfrDataParsingService {
     }
 
     /**
-     * Parses a player's passing statistics and stores them in the
-     * given {@link PlayerSeason}.
+     * Retrieves the {@link ColumnPlan} of a statistics table, compiling it
+     * from the table's header the first time a table with the same id and
+     * header is parsed.
      *
-     * @param playerSeason     the season for which statistical data is being parsed
-     * @param seasonPositions  a mapping of seasons to positions
-     * @param tableHeader      the table header containing the column names
-     * @param row              the table row containing the statistics to be parsed
+     * @param tableId      the id of the table
+     * @param tableHeader  the data-stat names of the table's columns
+     * @return             the table's column plan
      */
-    private void parsePassingStatistics(PlayerSeason playerSeason,
-            Map<Integer, List<Position>> seasonPositions,
-            List<HtmlTableCell> tableHeader, HtmlTableRow row) {
-
-        for (int j = 3; j < row.getCells().size(); j++) {
-            String cellData = row.getCell(j).getTextContent();
-
-            switch (tableHeader.get(j).getAttribute("data-stat")) {
-                case "pos": seasonPositions.computeIfAbsent(playerSeason.getSeason(),
-                        k -> new ArrayList<Position>()).addAll(parsePositions(cellData));
-                    break;
-                case "uniform_number": playerSeason.setJerseyNumber(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, null));
-                    break;
-                case "g": playerSeason.setGamesPlayed(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "gs": playerSeason.setGamesStarted(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "pass_cmp": playerSeason.setPassComp(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "pass_att": playerSeason.setPassAtt(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "pass_yds": playerSeason.setPassYds(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "pass_td": playerSeason.setPassTds(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "pass_int": playerSeason.setPassInts(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "pass_long": playerSeason.setPassLong(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "pass_rating": playerSeason.setPassRating(
-                        WebScrapingUtils.parseDoubleWithDefault(cellData, 0.0));
-                    break;
-                case "pass_sacked": playerSeason.setSacked(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "pass_sacked_yds": playerSeason.setSackedYds(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "av": playerSeason.setAvgValue(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                default : // Do nothing.
-            }
-        }
+    private static ColumnPlan getColumnPlan(String tableId, List<String> tableHeader) {
+        return COLUMN_PLANS.computeIfAbsent(tableId + '\t' + String.join(",", tableHeader),
+                key -> compileColumnPlan(tableId, tableHeader));
     }
 
     /**
-     * Parses a player's rushing and receiving statistics, and stores them in
-     * the given {@link PlayerSeason}.
+     * Compiles the header of a statistics table into a {@link ColumnPlan}
+     * that holds the {@link StatColumn} parsed from each column, or
+     * <code>null</code> for the columns that are not parsed.
      *
-     * @param playerSeason     the season for which statistical data is being parsed
-     * @param seasonPositions  a mapping of seasons to positions
-     * @param tableHeader      the table header containing the column names
-     * @param row              the table row containing the statistics to be parsed
+     * @param tableId      the id of the table
+     * @param tableHeader  the data-stat names of the table's columns
+     * @return             the table's column plan
      */
-    private void parseRushingAndReceivingStatistics(PlayerSeason playerSeason,
-            Map<Integer, List<Position>> seasonPositions, List<HtmlTableCell> tableHeader,
-            HtmlTableRow row) {
-
-        for (int j = 3; j < row.getCells().size(); j++) {
-            String cellData = row.getCell(j).getTextContent();
-
-            switch (tableHeader.get(j).getAttribute("data-stat")) {
-                case "pos": seasonPositions.computeIfAbsent(playerSeason.getSeason(),
-                        k -> new ArrayList<Position>()).addAll(parsePositions(cellData));
-                    break;
-                case "uniform_number": playerSeason.setJerseyNumber(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, null));
-                    break;
-                case "g": playerSeason.setGamesPlayed(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "gs": playerSeason.setGamesStarted(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "rush_att": playerSeason.setRushAtt(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "rush_yds": playerSeason.setRushYds(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "rush_td": playerSeason.setRushTds(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "rush_long": playerSeason.setRushLong(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "fumbles": playerSeason.setFumbles(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "targets": playerSeason.setTargets(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "rec": playerSeason.setReceptions(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "rec_yds": playerSeason.setRecYds(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "rec_td": playerSeason.setRecTds(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "rec_long": playerSeason.setRecLong(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "av": playerSeason.setAvgValue(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                default : // Do nothing.
+    private static ColumnPlan compileColumnPlan(String tableId, List<String> tableHeader) {
+        StatColumn<?>[] statColumns = new StatColumn<?>[tableHeader.size()];
+        int positionColumn = -1;
+
+        if (isStatisticsTable(tableId)) {
+            for (int j = 0; j < statColumns.length; j++) {
+                statColumns[j] = StatColumn.forDataStat(tableHeader.get(j));
+                if ("pos".equals(tableHeader.get(j))) {
+                    positionColumn = j;
+                }
             }
         }
+
+        return new ColumnPlan(statColumns, positionColumn);
     }
 
     /**
-     * Parses a player's defensive statistics and stores them in the
-     * given {@link PlayerSeason}.
+     * Determines if a table holds statistics that are parsed, from its id.
      *
-     * @param playerSeason     the season for which statistical data is being parsed
-     * @param seasonPositions  a mapping of seasons to positions
-     * @param tableHeader      the table header containing the column names
-     * @param row              the table row containing the statistics to be parsed
+     * @param tableId  the id of the table
+     * @return         <code>true</code> if the table's statistics are parsed
      */
-    private void parseDefensiveStatistics(PlayerSeason playerSeason, Map<Integer,
-            List<Position>> seasonPositions,
-            List<HtmlTableCell> tableHeader, HtmlTableRow row) {
-
-        for (int j = 3; j < row.getCells().size(); j++) {
-            String cellData = row.getCell(j).getTextContent();
-
-            switch (tableHeader.get(j).getAttribute("data-stat")) {
-                case "pos": seasonPositions.computeIfAbsent(playerSeason.getSeason(),
-                        k -> new ArrayList<Position>()).addAll(parsePositions(cellData));
-                    break;
-                case "uniform_number": playerSeason.setJerseyNumber(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, null));
-                    break;
-                case "g": playerSeason.setGamesPlayed(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "gs": playerSeason.setGamesStarted(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "def_int": playerSeason.setInterceptions(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "def_int_yds": playerSeason.setIntYds(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "def_int_td": playerSeason.setIntTds(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "def_int_long": playerSeason.setIntLong(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "pass_defended": playerSeason.setPassDef(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "fumbles_forced": playerSeason.setFumForced(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "fumbles": playerSeason.setFumbles(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "fumbles_rec": playerSeason.setFumRec(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "fumbles_rec_yds": playerSeason.setFumRecYds(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "fumbles_rec_td": playerSeason.setFumRecTds(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "sacks": playerSeason.setSacks(
-                        WebScrapingUtils.parseDoubleWithDefault(cellData, 0.0));
-                    break;
-                case "tackles_solo": playerSeason.setTackles(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "tackles_assists": playerSeason.setAssists(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "safety_md": playerSeason.setSafeties(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "av": playerSeason.setAvgValue(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                default : // Do nothing.
-            }
+    private static boolean isStatisticsTable(String tableId) {
+        switch (tableId) {
+            case "passing":
+            case "passing_playoffs":
+            case "rushing_and_receiving":
+            case "receiving_and_rushing":
+            case "rushing":
+            case "receiving":
+            case "rushing_and_receiving_playoffs":
+            case "receiving_and_rushing_playoffs":
+            case "defense":
+            case "defense_playoffs":
+            case "kicking":
+            case "kicking_playoffs":
+            case "returns":
+            case "returns_playoffs":
+            case "scoring":
+            case "scoring_playoffs":
+            case "games_played":
+                return true;
+            default: // Do nothing, don't need data from all tables
+                return false;
         }
     }
 
     /**
-     * Parses a player's kicking statistics and stores them in the
-     * given {@link PlayerSeason}.
-     *
-     * @param playerSeason     the season for which statistical data is being parsed
-     * @param seasonPositions  a mapping of seasons to positions
-     * @param tableHeader      the table header containing the column names
-     * @param row              the table row containing the statistics to be parsed
+     * Identifies one of a player's seasons by the team, year and type of the
+     * season, for indexing the seasons of a single player.
      */
-    private void parseKickingStatistics(PlayerSeason playerSeason, Map<Integer,
-            List<Position>> seasonPositions,
-            List<HtmlTableCell> tableHeader, HtmlTableRow row) {
-
-        for (int j = 3; j < row.getCells().size(); j++) {
-            String cellData = row.getCell(j).getTextContent();
-
-            switch (tableHeader.get(j).getAttribute("data-stat")) {
-                case "pos": seasonPositions.computeIfAbsent(playerSeason.getSeason(),
-                        k -> new ArrayList<Position>()).addAll(parsePositions(cellData));
-                    break;
-                case "uniform_number": playerSeason.setJerseyNumber(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, null));
-                    break;
-                case "g": playerSeason.setGamesPlayed(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "gs": playerSeason.setGamesStarted(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "fga1": playerSeason.setFgaTeens(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "fgm1": playerSeason.setFgmTeens(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "fga2": playerSeason.setFgaTwenties(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "fgm2": playerSeason.setFgmTwenties(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "fga3": playerSeason.setFgaThirties(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "fgm3": playerSeason.setFgmThirties(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "fga4": playerSeason.setFgaFourties(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "fgm4": playerSeason.setFgmFourties(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "fga5": playerSeason.setFgaFiftyPlus(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "fgm5": playerSeason.setFgmFiftyPlus(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "fga": playerSeason.setFgaTotal(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "fgm": playerSeason.setFgmTotal(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "fg_long": playerSeason.setFgLong(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "xpa": playerSeason.setXpa(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "xpm": playerSeason.setXpm(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "punt": playerSeason.setPunts(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "punt_yds": playerSeason.setPuntYds(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "punt_long": playerSeason.setPuntLong(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "punt_blocked": playerSeason.setPuntBlocked(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "av": playerSeason.setAvgValue(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                default : // Do nothing.
-            }
+    private static final class SeasonKey {
+
+        private final String franchiseId;
+
+        private final Integer season;
+
+        private final PlayerSeason.SeasonType seasonType;
+
+        private SeasonKey(String franchiseId, Integer season,
+                PlayerSeason.SeasonType seasonType) {
+            this.franchiseId = franchiseId;
+            this.season = season;
+            this.seasonType = seasonType;
         }
-    }
 
-    /**
-     * Parses a player's return statistics and stores them in the
-     * given {@link PlayerSeason}.
-     *
-     * @param playerSeason     the season for which statistical data is being parsed
-     * @param seasonPositions  a mapping of seasons to positions
-     * @param tableHeader      the table header containing the column names
-     * @param row              the table row containing the statistics to be parsed
-     */
-    private void parseReturnStatistics(PlayerSeason playerSeason, Map<Integer,
-            List<Position>> seasonPositions,
-            List<HtmlTableCell> tableHeader, HtmlTableRow row) {
-
-        for (int j = 3; j < row.getCells().size(); j++) {
-            String cellData = row.getCell(j).getTextContent();
-
-            switch (tableHeader.get(j).getAttribute("data-stat")) {
-                case "pos": seasonPositions.computeIfAbsent(playerSeason.getSeason(),
-                        k -> new ArrayList<Position>()).addAll(parsePositions(cellData));
-                    break;
-                case "uniform_number": playerSeason.setJerseyNumber(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, null));
-                    break;
-                case "g": playerSeason.setGamesPlayed(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "gs": playerSeason.setGamesStarted(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "punt_ret": playerSeason.setPuntRet(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "punt_ret_yds": playerSeason.setPuntRetYds(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "punt_ret_td": playerSeason.setPuntRetTds(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "punt_ret_long": playerSeason.setPuntRetLong(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "kick_ret": playerSeason.setKickRet(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "kick_ret_yds": playerSeason.setKickRetYds(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "kick_ret_td": playerSeason.setKickRetTds(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "kick_ret_long": playerSeason.setKickRetLong(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                default : // Do nothing.
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof SeasonKey)) {
+                return false;
             }
+
+            SeasonKey arg = (SeasonKey) obj;
+
+            return franchiseId.equals(arg.franchiseId) && season.equals(arg.season)
+                    && seasonType == arg.seasonType;
         }
-    }
 
-    /**
-     * Parses a player's scoring statistics and stores them in the
-     * given {@link PlayerSeason}.
-     *
-     * @param playerSeason     the season for which statistical data is being parsed
-     * @param seasonPositions  a mapping of seasons to positions
-     * @param tableHeader      the table header containing the column names
-     * @param row              the table row containing the statistics to be parsed
-     */
-    private void parseScoringStatistics(PlayerSeason playerSeason,
-            Map<Integer, List<Position>> seasonPositions,
-            List<HtmlTableCell> tableHeader, HtmlTableRow row) {
-        for (int j = 3; j < row.getCells().size(); j++) {
-            String cellData = row.getCell(j).getTextContent();
-
-            switch (tableHeader.get(j).getAttribute("data-stat")) {
-                case "pos": seasonPositions.computeIfAbsent(playerSeason.getSeason(),
-                        k -> new ArrayList<Position>()).addAll(parsePositions(cellData));
-                    break;
-                case "uniform_number": playerSeason.setJerseyNumber(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, null));
-                    break;
-                case "g": playerSeason.setGamesPlayed(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "gs": playerSeason.setGamesStarted(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "rushtd": playerSeason.setRushTds(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "rectd": playerSeason.setRecTds(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "prtd": playerSeason.setPuntRetTds(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "krtd": playerSeason.setKickRetTds(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "frtd": playerSeason.setFumRecTds(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "ditd": playerSeason.setIntTds(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "otd": playerSeason.setOtherTds(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "alltd": playerSeason.setAllTds(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "two_pt_md": playerSeason.setTwoPointConv(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "xpm": playerSeason.setXpm(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "xpa": playerSeason.setXpa(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "fgm": playerSeason.setFgmTotal(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "fga": playerSeason.setFgaTotal(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "safety_md": playerSeason.setSafeties(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                default : // Do nothing.
-            }
+        @Override
+        public int hashCode() {
+            return (franchiseId.hashCode() * 31 + season) * 31 + seasonType.hashCode();
         }
     }
 
     /**
-     * Parses a player's games played statistics and stores them in the
-     * given {@link PlayerSeason}.
-     *
-     * @param playerSeason     the season for which statistical data is being parsed
-     * @param seasonPositions  a mapping of seasons to positions
-     * @param tableHeader      the table header containing the column names
-     * @param row              the table row containing the statistics to be parsed
+     * The compiled header of a statistics table: the {@link StatColumn}
+     * parsed from each column, indexed like the table's cells, and the index
+     * of the column that lists the player's positions.
      */
-    private void parseGamesPlayedStatistics(PlayerSeason playerSeason,
-            Map<Integer, List<Position>> seasonPositions,
-            List<HtmlTableCell> tableHeader, HtmlTableRow row) {
-        for (int j = 3; j < row.getCells().size(); j++) {
-            String cellData = row.getCell(j).getTextContent();
-
-            switch (tableHeader.get(j).getAttribute("data-stat")) {
-                case "pos": seasonPositions.computeIfAbsent(playerSeason.getSeason(),
-                        k -> new ArrayList<Position>()).addAll(parsePositions(cellData));
-                    break;
-                case "uniform_number": playerSeason.setJerseyNumber(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, null));
-                    break;
-                case "g": playerSeason.setGamesPlayed(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "gs": playerSeason.setGamesStarted(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                case "av": playerSeason.setAvgValue(
-                        WebScrapingUtils.parseIntegerWithDefault(cellData, 0));
-                    break;
-                default : // Do nothing.
-            }
+    private static final class ColumnPlan {
+
+        private final StatColumn<?>[] statColumns;
+
+        private final int positionColumn;
+
+        private ColumnPlan(StatColumn<?>[] statColumns, int positionColumn) {
+            this.statColumns = statColumns;
+            this.positionColumn = positionColumn;
         }
     }
 }
\ No newline at end of file
@@ -6,6 +6,10 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
@@ -14,9 +18,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.rosterreview.dao.DraftPickDao;
 import com.rosterreview.dao.PlayerDao;
+import com.rosterreview.dao.PlayerSeasonBatchWriter;
+import com.rosterreview.dao.PlayerSeasonBatchWriter.WriteCallback;
+import com.rosterreview.entity.DraftPick;
 import com.rosterreview.entity.Player;
+import com.rosterreview.entity.PlayerSeason;
+import com.rosterreview.entity.Team;
 
 /**
  * A {@link Service} for {@link Player} data operations.
@@ -28,8 +41,46 @@ public class PlayerService {
     @Autowired
     private PlayerDao playerDao;
 
+    @Autowired
+    private DraftPickDao draftPickDao;
+
+    /*
+     * Ids handed out by this service that have not yet been committed or
+     * released. Players may be created concurrently by separate transactions,
+     * neither of which can see the other's uncommitted player, so ids are also
+     * checked against this set to keep them unique. An id is released once the
+     * transaction that persists its player completes, as a committed id is
+     * found by the prefix query and a rolled back id is free for reuse.
+     */
+    private final Set<String> reservedIds = ConcurrentHashMap.newKeySet();
+
+    /*
+     * Locks that serialize the saves of a player's parsed data by separate
+     * writers, such as a crawl and an on-demand refresh, striped by PFR id.
+     */
+    private final Lock[] playerLocks = createPlayerLocks();
+
+    /**
+     * The number of locks that player saves are striped across.
+     */
+    private static final int PLAYER_LOCK_STRIPES = 64;
+
     private static final Logger LOG = LoggerFactory.getLogger(PlayerService.class);
 
+    /**
+     * Retrieves the lock that serializes saves of the player with the indicated
+     * PFR id. The lock must be held from before a writer checks whether the
+     * player has been persisted until the transaction that saves the player
+     * has committed, so that two writers do not both persist a new player.
+     * Unrelated players may share a lock.
+     *
+     * @param pfrId  the PFR id of the player
+     * @return       the player's lock
+     */
+    public Lock getPlayerLock(String pfrId) {
+        return playerLocks[Math.floorMod(pfrId.hashCode(), playerLocks.length)];
+    }
+
     /**
      * Retrieves the {@link Player} with the specified id.
      *
@@ -143,6 +194,181 @@ public class PlayerService {
         playerDao.persistPlayer(player);
     }
 
+    /**
+     * Saves a detached {@link Player} graph, such as one produced by
+     * {@link PfrDataParsingService#parsePlayerPage}.
+     * <p>
+     * If the player has already been persisted, the persisted player's profile,
+     * positions, and draft picks are updated to match the detached player.
+     * The player's statistics and content hash are not persisted with the
+     * Player; they are queued with the statistics writer once the transaction
+     * commits. A player id reserved for the Player is released once the
+     * transaction completes.
+     *
+     * @param detached          the Player to save
+     * @param statisticsWriter  the writer to queue the player's statistics with
+     * @param callback          notified once the player's statistics have been
+     *                          written, or could not be; may be <code>null</code>
+     */
+    @Transactional
+    public void savePlayer(Player detached, PlayerSeasonBatchWriter statisticsWriter,
+            WriteCallback callback) {
+        List<PlayerSeason> statistics = detached.getStatistics();
+        String contentHash = detached.getPfrContentHash();
+        releasePlayerIdAfterCompletion(detached.getId());
+        Player player = playerDao.getUninitializedPlayer(detached.getId());
+
+        if (player == null) {
+            detached.setStatistics(new ArrayList<>());
+            detached.setPfrContentHash(null);
+            playerDao.persistPlayer(detached);
+        } else {
+            player.setPfrId(detached.getPfrId());
+            player.setNickname(detached.getNickname());
+            player.setFirstName(detached.getFirstName());
+            player.setMiddleName(detached.getMiddleName());
+            player.setLastName(detached.getLastName());
+            player.setSuffix(detached.getSuffix());
+            player.setHeight(detached.getHeight());
+            player.setWeight(detached.getWeight());
+            player.setBirthDate(detached.getBirthDate());
+            player.setCollege(detached.getCollege());
+            player.setHofYear(detached.getHofYear());
+            player.setPfrEtag(detached.getPfrEtag());
+            player.setPfrLastModified(detached.getPfrLastModified());
+
+            /*
+             * Keep persisted positions and draft picks that are equal to parsed
+             * ones, so that Hibernate does not delete and re-insert them.
+             */
+            player.getPositions().retainAll(detached.getPositions());
+            player.getPositions().addAll(detached.getPositions());
+
+            player.getDraftPicks().retainAll(detached.getDraftPicks());
+            for (DraftPick parsedPick : detached.getDraftPicks()) {
+                DraftPick draftPick = player.getDraftPicks().stream()
+                        .filter(dp -> dp.equals(parsedPick)).findFirst()
+                        .orElse(null);
+
+                if (draftPick == null) {
+                    player.getDraftPicks().add(parsedPick);
+                } else {
+                    draftPick.setFanchiseId(parsedPick.getFranchiseId());
+                    draftPick.setYear(parsedPick.getYear());
+                    draftPick.setRound(parsedPick.getRound());
+                    draftPick.setSlot(parsedPick.getSlot());
+                    draftPick.setSupplemental(parsedPick.isSupplemental());
+                    draftPick.setTeam(parsedPick.getTeam());
+                }
+            }
+        }
+
+        statisticsWriter.enqueueAfterCommit(detached.getId(), contentHash, statistics,
+                callback);
+    }
+
+    /**
+     * Retrieves the page version data of the {@link Player} with the specified
+     * PFR id. The Player's collections are not initialized.
+     *
+     * @param pfrId  the PFR id of the player
+     * @return       the detached Player, or <code>null</code> if a matching
+     *               player could not be found
+     */
+    @Transactional
+    public Player getPlayerPageVersion(String pfrId) {
+        return playerDao.getPlayerByPfrId(pfrId);
+    }
+
+    /**
+     * Retrieves the page version data of every {@link Player} with a PFR id,
+     * keyed by PFR id. Each Player has only its id, PFR id, ETag, Last-Modified,
+     * and content hash initialized.
+     *
+     * @return  a mapping of PFR ids to partially initialized Players
+     */
+    public Map<String, Player> getPlayerPageVersions() {
+        Map<String, Player> pageVersions = new HashMap<>();
+        for (Player player : playerDao.getPlayerPageVersions()) {
+            pageVersions.put(player.getPfrId(), player);
+        }
+
+        return pageVersions;
+    }
+
+    /**
+     * Retrieves the latest season in which each {@link Player} with a PFR id
+     * has recorded statistics, keyed by PFR id.
+     *
+     * @return  a mapping of PFR ids to each player's latest season, which is
+     *          <code>null</code> for players without statistics
+     */
+    public Map<String, Integer> getLatestSeasons() {
+        return playerDao.getLatestSeasons();
+    }
+
+    /**
+     * Retrieves the regular seasons that every {@link Player} recorded with
+     * the indicated team. The seasons are detached and may be modified without
+     * being persisted.
+     *
+     * @param team  the team
+     * @return      each player's season with the team
+     */
+    public List<PlayerSeason> getTeamSeasonStatistics(Team team) {
+        return playerDao.getTeamSeasonStatistics(team.getFranchiseId(), team.getSeason(),
+                PlayerSeason.SeasonType.REGULAR);
+    }
+
+    /**
+     * Retrieves the regular seasons that every {@link Player} recorded with
+     * every team in the indicated season. The seasons are detached and may be
+     * modified without being persisted.
+     *
+     * @param season  the season
+     * @return        each player's seasons with each team
+     */
+    public List<PlayerSeason> getSeasonStatistics(Integer season) {
+        return playerDao.getSeasonStatistics(season, PlayerSeason.SeasonType.REGULAR);
+    }
+
+    /**
+     * Saves a draft class in a single transaction, inserting each
+     * {@link DraftPick} or updating the pick already persisted for the same
+     * player and league.
+     *
+     * @param draftPicks  the draft picks to save, whose players must already
+     *                    have been persisted
+     * @return            the number of draft picks saved
+     */
+    @Transactional
+    public int saveDraftPicks(List<DraftPick> draftPicks) {
+        return draftPickDao.upsertDraftPicks(draftPicks);
+    }
+
+    /**
+     * Reserves a new unique id for a {@link Player} that has not yet been
+     * persisted. See {@link #createPlayer(String, String)}.
+     *
+     * @param firstName  the player's first name
+     * @param lastName   the player's last name
+     * @return           the reserved id
+     */
+    @Transactional
+    public String reservePlayerId(String firstName, String lastName) {
+        return generateNewPlayerId(firstName, lastName);
+    }
+
+    /**
+     * Releases an id reserved by {@link #reservePlayerId(String, String)} for
+     * a {@link Player} that will not be saved, so that the id may be reused.
+     *
+     * @param id  the reserved id
+     */
+    public void releasePlayerId(String id) {
+        reservedIds.remove(id);
+    }
+
     /**
      * Create a new persistant {@link Player} entity with a unique id generated
      * from the player's name.
@@ -155,10 +381,31 @@ public class PlayerService {
         String id = generateNewPlayerId(firstName, lastName);
         Player player = new Player(id);
         persistPlayer(player);
+        releasePlayerIdAfterCompletion(id);
 
         return player;
     }
 
+    /**
+     * Releases a reserved id once the current transaction commits or rolls
+     * back, or immediately if no transaction is active.
+     *
+     * @param id  the reserved id
+     */
+    private void releasePlayerIdAfterCompletion(String id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reservedIds.remove(id);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                reservedIds.remove(id);
+            }
+        });
+    }
+
     /**
      * Generates a new unique id for a new {@link Player} entity.
      * <p>
@@ -166,7 +413,7 @@ public class PlayerService {
      * The prefix is constructed from the first six letters of the last name,
      * followed by the first two letters of the first name.  The numeric suffix
      * will be the smallest positive integer that creates a unique id for the
-     * player.
+     * player, including ids previously generated but not yet committed.
      *
      * @param firstName  the player's first name
      * @param lastName   the player's last name
@@ -184,8 +431,20 @@ public class PlayerService {
         do {
             id = idPrefix.concat(String.format("%02d", idSuffix));
             idSuffix++;
-        } while (playerIds.contains(id));
+        } while (playerIds.contains(id) || !reservedIds.add(id));
 
         return id;
     }
+
+    /**
+     * @return  the striped locks of player saves
+     */
+    private static Lock[] createPlayerLocks() {
+        Lock[] locks = new Lock[PLAYER_LOCK_STRIPES];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+
+        return locks;
+    }
 }
\ No newline at end of file
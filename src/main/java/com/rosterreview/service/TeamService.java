@@ -1,16 +1,28 @@
 package com.rosterreview.service;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.rosterreview.dao.TeamDao;
 import com.rosterreview.entity.Team;
 
 /**
  * A {@link Service} for {@link Team} data and operations.
+ * <p>
+ * Team data rarely changes, so lookups are served from an immutable in-memory
+ * index of all teams. The index is loaded on first use and can be reloaded
+ * with {@link #refreshTeamIndex()}.
  */
 
 @Service
@@ -19,6 +31,10 @@ public class TeamService {
     @Autowired
     private TeamDao teamDao;
 
+    private volatile TeamIndex teamIndex;
+
+    private static final Logger LOG = LoggerFactory.getLogger(TeamService.class);
+
     /**
      * Retrieves the {@link Team} with attributes that matches the indicated
      * parameters.
@@ -30,7 +46,7 @@ public class TeamService {
      * @return          the Team that uniquely matches the indicated parameters
      */
     public Team getTeam(Integer season, String league, String location, String name) {
-        return teamDao.getTeam(season, league, location, name);
+        return getTeamIndex().getTeam(season, league, location, name);
     }
 
     /**
@@ -42,19 +58,149 @@ public class TeamService {
      * @return               the Team that uniquely matches the indicated parameters
      */
     public Team getTeamWithPfrAbbrev(String pfrTeamAbbrev, Integer season) {
-        return teamDao.getTeamWithPfrAbbrev(pfrTeamAbbrev, season);
+        return getTeamIndex().getTeamWithPfrAbbrev(pfrTeamAbbrev, season);
+    }
+
+    /**
+     * Retrieves every {@link Team} that competed in the indicated season.
+     *
+     * @param season  the season
+     * @return        an unmodifiable list of the season's teams, which is
+     *                empty if no teams competed in the season
+     */
+    public List<Team> getTeams(Integer season) {
+        return getTeamIndex().getTeams(season);
     }
 
     /**
      * Retrieves a sorted (ascending) list of all unique football team locations
      * throughout history.
      *
-     * @return  a list of all football team locations
+     * @return  an unmodifiable list of all football team locations
      */
     public List<String> getTeamLocations() {
-        List<String> locations = teamDao.getTeamLocations();
-        Collections.sort(locations);
+        return getTeamIndex().getLocations();
+    }
+
+    /**
+     * Reloads the in-memory team index from the repository. Lookups made while
+     * the index is being reloaded are served by the previous index.
+     */
+    @Transactional
+    public void refreshTeamIndex() {
+        teamIndex = loadTeamIndex();
+    }
+
+    /**
+     * Retrieves the in-memory team index, loading it if it has not yet been
+     * loaded. The first call must be made within a transaction.
+     *
+     * @return  the team index
+     */
+    private TeamIndex getTeamIndex() {
+        TeamIndex index = teamIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = teamIndex;
+                if (index == null) {
+                    index = loadTeamIndex();
+                    teamIndex = index;
+                }
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * Builds a new team index from all teams in the repository.
+     *
+     * @return  the new team index
+     */
+    private TeamIndex loadTeamIndex() {
+        List<Team> teams = teamDao.getAllTeams();
+        LOG.info("Loaded {} teams into the team index.", teams.size());
+
+        return new TeamIndex(teams);
+    }
+
+    /**
+     * An immutable index of {@link Team Teams} keyed by the attributes used to
+     * look them up while parsing player data.
+     */
+    private static final class TeamIndex {
+
+        private final Map<Integer, Map<String, Team>> teamsBySeasonAndPfrAbbrev;
+
+        private final Map<Integer, Map<String, Team>> teamsBySeasonAndName;
+
+        private final Map<Integer, List<Team>> teamsBySeason;
+
+        private final List<String> locations;
+
+        private TeamIndex(List<Team> teams) {
+            Map<Integer, Map<String, Team>> byPfrAbbrev = new HashMap<>();
+            Map<Integer, Map<String, Team>> byName = new HashMap<>();
+            Map<Integer, List<Team>> bySeason = new HashMap<>();
+            TreeSet<String> locationSet = new TreeSet<>();
+
+            for (Team team : teams) {
+                bySeason.computeIfAbsent(team.getSeason(), k -> new ArrayList<>()).add(team);
+                if (team.getPfrAbbrev() != null) {
+                    byPfrAbbrev.computeIfAbsent(team.getSeason(), k -> new HashMap<>())
+                            .putIfAbsent(normalize(team.getPfrAbbrev()), team);
+                }
+                byName.computeIfAbsent(team.getSeason(), k -> new HashMap<>())
+                        .putIfAbsent(nameKey(team.getLeague(), team.getLocation(),
+                                team.getName()), team);
+                if (team.getLocation() != null) {
+                    locationSet.add(team.getLocation());
+                }
+            }
+
+            this.teamsBySeasonAndPfrAbbrev = byPfrAbbrev;
+            this.teamsBySeasonAndName = byName;
+            bySeason.replaceAll((season, seasonTeams) ->
+                    Collections.unmodifiableList(seasonTeams));
+            this.teamsBySeason = bySeason;
+            this.locations = Collections.unmodifiableList(new ArrayList<>(locationSet));
+        }
+
+        private Team getTeamWithPfrAbbrev(String pfrTeamAbbrev, Integer season) {
+            Map<String, Team> seasonTeams = teamsBySeasonAndPfrAbbrev.get(season);
+
+            return (seasonTeams == null || pfrTeamAbbrev == null) ? null :
+                    seasonTeams.get(normalize(pfrTeamAbbrev));
+        }
+
+        private Team getTeam(Integer season, String league, String location, String name) {
+            Map<String, Team> seasonTeams = teamsBySeasonAndName.get(season);
+
+            return seasonTeams == null ? null :
+                    seasonTeams.get(nameKey(league, location, name));
+        }
+
+        private List<Team> getTeams(Integer season) {
+            return teamsBySeason.getOrDefault(season, Collections.emptyList());
+        }
+
+        private List<String> getLocations() {
+            return locations;
+        }
+
+        private static String nameKey(String league, String location, String name) {
+            return normalize(league + '\n' + location + '\n' + name);
+        }
 
-        return locations;
+        /**
+         * Normalizes a key so that lookups are case insensitive, matching the
+         * repository's string comparisons.
+         *
+         * @param key  a lookup key
+         * @return     the normalized key
+         */
+        private static String normalize(String key) {
+            return key.toUpperCase(Locale.ROOT);
+        }
     }
 }
@@ -1,8 +1,16 @@
 package com.rosterreview.utils;
 
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
 import org.apache.commons.lang3.StringUtils;
 
 import com.gargoylesoftware.htmlunit.BrowserVersion;
+import com.gargoylesoftware.htmlunit.Page;
+import com.gargoylesoftware.htmlunit.StringWebResponse;
 import com.gargoylesoftware.htmlunit.WebClient;
 import com.gargoylesoftware.htmlunit.html.HtmlElement;
 import com.gargoylesoftware.htmlunit.html.HtmlPage;
@@ -12,6 +20,27 @@ import com.gargoylesoftware.htmlunit.html.HtmlPage;
  */
 public class WebScrapingUtils {
 
+    /**
+     * The result of {@link #parseIntValue(CharSequence)} for text that is not
+     * an <code>int</code>.
+     */
+    private static final long INVALID_INT = Long.MIN_VALUE;
+
+    /**
+     * The powers of ten that are exactly representable as a
+     * <code>double</code>.
+     */
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * The largest integer below which every integer is exactly representable
+     * as a <code>double</code>.
+     */
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
     // Do not instantiate this utility class.
     private WebScrapingUtils() {}
 
@@ -21,14 +50,116 @@ public class WebScrapingUtils {
      * @return  a configured WebClient
      */
     public static WebClient getConfiguredWebClient() {
+        return getConfiguredWebClient(true);
+    }
+
+    /**
+     * Creates a configured {@link WebClient}.
+     * <p>
+     * A client with JavaScript disabled is considerably cheaper to create and
+     * use, and is sufficient for parsing static HTML.
+     *
+     * @param javaScriptEnabled  <code>true</code> if the client should execute
+     *                           JavaScript, <code>false</code> otherwise
+     * @return                   a configured WebClient
+     */
+    public static WebClient getConfiguredWebClient(boolean javaScriptEnabled) {
         WebClient webClient = new WebClient(BrowserVersion.CHROME);
         webClient.getOptions().setUseInsecureSSL(true);
         webClient.getOptions().setThrowExceptionOnScriptError(false);
         webClient.getOptions().setCssEnabled(false);
+        webClient.getOptions().setJavaScriptEnabled(javaScriptEnabled);
 
         return webClient;
     }
 
+    /**
+     * Parses raw HTML content into an {@link HtmlPage} without retrieving it
+     * from the network.
+     *
+     * @param webClient  the WebClient that will own the page
+     * @param url        the URL the content was retrieved from
+     * @param content    the raw HTML content
+     * @return           the parsed page
+     * @throws IOException  if the content cannot be parsed as HTML
+     */
+    public static HtmlPage parseHtmlPage(WebClient webClient, String url, String content)
+            throws IOException {
+        StringWebResponse response = new StringWebResponse(content,
+                StandardCharsets.UTF_8, new URL(url));
+        Page page = webClient.loadWebResponseInto(response, webClient.getCurrentWindow());
+
+        if (!(page instanceof HtmlPage)) {
+            throw new IOException("Content retrieved from " + url + " is not HTML.");
+        }
+
+        return (HtmlPage) page;
+    }
+
+    /**
+     * Computes a SHA-256 hash of the normalized content of a web page.
+     * <p>
+     * Script and style elements are removed and runs of whitespace are
+     * collapsed before hashing, so pages that differ only in embedded ad or
+     * analytics code or in formatting produce the same hash. See
+     * {@link ContentHasher} to hash content as it is read.
+     *
+     * @param html  raw HTML content
+     * @return      the hash as a lowercase hexadecimal string
+     */
+    public static String hashNormalizedContent(String html) {
+        ContentHasher hasher = new ContentHasher();
+        hasher.update(html);
+
+        return hasher.digest();
+    }
+
+    /**
+     * Removes the comment delimiters surrounding any HTML comment that
+     * contains a table.
+     * <p>
+     * Pro-Football-Reference delivers many of its tables inside HTML comments
+     * and relies on JavaScript to reveal them. This method exposes those
+     * tables when pages are parsed without executing JavaScript.
+     *
+     * @param html  raw HTML content
+     * @return      the content with all commented tables uncommented
+     */
+    public static String uncommentTables(String html) {
+        final String OPEN = "<!--";
+        final String CLOSE = "-->";
+
+        int open = html.indexOf(OPEN);
+        if (open < 0) {
+            return html;
+        }
+
+        StringBuilder result = new StringBuilder(html.length());
+        int position = 0;
+
+        while (open >= 0) {
+            int close = html.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                break;
+            }
+
+            int tableIndex = html.indexOf("<table", open);
+            result.append(html, position, open);
+            if (tableIndex >= 0 && tableIndex < close) {
+                result.append(html, open + OPEN.length(), close);
+            } else {
+                result.append(html, open, close + CLOSE.length());
+            }
+
+            position = close + CLOSE.length();
+            open = html.indexOf(OPEN, position);
+        }
+
+        result.append(html, position, html.length());
+
+        return result.toString();
+    }
+
     /**
      * Gets the text content from the first {@link HtmlElement} found on the
      * indicated {@link HtmlPage} that matches the passed xpath
@@ -66,9 +197,9 @@ public class WebScrapingUtils {
     }
 
     /**
-     * Parses the <code>String</code> argument to <code>Integer</code> with
-     * {@link Integer#valueOf(String)}. If parse fails, return the specified
-     * default value.
+     * Parses the <code>String</code> argument to <code>Integer</code>, as
+     * described by {@link #parseInt(CharSequence, int)}. If parse fails, return
+     * the specified default value.
      *
      * @param value       the string to parse
      * @param defaultVal  the value to use if the parse fails
@@ -76,16 +207,14 @@ public class WebScrapingUtils {
      *                    default
      */
     public static Integer parseIntegerWithDefault(String value, Integer defaultVal) {
-        try {
-            return Integer.valueOf(value);
-        } catch(NumberFormatException e) {
-            return defaultVal;
-        }
+        long parsed = parseIntValue(value);
+
+        return (parsed == INVALID_INT) ? defaultVal : Integer.valueOf((int) parsed);
     }
 
     /**
-     * Parses the <code>String</code> argument to <code>Double</code> with
-     * {@link Double#valueOf(String)}.
+     * Parses the <code>String</code> argument to <code>Double</code>, as
+     * described by {@link #parseDouble(CharSequence, double)}.
      * <p>
      * If parse fails, return the specified default value.
      *
@@ -95,10 +224,507 @@ public class WebScrapingUtils {
      *                    default
      */
     public static Double parseDoubleWithDefault(String value, Double defaultVal) {
-        try {
-            return Double.valueOf(value);
-        } catch(NumberFormatException e) {
-            return defaultVal;
+        double parsed = parseDoubleValue(value);
+
+        return Double.isNaN(parsed) ? defaultVal : Double.valueOf(parsed);
+    }
+
+    /**
+     * Parses the text content of a table cell to an <code>int</code> without
+     * allocating or throwing.
+     * <p>
+     * Leading and trailing whitespace, including non-breaking spaces, is
+     * ignored. The value may have a leading sign, commas that separate groups
+     * of three digits, e.g. <code>1,234</code>, and a trailing percent sign,
+     * e.g. <code>45%</code> is parsed as 45. A <code>null</code>, blank, or
+     * <code>-</code> value, any other text, and values outside the range of
+     * <code>int</code> are not numbers, and return the default value.
+     *
+     * @param value       the text to parse, may be <code>null</code>
+     * @param defaultVal  the value to use if the text is not a number
+     * @return            the parsed value or the specified default
+     */
+    public static int parseInt(CharSequence value, int defaultVal) {
+        long parsed = parseIntValue(value);
+
+        return (parsed == INVALID_INT) ? defaultVal : (int) parsed;
+    }
+
+    /**
+     * Parses the text content of a table cell to a <code>double</code>
+     * without throwing, and, for values of up to 15 significant digits,
+     * without allocating.
+     * <p>
+     * The value is trimmed and may have a leading sign, commas between the
+     * digits of its integer part, and a trailing percent sign, as described
+     * by {@link #parseInt(CharSequence, int)}. It may have a fractional part,
+     * with or without an integer part, e.g. <code>.500</code>. The result is
+     * the same as that of {@link Double#parseDouble(String)} for the value
+     * without commas and percent sign. Exponents, hexadecimal values,
+     * <code>NaN</code>, and <code>Infinity</code> are not numbers. Values of
+     * more than 15 significant digits are parsed from a copy of their text.
+     *
+     * @param value       the text to parse, may be <code>null</code>
+     * @param defaultVal  the value to use if the text is not a number
+     * @return            the parsed value or the specified default
+     */
+    public static double parseDouble(CharSequence value, double defaultVal) {
+        double parsed = parseDoubleValue(value);
+
+        return Double.isNaN(parsed) ? defaultVal : parsed;
+    }
+
+    /**
+     * Parses text to an <code>int</code>, as described by
+     * {@link #parseInt(CharSequence, int)}.
+     *
+     * @param value  the text to parse, may be <code>null</code>
+     * @return       the parsed value, or {@link #INVALID_INT}
+     */
+    private static long parseIntValue(CharSequence value) {
+        if (value == null) {
+            return INVALID_INT;
+        }
+
+        int start = trimStart(value);
+        int end = trimEnd(value, start);
+        if (end > start && value.charAt(end - 1) == '%') {
+            end--;
+        }
+
+        boolean negative = false;
+        if (start < end && (value.charAt(start) == '-' || value.charAt(start) == '+')) {
+            negative = value.charAt(start) == '-';
+            start++;
+        }
+
+        long result = 0;
+        int digits = 0;
+        int groupDigits = 0;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                result = result * 10 + (c - '0');
+                if (result > Integer.MAX_VALUE + 1L) {
+                    return INVALID_INT;
+                }
+                digits++;
+                groupDigits++;
+            } else if (c == ',' && isGroupSeparator(value, i, end, groupDigits)) {
+                groupDigits = 0;
+            } else {
+                return INVALID_INT;
+            }
+        }
+
+        if (digits == 0 || (!negative && result > Integer.MAX_VALUE)) {
+            return INVALID_INT;
+        }
+
+        return negative ? -result : result;
+    }
+
+    /**
+     * Parses text to a <code>double</code>, as described by
+     * {@link #parseDouble(CharSequence, double)}.
+     * <p>
+     * Values of at most 15 significant digits, which includes every
+     * statistic published by PFR, are computed as an exactly represented
+     * integer divided by an exactly represented power of ten, which is
+     * correctly rounded. Longer values fall back to
+     * {@link Double#parseDouble(String)}.
+     *
+     * @param value  the text to parse, may be <code>null</code>
+     * @return       the parsed value, or <code>NaN</code> if the text is not
+     *               a number
+     */
+    private static double parseDoubleValue(CharSequence value) {
+        if (value == null) {
+            return Double.NaN;
+        }
+
+        int start = trimStart(value);
+        int end = trimEnd(value, start);
+        if (end > start && value.charAt(end - 1) == '%') {
+            end--;
+        }
+
+        boolean negative = false;
+        if (start < end && (value.charAt(start) == '-' || value.charAt(start) == '+')) {
+            negative = value.charAt(start) == '-';
+            start++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int groupDigits = 0;
+        int fractionDigits = 0;
+        int decimalPoint = -1;
+        boolean hasCommas = false;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (mantissa < MAX_EXACT_MANTISSA) {
+                    mantissa = mantissa * 10 + (c - '0');
+                }
+                digits++;
+                groupDigits++;
+                if (decimalPoint >= 0) {
+                    fractionDigits++;
+                }
+            } else if (c == '.' && decimalPoint < 0) {
+                decimalPoint = i;
+            } else if (c == ',' && decimalPoint < 0
+                    && isGroupSeparator(value, i, end, groupDigits)) {
+                groupDigits = 0;
+                hasCommas = true;
+            } else {
+                return Double.NaN;
+            }
+        }
+
+        if (digits == 0) {
+            return Double.NaN;
+        }
+
+        double result;
+        if (mantissa < MAX_EXACT_MANTISSA && fractionDigits < POWERS_OF_TEN.length) {
+            result = mantissa / POWERS_OF_TEN[fractionDigits];
+        } else {
+            // Rare: too many significant digits to compute exactly
+            String digitText = value.subSequence(start, end).toString();
+            result = Double.parseDouble(hasCommas ? digitText.replace(",", "") : digitText);
+        }
+
+        return negative ? -result : result;
+    }
+
+    /**
+     * Finds the start of text with its leading whitespace removed.
+     *
+     * @param value  the text
+     * @return       the index of the first character that is not whitespace,
+     *               or the length of the text if it is blank
+     * @see          #isWhitespace(char)
+     */
+    private static int trimStart(CharSequence value) {
+        int start = 0;
+        while (start < value.length() && isWhitespace(value.charAt(start))) {
+            start++;
+        }
+
+        return start;
+    }
+
+    /**
+     * Finds the end of text with its trailing whitespace removed.
+     *
+     * @param value  the text
+     * @param start  the start of the trimmed text, as returned by
+     *               {@link #trimStart(CharSequence)}
+     * @return       the index after the last character that is not
+     *               whitespace, or <code>start</code> if there is none
+     * @see          #isWhitespace(char)
+     */
+    private static int trimEnd(CharSequence value, int start) {
+        int end = value.length();
+        while (end > start && isWhitespace(value.charAt(end - 1))) {
+            end--;
+        }
+
+        return end;
+    }
+
+    /**
+     * Determines if a comma separates a group of one to three digits from a
+     * group of exactly three digits, e.g. either comma of
+     * <code>1,234,567</code>. Every group after the first is checked when the
+     * comma before it is reached, so commas such as those of
+     * <code>12,34</code>, <code>1,2345</code>, and <code>1234,567</code> are
+     * rejected.
+     *
+     * @param value        the text
+     * @param index        the index of the comma
+     * @param end          the end of the trimmed text
+     * @param groupDigits  the number of digits between the comma and the
+     *                     start of the number or the previous comma
+     * @return             <code>true</code> if the comma separates digit
+     *                     groups, <code>false</code> otherwise
+     */
+    private static boolean isGroupSeparator(CharSequence value, int index, int end,
+            int groupDigits) {
+        return groupDigits >= 1 && groupDigits <= 3 && isDigitAt(value, index + 1, end)
+                && isDigitAt(value, index + 2, end) && isDigitAt(value, index + 3, end)
+                && !isDigitAt(value, index + 4, end);
+    }
+
+    /**
+     * Determines if the character at an index of text is an ASCII digit.
+     *
+     * @param value  the text
+     * @param index  the index of the character
+     * @param end    the end of the trimmed text; an index at or after it is
+     *               not a digit
+     * @return       <code>true</code> if the character is a digit,
+     *               <code>false</code> otherwise
+     */
+    private static boolean isDigitAt(CharSequence value, int index, int end) {
+        return index < end && value.charAt(index) >= '0' && value.charAt(index) <= '9';
+    }
+
+    /**
+     * Determines if a character is whitespace in table cell text: an ASCII
+     * control character, a space, or a non-breaking space.
+     *
+     * @param c  the character
+     * @return   <code>true</code> if the character is whitespace,
+     *           <code>false</code> otherwise
+     */
+    private static boolean isWhitespace(char c) {
+        return c <= ' ' || c == '\u00A0';
+    }
+
+    /**
+     * Computes the hash of {@link #hashNormalizedContent(String)}
+     * incrementally, from content that is read in pieces, without retaining
+     * the content. A script or style start tag, or an end tag being skipped
+     * to, may span pieces.
+     */
+    public static final class ContentHasher {
+
+        private static final String SCRIPT_START = "<script";
+
+        private static final String STYLE_START = "<style";
+
+        private final MessageDigest digest;
+
+        private final byte[] bytes = new byte[8192];
+
+        private int byteCount;
+
+        // The characters read so far of a possible script or style start tag
+        private final StringBuilder pending = new StringBuilder(SCRIPT_START.length());
+
+        // The end tag of the element being removed, or null
+        private String endTag;
+
+        private int endTagMatched;
+
+        private boolean whitespace;
+
+        private boolean hasContent;
+
+        // A high surrogate waiting for the low surrogate that follows it
+        private char highSurrogate;
+
+        private String hash;
+
+        /**
+         * A public constructor for {@link ContentHasher}.
+         */
+        public ContentHasher() {
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException ex) {
+                // Every Java platform is required to support SHA-256
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        /**
+         * Adds the next piece of the content to the hash.
+         *
+         * @param chars   a buffer of content
+         * @param offset  the index of the first character of the piece
+         * @param length  the number of characters in the piece
+         * @throws IllegalStateException  if the hash has been computed
+         */
+        public void update(char[] chars, int offset, int length) {
+            checkNotDigested();
+            for (int i = offset; i < offset + length; i++) {
+                update(chars[i]);
+            }
+        }
+
+        /**
+         * Adds the next piece of the content to the hash.
+         *
+         * @param chars  a piece of content
+         * @throws IllegalStateException  if the hash has been computed
+         */
+        public void update(CharSequence chars) {
+            checkNotDigested();
+            for (int i = 0; i < chars.length(); i++) {
+                update(chars.charAt(i));
+            }
+        }
+
+        /**
+         * Completes the hash once all of the content has been added. Further
+         * calls return the same hash.
+         *
+         * @return  the hash as a lowercase hexadecimal string
+         */
+        public String digest() {
+            if (hash == null) {
+                // An incomplete start tag is ordinary content
+                for (int i = 0; i < pending.length(); i++) {
+                    normalize(pending.charAt(i));
+                }
+                pending.setLength(0);
+                if (highSurrogate != 0) {
+                    writeByte('?');
+                }
+                digest.update(bytes, 0, byteCount);
+
+                byte[] hashBytes = digest.digest();
+                StringBuilder hex = new StringBuilder(hashBytes.length * 2);
+                for (byte b : hashBytes) {
+                    hex.append(Character.forDigit((b >> 4) & 0xF, 16))
+                            .append(Character.forDigit(b & 0xF, 16));
+                }
+                hash = hex.toString();
+            }
+
+            return hash;
+        }
+
+        /**
+         * Adds one character of the content to the hash, removing script and
+         * style elements.
+         *
+         * @param c  the character
+         */
+        private void update(char c) {
+            if (endTag != null) {
+                char lower = Character.toLowerCase(c);
+                if (lower == endTag.charAt(endTagMatched)) {
+                    if (++endTagMatched == endTag.length()) {
+                        endTag = null;
+                    }
+                } else {
+                    // Only the first character of an end tag is a '<'
+                    endTagMatched = (lower == '<') ? 1 : 0;
+                }
+                return;
+            }
+
+            if (pending.length() == 0 && c != '<') {
+                normalize(c);
+                return;
+            }
+
+            pending.append(c);
+            if (isPendingPrefixOf(SCRIPT_START)) {
+                if (pending.length() == SCRIPT_START.length()) {
+                    skipTo("</script>");
+                }
+            } else if (isPendingPrefixOf(STYLE_START)) {
+                if (pending.length() == STYLE_START.length()) {
+                    skipTo("</style>");
+                }
+            } else {
+                /*
+                 * The pending characters are not a start tag. Only the last
+                 * of them can be a '<' that begins another start tag.
+                 */
+                int last = pending.length() - 1;
+                for (int i = 0; i < last; i++) {
+                    normalize(pending.charAt(i));
+                }
+                char lastChar = pending.charAt(last);
+                pending.setLength(0);
+                update(lastChar);
+            }
+        }
+
+        private boolean isPendingPrefixOf(String startTag) {
+            if (pending.length() > startTag.length()) {
+                return false;
+            }
+            for (int i = 0; i < pending.length(); i++) {
+                if (Character.toLowerCase(pending.charAt(i)) != startTag.charAt(i)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private void skipTo(String tag) {
+            pending.setLength(0);
+            endTag = tag;
+            endTagMatched = 0;
+        }
+
+        /**
+         * Collapses runs of whitespace into a single space, omitting leading
+         * whitespace, and encodes the result.
+         *
+         * @param c  a character that is not part of a removed element
+         */
+        private void normalize(char c) {
+            if (Character.isWhitespace(c)) {
+                whitespace = true;
+                return;
+            }
+            if (whitespace && hasContent) {
+                encode(' ');
+            }
+            whitespace = false;
+            hasContent = true;
+            encode(c);
+        }
+
+        /**
+         * Encodes a character as UTF-8, replacing unpaired surrogates with
+         * '?' as {@link String#getBytes(java.nio.charset.Charset)} does.
+         *
+         * @param c  the character
+         */
+        private void encode(char c) {
+            if (highSurrogate != 0) {
+                char high = highSurrogate;
+                highSurrogate = 0;
+                if (Character.isLowSurrogate(c)) {
+                    int codePoint = Character.toCodePoint(high, c);
+                    writeByte(0xF0 | (codePoint >> 18));
+                    writeByte(0x80 | ((codePoint >> 12) & 0x3F));
+                    writeByte(0x80 | ((codePoint >> 6) & 0x3F));
+                    writeByte(0x80 | (codePoint & 0x3F));
+                    return;
+                }
+                writeByte('?');
+            }
+
+            if (Character.isHighSurrogate(c)) {
+                highSurrogate = c;
+            } else if (Character.isLowSurrogate(c)) {
+                writeByte('?');
+            } else if (c < 0x80) {
+                writeByte(c);
+            } else if (c < 0x800) {
+                writeByte(0xC0 | (c >> 6));
+                writeByte(0x80 | (c & 0x3F));
+            } else {
+                writeByte(0xE0 | (c >> 12));
+                writeByte(0x80 | ((c >> 6) & 0x3F));
+                writeByte(0x80 | (c & 0x3F));
+            }
+        }
+
+        private void writeByte(int b) {
+            if (byteCount == bytes.length) {
+                digest.update(bytes, 0, byteCount);
+                byteCount = 0;
+            }
+            bytes[byteCount++] = (byte) b;
+        }
+
+        private void checkNotDigested() {
+            if (hash != null) {
+                throw new IllegalStateException("The hash has already been computed.");
+            }
         }
     }
 }
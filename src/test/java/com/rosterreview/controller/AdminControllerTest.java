@@ -0,0 +1,53 @@
+package com.rosterreview.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.rosterreview.data.PlayerBackfillJob;
+import com.rosterreview.service.CrawlFrontierService.JobProgress;
+
+/**
+ * JUnit tests for the {@link AdminController}.
+ */
+public class AdminControllerTest {
+
+    private final AtomicInteger starts = new AtomicInteger();
+
+    @Test
+    public void testStartBackfillRefusedUnlessJobsEnabled() {
+        ResponseEntity<JobProgress> response = startBackfill(false);
+        assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(0, starts.get());
+
+        assertEquals(HttpStatus.ACCEPTED, startBackfill(true).getStatusCode());
+        assertEquals(1, starts.get());
+    }
+
+    private ResponseEntity<JobProgress> startBackfill(boolean jobsEnabled) {
+        AdminController controller = new AdminController();
+        ReflectionTestUtils.setField(controller, "jobsEnabled", jobsEnabled);
+        ReflectionTestUtils.setField(controller, "playerBackfillJob", new PlayerBackfillJob() {
+
+            @Override
+            public boolean start() {
+                starts.incrementAndGet();
+                return true;
+            }
+
+            @Override
+            public JobProgress getProgress() {
+                return null;
+            }
+        });
+
+        return controller.startBackfill();
+    }
+}
@@ -0,0 +1,81 @@
+package com.rosterreview.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.rosterreview.data.HttpStatusException;
+import com.rosterreview.data.PlayerRefresher;
+import com.rosterreview.entity.Player;
+import com.rosterreview.service.PlayerService;
+
+/**
+ * JUnit tests for the {@link PlayerController}.
+ */
+public class PlayerControllerTest {
+
+    private CompletableFuture<String> refresh;
+
+    private final PlayerRefresher playerRefresher = new PlayerRefresher(1) {
+
+        @Override
+        public CompletableFuture<String> refresh(String pfrId) {
+            return refresh;
+        }
+    };
+
+    @AfterEach
+    public void tearDown() {
+        playerRefresher.destroy();
+    }
+
+    @Test
+    public void testRefreshPlayer() {
+        refresh = CompletableFuture.completedFuture("smitje01");
+        assertEquals(HttpStatus.OK, refreshPlayer("SmitJe00").getStatusCode());
+        assertEquals("smitje01", refreshPlayer("SmitJe00").getBody().getId());
+
+        assertEquals(HttpStatus.BAD_REQUEST, refreshPlayer("../index").getStatusCode());
+
+        refresh = new CompletableFuture<>();
+        assertEquals(HttpStatus.ACCEPTED, refreshPlayer("SmitJe00").getStatusCode());
+
+        refresh = CompletableFuture.failedFuture(new HttpStatusException(
+                "https://www.pro-football-reference.com/players/S/SmitJe00.htm", 404));
+        assertEquals(HttpStatus.NOT_FOUND, refreshPlayer("SmitJe00").getStatusCode());
+
+        refresh = CompletableFuture.failedFuture(new HttpStatusException(
+                "https://www.pro-football-reference.com/players/S/SmitJe00.htm", 500));
+        assertEquals(HttpStatus.BAD_GATEWAY, refreshPlayer("SmitJe00").getStatusCode());
+
+        refresh = CompletableFuture.failedFuture(new IOException("Connection reset"));
+        assertEquals(HttpStatus.BAD_GATEWAY, refreshPlayer("SmitJe00").getStatusCode());
+
+        refresh = CompletableFuture.failedFuture(new RejectedExecutionException());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE,
+                refreshPlayer("SmitJe00").getStatusCode());
+    }
+
+    private ResponseEntity<Player> refreshPlayer(String pfrId) {
+        PlayerController controller = new PlayerController();
+        ReflectionTestUtils.setField(controller, "playerRefresher", playerRefresher);
+        ReflectionTestUtils.setField(controller, "refreshTimeoutMillis", 10L);
+        ReflectionTestUtils.setField(controller, "playerService", new PlayerService() {
+
+            @Override
+            public Player getPlayer(String id) {
+                return new Player(id);
+            }
+        });
+
+        return controller.refreshPlayer(pfrId);
+    }
+}
@@ -0,0 +1,76 @@
+package com.rosterreview.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.rosterreview.dao.StubSessionFactory.RecordedQuery;
+import com.rosterreview.entity.CrawlFrontierEntry.State;
+
+/**
+ * JUnit tests for the queries issued by the {@link CrawlFrontierDao}.
+ */
+public class CrawlFrontierDaoTest {
+
+    private static final List<String> PENDING = Arrays.asList(
+            "https://www.pro-football-reference.com/players/B/BbbbBb00.htm",
+            "https://www.pro-football-reference.com/players/A/AaaaAa00.htm");
+
+    @Test
+    public void testClaimPendingUrls() {
+        StubSessionFactory stub = new StubSessionFactory(query -> PENDING);
+        CrawlFrontierDao dao = stub.inject(new CrawlFrontierDao());
+
+        assertEquals(PENDING, dao.claimPendingUrls(2));
+
+        List<RecordedQuery> queries = stub.getQueries();
+        assertEquals(2, queries.size());
+        RecordedQuery select = queries.get(0);
+        assertTrue(select.nativeQuery);
+        assertTrue(select.query.contains("state = 'PENDING'"));
+        assertTrue(select.query.contains("next_attempt <= :now"));
+        assertTrue(select.query.endsWith("ORDER BY priority DESC, last_success, url "
+                + "LIMIT :limit FOR UPDATE"));
+        assertEquals(2, select.parameters.get("limit"));
+
+        // The claimed entries are marked with the same time they were selected at
+        RecordedQuery update = queries.get(1);
+        assertFalse(update.nativeQuery);
+        assertTrue(update.query.contains("e.attempts = e.attempts + 1"));
+        assertEquals(State.CLAIMED, update.parameters.get("claimed"));
+        assertEquals(PENDING, update.parameters.get("urls"));
+        assertSame(select.parameters.get("now"), update.parameters.get("now"));
+        assertEquals(1, update.executions);
+    }
+
+    @Test
+    public void testClaimWithNothingDue() {
+        StubSessionFactory stub = new StubSessionFactory(query -> Collections.emptyList());
+        CrawlFrontierDao dao = stub.inject(new CrawlFrontierDao());
+
+        assertTrue(dao.claimPendingUrls(10).isEmpty());
+        assertEquals(1, stub.getQueries().size());
+    }
+
+    @Test
+    public void testCompleteEntries() {
+        StubSessionFactory stub = new StubSessionFactory(query -> Collections.emptyList());
+        CrawlFrontierDao dao = stub.inject(new CrawlFrontierDao());
+
+        assertEquals(0, dao.completeEntries(Collections.emptyList()));
+        assertTrue(stub.getQueries().isEmpty());
+
+        dao.completeEntries(PENDING);
+        RecordedQuery update = stub.getQueries().get(0);
+        assertTrue(update.query.contains("e.nextAttempt = NULL"));
+        assertEquals(State.COMPLETE, update.parameters.get("complete"));
+        assertEquals(PENDING, update.parameters.get("urls"));
+    }
+}
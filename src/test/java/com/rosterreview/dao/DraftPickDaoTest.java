@@ -0,0 +1,66 @@
+package com.rosterreview.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.rosterreview.dao.StubSessionFactory.RecordedQuery;
+import com.rosterreview.entity.DraftPick;
+
+/**
+ * JUnit tests for the statements issued by the {@link DraftPickDao}.
+ */
+public class DraftPickDaoTest {
+
+    @Test
+    public void testUpsertDraftPicks() {
+        StubSessionFactory stub = new StubSessionFactory(query -> Collections.emptyList());
+        DraftPickDao dao = stub.inject(new DraftPickDao());
+
+        List<DraftPick> draftPicks = new ArrayList<>();
+        for (int i = 0; i < 501; i++) {
+            draftPicks.add(new DraftPick("player" + i, "NFL", "gnb", 2020, i / 32 + 1,
+                    i + 1, false));
+        }
+        draftPicks.set(500, new DraftPick("LoveJo03", "NFL", "gnb", 2020, 1, 26, true));
+
+        assertEquals(501, dao.upsertDraftPicks(draftPicks));
+
+        // Picks are written 500 rows per statement
+        List<RecordedQuery> queries = stub.getQueries();
+        assertEquals(2, queries.size());
+        for (RecordedQuery query : queries) {
+            assertTrue(query.nativeQuery);
+            assertTrue(query.query.startsWith("INSERT INTO draft_pick (player_id, league, "
+                    + "franchise_id, draft_year, round, slot, supplemental) VALUES "));
+            assertTrue(query.query.contains(" ON DUPLICATE KEY UPDATE "));
+            assertEquals(1, query.executions);
+        }
+
+        List<Object> batchParameters = queries.get(0).getPositionalParameters();
+        assertEquals(500 * 7, batchParameters.size());
+        assertEquals(Arrays.asList("player0", "NFL", "gnb", 2020, 1, 1, false),
+                batchParameters.subList(0, 7));
+        assertEquals(Arrays.asList("player499", "NFL", "gnb", 2020, 16, 500, false),
+                batchParameters.subList(499 * 7, 500 * 7));
+
+        assertTrue(queries.get(1).query.contains("VALUES (?, ?, ?, ?, ?, ?, ?) ON"));
+        assertEquals(Arrays.asList("LoveJo03", "NFL", "gnb", 2020, 1, 26, true),
+                queries.get(1).getPositionalParameters());
+    }
+
+    @Test
+    public void testUpsertNoDraftPicks() {
+        StubSessionFactory stub = new StubSessionFactory(query -> Collections.emptyList());
+        DraftPickDao dao = stub.inject(new DraftPickDao());
+
+        assertEquals(0, dao.upsertDraftPicks(Collections.emptyList()));
+        assertTrue(stub.getQueries().isEmpty());
+    }
+}
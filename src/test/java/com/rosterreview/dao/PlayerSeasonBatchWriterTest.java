@@ -0,0 +1,125 @@
+package com.rosterreview.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.rosterreview.dao.PlayerSeasonBatchWriter.WriteCallback;
+import com.rosterreview.dao.StubDataSource.ExecutedStatement;
+import com.rosterreview.entity.PlayerSeason;
+
+/**
+ * JUnit tests for the {@link PlayerSeasonBatchWriter}.
+ */
+public class PlayerSeasonBatchWriterTest {
+
+    private final List<String> written = new ArrayList<>();
+
+    private final List<String> failed = new ArrayList<>();
+
+    @Test
+    public void testFlushWritesBatch() {
+        StubDataSource stub = new StubDataSource(statement -> false);
+        PlayerSeasonBatchWriter writer = stub.newWriter();
+
+        enqueue(writer, "smitje01", "gnb");
+        enqueue(writer, "doejo01", "chi");
+        writer.flush();
+
+        assertEquals(Arrays.asList("smitje01", "doejo01"), written);
+        assertEquals(Collections.emptyList(), failed);
+        assertEquals(0, stub.getRollbacks());
+        assertEquals(1, stub.getCommitted("INSERT INTO player_season").size());
+        assertEquals(2, stub.getCommitted("UPDATE player SET pfr_content_hash = ?").size());
+    }
+
+    @Test
+    public void testFlushIsolatesBadRow() {
+        StubDataSource stub = new StubDataSource(statement ->
+                statement.sql.startsWith("INSERT INTO player_season")
+                        && statement.parameters.contains("bad"));
+        PlayerSeasonBatchWriter writer = stub.newWriter();
+
+        enqueue(writer, "smitje01", "gnb");
+        enqueue(writer, "badpl01", "bad");
+        enqueue(writer, "doejo01", "chi");
+        writer.flush();
+
+        assertEquals(Arrays.asList("smitje01", "doejo01"), written);
+        assertEquals(Collections.singletonList("badpl01"), failed);
+        assertEquals(2, stub.getRollbacks());
+
+        List<Object> hashedPlayers = new ArrayList<>();
+        for (ExecutedStatement statement :
+                stub.getCommitted("UPDATE player SET pfr_content_hash = ?")) {
+            hashedPlayers.add(statement.parameters.get(1));
+        }
+        assertEquals(Arrays.asList("smitje01", "doejo01"), hashedPlayers);
+
+        List<ExecutedStatement> invalidated =
+                stub.getCommitted("UPDATE player SET pfr_content_hash = NULL");
+        assertEquals(1, invalidated.size());
+        assertEquals(Collections.singletonList("badpl01"), invalidated.get(0).parameters);
+    }
+
+    @Test
+    public void testFlushNotifiesEveryPlayerOnRuntimeException() {
+        StubDataSource stub = new StubDataSource(statement -> {
+            if (statement.sql.startsWith("INSERT INTO player_season")
+                    && statement.parameters.contains("bad")) {
+                throw new IllegalStateException("Connection lost");
+            }
+            return false;
+        });
+        PlayerSeasonBatchWriter writer = stub.newWriter();
+
+        writer.enqueue("smitje01", null, Collections.emptyList(), new WriteCallback() {
+
+            @Override
+            public void written() {
+                throw new IllegalStateException("Callback failed");
+            }
+
+            @Override
+            public void failed(Exception ex) {
+                // Do nothing.
+            }
+        });
+        enqueue(writer, "smitje01", "gnb");
+        enqueue(writer, "badpl01", "bad");
+        enqueue(writer, "doejo01", "chi");
+        writer.flush();
+
+        // A failing callback does not prevent the others from being notified
+        assertEquals(Arrays.asList("smitje01", "doejo01"), written);
+        assertEquals(Collections.singletonList("badpl01"), failed);
+        assertEquals(2, stub.getRollbacks());
+    }
+
+    private void enqueue(PlayerSeasonBatchWriter writer, String playerId, String franchiseId) {
+        PlayerSeason season = new PlayerSeason();
+        season.setPlayerId(playerId);
+        season.setFranchiseId(franchiseId);
+        season.setSeason(2020);
+        season.setSeasonType(PlayerSeason.SeasonType.REGULAR);
+
+        writer.enqueue(playerId, "hash-" + playerId, Collections.singletonList(season),
+                new WriteCallback() {
+
+                    @Override
+                    public void written() {
+                        written.add(playerId);
+                    }
+
+                    @Override
+                    public void failed(Exception ex) {
+                        failed.add(playerId);
+                    }
+                });
+    }
+}
@@ -0,0 +1,203 @@
+package com.rosterreview.dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+import javax.sql.DataSource;
+
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * A JDBC {@link DataSource} stub for DAO and ingest tests. Each statement executed on
+ * one of its connections is recorded with its parameters, and becomes visible
+ * in {@link #getCommitted()} once the connection commits, or immediately if
+ * the connection is in auto-commit mode. Statements whose parameters match
+ * the configured predicate fail with a {@link SQLException}.
+ */
+public class StubDataSource {
+
+    private final List<ExecutedStatement> committed =
+            Collections.synchronizedList(new ArrayList<>());
+
+    private final Predicate<ExecutedStatement> failing;
+
+    private int rollbacks;
+
+    /**
+     * A constructor for {@link StubDataSource}.
+     *
+     * @param failing  identifies the statements that fail
+     */
+    public StubDataSource(Predicate<ExecutedStatement> failing) {
+        this.failing = failing;
+    }
+
+    /**
+     * @return  a {@link DataSource} whose connections are recorded by this stub
+     */
+    public DataSource getDataSource() {
+        return proxy(DataSource.class, (proxy, method, args) -> {
+            if (method.getName().equals("getConnection")) {
+                return newConnection();
+            }
+            return defaultValue(method.getReturnType());
+        });
+    }
+
+    /**
+     * @return  a {@link PlayerSeasonBatchWriter} with the default batch size
+     *          whose connections are recorded by this stub
+     */
+    public PlayerSeasonBatchWriter newWriter() {
+        PlayerSeasonBatchWriter writer = new PlayerSeasonBatchWriter();
+        ReflectionTestUtils.setField(writer, "dataSource", getDataSource());
+        ReflectionTestUtils.setField(writer, "batchSize", 500);
+
+        return writer;
+    }
+
+    /**
+     * @return  the statements that have been committed, in execution order
+     */
+    public List<ExecutedStatement> getCommitted() {
+        return committed;
+    }
+
+    /**
+     * @param sqlPrefix  the beginning of the SQL of the statements to find
+     * @return           the committed statements whose SQL begins as indicated
+     */
+    public List<ExecutedStatement> getCommitted(String sqlPrefix) {
+        List<ExecutedStatement> statements = new ArrayList<>();
+        synchronized (committed) {
+            for (ExecutedStatement statement : committed) {
+                if (statement.sql.startsWith(sqlPrefix)) {
+                    statements.add(statement);
+                }
+            }
+        }
+
+        return statements;
+    }
+
+    /**
+     * @return  the number of transactions that have been rolled back
+     */
+    public int getRollbacks() {
+        return rollbacks;
+    }
+
+    private Connection newConnection() {
+        List<ExecutedStatement> pending = new ArrayList<>();
+        boolean[] autoCommit = {true};
+
+        return proxy(Connection.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "setAutoCommit":
+                    autoCommit[0] = (Boolean) args[0];
+                    return null;
+                case "getAutoCommit":
+                    return autoCommit[0];
+                case "commit":
+                    committed.addAll(pending);
+                    pending.clear();
+                    return null;
+                case "rollback":
+                    rollbacks++;
+                    pending.clear();
+                    return null;
+                case "prepareStatement":
+                    return newStatement((String) args[0],
+                            autoCommit[0] ? committed : pending);
+                default:
+                    return defaultValue(method.getReturnType());
+            }
+        });
+    }
+
+    private PreparedStatement newStatement(String sql, List<ExecutedStatement> executed) {
+        List<Object> parameters = new ArrayList<>();
+        List<List<Object>> batch = new ArrayList<>();
+
+        return proxy(PreparedStatement.class, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2
+                    && args[0] instanceof Integer) {
+                int index = (Integer) args[0];
+                while (parameters.size() < index) {
+                    parameters.add(null);
+                }
+                parameters.set(index - 1, args[1]);
+                return null;
+            }
+            switch (name) {
+                case "addBatch":
+                    batch.add(new ArrayList<>(parameters));
+                    parameters.clear();
+                    return null;
+                case "executeUpdate":
+                    execute(new ExecutedStatement(sql, parameters), executed);
+                    parameters.clear();
+                    return 1;
+                case "executeBatch":
+                    int[] counts = new int[batch.size()];
+                    for (int i = 0; i < batch.size(); i++) {
+                        execute(new ExecutedStatement(sql, batch.get(i)), executed);
+                        counts[i] = 1;
+                    }
+                    batch.clear();
+                    return counts;
+                default:
+                    return defaultValue(method.getReturnType());
+            }
+        });
+    }
+
+    private void execute(ExecutedStatement statement, List<ExecutedStatement> executed)
+            throws SQLException {
+        if (failing.test(statement)) {
+            throw new SQLException("Statement failed: " + statement.sql);
+        }
+        executed.add(statement);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(StubDataSource.class.getClassLoader(),
+                new Class<?>[] {type}, handler);
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == long.class) {
+            return 0L;
+        }
+
+        return null;
+    }
+
+    /**
+     * A statement executed with a set of parameters.
+     */
+    public static final class ExecutedStatement {
+
+        public final String sql;
+
+        public final List<Object> parameters;
+
+        private ExecutedStatement(String sql, List<Object> parameters) {
+            this.sql = sql;
+            this.parameters = new ArrayList<>(parameters);
+        }
+    }
+}
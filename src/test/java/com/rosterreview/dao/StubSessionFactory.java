@@ -0,0 +1,144 @@
+package com.rosterreview.dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.query.NativeQuery;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * A Hibernate {@link SessionFactory} stub for DAO tests. The queries created
+ * by its current session are recorded with their parameters, and the results
+ * of a query are supplied by the configured function.
+ */
+class StubSessionFactory {
+
+    private final List<RecordedQuery> queries = new ArrayList<>();
+
+    private final Function<RecordedQuery, List<?>> results;
+
+    /**
+     * A constructor for {@link StubSessionFactory}.
+     *
+     * @param results  supplies the results of each executed query
+     */
+    StubSessionFactory(Function<RecordedQuery, List<?>> results) {
+        this.results = results;
+    }
+
+    /**
+     * Injects a {@link SessionFactory} recorded by this stub into a DAO.
+     *
+     * @param dao  a DAO with a <code>sessionFactory</code> field
+     * @return     the DAO
+     */
+    <T> T inject(T dao) {
+        ReflectionTestUtils.setField(dao, "sessionFactory", getSessionFactory());
+
+        return dao;
+    }
+
+    /**
+     * @return  a {@link SessionFactory} whose current session is recorded by
+     *          this stub
+     */
+    SessionFactory getSessionFactory() {
+        Session session = proxy(Session.class, (proxy, method, args) -> {
+            if (method.getName().equals("createNativeQuery")
+                    || method.getName().equals("createQuery")) {
+                RecordedQuery query = new RecordedQuery((String) args[0],
+                        method.getName().equals("createNativeQuery"));
+                queries.add(query);
+                return newQuery(query);
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+
+        return proxy(SessionFactory.class, (proxy, method, args) -> {
+            if (method.getName().equals("getCurrentSession")) {
+                return session;
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    /**
+     * @return  the queries created so far, in order
+     */
+    List<RecordedQuery> getQueries() {
+        return queries;
+    }
+
+    private NativeQuery<?> newQuery(RecordedQuery query) {
+        return proxy(NativeQuery.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "setParameter":
+                case "setParameterList":
+                    query.parameters.put(args[0], args[1]);
+                    return proxy;
+                case "setMaxResults":
+                    return proxy;
+                case "executeUpdate":
+                    query.executions++;
+                    return 1;
+                case "getResultList":
+                case "list":
+                    query.executions++;
+                    return results.apply(query);
+                case "uniqueResult":
+                    query.executions++;
+                    List<?> result = results.apply(query);
+                    return result.isEmpty() ? null : result.get(0);
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(StubSessionFactory.class.getClassLoader(),
+                new Class<?>[] {type}, handler);
+    }
+
+    /**
+     * A query created by a stubbed session, and the parameters it was
+     * executed with. Positional parameters are keyed by their index and named
+     * parameters by their name.
+     */
+    static final class RecordedQuery {
+
+        final String query;
+
+        final boolean nativeQuery;
+
+        final Map<Object, Object> parameters = new LinkedHashMap<>();
+
+        int executions;
+
+        private RecordedQuery(String query, boolean nativeQuery) {
+            this.query = query;
+            this.nativeQuery = nativeQuery;
+        }
+
+        /**
+         * @return  the values of the positional parameters, in order
+         */
+        List<Object> getPositionalParameters() {
+            List<Object> values = new ArrayList<>();
+            for (int i = 1; parameters.containsKey(i); i++) {
+                values.add(parameters.get(i));
+            }
+
+            return Collections.unmodifiableList(values);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.rosterreview.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit tests for the {@link AdaptiveRateLimiter}.
+ */
+public class AdaptiveRateLimiterTest {
+
+    @Test
+    public void testBackoffAndRecovery() {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(2.0, 0.5, 3.0, 1, 0);
+
+        limiter.onResponse(429, null);
+        assertEquals(1.0, limiter.getRate(), 1e-9);
+        limiter.onResponse(503, null);
+        assertEquals(0.5, limiter.getRate(), 1e-9);
+        limiter.onResponse(429, null);
+        assertEquals(0.5, limiter.getRate(), 1e-9);
+        assertEquals(3, limiter.getThrottledResponses());
+
+        limiter.onResponse(200, null);
+        assertEquals(0.525, limiter.getRate(), 1e-9);
+        for (int i = 0; i < 200; i++) {
+            limiter.onResponse(200, null);
+        }
+        assertEquals(3.0, limiter.getRate(), 1e-9);
+    }
+
+    @Test
+    public void testRetryAfterPausesRequests() {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(1.0, 0.1, 1.0, 1, 5000);
+
+        limiter.onResponse(429, "120");
+        long pausedMillis = limiter.getPausedMillis();
+        assertTrue(pausedMillis > 4000 && pausedMillis <= 5000);
+
+        // Healthy responses to requests already in flight do not raise the rate while paused
+        limiter.onResponse(200, null);
+        assertEquals(0.5, limiter.getRate(), 1e-9);
+    }
+
+    @Test
+    public void testParseRetryAfter() {
+        assertEquals(0, AdaptiveRateLimiter.parseRetryAfter(null));
+        assertEquals(0, AdaptiveRateLimiter.parseRetryAfter("soon"));
+        assertEquals(TimeUnit.SECONDS.toNanos(30), AdaptiveRateLimiter.parseRetryAfter(" 30 "));
+
+        String date = DateTimeFormatter.RFC_1123_DATE_TIME.format(
+                ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(60));
+        long waitNanos = AdaptiveRateLimiter.parseRetryAfter(date);
+        assertTrue(waitNanos > TimeUnit.SECONDS.toNanos(50)
+                && waitNanos <= TimeUnit.SECONDS.toNanos(60));
+
+        date = DateTimeFormatter.RFC_1123_DATE_TIME.format(
+                ZonedDateTime.now(ZoneOffset.UTC).minusSeconds(60));
+        assertEquals(0, AdaptiveRateLimiter.parseRetryAfter(date));
+    }
+}
@@ -0,0 +1,261 @@
+package com.rosterreview.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipFile;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.rosterreview.config.PageFetcherConfig;
+import com.rosterreview.dao.PlayerSeasonBatchWriter;
+import com.rosterreview.dao.PlayerSeasonBatchWriter.WriteCallback;
+import com.rosterreview.dao.StubDataSource;
+import com.rosterreview.data.IngestPipeline.StageStatistics;
+import com.rosterreview.entity.Player;
+import com.rosterreview.entity.Team;
+import com.rosterreview.service.PfrDataParsingService;
+import com.rosterreview.service.PlayerService;
+import com.rosterreview.service.TeamService;
+
+/**
+ * A benchmark of the throughput of each stage of an {@link IngestPipeline}
+ * crawling player pages from a {@link PfrStandInServer}, for a range of
+ * per-host concurrency settings.
+ * <p>
+ * Pages are retrieved over HTTP and parsed by a {@link PfrDataParsingService}
+ * as in a data update, and their statistics are queued and batched by a
+ * {@link PlayerSeasonBatchWriter}, while the frontier, team index and player
+ * repository are held in memory and the writer's database is a stub, so the
+ * benchmark needs no database. Pages that fail are not retried.
+ * <p>
+ * The benchmark only runs when the <code>benchmark</code> system property is
+ * <code>true</code>, e.g.
+ * <code>mvn test -Dtest=CrawlBenchmarkTest -Dbenchmark=true</code>. Results are
+ * logged at the INFO level; without a log4j2 configuration, add
+ * <code>-Dorg.apache.logging.log4j.level=INFO</code>. It accepts the following
+ * system properties:
+ * <ul>
+ * <li>benchmark.pages:          A directory or zip archive of recorded pages
+ *                               to serve. Synthetic player pages are generated
+ *                               if not set.</li>
+ * <li>benchmark.concurrency:    A comma separated list of per-host concurrency
+ *                               settings to compare, each also used as the
+ *                               number of fetch threads (default
+ *                               <code>1,2,4,8</code>).</li>
+ * <li>benchmark.parse.threads:  The number of parse threads (default 2).</li>
+ * <li>benchmark.latency.ms:     The minimum response delay (default 50).</li>
+ * <li>benchmark.jitter.ms:      The maximum additional response delay
+ *                               (default 50).</li>
+ * <li>benchmark.error.rate:     The fraction of requests answered with
+ *                               <code>503</code> (default 0.01).</li>
+ * </ul>
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class CrawlBenchmarkTest {
+
+    private static final int SYNTHETIC_PLAYERS = 200;
+
+    private static final int SYNTHETIC_SEASONS = 15;
+
+    private static final int QUEUE_CAPACITY = 16;
+
+    private static final Logger LOG = LoggerFactory.getLogger(CrawlBenchmarkTest.class);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void benchmarkCrawl() throws Exception {
+        String recordedPages = System.getProperty("benchmark.pages", "");
+        Path source = recordedPages.isEmpty() ? writeSyntheticPages() : Paths.get(recordedPages);
+        List<String> paths = listPlayerPages(source);
+        assertTrue(!paths.isEmpty(), "No player pages found in " + source);
+
+        List<Integer> concurrencies = Arrays.stream(System.getProperty(
+                "benchmark.concurrency", "1,2,4,8").split(","))
+                .map(String::trim).map(Integer::valueOf).collect(Collectors.toList());
+        int maxConcurrency = Collections.max(concurrencies);
+
+        try (PfrStandInServer server = new PfrStandInServer(source,
+                Long.getLong("benchmark.latency.ms", 50L),
+                Long.getLong("benchmark.jitter.ms", 50L),
+                Double.parseDouble(System.getProperty("benchmark.error.rate", "0.01")),
+                503, maxConcurrency, 1L)) {
+
+            for (int concurrency : concurrencies) {
+                run(server, paths, concurrency);
+            }
+        }
+    }
+
+    /**
+     * Crawls every page once with the indicated concurrency, and logs the
+     * overall throughput and the statistics of each pipeline stage.
+     */
+    private void run(PfrStandInServer server, List<String> paths, int concurrency)
+            throws Exception {
+
+        AtomicInteger playerIds = new AtomicInteger();
+        AtomicLong writtenSeasons = new AtomicLong();
+
+        PlayerSeasonBatchWriter statisticsWriter =
+                new StubDataSource(statement -> false).newWriter();
+
+        PlayerService playerService = new PlayerService() {
+
+            @Override
+            public Player getPlayerPageVersion(String pfrId) {
+                return null;
+            }
+
+            @Override
+            public String reservePlayerId(String firstName, String lastName) {
+                return "player" + playerIds.incrementAndGet();
+            }
+
+            @Override
+            public void savePlayer(Player detached, PlayerSeasonBatchWriter writer,
+                    WriteCallback callback) {
+                writtenSeasons.addAndGet(detached.getStatistics().size());
+                writer.enqueueAfterCommit(detached.getId(), detached.getPfrContentHash(),
+                        detached.getStatistics(), callback);
+            }
+        };
+
+        TeamService teamService = new TeamService() {
+
+            @Override
+            public Team getTeamWithPfrAbbrev(String pfrTeamAbbrev, Integer season) {
+                String abbrev = pfrTeamAbbrev.trim();
+                return new Team(abbrev.toLowerCase(), season, "NFL", abbrev, abbrev, abbrev,
+                        abbrev.toLowerCase(), abbrev);
+            }
+
+            @Override
+            public List<String> getTeamLocations() {
+                return Collections.emptyList();
+            }
+        };
+
+        int parseThreads = Integer.getInteger("benchmark.parse.threads", 2);
+        WebClientPool webClientPool = new WebClientPool(parseThreads,
+                PageFetcherConfig.HTTP_MODE);
+        PfrDataParsingService parsingService = new PfrDataParsingService();
+        ReflectionTestUtils.setField(parsingService, "pfrUrl", server.getBaseUrl());
+        ReflectionTestUtils.setField(parsingService, "playerService", playerService);
+        ReflectionTestUtils.setField(parsingService, "teamService", teamService);
+        ReflectionTestUtils.setField(parsingService, "positionInferenceEngine",
+                new PositionInferenceEngine());
+        ReflectionTestUtils.setField(parsingService, "pageFetcher", new RateLimitedPageFetcher(
+                new HttpClientPageFetcher(webClientPool, Duration.ofSeconds(30)), concurrency,
+                1000.0, 1.0, 1000.0, concurrency, 1000L));
+
+        MemoryCrawlFrontier frontier = new MemoryCrawlFrontier(paths.stream()
+                .map(path -> server.getBaseUrl() + path).collect(Collectors.toList()));
+        CrawlSettings settings = new CrawlSettings(concurrency, parseThreads, 1,
+                QUEUE_CAPACITY, 1);
+        IngestPipeline pipeline = new IngestPipeline(parsingService, playerService, frontier,
+                statisticsWriter, settings, 0L);
+
+        long startNanos = System.nanoTime();
+        try {
+            pipeline.run(Collections.emptyMap());
+        } finally {
+            webClientPool.destroy();
+        }
+        double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+
+        LOG.info("Concurrency {}: {} pages in {} s ({} pages/s), {} complete, {} failed, "
+                + "{} seasons written.", concurrency, paths.size(),
+                String.format("%.2f", elapsedSeconds),
+                String.format("%.1f", paths.size() / elapsedSeconds),
+                frontier.getCompleted().size(), frontier.getFailed().size(),
+                writtenSeasons.get());
+        for (StageStatistics stage : pipeline.getStatistics()) {
+            LOG.info("  {} ({} threads): {} processed ({} items/s), {} skipped, {} failed; "
+                    + "busy {} ms, blocked {} ms.", stage.getStage(), stage.getThreads(),
+                    stage.getProcessed(), String.format("%.1f", stage.getThroughputPerSecond()),
+                    stage.getSkipped(), stage.getFailed(), stage.getBusyMillis(),
+                    stage.getBlockedMillis());
+        }
+        assertEquals(paths.size(),
+                frontier.getCompleted().size() + frontier.getFailed().size());
+        assertTrue(frontier.getCompleted().size() > 0, "No pages were crawled");
+    }
+
+    /**
+     * Lists the URL paths of the player pages of a page source.
+     */
+    private static List<String> listPlayerPages(Path source) throws IOException {
+        if (Files.isDirectory(source)) {
+            try (Stream<Path> files = Files.walk(source)) {
+                return files.filter(Files::isRegularFile)
+                        .map(file -> "/" + source.relativize(file).toString()
+                                .replace('\\', '/'))
+                        .filter(path -> path.matches("/players/[A-Z]/[^/]+\\.htm"))
+                        .sorted().collect(Collectors.toList());
+            }
+        }
+
+        try (ZipFile archive = new ZipFile(source.toFile())) {
+            return archive.stream().map(entry -> "/" + entry.getName())
+                    .filter(path -> path.matches("/players/[A-Z]/[^/]+\\.htm"))
+                    .sorted().collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Generates quarterback profile pages with a passing table of several
+     * seasons each.
+     */
+    private Path writeSyntheticPages() throws IOException {
+        Path root = tempDir.resolve("pages");
+        Path players = Files.createDirectories(root.resolve("players/P"));
+
+        for (int i = 0; i < SYNTHETIC_PLAYERS; i++) {
+            StringBuilder page = new StringBuilder("<html><body>")
+                    .append("<div itemscope itemtype=\"https://schema.org/Person\">")
+                    .append("<h1 itemprop=\"name\">Pat Player").append(i).append("</h1>")
+                    .append("<p><strong>Pat Player").append(i).append("</strong></p>")
+                    .append("<p><strong>Position</strong>: QB</p></div>")
+                    .append("<table class=\"per_match_toggle sortable stats_table\" ")
+                    .append("id=\"passing\"><thead><tr><th data-stat=\"year_id\">Year</th>")
+                    .append("<th data-stat=\"age\">Age</th><th data-stat=\"team\">Tm</th>")
+                    .append("<th data-stat=\"pos\">Pos</th><th data-stat=\"g\">G</th>")
+                    .append("<th data-stat=\"pass_att\">Att</th>")
+                    .append("<th data-stat=\"pass_yds\">Yds</th></tr></thead><tbody>");
+            for (int season = 0; season < SYNTHETIC_SEASONS; season++) {
+                page.append("<tr><th data-stat=\"year_id\">").append(2000 + season)
+                        .append("</th><td data-stat=\"age\">").append(22 + season)
+                        .append("</td><td data-stat=\"team\">GNB</td>")
+                        .append("<td data-stat=\"pos\">QB</td><td data-stat=\"g\">16</td>")
+                        .append("<td data-stat=\"pass_att\">").append(400 + season)
+                        .append("</td><td data-stat=\"pass_yds\">").append(3000 + i + season)
+                        .append("</td></tr>");
+            }
+            page.append("</tbody></table></body></html>");
+            Files.writeString(players.resolve(String.format("PlayPa%03d.htm", i)),
+                    page.toString());
+        }
+
+        return root;
+    }
+}
@@ -0,0 +1,94 @@
+package com.rosterreview.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.gargoylesoftware.htmlunit.WebClient;
+import com.rosterreview.service.PfrDataParsingService;
+import com.rosterreview.utils.WebScrapingUtils;
+
+/**
+ * JUnit tests for the incremental update planning of the
+ * {@link DataUpdateScheduler}.
+ */
+public class DataUpdateSchedulerTest {
+
+    private static final String INDEX_URL = PfrDataParsingService.DEFAULT_PFR_URL + "/players/B/";
+
+    private static final String INDEX_PAGE = "<html><body><div id=\"div_players\">"
+            + "<p><b><a href=\"/players/B/BradTo00.htm\">Tom Brady</a></b> (QB) 2000-2022</p>"
+            + "<p><a href=\"/players/B/BradTe00.htm\">Terry Bradshaw</a> (QB) 1970-1983</p>"
+            + "<p><a href=\"/players/B/BreeDr00.htm\">Drew Brees</a> (QB) 2001-2020</p>"
+            + "<p><a href=\"/players/B/BradSa00.htm\">Sam Bradford</a> (QB) 2010-2018</p>"
+            + "<p><a href=\"/players/B/BrowJi00.htm\">Jim Brown</a> (RB) 1957-1965</p>"
+            + "<p><b><a href=\"/players/B/BurrJo01.htm\">Joe Burrow</a></b> (QB) 2020-2022</p>"
+            + "<p><a href=\"/players/B/BrowAn04.htm\">Antonio Brown</a> (WR) 2010-2021</p>"
+            + "<p><b><a href=\"/players/B/BrowMa99.htm\">Marcus Brown</a></b></p>"
+            + "<p><a href=\"/players/B/BrowMa98.htm\">Mark Brown</a></p>"
+            + "</div><div><a href=\"/players/B/Outside00.htm\">Not listed</a></div>"
+            + "</body></html>";
+
+    @Test
+    public void testParsePlayerIndex() throws Exception {
+        List<PlayerIndexEntry> entries = parseIndex();
+
+        assertEquals(9, entries.size());
+        PlayerIndexEntry brady = entries.get(0);
+        assertEquals(url("BradTo00"), brady.getUrl());
+        assertEquals("BradTo00", brady.getPfrId());
+        assertTrue(brady.isActive());
+        assertEquals(2000, brady.getFirstYear());
+        assertEquals(2022, brady.getLastYear());
+
+        PlayerIndexEntry bradshaw = entries.get(1);
+        assertFalse(bradshaw.isActive());
+        assertEquals(1983, bradshaw.getLastYear());
+
+        PlayerIndexEntry unlisted = entries.get(7);
+        assertTrue(unlisted.isActive());
+        assertNull(unlisted.getFirstYear());
+        assertNull(unlisted.getLastYear());
+    }
+
+    @Test
+    public void testPlanIncrementalUpdate() throws Exception {
+        Map<String, Integer> latestSeasons = new HashMap<>();
+        latestSeasons.put("BradTo00", 2021);  // active and one season behind
+        latestSeasons.put("BradTe00", 1983);  // retired and up to date
+        latestSeasons.put("BreeDr00", 2018);  // retired with missing seasons
+        latestSeasons.put("BradSa00", null);  // persisted without statistics
+        latestSeasons.put("BrowAn04", 2021);  // retired last year and up to date
+
+        Map<String, Integer> urlPriorities = DataUpdateScheduler.planIncrementalUpdate(
+                parseIndex(), latestSeasons, 2022);
+
+        Map<String, Integer> expected = new LinkedHashMap<>();
+        expected.put(url("BradTo00"), 1);
+        expected.put(url("BreeDr00"), 2);
+        expected.put(url("BradSa00"), 9);
+        expected.put(url("BurrJo01"), 3);   // active and never persisted
+        expected.put(url("BrowAn04"), 0);
+        expected.put(url("BrowMa99"), 0);   // active without a listed career
+        assertEquals(expected, urlPriorities);
+    }
+
+    private List<PlayerIndexEntry> parseIndex() throws Exception {
+        try (WebClient webClient = WebScrapingUtils.getConfiguredWebClient(false)) {
+            return new PfrDataParsingService().parsePlayerIndex(
+                    WebScrapingUtils.parseHtmlPage(webClient, INDEX_URL, INDEX_PAGE));
+        }
+    }
+
+    private String url(String pfrId) {
+        return PfrDataParsingService.DEFAULT_PFR_URL + "/players/B/" + pfrId + ".htm";
+    }
+}
@@ -0,0 +1,80 @@
+package com.rosterreview.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import com.rosterreview.utils.WebScrapingUtils;
+
+/**
+ * JUnit tests for the streamed content of a {@link FetchedPage}.
+ */
+public class FetchedPageTest {
+
+    private static final String URL =
+            "https://www.pro-football-reference.com/players/R/RodgAa00.htm";
+
+    private static final String CONTENT = "<html><div id=\"meta\">Aaron Rodgers</div>"
+            + "<script>track();</script><table class=\"stats_table\" id=\"passing\">"
+            + "<tr><td>2020</td></tr></table>\u00E9</html>";
+
+    @Test
+    public void testStreamedContentReader() throws IOException {
+        try (FetchedPage page = streamedPage()) {
+            assertFalse(page.isBuffered());
+            assertEquals(CONTENT, readAll(page.openContentReader("stats_table")));
+            assertEquals(WebScrapingUtils.hashNormalizedContent(CONTENT),
+                    page.getContentHash());
+            assertThrows(IllegalStateException.class, page::openContentReader);
+            assertThrows(IllegalStateException.class, page::getContent);
+        }
+    }
+
+    @Test
+    public void testContentHashWithoutReading() throws IOException {
+        try (FetchedPage page = streamedPage()) {
+            assertEquals(WebScrapingUtils.hashNormalizedContent(CONTENT),
+                    page.getContentHash());
+            assertTrue(page.isBuffered());
+            assertEquals(CONTENT, page.getContent());
+        }
+    }
+
+    @Test
+    public void testBufferedStreamedContent() throws IOException {
+        try (FetchedPage page = streamedPage()) {
+            assertEquals(CONTENT, page.getContent());
+            assertTrue(page.isBuffered());
+            assertEquals(CONTENT, readAll(page.openContentReader()));
+            assertEquals(CONTENT, readAll(page.openContentReader()));
+            assertEquals(WebScrapingUtils.hashNormalizedContent(CONTENT),
+                    page.getContentHash());
+        }
+    }
+
+    private FetchedPage streamedPage() {
+        return new FetchedPage(URL, 200,
+                new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.UTF_8)),
+                StandardCharsets.UTF_8, Collections.emptyMap(), null);
+    }
+
+    private String readAll(Reader reader) throws IOException {
+        StringBuilder content = new StringBuilder();
+        char[] buffer = new char[7];
+        int read;
+        while ((read = reader.read(buffer, 0, buffer.length)) != -1) {
+            content.append(buffer, 0, read);
+        }
+
+        return content.toString();
+    }
+}
@@ -0,0 +1,190 @@
+package com.rosterreview.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import com.rosterreview.dao.PlayerSeasonBatchWriter;
+import com.rosterreview.dao.PlayerSeasonBatchWriter.WriteCallback;
+import com.rosterreview.dao.StubDataSource;
+import com.rosterreview.entity.Player;
+import com.rosterreview.entity.PlayerSeason;
+import com.rosterreview.service.PfrDataParsingService;
+import com.rosterreview.service.PlayerService;
+
+/**
+ * JUnit tests for the {@link IngestPipeline}. Statistics are queued with a
+ * {@link PlayerSeasonBatchWriter} whose batch is never filled, so each run
+ * relies on the pipeline to flush them.
+ */
+@Timeout(30)
+public class IngestPipelineTest {
+
+    private static final String PLAYERS_URL = "https://www.pro-football-reference.com/players/";
+
+    private final StubDataSource stub = new StubDataSource(statement -> false);
+
+    private final PlayerSeasonBatchWriter statisticsWriter = stub.newWriter();
+
+    private final PlayerService playerService = new PlayerService() {
+
+        @Override
+        public Player getPlayerPageVersion(String pfrId) {
+            // A player first saved by a refresh while the pipeline ran
+            return pfrId.startsWith("Refr") ? new Player("id-" + pfrId) : null;
+        }
+
+        @Override
+        public void savePlayer(Player detached, PlayerSeasonBatchWriter writer,
+                WriteCallback callback) {
+            if (detached.getId().startsWith("Fail")) {
+                throw new IllegalStateException("Unable to save " + detached.getId());
+            }
+            writer.enqueueAfterCommit(detached.getId(), detached.getPfrContentHash(),
+                    detached.getStatistics(), callback);
+        }
+    };
+
+    @Test
+    public void testRunCheckpointsEveryPage() throws Exception {
+        List<String> urls = urls("SaveAa00", "SkipBb00", "FailCc00", "SaveDd00", "RefrEe00");
+        MemoryCrawlFrontier frontier = new MemoryCrawlFrontier(urls);
+
+        newPipeline(frontier, new CountDownLatch(0), null, 2).run(Collections.emptyMap());
+
+        assertEquals(new HashSet<>(urls(urls, 0, 1, 3, 4)),
+                new HashSet<>(frontier.getCompleted()));
+        assertEquals(urls(urls, 2), frontier.getFailed());
+        assertEquals(Collections.emptySet(), frontier.getClaimed());
+        assertEquals(Collections.emptyList(), frontier.getReleased());
+        assertEquals(2, stub.getCommitted("UPDATE player SET pfr_content_hash = ?").size());
+    }
+
+    @Test
+    public void testRunRetriesFailedCheckpoints() throws Exception {
+        List<String> urls = urls("SaveAa00", "SaveBb00", "SaveCc00");
+        MemoryCrawlFrontier frontier = new MemoryCrawlFrontier(urls);
+        frontier.failCheckpoints(2);
+
+        newPipeline(frontier, new CountDownLatch(0), null, 1).run(Collections.emptyMap());
+
+        assertEquals(new HashSet<>(urls), new HashSet<>(frontier.getCompleted()));
+        assertEquals(Collections.emptySet(), frontier.getClaimed());
+    }
+
+    @Test
+    public void testStopReleasesUnstartedPages() throws Exception {
+        List<String> urls = urls("SaveAa00", "SaveBb00", "SaveCc00", "SaveDd00", "SaveEe00",
+                "SaveFf00");
+        MemoryCrawlFrontier frontier = new MemoryCrawlFrontier(urls);
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        IngestPipeline pipeline = newPipeline(frontier, proceed, fetching, 2);
+
+        Thread runner = new Thread(() -> {
+            try {
+                pipeline.run(Collections.emptyMap());
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        runner.start();
+        assertTrue(fetching.await(10, TimeUnit.SECONDS));
+        pipeline.stop();
+        proceed.countDown();
+        assertTrue(pipeline.awaitTermination(TimeUnit.SECONDS.toMillis(10)));
+        runner.join();
+
+        // As in a crawl, statistics still queued are written once the run returns
+        statisticsWriter.flush();
+        pipeline.flushCheckpoints();
+
+        List<String> completed = frontier.getCompleted();
+        List<String> released = frontier.getReleased();
+        assertTrue(completed.contains(urls.get(0)));
+        assertFalse(released.isEmpty());
+        assertTrue(Collections.disjoint(completed, released));
+        assertEquals(Collections.emptySet(), frontier.getClaimed());
+        assertTrue(frontier.hasPendingPages());
+    }
+
+    /**
+     * Creates a pipeline with one fetch thread whose pages are retrieved from
+     * memory. Players whose PFR id begins with "Skip" are found to be
+     * unchanged, those whose id begins with "Fail" cannot be saved, and those
+     * whose id begins with "Refr" are saved by a refresh during the run.
+     *
+     * @param frontier             the frontier pages are claimed from
+     * @param proceed              awaited before each page is retrieved
+     * @param fetching             counted down as each page is retrieved; may
+     *                             be <code>null</code>
+     * @param checkpointBatchSize  the number of pages checkpointed at a time
+     */
+    private IngestPipeline newPipeline(MemoryCrawlFrontier frontier, CountDownLatch proceed,
+            CountDownLatch fetching, int checkpointBatchSize) {
+
+        PfrDataParsingService parsingService = new PfrDataParsingService() {
+
+            @Override
+            public FetchedPage fetchPlayerPage(String playerUrl, Player player)
+                    throws InterruptedException {
+                if (fetching != null) {
+                    fetching.countDown();
+                }
+                proceed.await();
+                return new FetchedPage(playerUrl, 200, "<html></html>",
+                        Collections.emptyMap(), null);
+            }
+
+            @Override
+            public Player parsePlayerPage(FetchedPage fetchedPage, Player knownPlayer) {
+                String pfrId = PfrDataParsingService.getPfrId(fetchedPage.getUrl());
+                return pfrId.startsWith("Skip") ? null : newPlayer(pfrId);
+            }
+        };
+
+        return new IngestPipeline(parsingService, playerService, frontier, statisticsWriter,
+                new CrawlSettings(1, 1, 1, 2, checkpointBatchSize), 0L);
+    }
+
+    private static Player newPlayer(String pfrId) {
+        PlayerSeason season = new PlayerSeason();
+        season.setPlayerId(pfrId);
+        season.setFranchiseId("gnb");
+        season.setSeason(2020);
+        season.setSeasonType(PlayerSeason.SeasonType.REGULAR);
+
+        Player player = new Player(pfrId);
+        player.setPfrContentHash("hash-" + pfrId);
+        player.setStatistics(new ArrayList<>(Collections.singletonList(season)));
+
+        return player;
+    }
+
+    private static List<String> urls(String... pfrIds) {
+        List<String> urls = new ArrayList<>();
+        for (String pfrId : pfrIds) {
+            urls.add(PLAYERS_URL + pfrId.charAt(0) + "/" + pfrId + ".htm");
+        }
+
+        return urls;
+    }
+
+    private static List<String> urls(List<String> urls, int... indexes) {
+        List<String> selected = new ArrayList<>();
+        Arrays.stream(indexes).forEach(index -> selected.add(urls.get(index)));
+
+        return selected;
+    }
+}
@@ -0,0 +1,364 @@
+package com.rosterreview.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.rosterreview.entity.PlayerPosition;
+import com.rosterreview.entity.PlayerSeason;
+import com.rosterreview.entity.Position;
+
+/**
+ * The <code>EnumMap</code> based position inference that the
+ * {@link PositionInferenceEngine} replaced, kept as the reference its results
+ * and performance are compared against.
+ */
+final class LegacyPositionInference {
+
+    private LegacyPositionInference() {}
+
+    /**
+     * Updates each {@link PlayerSeason} in a player's career with a primary
+     * {@link Position}.
+     * <p>
+     * Positions are determined by examining:
+     * <ul>
+     * <li>positions associated with the player's profile</li>
+     * <li>positions associated with all seasons in the players career</li>
+     * <li>the player's statistics</li>
+     * <li>the player's jersey number</li>
+     * </ul>
+     *
+     * @param seasonPositions  a map of the years in which a player played to a
+     *                         list of the positions they played that year
+     * @param careerPositions  the positions associated with a player's profile
+     * @param statistics       a player's seasonal statistics
+     */
+    static void calculateSeasonPositions(Map<Integer, List<Position>> seasonPositions,
+            Set<PlayerPosition> careerPositions, List<PlayerSeason> statistics) {
+
+        // Set the position to associate with each season.
+        for (PlayerSeason season : statistics) {
+            List<Position> positions = seasonPositions.get(season.getSeason());
+            /*
+             * If only one position is associated with this season choose it.
+             * Prefer not to select PR or KR however
+             */
+            if (positions.size() == 1 && !(positions.get(0).equals(Position.KR) ||
+                positions.get(0).equals(Position.PR))) {
+                season.setPosition(positions.get(0));
+            } else {
+                /*
+                 * Create a list of all of the season positions across all
+                 * years (include duplicates)
+                 */
+                List<Position> allPositions = seasonPositions.values().stream()
+                        .flatMap(List::stream).collect(Collectors.toList());
+                /*
+                 * Use career positions, and all season positions to deduce what
+                 * position should be associated with this season.
+                 */
+                season.setPosition(consolidate(positions, careerPositions,
+                        allPositions, season));
+            }
+        }
+    }
+
+    /**
+     * Calculates a single {@link Position} that best describes a player's
+     * role during the indicated {@link PlayerSeason}.
+     * <p>
+     * The position is determined by examining:
+     * <ul>
+     * <li>positions associated with the player's profile</li>
+     * <li>positions associated with all seasons in the players career</li>
+     * <li>the player's statistics</li>
+     * <li>the player's jersey number</li>
+     * </ul>
+     *
+     * @param seasonPositions  the positions associated with the season argument
+     * @param careerPositions  the positions associated with the player's profile
+     * @param allPositions     the positions associated with seasons from the
+     *                         player's entire career
+     * @param season           the season for which a position is being calculated
+     * @return                 a position
+     */
+    private static Position consolidate(List<Position> seasonPositions,
+            Set<PlayerPosition> careerPositions,List<Position> allPositions,
+            PlayerSeason season) {
+
+        // Assign weightings to each position associated with the season
+        Map<Position, Double> positionWeightings = new EnumMap<>(Position.class);
+        calculatePositionWeightings(seasonPositions, positionWeightings, 1.0, 0.9, 0.8);
+
+        /*
+         * Sort the current position weightings largest to smallest (need to
+         * determine largest two)
+         */
+        ArrayList<Double> weightingValues = new ArrayList<>(positionWeightings.values());
+        Collections.sort(weightingValues, Collections.reverseOrder());
+
+        /*
+         * If any of the following are true, we need to consider career
+         * positions and positions associated with other seasons to decide what
+         * position should be associated with this season.
+         *
+         * 1.) There are no positions associated with this season
+         * 2.) There is one position associated with this season, but it is
+         *     either KR or PR
+         * 3.) There are two or more positions associated with this season, but
+         *     there is a tie for the highest weighted position.
+         */
+        if ((seasonPositions.size() < 2) || (weightingValues.size() > 1 &&
+                weightingValues.get(0).equals(weightingValues.get(1)))) {
+            List<Position> careerPosList = careerPositions.stream()
+                    .map(PlayerPosition::getPosition)
+                    .collect(Collectors.toList());
+            calculatePositionWeightings(careerPosList, positionWeightings, 0.5, 0.4, 0.3);
+            calculatePositionWeightings(allPositions, positionWeightings, 0.1, 0.05, 0.025);
+        }
+
+        /*
+         * Also consider the player's statistics and jersey number for
+         * calculating the season position
+         */
+        calculateStatisticAndJerseyNumberWeightings(season, positionWeightings);
+
+        // Identify the position with the highest calculated weighting and return it
+        Entry<Position, Double> maxEntry = Collections.max(positionWeightings.entrySet(),
+                (Entry<Position, Double> e1, Entry<Position, Double> e2) -> e1.getValue()
+                .compareTo(e2.getValue()));
+
+        return maxEntry.getKey();
+    }
+
+    /**
+     * Calculates weightings for each {@link Position} associated with a
+     * player's season. Positions specified by PFR receive the primary weighting.
+     * If the PFR position is a specific position, include it's generic with a
+     * lesser weighting.
+     * <p>
+     * Example: The position {@link Position#FS} is a specific position and would
+     * be assigned a primary weighting.  The first level generic for this position
+     * would be {@link Position#S} which would recieve a secondaryweighting. This
+     * position also has a second level generic {@link Position#DB} which would
+     * recieve a tertiary weighting.
+     *
+     * @param seasonPositions     the positions associated with a given season
+     * @param positionWeightings  a mapping of positions to their weightings
+     * @param primaryWeighting    the weighting to be assigned to the original PFR
+     *                            positions
+     * @param secondaryWeighting  the weighting to be applied to first-level generic
+     *                            forms of specific positions
+     * @param tertiaryWeighting   the weighting to be applied to second-level generic
+     *                            forms of specific positions
+     */
+    private static void calculatePositionWeightings(List<Position> seasonPositions,
+            Map<Position, Double> positionWeightings, double primaryWeighting,
+            double secondaryWeighting, double tertiaryWeighting) {
+
+        for (Position pos : seasonPositions) {
+            /*
+             * Assign a primary weighting for positions that were listed for the
+             * given season
+             */
+            Double primaryVal = positionWeightings.getOrDefault(pos, 0.0);
+            if (pos.equals(Position.KR) || pos.equals(Position.PR)) {
+                /*
+                 * Assign a lower weighting for KR and PR, as these should
+                 * be deemphasized.
+                 */
+                positionWeightings.put(pos, primaryVal + 0.1);
+            } else {
+                positionWeightings.put(pos, primaryVal + primaryWeighting);
+            }
+
+            /*
+             * If position is a specific position, apply a secondary or tertiary
+             * weighting for the positions more generic counterparts.
+             */
+            switch (pos) {
+                case HB:
+                case FB:
+                    Double rbVal = positionWeightings.getOrDefault(Position.RB, 0.0);
+                    positionWeightings.put(Position.RB, rbVal + secondaryWeighting);
+                    break;
+                case T:
+                case G:
+                case C:
+                    Double olVal = positionWeightings.getOrDefault(Position.OL, 0.0);
+                    positionWeightings.put(Position.OL, olVal + secondaryWeighting);
+                    break;
+                case DE:
+                case DT:
+                case NT:
+                    Double dlVal = positionWeightings.getOrDefault(Position.DL, 0.0);
+                    positionWeightings.put(Position.DL, dlVal + secondaryWeighting);
+                    break;
+                case OLB:
+                case ILB:
+                case MLB:
+                    Double lbVal = positionWeightings.getOrDefault(Position.LB, 0.0);
+                    positionWeightings.put(Position.LB, lbVal + secondaryWeighting);
+                    break;
+                case FS:
+                case SS:
+                    Double sVal = positionWeightings.getOrDefault(Position.S, 0.0);
+                    positionWeightings.put(Position.S, sVal + secondaryWeighting);
+
+                    Double dbVal = positionWeightings.getOrDefault(Position.DB, 0.0);
+                    positionWeightings.put(Position.DB, dbVal + tertiaryWeighting);
+                    break;
+                case S:
+                    Double dbVal2 = positionWeightings.getOrDefault(Position.DB, 0.0);
+                    positionWeightings.put(Position.DB, dbVal2 + secondaryWeighting);
+                    break;
+                case CB:
+                    Double dbVal3 = positionWeightings.getOrDefault(Position.DB, 0.0);
+                    positionWeightings.put(Position.DB, dbVal3 + secondaryWeighting);
+                    break;
+                default: // do nothing
+            }
+        }
+    }
+
+    /**
+     * Updates {@link Position} weightings based upon the statistics and jersey
+     * number stored within the indicated {@link PlayerSeason}.
+     *
+     * @param season      the player's season statistics
+     * @param weightings  a mapping of positions associated with a player's season
+     *                    to their weightings
+     */
+    private static void calculateStatisticAndJerseyNumberWeightings(PlayerSeason season,
+            Map<Position, Double> weightings) {
+
+        Integer passAtt = season.getPassAtt();
+        Integer jerseyNum = season.getJerseyNumber();
+        Integer rushAtt = season.getRushAtt();
+        Integer rec = season.getReceptions();
+        double jerseyVal;
+
+        /*
+         *  Any player with 20 or more pass attempts in a season should be regarded
+         *  as a QB
+         */
+        if (passAtt >= 20) {
+            weightings.put(Position.QB, Double.MAX_VALUE);
+            return;
+        }
+        if (weightings.get(Position.QB) != null) {
+            jerseyVal = jerseyNum < 20 ? 0.1 : 0;
+            weightings.put(Position.QB, weightings.get(Position.QB) + jerseyVal +
+                    (passAtt * 0.01));
+        }
+        if (weightings.get(Position.HB) != null) {
+            jerseyVal = jerseyNum >= 20 && jerseyNum < 50 ? 0.1 : 0;
+            weightings.put(Position.HB, weightings.get(Position.HB) + jerseyVal +
+                    (rushAtt * 0.01) + (rec * 0.005));
+        }
+        if (weightings.get(Position.FB) != null) {
+            jerseyVal = jerseyNum >= 20 && jerseyNum < 50 ? 0.1 : 0;
+            weightings.put(Position.FB, weightings.get(Position.FB) + jerseyVal +
+                    (rushAtt * 0.01) + (rec * 0.005));
+        }
+        if (weightings.get(Position.RB) != null) {
+            jerseyVal = jerseyNum >= 20 && jerseyNum < 50 ? 0.1 : 0;
+            weightings.put(Position.RB, weightings.get(Position.RB) + jerseyVal +
+                    (rushAtt * 0.01) + (rec * 0.005));
+        }
+        if (weightings.get(Position.WR) != null) {
+            jerseyVal = (jerseyNum >= 80 && jerseyNum < 90) ||
+                    (jerseyNum >= 10 && jerseyNum < 20) ? 0.1 : 0;
+            weightings.put(Position.WR, weightings.get(Position.WR)
+                    + jerseyVal + (rec * 0.01));
+        }
+        if (weightings.get(Position.TE) != null) {
+            jerseyVal = (jerseyNum >= 80 && jerseyNum < 90) ||
+                    (jerseyNum >= 40 && jerseyNum < 50) ? 0.1 : 0;
+            weightings.put(Position.TE, weightings.get(Position.TE)
+                    + jerseyVal + (rec * 0.01));
+        }
+        if (weightings.get(Position.OL) != null) {
+            jerseyVal = jerseyNum >= 50 && jerseyNum < 80 ? 0.1 : 0;
+            weightings.put(Position.OL, weightings.get(Position.OL) + jerseyVal);
+        }
+        if (weightings.get(Position.T) != null) {
+            jerseyVal = jerseyNum >= 50 && jerseyNum < 80 ? 0.1 : 0;
+            weightings.put(Position.T, weightings.get(Position.T) + jerseyVal);
+        }
+        if (weightings.get(Position.G) != null) {
+            jerseyVal = jerseyNum >= 50 && jerseyNum < 80 ? 0.1 : 0;
+            weightings.put(Position.G, weightings.get(Position.G) + jerseyVal);
+        }
+        if (weightings.get(Position.C) != null) {
+            jerseyVal = jerseyNum >= 50 && jerseyNum < 80 ? 0.1 : 0;
+            weightings.put(Position.C, weightings.get(Position.C) + jerseyVal);
+        }
+        if (weightings.get(Position.DL) != null) {
+            jerseyVal = (jerseyNum >= 50 && jerseyNum < 60) ||
+                    (jerseyNum >= 70 && jerseyNum < 80) || (jerseyNum >= 90) ? 0.1 : 0;
+            weightings.put(Position.DL, weightings.get(Position.DL) + jerseyVal);
+        }
+        if (weightings.get(Position.DE) != null) {
+            jerseyVal = (jerseyNum >= 50 && jerseyNum < 60) ||
+                    (jerseyNum >= 70 && jerseyNum < 80) || (jerseyNum >= 90) ? 0.1 : 0;
+            weightings.put(Position.DE, weightings.get(Position.DE) + jerseyVal);
+        }
+        if (weightings.get(Position.DT) != null) {
+            jerseyVal = (jerseyNum >= 70 && jerseyNum < 80) ||
+                    (jerseyNum >= 90) ? 0.1 : 0;
+            weightings.put(Position.DT, weightings.get(Position.DT) + jerseyVal);
+        }
+        if (weightings.get(Position.NT) != null) {
+            jerseyVal = (jerseyNum >= 70 && jerseyNum < 80) ||
+                    (jerseyNum >= 90) ? 0.1 : 0;
+            weightings.put(Position.NT, weightings.get(Position.NT) + jerseyVal);
+        }
+        if (weightings.get(Position.LB) != null) {
+            jerseyVal = (jerseyNum >= 40 && jerseyNum < 60) ||
+                    (jerseyNum >= 90) ? 0.1 : 0;
+            weightings.put(Position.LB, weightings.get(Position.LB) + jerseyVal);
+        }
+        if (weightings.get(Position.ILB) != null) {
+            jerseyVal = (jerseyNum >= 40 && jerseyNum < 60) ||
+                    (jerseyNum >= 90) ? 0.1 : 0;
+            weightings.put(Position.ILB, weightings.get(Position.ILB) + jerseyVal);
+        }
+        if (weightings.get(Position.MLB) != null) {
+            jerseyVal = (jerseyNum >= 40 && jerseyNum < 60) ||
+                    (jerseyNum >= 90) ? 0.1 : 0;
+            weightings.put(Position.MLB, weightings.get(Position.MLB) + jerseyVal);
+        }
+        if (weightings.get(Position.OLB) != null) {
+            jerseyVal = (jerseyNum >= 40 && jerseyNum < 60) ||
+                    (jerseyNum >= 90) ? 0.1 : 0;
+            weightings.put(Position.OLB, weightings.get(Position.OLB) + jerseyVal);
+        }
+        if (weightings.get(Position.DB) != null) {
+            jerseyVal = (jerseyNum >= 20 && jerseyNum < 50) ? 0.1 : 0;
+            weightings.put(Position.DB, weightings.get(Position.DB) + jerseyVal);
+        }
+        if (weightings.get(Position.CB) != null) {
+            jerseyVal = (jerseyNum >= 20 && jerseyNum < 50) ? 0.1 : 0;
+            weightings.put(Position.CB, weightings.get(Position.CB) + jerseyVal);
+        }
+        if (weightings.get(Position.S) != null) {
+            jerseyVal = (jerseyNum >= 20 && jerseyNum < 50) ? 0.1 : 0;
+            weightings.put(Position.S, weightings.get(Position.S) + jerseyVal);
+        }
+        if (weightings.get(Position.FS) != null) {
+            jerseyVal = (jerseyNum >= 20 && jerseyNum < 50) ? 0.1 : 0;
+            weightings.put(Position.FS, weightings.get(Position.FS) + jerseyVal);
+        }
+        if (weightings.get(Position.SS) != null) {
+            jerseyVal = (jerseyNum >= 20 && jerseyNum < 50) ? 0.1 : 0;
+            weightings.put(Position.SS, weightings.get(Position.SS) + jerseyVal);
+        }
+    }
+}
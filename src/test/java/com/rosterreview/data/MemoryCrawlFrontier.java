@@ -0,0 +1,149 @@
+package com.rosterreview.data;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.rosterreview.entity.CrawlFrontierEntry.State;
+import com.rosterreview.service.CrawlFrontierService;
+
+/**
+ * A crawl frontier held in memory for tests of the {@link IngestPipeline}.
+ * Pages are claimed in the order they were added, and failed pages are not
+ * retried. Checkpoints of completed pages may be made to fail to simulate an
+ * unavailable database.
+ */
+class MemoryCrawlFrontier extends CrawlFrontierService {
+
+    private final Deque<String> pending;
+
+    private final Set<String> claimed = new HashSet<>();
+
+    private final List<String> completed = new ArrayList<>();
+
+    private final List<String> failed = new ArrayList<>();
+
+    private final List<String> released = new ArrayList<>();
+
+    private int checkpointFailures;
+
+    /**
+     * A constructor for {@link MemoryCrawlFrontier}.
+     *
+     * @param urls  the URLs of the pages to crawl, in claim order
+     */
+    MemoryCrawlFrontier(Collection<String> urls) {
+        this.pending = new ArrayDeque<>(urls);
+    }
+
+    /**
+     * Causes the next checkpoints of completed pages to fail.
+     *
+     * @param count  the number of checkpoints that fail
+     */
+    synchronized void failCheckpoints(int count) {
+        checkpointFailures = count;
+    }
+
+    /**
+     * @return  the pages that have been claimed and not yet checkpointed or
+     *          released
+     */
+    synchronized Set<String> getClaimed() {
+        return new HashSet<>(claimed);
+    }
+
+    /**
+     * @return  the pages checkpointed as complete, in checkpoint order
+     */
+    synchronized List<String> getCompleted() {
+        return new ArrayList<>(completed);
+    }
+
+    /**
+     * @return  the pages checkpointed as failed, in checkpoint order
+     */
+    synchronized List<String> getFailed() {
+        return new ArrayList<>(failed);
+    }
+
+    /**
+     * @return  the pages that have been released, in release order
+     */
+    synchronized List<String> getReleased() {
+        return new ArrayList<>(released);
+    }
+
+    @Override
+    public synchronized boolean isUpdateInProgress() {
+        return !pending.isEmpty() || !claimed.isEmpty();
+    }
+
+    @Override
+    public synchronized boolean hasPendingPages() {
+        return !pending.isEmpty();
+    }
+
+    @Override
+    public synchronized List<String> claim(int limit) {
+        List<String> urls = new ArrayList<>();
+        while (urls.size() < limit && !pending.isEmpty()) {
+            urls.add(pending.poll());
+        }
+        claimed.addAll(urls);
+
+        return urls;
+    }
+
+    @Override
+    public synchronized void release(Collection<String> urls) {
+        for (String url : urls) {
+            if (claimed.remove(url)) {
+                released.add(url);
+                pending.addFirst(url);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void complete(String url) {
+        complete(List.of(url));
+    }
+
+    @Override
+    public synchronized void complete(Collection<String> urls) {
+        if (checkpointFailures > 0) {
+            checkpointFailures--;
+            throw new IllegalStateException("Checkpoint failed");
+        }
+        for (String url : urls) {
+            if (claimed.remove(url)) {
+                completed.add(url);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void fail(String url, Throwable ex) {
+        if (claimed.remove(url)) {
+            failed.add(url);
+        }
+    }
+
+    @Override
+    public synchronized Map<State, Long> getStateCounts() {
+        Map<State, Long> counts = new EnumMap<>(State.class);
+        counts.put(State.PENDING, (long) pending.size());
+        counts.put(State.CLAIMED, (long) claimed.size());
+        counts.put(State.COMPLETE, (long) completed.size());
+        counts.put(State.FAILED, (long) failed.size());
+
+        return counts;
+    }
+}
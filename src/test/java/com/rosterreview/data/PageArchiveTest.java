@@ -0,0 +1,139 @@
+package com.rosterreview.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.rosterreview.data.PageArchive.PageLocation;
+
+/**
+ * JUnit tests for the {@link PageArchive}.
+ */
+public class PageArchiveTest {
+
+    private static final String URL = "https://www.pro-football-reference.com/players/";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testAppendAndRead() throws IOException {
+        // Every record starts a new segment
+        PageArchive archive = newArchive(1);
+        archive.append(page("A/AaaaAa00.htm", "<html>first \u00E9</html>", "\"a1\""));
+        archive.append(page("B/BbbbBb00.htm", "<html>second</html>", null));
+        archive.append(new FetchedPage(URL + "C/CcccCc00.htm", 404, "",
+                Collections.emptyMap(), null));
+        archive.destroy();
+
+        // A reopened archive appends to its last segment's successor
+        archive = newArchive(1);
+        archive.append(page("A/AaaaAa00.htm", "<html>updated</html>", "\"a2\""));
+        archive.destroy();
+
+        assertEquals(Arrays.asList("pages-000001.idx", "pages-000001.seg",
+                "pages-000002.idx", "pages-000002.seg", "pages-000003.idx",
+                "pages-000003.seg"), listFiles());
+
+        Map<String, PageLocation> locations = newArchive(1).readIndex();
+        assertEquals(Arrays.asList(URL + "A/AaaaAa00.htm", URL + "B/BbbbBb00.htm"),
+                new ArrayList<>(locations.keySet()));
+        assertEquals(tempDir.resolve("pages-000003.seg"),
+                locations.get(URL + "A/AaaaAa00.htm").getSegment());
+
+        FetchedPage first = read(locations.get(URL + "A/AaaaAa00.htm"));
+        assertEquals(URL + "A/AaaaAa00.htm", first.getUrl());
+        assertEquals("<html>updated</html>", first.getContent());
+        assertEquals("\"a2\"", first.getHeader("etag"));
+
+        FetchedPage second = read(locations.get(URL + "B/BbbbBb00.htm"));
+        assertEquals("<html>second</html>", second.getContent());
+        assertNull(second.getHeader("ETag"));
+    }
+
+    @Test
+    public void testTruncatedTailRecovery() throws IOException {
+        PageArchive archive = newArchive(1 << 20);
+        archive.append(page("A/AaaaAa00.htm", "<html>first</html>", null));
+        archive.append(page("B/BbbbBb00.htm", "<html>second</html>", null));
+        archive.destroy();
+
+        // A crash cut off the last record and left an incomplete index line
+        Path segmentFile = tempDir.resolve("pages-000001.seg");
+        Path indexFile = tempDir.resolve("pages-000001.idx");
+        PageLocation truncated = newArchive(1 << 20).readIndex().get(URL + "B/BbbbBb00.htm");
+        try (FileChannel channel = FileChannel.open(segmentFile, StandardOpenOption.WRITE)) {
+            channel.truncate(truncated.getOffset() + 5);
+        }
+        Files.write(indexFile, "999\t1".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        archive = newArchive(1 << 20);
+        assertEquals(Collections.singleton(URL + "A/AaaaAa00.htm"),
+                archive.readIndex().keySet());
+
+        // The record appended in the truncated record's place is not described by its entry
+        StringBuilder content = new StringBuilder("<html>");
+        for (int i = 0; i < 200; i++) {
+            content.append(i).append(' ');
+        }
+        archive.append(page("C/CcccCc00.htm", content + "</html>", null));
+        archive.destroy();
+
+        Map<String, PageLocation> locations = newArchive(1 << 20).readIndex();
+        assertEquals(Arrays.asList(URL + "A/AaaaAa00.htm", URL + "C/CcccCc00.htm"),
+                new ArrayList<>(locations.keySet()));
+        assertEquals(truncated.getOffset() + 5, locations.get(URL + "C/CcccCc00.htm")
+                .getOffset());
+        assertEquals("<html>first</html>",
+                read(locations.get(URL + "A/AaaaAa00.htm")).getContent());
+        assertEquals(content + "</html>",
+                read(locations.get(URL + "C/CcccCc00.htm")).getContent());
+        assertEquals(2, Files.readAllLines(indexFile, StandardCharsets.UTF_8).size());
+    }
+
+    private PageArchive newArchive(long segmentSize) {
+        PageArchive archive = new PageArchive();
+        ReflectionTestUtils.setField(archive, "archivePath", tempDir.toString());
+        ReflectionTestUtils.setField(archive, "segmentSize", segmentSize);
+
+        return archive;
+    }
+
+    private FetchedPage read(PageLocation location) throws IOException {
+        PageArchive archive = newArchive(1);
+
+        return archive.read(archive.map(location.getSegment()), location, null);
+    }
+
+    private List<String> listFiles() throws IOException {
+        List<String> names = new ArrayList<>();
+        try (Stream<Path> files = Files.list(tempDir)) {
+            files.forEach(file -> names.add(file.getFileName().toString()));
+        }
+        Collections.sort(names);
+
+        return names;
+    }
+
+    private static FetchedPage page(String path, String content, String etag) {
+        return new FetchedPage(URL + path, 200, content, (etag == null)
+                ? Collections.emptyMap() : Collections.singletonMap("ETag", etag), null);
+    }
+}
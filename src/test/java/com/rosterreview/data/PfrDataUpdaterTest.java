@@ -3,8 +3,6 @@ package com.rosterreview.data;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
-import java.io.IOException;
-
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -16,6 +14,7 @@ import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.context.transaction.TestTransaction;
 import org.springframework.test.context.web.AnnotationConfigWebContextLoader;
 import org.springframework.test.context.web.WebAppConfiguration;
 import org.springframework.transaction.annotation.Transactional;
@@ -43,10 +42,10 @@ public class PfrDataUpdaterTest {
     private ObjectMapper objectMapper;
 
     @Autowired
-    private PfrDataParsingService parsingService;
+    private PlayerService playerService;
 
     @Autowired
-    private PlayerService playerService;
+    private PlayerRefresher playerRefresher;
 
     private static final String PLAYER_TEST_DATA_DIR = "/playerdata/";
 
@@ -65,7 +64,7 @@ public class PfrDataUpdaterTest {
     }
 
     @Test
-    public void testParseAndrewLuckData() throws IOException {
+    public void testParseAndrewLuckData() throws Exception {
         String playerFileName = PLAYER_TEST_DATA_DIR + "aluck.json";
         String playerUrl = PFR_PLAYER_URL + "L/LuckAn00.htm";
         String playerId = "luckan01";
@@ -74,7 +73,7 @@ public class PfrDataUpdaterTest {
     }
 
     @Test
-    public void testParseBobAglerData() throws IOException {
+    public void testParseBobAglerData() throws Exception {
         String playerFileName = PLAYER_TEST_DATA_DIR + "bagler.json";
         String playerUrl = PFR_PLAYER_URL + "A/AgleBo20.htm";
         String playerId = "aglerro01";
@@ -83,7 +82,7 @@ public class PfrDataUpdaterTest {
     }
 
     @Test
-    public void testParseBrianUrlacherData() throws IOException {
+    public void testParseBrianUrlacherData() throws Exception {
         String playerFileName = PLAYER_TEST_DATA_DIR + "burlacher.json";
         String playerUrl = PFR_PLAYER_URL + "U/UrlaBr00.htm";
         String playerId = "urlachbr01";
@@ -92,7 +91,7 @@ public class PfrDataUpdaterTest {
     }
 
     @Test
-    public void testParseBrettFavreData() throws IOException {
+    public void testParseBrettFavreData() throws Exception {
         String playerFileName = PLAYER_TEST_DATA_DIR + "bfavre.json";
         String playerUrl = PFR_PLAYER_URL + "F/FavrBr00.htm";
         String playerId = "favrebr01";
@@ -101,7 +100,7 @@ public class PfrDataUpdaterTest {
     }
 
     @Test
-    public void testParseCharlesWoodsonData() throws IOException {
+    public void testParseCharlesWoodsonData() throws Exception {
         String playerFileName = PLAYER_TEST_DATA_DIR + "cwoodson.json";
         String playerUrl = PFR_PLAYER_URL + "W/WoodCh00.htm";
         String playerId = "woodsoch01";
@@ -110,7 +109,7 @@ public class PfrDataUpdaterTest {
     }
 
     @Test
-    public void testParseDanDierdorfData() throws IOException {
+    public void testParseDanDierdorfData() throws Exception {
         String playerFileName = PLAYER_TEST_DATA_DIR + "ddierdorf.json";
         String playerUrl = PFR_PLAYER_URL + "D/DierDa00.htm";
         String playerId = "dierdoda01";
@@ -119,7 +118,7 @@ public class PfrDataUpdaterTest {
     }
 
     @Test
-    public void testParseDomanickWilliamsData() throws IOException {
+    public void testParseDomanickWilliamsData() throws Exception {
         String playerFileName = PLAYER_TEST_DATA_DIR + "ddavis.json";
         String playerUrl = PFR_PLAYER_URL + "D/DaviDo01.htm";
         String playerId = "davisdo01";
@@ -128,7 +127,7 @@ public class PfrDataUpdaterTest {
     }
 
     @Test
-    public void testParseEricDickersonData() throws IOException {
+    public void testParseEricDickersonData() throws Exception {
         String playerFileName = PLAYER_TEST_DATA_DIR + "edickerson.json";
         String playerUrl = PFR_PLAYER_URL + "D/DickEr00.htm";
         String playerId = "dickerer01";
@@ -137,7 +136,7 @@ public class PfrDataUpdaterTest {
     }
 
     @Test
-    public void testParseFrankAbruzzinoData() throws IOException {
+    public void testParseFrankAbruzzinoData() throws Exception {
         String playerFileName = PLAYER_TEST_DATA_DIR + "fabruzzino.json";
         String playerUrl = PFR_PLAYER_URL + "A/AbruFr20.htm";
         String playerId = "abruzzfr01";
@@ -146,7 +145,7 @@ public class PfrDataUpdaterTest {
     }
 
     @Test
-    public void testParseSammieHillData() throws IOException {
+    public void testParseSammieHillData() throws Exception {
         String playerFileName = PLAYER_TEST_DATA_DIR + "shill.json";
         String playerUrl = PFR_PLAYER_URL + "H/HillSa99.htm";
         String playerId = "hillsa01";
@@ -155,7 +154,7 @@ public class PfrDataUpdaterTest {
     }
 
     @Test
-    public void testParseJamalWilliamsData() throws IOException {
+    public void testParseJamalWilliamsData() throws Exception {
         String playerFileName = PLAYER_TEST_DATA_DIR + "jwilliams.json";
         String playerUrl = PFR_PLAYER_URL + "W/WillJa99.htm";
         String playerId = "williaja01";
@@ -164,7 +163,7 @@ public class PfrDataUpdaterTest {
     }
 
     @Test
-    public void testParseJerryRiceData() throws IOException {
+    public void testParseJerryRiceData() throws Exception {
         String playerFileName = PLAYER_TEST_DATA_DIR + "jrice.json";
         String playerUrl = PFR_PLAYER_URL + "R/RiceJe00.htm";
         String playerId = "riceje01";
@@ -173,7 +172,7 @@ public class PfrDataUpdaterTest {
     }
 
     @Test
-    public void testParseJasonTaylorData() throws IOException {
+    public void testParseJasonTaylorData() throws Exception {
         String playerFileName = PLAYER_TEST_DATA_DIR + "jtaylor.json";
         String playerUrl = PFR_PLAYER_URL + "T/TaylJa03.htm";
         String playerId = "taylorja01";
@@ -182,7 +181,7 @@ public class PfrDataUpdaterTest {
     }
 
     @Test
-    public void testParseJuniorSeauData() throws IOException {
+    public void testParseJuniorSeauData() throws Exception {
         String playerFileName = PLAYER_TEST_DATA_DIR + "jseau.json";
         String playerUrl = PFR_PLAYER_URL + "S/SeauJu00.htm";
         String playerId = "seauti01";
@@ -191,7 +190,7 @@ public class PfrDataUpdaterTest {
     }
 
     @Test
-    public void testParseLarryAllenData() throws IOException {
+    public void testParseLarryAllenData() throws Exception {
         String playerFileName = PLAYER_TEST_DATA_DIR + "lallen.json";
         String playerUrl = PFR_PLAYER_URL + "A/AlleLa00.htm";
         String playerId = "allenla01";
@@ -200,7 +199,7 @@ public class PfrDataUpdaterTest {
     }
 
     @Test
-    public void testParseLaDainianTomlinsonData() throws IOException {
+    public void testParseLaDainianTomlinsonData() throws Exception {
         String playerFileName = PLAYER_TEST_DATA_DIR + "ltomlinson.json";
         String playerUrl = PFR_PLAYER_URL + "T/TomlLa00.htm";
         String playerId = "tomlinla01";
@@ -209,7 +208,7 @@ public class PfrDataUpdaterTest {
     }
 
     @Test
-    public void testParseMarkVanderPoelData() throws IOException {
+    public void testParseMarkVanderPoelData() throws Exception {
         String playerFileName = PLAYER_TEST_DATA_DIR + "mvanderpoel.json";
         String playerUrl = PFR_PLAYER_URL + "V/VandMa20.htm";
         String playerId = "vanderjo01";
@@ -218,7 +217,7 @@ public class PfrDataUpdaterTest {
     }
 
     @Test
-    public void testParsePJDanielsData() throws IOException {
+    public void testParsePJDanielsData() throws Exception {
         String playerFileName = PLAYER_TEST_DATA_DIR + "pdaniels.json";
         String playerUrl = PFR_PLAYER_URL + "D/DaniP.00.htm";
         String playerId = "danielp.01";
@@ -227,7 +226,7 @@ public class PfrDataUpdaterTest {
     }
 
     @Test
-    public void testParseSebastianJanikowskiData() throws IOException {
+    public void testParseSebastianJanikowskiData() throws Exception {
         String playerFileName = PLAYER_TEST_DATA_DIR + "sjanikowski.json";
         String playerUrl = PFR_PLAYER_URL + "J/janikseb01.htm";
         String playerId = "janikose01";
@@ -236,7 +235,7 @@ public class PfrDataUpdaterTest {
     }
 
     @Test
-    public void testParseShaneLechlerData() throws IOException {
+    public void testParseShaneLechlerData() throws Exception {
         String playerFileName = PLAYER_TEST_DATA_DIR + "slechler.json";
         String playerUrl = PFR_PLAYER_URL + "L/LechSh20.htm";
         String playerId = "lechleed01";
@@ -245,7 +244,7 @@ public class PfrDataUpdaterTest {
     }
 
     @Test
-    public void testParseTerrelDavisData() throws IOException {
+    public void testParseTerrelDavisData() throws Exception {
         String playerFileName = PLAYER_TEST_DATA_DIR + "tdavis.json";
         String playerUrl = PFR_PLAYER_URL + "D/DaviTe00.htm";
         String playerId = "daviste01";
@@ -254,7 +253,7 @@ public class PfrDataUpdaterTest {
     }
 
     @Test
-    public void testParseTonyGonzalezData() throws IOException {
+    public void testParseTonyGonzalezData() throws Exception {
         String playerFileName = PLAYER_TEST_DATA_DIR + "tgonzalez.json";
         String playerUrl = PFR_PLAYER_URL + "G/GonzTo00.htm";
         String playerId = "gonzalan01";
@@ -263,7 +262,7 @@ public class PfrDataUpdaterTest {
     }
 
     @Test
-    public void testParseWillieWoodData() throws IOException {
+    public void testParseWillieWoodData() throws Exception {
         String playerFileName = PLAYER_TEST_DATA_DIR + "wwood.json";
         String playerUrl = PFR_PLAYER_URL + "W/WoodWi00.htm";
         String playerId = "woodwi01";
@@ -272,7 +271,7 @@ public class PfrDataUpdaterTest {
     }
 
     @Test
-    public void testUpdateExistingPlayerData() throws IOException {
+    public void testUpdateExistingPlayerData() throws Exception {
         String playerFileName = PLAYER_TEST_DATA_DIR + "rmathews.json";
         String preUpdatePlayerFileName = PLAYER_TEST_DATA_DIR + "rmathews_pre-update.json";
         String playerUrl = PFR_PLAYER_URL + "M/MathRy00.htm";
@@ -289,11 +288,21 @@ public class PfrDataUpdaterTest {
     }
 
     private void validatePlayerInfo(String playerFileName, String playerUrl, String playerId)
-            throws IOException {
+            throws Exception {
 
         Resource resource = new ClassPathResource(playerFileName);
         Player refData = objectMapper.readValue(resource.getInputStream(), Player.class);
-        parsingService.parseAndPersistPlayerDataFromUrl(playerUrl);
+
+        /*
+         * The refresh saves the player in transactions of its own, so commit
+         * any data stored by the test first, and read the result in a new
+         * transaction.
+         */
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        playerRefresher.refresh(PfrDataParsingService.getPfrId(playerUrl)).get();
+        TestTransaction.start();
+
         Player player = playerService.getPlayer(playerId);
 
         // Validate Ids
@@ -0,0 +1,177 @@
+package com.rosterreview.data;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * An embedded HTTP server that stands in for the Pro Football Reference
+ * website during tests and benchmarks.
+ * <p>
+ * Pages are served from a directory or zip archive laid out by URL path, as
+ * read by a {@link ReplayPageFetcher}. Each response may be delayed by a fixed
+ * latency plus uniformly distributed jitter, and a fraction of requests may be
+ * answered with an injected error status instead of the page. Injected
+ * <code>429</code> and <code>503</code> responses carry a
+ * <code>Retry-After: 0</code> header. The random source is seeded, so a run is
+ * repeatable for a given request order.
+ * <p>
+ * Point the crawler at the server by setting the
+ * <code>player.data.pfr.url</code> property of the
+ * {@link com.rosterreview.service.PfrDataParsingService} to
+ * {@link #getBaseUrl()}.
+ */
+public class PfrStandInServer implements AutoCloseable {
+
+    private final HttpServer server;
+
+    private final ExecutorService executor;
+
+    private final ReplayPageFetcher pages;
+
+    private final long latencyMillis;
+
+    private final long jitterMillis;
+
+    private final double errorRate;
+
+    private final int errorStatus;
+
+    private final Random random;
+
+    private final AtomicLong requests = new AtomicLong();
+
+    private final AtomicLong injectedErrors = new AtomicLong();
+
+    static {
+        // Without TCP_NODELAY, small responses wait on delayed ACKs for ~40 ms
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    /**
+     * A public constructor for {@link PfrStandInServer}. The server is started
+     * on an ephemeral port of the loopback interface.
+     *
+     * @param source         the directory or zip archive the pages are served
+     *                       from
+     * @param latencyMillis  the minimum delay (ms) of each response
+     * @param jitterMillis   the maximum additional random delay (ms) of each
+     *                       response
+     * @param errorRate      the fraction of requests, between 0 and 1, answered
+     *                       with the error status
+     * @param errorStatus    the injected error status, e.g. <code>503</code>
+     * @param threads        the number of threads serving requests
+     * @param seed           the seed of the random source
+     * @throws IOException  if the source cannot be opened or the server cannot
+     *                      be started
+     */
+    public PfrStandInServer(Path source, long latencyMillis, long jitterMillis,
+            double errorRate, int errorStatus, int threads, long seed) throws IOException {
+        this.pages = new ReplayPageFetcher(source, null);
+        this.latencyMillis = latencyMillis;
+        this.jitterMillis = jitterMillis;
+        this.errorRate = errorRate;
+        this.errorStatus = errorStatus;
+        this.random = new Random(seed);
+
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.server = HttpServer.create(new InetSocketAddress(
+                InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.createContext("/", this::handle);
+        this.server.setExecutor(executor);
+        this.server.start();
+    }
+
+    /**
+     * @return  the base URL of the server, e.g. <code>http://127.0.0.1:54321</code>
+     */
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":"
+                + server.getAddress().getPort();
+    }
+
+    /**
+     * @return  the number of requests received
+     */
+    public long getRequests() {
+        return requests.get();
+    }
+
+    /**
+     * @return  the number of requests answered with an injected error
+     */
+    public long getInjectedErrors() {
+        return injectedErrors.get();
+    }
+
+    /**
+     * Stops the server.
+     *
+     * @throws IOException  if the page source cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        server.stop(0);
+        executor.shutdownNow();
+        pages.close();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+
+        long delayMillis;
+        boolean injectError;
+        synchronized (random) {
+            delayMillis = latencyMillis + (jitterMillis > 0
+                    ? (long) (random.nextDouble() * jitterMillis) : 0);
+            injectError = random.nextDouble() < errorRate;
+        }
+
+        try {
+            if (delayMillis > 0) {
+                Thread.sleep(delayMillis);
+            }
+
+            int status;
+            byte[] body;
+            if (injectError) {
+                injectedErrors.incrementAndGet();
+                status = errorStatus;
+                body = new byte[0];
+                if (status == 429 || status == 503) {
+                    exchange.getResponseHeaders().set("Retry-After", "0");
+                }
+            } else {
+                FetchedPage page = pages.fetch(exchange.getRequestURI().toString(),
+                        Collections.emptyMap());
+                status = page.getStatusCode();
+                body = page.getContent().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "text/html; charset=UTF-8");
+            }
+
+            exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+            if (body.length > 0) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+}
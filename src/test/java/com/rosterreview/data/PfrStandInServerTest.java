@@ -0,0 +1,50 @@
+package com.rosterreview.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * JUnit tests for the {@link PfrStandInServer}.
+ */
+public class PfrStandInServerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testServePages() throws Exception {
+        Files.createDirectories(tempDir.resolve("players/R"));
+        Files.writeString(tempDir.resolve("players/R/RodgAa00.htm"), "<html>player</html>");
+        PageFetcher fetcher = new HttpClientPageFetcher(null, Duration.ofSeconds(10));
+
+        try (PfrStandInServer server = new PfrStandInServer(tempDir, 0, 0, 0.0, 503, 2, 1L)) {
+            String baseUrl = server.getBaseUrl();
+            try (FetchedPage page = fetcher.fetch(baseUrl + "/players/R/RodgAa00.htm")) {
+                assertEquals(200, page.getStatusCode());
+                assertEquals("<html>player</html>", page.getContent());
+            }
+            try (FetchedPage page = fetcher.fetch(baseUrl + "/players/L/LoveJo00.htm")) {
+                assertEquals(404, page.getStatusCode());
+            }
+        }
+    }
+
+    @Test
+    public void testInjectErrors() throws Exception {
+        PageFetcher fetcher = new HttpClientPageFetcher(null, Duration.ofSeconds(10));
+
+        try (PfrStandInServer server = new PfrStandInServer(tempDir, 0, 0, 1.0, 503, 2, 1L)) {
+            try (FetchedPage page = fetcher.fetch(server.getBaseUrl() + "/players/R/")) {
+                assertEquals(503, page.getStatusCode());
+                assertEquals("0", page.getHeader("Retry-After"));
+            }
+            assertEquals(1, server.getInjectedErrors());
+        }
+    }
+}
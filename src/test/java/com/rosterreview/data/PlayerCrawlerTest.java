@@ -0,0 +1,183 @@
+package com.rosterreview.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.rosterreview.config.PageFetcherConfig;
+import com.rosterreview.dao.PlayerSeasonBatchWriter;
+import com.rosterreview.dao.PlayerSeasonBatchWriter.WriteCallback;
+import com.rosterreview.dao.StubDataSource;
+import com.rosterreview.entity.Player;
+import com.rosterreview.service.PfrDataParsingService;
+import com.rosterreview.service.PlayerService;
+import com.rosterreview.service.TeamService;
+
+/**
+ * JUnit tests for the {@link PlayerCrawler}.
+ */
+@Timeout(30)
+public class PlayerCrawlerTest {
+
+    private static final List<String> URLS = List.of(
+            "https://www.pro-football-reference.com/players/S/SmitJe00.htm",
+            "https://www.pro-football-reference.com/players/D/DoexJo00.htm");
+
+    private final MemoryCrawlFrontier frontier = new MemoryCrawlFrontier(URLS);
+
+    private final WebClientPool webClientPool = new WebClientPool(1,
+            PageFetcherConfig.HTTP_MODE);
+
+    private final AtomicInteger plans = new AtomicInteger();
+
+    private final PlayerCrawler crawler = newCrawler();
+
+    @AfterEach
+    public void tearDown() {
+        webClientPool.destroy();
+    }
+
+    @Test
+    public void testCrawlCompletesPlannedJob() {
+        assertTrue(crawler.crawl(this::plan));
+
+        assertEquals(1, plans.get());
+        assertEquals(new HashSet<>(URLS), new HashSet<>(frontier.getCompleted()));
+        assertNull(crawler.getCurrentJob());
+        assertFalse(crawler.getStatistics().isEmpty());
+    }
+
+    @Test
+    public void testCrawlWithoutJob() {
+        assertTrue(crawler.crawl(() -> null));
+
+        assertEquals(Collections.emptyList(), frontier.getCompleted());
+        assertTrue(crawler.getStatistics().isEmpty());
+    }
+
+    @Test
+    public void testCrawlWaitsForExclusiveTask() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+
+        CompletableFuture<Boolean> task = CompletableFuture.supplyAsync(
+                () -> crawler.runExclusively("reprocess", () -> {
+                    running.countDown();
+                    await(proceed);
+                }));
+        assertTrue(running.await(10, TimeUnit.SECONDS));
+
+        assertEquals("reprocess", crawler.getCurrentJob());
+        assertFalse(crawler.crawl(this::plan));
+        assertFalse(crawler.runExclusively("drafts", () -> plans.incrementAndGet()));
+        assertEquals(0, plans.get());
+
+        CompletableFuture<Boolean> crawl = CompletableFuture.supplyAsync(
+                () -> crawler.crawl(this::plan, TimeUnit.SECONDS.toMillis(10)));
+        proceed.countDown();
+
+        assertTrue(task.get());
+        assertTrue(crawl.get());
+        assertEquals(1, plans.get());
+        assertEquals(new HashSet<>(URLS), new HashSet<>(frontier.getCompleted()));
+    }
+
+    private String plan() {
+        plans.incrementAndGet();
+
+        return "update";
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Creates a crawler whose pages are retrieved from memory and whose
+     * statistics are written to a stub database.
+     */
+    private PlayerCrawler newCrawler() {
+        PfrDataParsingService parsingService = new PfrDataParsingService() {
+
+            @Override
+            public FetchedPage fetchPlayerPage(String playerUrl, Player player) {
+                return new FetchedPage(playerUrl, 200, "<html></html>",
+                        Collections.emptyMap(), null);
+            }
+
+            @Override
+            public Player parsePlayerPage(FetchedPage fetchedPage, Player knownPlayer) {
+                Player player = new Player(PfrDataParsingService.getPfrId(fetchedPage.getUrl()));
+                player.setStatistics(new ArrayList<>());
+
+                return player;
+            }
+        };
+
+        PlayerService playerService = new PlayerService() {
+
+            @Override
+            public Map<String, Player> getPlayerPageVersions() {
+                return Collections.emptyMap();
+            }
+
+            @Override
+            public Player getPlayerPageVersion(String pfrId) {
+                return null;
+            }
+
+            @Override
+            public void savePlayer(Player detached, PlayerSeasonBatchWriter writer,
+                    WriteCallback callback) {
+                writer.enqueueAfterCommit(detached.getId(), null, detached.getStatistics(),
+                        callback);
+            }
+        };
+
+        TeamService teamService = new TeamService() {
+
+            @Override
+            public void refreshTeamIndex() {
+                // Do nothing.
+            }
+        };
+
+        PlayerCrawler playerCrawler = new PlayerCrawler();
+        ReflectionTestUtils.setField(playerCrawler, "pfrDataParsingService", parsingService);
+        ReflectionTestUtils.setField(playerCrawler, "playerService", playerService);
+        ReflectionTestUtils.setField(playerCrawler, "teamService", teamService);
+        ReflectionTestUtils.setField(playerCrawler, "crawlFrontierService", frontier);
+        ReflectionTestUtils.setField(playerCrawler, "webClientPool", webClientPool);
+        ReflectionTestUtils.setField(playerCrawler, "pageFetcher",
+                new RateLimitedPageFetcher(null, 1, 1.0, 1.0, 1.0, 1, 0L));
+        ReflectionTestUtils.setField(playerCrawler, "playerSeasonBatchWriter",
+                new StubDataSource(statement -> false).newWriter());
+        ReflectionTestUtils.setField(playerCrawler, "threads", 1);
+        ReflectionTestUtils.setField(playerCrawler, "parseThreads", 1);
+        ReflectionTestUtils.setField(playerCrawler, "persistThreads", 1);
+        ReflectionTestUtils.setField(playerCrawler, "queueCapacity", 2);
+        ReflectionTestUtils.setField(playerCrawler, "checkpointBatchSize", 1);
+
+        return playerCrawler;
+    }
+}
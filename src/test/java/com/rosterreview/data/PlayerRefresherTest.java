@@ -0,0 +1,202 @@
+package com.rosterreview.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.rosterreview.dao.PlayerSeasonBatchWriter;
+import com.rosterreview.dao.PlayerSeasonBatchWriter.WriteCallback;
+import com.rosterreview.dao.StubDataSource;
+import com.rosterreview.entity.Player;
+import com.rosterreview.service.PfrDataParsingService;
+import com.rosterreview.service.PlayerService;
+import com.rosterreview.service.TeamService;
+
+/**
+ * JUnit tests for the {@link PlayerRefresher}.
+ */
+@Timeout(30)
+public class PlayerRefresherTest {
+
+    private final CountDownLatch fetching = new CountDownLatch(1);
+
+    private final CountDownLatch proceed = new CountDownLatch(1);
+
+    private final AtomicInteger fetches = new AtomicInteger();
+
+    private final List<String> savedPlayers = Collections.synchronizedList(new ArrayList<>());
+
+    private final List<Player> persistedPlayers = new ArrayList<>();
+
+    private PlayerRefresher refresher;
+
+    @AfterEach
+    public void tearDown() {
+        if (refresher != null) {
+            refresher.destroy();
+        }
+    }
+
+    @Test
+    public void testConcurrentRefreshesShareOneRefresh() throws Exception {
+        refresher = newRefresher(16, 300000L);
+
+        CompletableFuture<String> first = refresher.refresh("SmitJe00");
+        assertTrue(fetching.await(10, TimeUnit.SECONDS));
+        CompletableFuture<String> second = refresher.refresh("SmitJe00");
+        proceed.countDown();
+
+        assertSame(first, second);
+        assertEquals("smitje01", first.get());
+        assertEquals(1, fetches.get());
+        assertEquals(Collections.singletonList("smitje01"), savedPlayers);
+    }
+
+    @Test
+    public void testRefreshServedWithinTtl() throws Exception {
+        refresher = newRefresher(16, 300000L);
+        proceed.countDown();
+
+        assertEquals("smitje01", refresher.refresh("SmitJe00").get());
+        CompletableFuture<String> repeated = refresher.refresh("SmitJe00");
+
+        assertTrue(repeated.isDone());
+        assertEquals("smitje01", repeated.get());
+        assertEquals(1, fetches.get());
+    }
+
+    @Test
+    public void testRefreshRepeatedAfterTtl() throws Exception {
+        refresher = newRefresher(16, 0L);
+        proceed.countDown();
+
+        assertEquals("smitje01", refresher.refresh("SmitJe00").get());
+        assertEquals("smitje01", refresher.refresh("SmitJe00").get());
+
+        assertEquals(2, fetches.get());
+    }
+
+    @Test
+    public void testRefreshRejectedWhenQueueFull() throws Exception {
+        refresher = newRefresher(1, 300000L);
+
+        CompletableFuture<String> running = refresher.refresh("SmitJe00");
+        assertTrue(fetching.await(10, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = refresher.refresh("DoexJo00");
+        CompletableFuture<String> rejected = refresher.refresh("RoexRi00");
+
+        ExecutionException ex = assertThrows(ExecutionException.class, rejected::get);
+        assertTrue(ex.getCause() instanceof RejectedExecutionException);
+
+        proceed.countDown();
+        assertEquals("smitje01", running.get());
+        assertEquals("doexjo01", queued.get());
+    }
+
+    @Test
+    public void testRefreshRejectsInvalidPfrId() {
+        refresher = newRefresher(16, 300000L);
+
+        ExecutionException ex = assertThrows(ExecutionException.class,
+                () -> refresher.refresh("../index").get());
+        assertTrue(ex.getCause() instanceof IllegalArgumentException);
+        assertEquals(0, fetches.get());
+    }
+
+    @Test
+    public void testRefreshKeepsPlayerSavedByCrawl() throws Exception {
+        refresher = newRefresher(16, 300000L);
+        // The player is first saved by a crawl after its page was retrieved
+        persistedPlayers.add(null);
+        persistedPlayers.add(new Player("smitje02"));
+        proceed.countDown();
+
+        assertEquals("smitje02", refresher.refresh("SmitJe00").get());
+        assertEquals(Collections.emptyList(), savedPlayers);
+    }
+
+    /**
+     * Creates a refresher whose player pages are retrieved from memory once
+     * the <code>proceed</code> latch is released. A player's id is derived
+     * from the first six characters of its lowercased PFR id.
+     *
+     * @param queueCapacity  the number of refreshes that may wait
+     * @param ttlMillis      the lifetime (ms) of a refresh result
+     */
+    private PlayerRefresher newRefresher(int queueCapacity, long ttlMillis) {
+        PlayerRefresher playerRefresher = new PlayerRefresher(queueCapacity);
+
+        PfrDataParsingService parsingService = new PfrDataParsingService() {
+
+            @Override
+            public FetchedPage fetchPlayerPage(String playerUrl, Player player)
+                    throws InterruptedException {
+                fetches.incrementAndGet();
+                fetching.countDown();
+                proceed.await();
+                return new FetchedPage(playerUrl, 200, "<html></html>",
+                        Collections.emptyMap(), null);
+            }
+
+            @Override
+            public Player parsePlayerPage(FetchedPage fetchedPage, Player knownPlayer) {
+                String pfrId = PfrDataParsingService.getPfrId(fetchedPage.getUrl());
+                Player player = new Player(pfrId.substring(0, 6).toLowerCase() + "01");
+                player.setPfrId(pfrId);
+
+                return player;
+            }
+        };
+
+        PlayerService playerService = new PlayerService() {
+
+            @Override
+            public Player getPlayerPageVersion(String pfrId) {
+                synchronized (persistedPlayers) {
+                    return persistedPlayers.isEmpty() ? null : persistedPlayers.remove(0);
+                }
+            }
+
+            @Override
+            public void savePlayer(Player detached, PlayerSeasonBatchWriter writer,
+                    WriteCallback callback) {
+                savedPlayers.add(detached.getId());
+                writer.enqueueAfterCommit(detached.getId(), null, detached.getStatistics(),
+                        callback);
+            }
+        };
+
+        TeamService teamService = new TeamService() {
+
+            @Override
+            public void refreshTeamIndex() {
+                // Do nothing.
+            }
+        };
+
+        ReflectionTestUtils.setField(playerRefresher, "pfrDataParsingService", parsingService);
+        ReflectionTestUtils.setField(playerRefresher, "playerService", playerService);
+        ReflectionTestUtils.setField(playerRefresher, "teamService", teamService);
+        ReflectionTestUtils.setField(playerRefresher, "playerSeasonBatchWriter",
+                new StubDataSource(statement -> false).newWriter());
+        ReflectionTestUtils.setField(playerRefresher, "ttlMillis", ttlMillis);
+
+        return playerRefresher;
+    }
+}
@@ -0,0 +1,91 @@
+package com.rosterreview.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.rosterreview.data.PositionInferenceEngineTest.PlayerCareer;
+
+/**
+ * A benchmark of the {@link PositionInferenceEngine} against the original
+ * <code>EnumMap</code> based position inference, over randomly generated
+ * careers.
+ * <p>
+ * The benchmark only runs when the <code>benchmark</code> system property is
+ * <code>true</code>, e.g.
+ * <code>mvn test -Dtest=PositionInferenceBenchmarkTest -Dbenchmark=true</code>.
+ * Results are logged at the INFO level. It accepts the following system
+ * properties:
+ * <ul>
+ * <li>benchmark.players:     The number of careers generated (default
+ *                            10000).</li>
+ * <li>benchmark.iterations:  The number of measured passes over the careers,
+ *                            each preceded by a warm-up pass (default 5).</li>
+ * </ul>
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class PositionInferenceBenchmarkTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(
+            PositionInferenceBenchmarkTest.class);
+
+    @Test
+    public void benchmarkPositionInference() {
+        List<PlayerCareer> careers = PositionInferenceEngineTest.generateCareers(
+                new Random(42L), Integer.getInteger("benchmark.players", 10000));
+        int iterations = Integer.getInteger("benchmark.iterations", 5);
+        PositionInferenceEngine engine = new PositionInferenceEngine();
+
+        for (int i = 0; i < iterations; i++) {
+            List<PlayerCareer> legacyCareers = copy(careers);
+            List<PlayerCareer> engineCareers = copy(careers);
+
+            runLegacy(copy(careers));
+            long legacyNanos = runLegacy(legacyCareers);
+            runEngine(engine, copy(careers));
+            long engineNanos = runEngine(engine, engineCareers);
+
+            LOG.info("Iteration {}: legacy {} ns/player, engine {} ns/player ({}x).", i + 1,
+                    legacyNanos / careers.size(), engineNanos / careers.size(),
+                    String.format("%.2f", (double) legacyNanos / engineNanos));
+
+            for (int c = 0; c < careers.size(); c++) {
+                for (int s = 0; s < careers.get(c).statistics.size(); s++) {
+                    assertEquals(legacyCareers.get(c).statistics.get(s).getPosition(),
+                            engineCareers.get(c).statistics.get(s).getPosition());
+                }
+            }
+        }
+    }
+
+    private static long runLegacy(List<PlayerCareer> careers) {
+        long startNanos = System.nanoTime();
+        for (PlayerCareer career : careers) {
+            LegacyPositionInference.calculateSeasonPositions(career.seasonPositions,
+                    career.careerPositions, career.statistics);
+        }
+
+        return System.nanoTime() - startNanos;
+    }
+
+    private static long runEngine(PositionInferenceEngine engine, List<PlayerCareer> careers) {
+        long startNanos = System.nanoTime();
+        for (PlayerCareer career : careers) {
+            engine.assignSeasonPositions(career.seasonPositions, career.careerPositions,
+                    career.statistics);
+        }
+
+        return System.nanoTime() - startNanos;
+    }
+
+    private static List<PlayerCareer> copy(List<PlayerCareer> careers) {
+        return careers.stream().map(PlayerCareer::copy).collect(Collectors.toList());
+    }
+}
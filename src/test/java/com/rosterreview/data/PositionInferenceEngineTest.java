@@ -0,0 +1,155 @@
+package com.rosterreview.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.jupiter.api.Test;
+
+import com.rosterreview.entity.PlayerPosition;
+import com.rosterreview.entity.PlayerSeason;
+import com.rosterreview.entity.Position;
+
+/**
+ * JUnit tests for the {@link PositionInferenceEngine}.
+ */
+public class PositionInferenceEngineTest {
+
+    private final PositionInferenceEngine engine = new PositionInferenceEngine();
+
+    @Test
+    public void testSingleSeasonPosition() {
+        PlayerCareer career = new PlayerCareer("player");
+        career.addSeason(2019, 12, 500, 30, 0, Position.QB);
+        career.addSeason(2020, 12, 10, 2, 0, Position.QB, Position.KR);
+        career.careerPositions.add(new PlayerPosition("player", Position.QB));
+
+        engine.assignSeasonPositions(career.seasonPositions, career.careerPositions,
+                career.statistics);
+
+        assertEquals(Position.QB, career.statistics.get(0).getPosition());
+        assertEquals(Position.QB, career.statistics.get(1).getPosition());
+    }
+
+    @Test
+    public void testReturnerSeasonUsesCareerPositions() {
+        PlayerCareer career = new PlayerCareer("player");
+        career.addSeason(2019, 84, 0, 0, 40, Position.WR);
+        career.addSeason(2020, 84, 0, 0, 2, Position.KR);
+        career.careerPositions.add(new PlayerPosition("player", Position.WR));
+
+        engine.assignSeasonPositions(career.seasonPositions, career.careerPositions,
+                career.statistics);
+
+        assertEquals(Position.WR, career.statistics.get(1).getPosition());
+    }
+
+    @Test
+    public void testMatchesLegacyInference() {
+        for (PlayerCareer career : generateCareers(new Random(42L), 5000)) {
+            PlayerCareer legacyCareer = career.copy();
+
+            engine.assignSeasonPositions(career.seasonPositions, career.careerPositions,
+                    career.statistics);
+            LegacyPositionInference.calculateSeasonPositions(legacyCareer.seasonPositions,
+                    legacyCareer.careerPositions, legacyCareer.statistics);
+
+            for (int i = 0; i < career.statistics.size(); i++) {
+                assertEquals(legacyCareer.statistics.get(i).getPosition(),
+                        career.statistics.get(i).getPosition(), career.playerId + " season "
+                        + career.statistics.get(i).getSeason());
+            }
+        }
+    }
+
+    /**
+     * Generates random careers with a mix of clear, ambiguous and tied
+     * season positions.
+     *
+     * @param random   the random source
+     * @param players  the number of careers
+     * @return         the careers
+     */
+    static List<PlayerCareer> generateCareers(Random random, int players) {
+        Position[] positions = Position.values();
+        List<PlayerCareer> careers = new ArrayList<>();
+
+        for (int p = 0; p < players; p++) {
+            PlayerCareer career = new PlayerCareer("player" + p);
+            Position primary = positions[random.nextInt(positions.length)];
+            int seasons = 1 + random.nextInt(15);
+
+            for (int s = 0; s < seasons; s++) {
+                List<Position> seasonPositions = new ArrayList<>();
+                int listed = random.nextInt(4);
+                for (int i = 0; i < listed; i++) {
+                    seasonPositions.add(random.nextInt(3) == 0
+                            ? positions[random.nextInt(positions.length)] : primary);
+                }
+                int passAtt = random.nextInt(10) == 0 ? random.nextInt(600) : random.nextInt(5);
+                career.addSeason(1990 + s, 1 + random.nextInt(99), passAtt,
+                        random.nextInt(300), random.nextInt(100),
+                        seasonPositions.toArray(new Position[0]));
+            }
+
+            career.careerPositions.add(new PlayerPosition(career.playerId, primary));
+            if (random.nextBoolean()) {
+                career.careerPositions.add(new PlayerPosition(career.playerId,
+                        positions[random.nextInt(positions.length)]));
+            }
+            careers.add(career);
+        }
+
+        return careers;
+    }
+
+    /**
+     * The inputs of the position inference of a single player.
+     */
+    static final class PlayerCareer {
+
+        final String playerId;
+
+        final Map<Integer, List<Position>> seasonPositions = new HashMap<>();
+
+        final Set<PlayerPosition> careerPositions = new HashSet<>();
+
+        final List<PlayerSeason> statistics = new ArrayList<>();
+
+        PlayerCareer(String playerId) {
+            this.playerId = playerId;
+        }
+
+        void addSeason(int year, int jerseyNumber, int passAtt, int rushAtt, int receptions,
+                Position... positions) {
+            PlayerSeason season = new PlayerSeason();
+            season.setPlayerId(playerId);
+            season.setFranchiseId("gnb");
+            season.setSeason(year);
+            season.setSeasonType(PlayerSeason.SeasonType.REGULAR);
+            season.setJerseyNumber(jerseyNumber);
+            season.setPassAtt(passAtt);
+            season.setRushAtt(rushAtt);
+            season.setReceptions(receptions);
+            statistics.add(season);
+            seasonPositions.put(year, new ArrayList<>(Arrays.asList(positions)));
+        }
+
+        PlayerCareer copy() {
+            PlayerCareer copy = new PlayerCareer(playerId);
+            copy.seasonPositions.putAll(seasonPositions);
+            copy.careerPositions.addAll(careerPositions);
+            statistics.forEach(season -> copy.statistics.add(SerializationUtils.clone(season)));
+
+            return copy;
+        }
+    }
+}
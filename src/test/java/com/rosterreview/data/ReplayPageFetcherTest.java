@@ -0,0 +1,79 @@
+package com.rosterreview.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * JUnit tests for the {@link ReplayPageFetcher}.
+ */
+public class ReplayPageFetcherTest {
+
+    private static final String PLAYER_URL =
+            "https://www.pro-football-reference.com/players/R/RodgAa00.htm";
+
+    private static final String INDEX_URL = "https://www.pro-football-reference.com/players/R/";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testReplayFromDirectory() throws Exception {
+        Path root = tempDir.resolve("pages");
+        Files.createDirectories(root.resolve("players/R"));
+        Files.writeString(root.resolve("players/R/RodgAa00.htm"), "<html>player</html>");
+        Files.writeString(root.resolve("players/R/index.htm"), "<html>index</html>");
+
+        try (ReplayPageFetcher fetcher = new ReplayPageFetcher(root, null)) {
+            assertReplayed(fetcher);
+        }
+    }
+
+    @Test
+    public void testReplayFromArchive() throws Exception {
+        Path archive = tempDir.resolve("pages.zip");
+        try (OutputStream out = Files.newOutputStream(archive);
+                ZipOutputStream zip = new ZipOutputStream(out)) {
+            zip.putNextEntry(new ZipEntry("players/R/RodgAa00.htm"));
+            zip.write("<html>player</html>".getBytes(StandardCharsets.UTF_8));
+            zip.putNextEntry(new ZipEntry("players/R/index.htm"));
+            zip.write("<html>index</html>".getBytes(StandardCharsets.UTF_8));
+        }
+
+        try (ReplayPageFetcher fetcher = new ReplayPageFetcher(archive, null)) {
+            assertReplayed(fetcher);
+        }
+    }
+
+    @Test
+    public void testRelativePath() {
+        assertEquals("players/R/RodgAa00.htm", ReplayPageFetcher.getRelativePath(PLAYER_URL));
+        assertEquals("index.htm",
+                ReplayPageFetcher.getRelativePath("https://www.pro-football-reference.com"));
+        assertNull(ReplayPageFetcher.getRelativePath(
+                "https://www.pro-football-reference.com/players/../../etc/passwd"));
+    }
+
+    private void assertReplayed(ReplayPageFetcher fetcher) throws Exception {
+        try (FetchedPage page = fetcher.fetch(PLAYER_URL)) {
+            assertEquals(200, page.getStatusCode());
+            assertEquals("<html>player</html>", page.getContent());
+        }
+        try (FetchedPage page = fetcher.fetch(INDEX_URL)) {
+            assertEquals(200, page.getStatusCode());
+            assertEquals("<html>index</html>", page.getContent());
+        }
+        try (FetchedPage page = fetcher.fetch(PLAYER_URL.replace("RodgAa00", "LoveJo00"))) {
+            assertEquals(404, page.getStatusCode());
+        }
+    }
+}
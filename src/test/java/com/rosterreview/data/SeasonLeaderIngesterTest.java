@@ -0,0 +1,109 @@
+package com.rosterreview.data;
+
+import static com.rosterreview.service.PfrTestFixtures.PACKERS;
+import static com.rosterreview.service.PfrTestFixtures.page;
+import static com.rosterreview.service.PfrTestFixtures.playerRow;
+import static com.rosterreview.service.PfrTestFixtures.table;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.rosterreview.dao.PlayerSeasonBatchWriter;
+import com.rosterreview.entity.Player;
+import com.rosterreview.entity.PlayerSeason;
+import com.rosterreview.service.PfrDataParsingService;
+import com.rosterreview.service.PfrTestFixtures.StubTeamService;
+import com.rosterreview.service.PlayerService;
+import com.rosterreview.service.TeamService;
+
+/**
+ * JUnit tests for the {@link SeasonLeaderIngester}.
+ */
+public class SeasonLeaderIngesterTest {
+
+    private static final String PASSING_PAGE = page(table("passing",
+            "player team pos pass_yds",
+            playerRow("RodgAa00", "team=GNB", "pos=QB", "pass_yds=4,299"),
+            playerRow("LoveJo03", "team=GNB", "pos=QB", "pass_yds=0")));
+
+    private static final String RUSHING_PAGE = page(table("rushing",
+            "player team pos rush_yds",
+            playerRow("RodgAa00", "team=GNB", "pos=", "rush_yds=149"),
+            playerRow("DillAJ00", "team=2TM", "pos=RB", "rush_yds=242")));
+
+    private static final String RECEIVING_PAGE = page(table("receiving",
+            "player team pos rec_yds",
+            playerRow("JoneAa00", "team=GNB", "pos=RB", "rec_yds=355")));
+
+    @Test
+    public void testIngest() throws Exception {
+        PfrDataParsingService pfrDataParsingService = new PfrDataParsingService();
+        Map<String, String> pages = new HashMap<>();
+        pages.put(pfrDataParsingService.getSeasonLeaderUrl(2020, "passing"), PASSING_PAGE);
+        pages.put(pfrDataParsingService.getSeasonLeaderUrl(2020, "rushing"), RUSHING_PAGE);
+        pages.put(pfrDataParsingService.getSeasonLeaderUrl(2020, "receiving"), RECEIVING_PAGE);
+        List<String> fetchedUrls = new ArrayList<>();
+        List<PlayerSeason> writtenSeasons = new ArrayList<>();
+        SeasonLeaderIngester ingester = new SeasonLeaderIngester();
+
+        TeamService teamService = new StubTeamService(PACKERS);
+
+        ReflectionTestUtils.setField(pfrDataParsingService, "teamService", teamService);
+        ReflectionTestUtils.setField(ingester, "pfrDataParsingService", pfrDataParsingService);
+        ReflectionTestUtils.setField(ingester, "teamService", teamService);
+        ReflectionTestUtils.setField(ingester, "playerService", new PlayerService() {
+
+            @Override
+            public Map<String, Player> getPlayerPageVersions() {
+                Map<String, Player> knownPlayers = new HashMap<>();
+                for (String pfrId : Arrays.asList("RodgAa00", "DillAJ00", "JoneAa00")) {
+                    knownPlayers.put(pfrId, new Player("id-" + pfrId));
+                }
+                return knownPlayers;
+            }
+
+            @Override
+            public List<PlayerSeason> getSeasonStatistics(Integer season) {
+                return Collections.emptyList();
+            }
+        });
+        // The receiving page fails, so Jones' season is not updated
+        ReflectionTestUtils.setField(ingester, "pageFetcher", (PageFetcher) (url, headers) -> {
+            fetchedUrls.add(url);
+            return url.endsWith("/receiving.htm")
+                    ? new FetchedPage(url, 500, "", Collections.emptyMap(), null)
+                    : new FetchedPage(url, 200, pages.getOrDefault(url, "<html></html>"),
+                            Collections.emptyMap(), null);
+        });
+        ReflectionTestUtils.setField(ingester, "playerSeasonBatchWriter",
+                new PlayerSeasonBatchWriter() {
+
+            @Override
+            public void writeSeasons(List<PlayerSeason> seasons) {
+                writtenSeasons.addAll(seasons);
+            }
+        });
+
+        Set<String> playerUrls = ingester.ingest(2020);
+
+        assertEquals(SeasonLeaderIngester.CATEGORIES.size(), fetchedUrls.size());
+
+        assertEquals(1, writtenSeasons.size());
+        assertEquals("id-RodgAa00", writtenSeasons.get(0).getPlayerId());
+        assertEquals(4299, writtenSeasons.get(0).getPassYds());
+        assertEquals(149, writtenSeasons.get(0).getRushYds());
+
+        // Unknown and traded players are returned to be crawled individually
+        assertEquals(Arrays.asList(pfrDataParsingService.getPlayerUrl("LoveJo03"),
+                pfrDataParsingService.getPlayerUrl("DillAJ00")), new ArrayList<>(playerUrls));
+    }
+}
@@ -0,0 +1,85 @@
+package com.rosterreview.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.rosterreview.data.StatTableParser.StatTableHandler;
+import com.rosterreview.data.StatTableParser.StatTableRow;
+
+/**
+ * JUnit tests for the {@link StatTableParser}.
+ */
+public class StatTableParserTest {
+
+    private static final String PAGE = "<html><head>"
+            + "<script>if (a < b) { document.write('<table class=\"stats_table\">'); }</script>"
+            + "</head><body>"
+            + "<table class=\"stats_table per_match_toggle\" id=\"passing\">"
+            + "<thead><tr><th data-stat=\"header_pass\" colspan=\"4\">Passing</th></tr>"
+            + "<tr><th data-stat=\"year_id\">Year</th><th data-stat=\"age\">Age</th>"
+            + "<th data-stat=\"team\">Tm</th><th>Note</th></tr></thead>"
+            + "<tbody><tr><th data-stat=\"year_id\"><a href=\"/years/2010/\">2010</a>*+</th>"
+            + "<td data-stat=\"age\">23</td><td data-stat=\"team\" data-append-csv=\"GNB\">"
+            + "<a href=\"/teams/gnb/2010.htm\">GNB</a></td><td>A&amp;B&nbsp;&#67;</td></tr>"
+            + "<tr class=\"thead\"><th>Year</th><td>Age</td><td>Tm</td><td></td></tr>"
+            + "</tbody><tbody><tr><td>Career</td></tr></tbody>"
+            + "<tfoot><tr><td>Total</td></tr></tfoot></table>"
+            + "<table class=\"stats_table\" id=\"ignored\"><tbody><tr><td>x</td></tr>"
+            + "</tbody></table>"
+            + "<div id=\"all_defense\"><!--\n"
+            + "<table class=\"per_match_toggle stats_table\" id=\"defense\">"
+            + "<thead><tr><th data-stat=\"year_id\">Year</th></tr></thead>"
+            + "<tbody><tr><th>2011</th></tr></tbody></table>\n"
+            + "--></div></body></html>";
+
+    @Test
+    public void testParse() throws IOException {
+        List<String> tableIds = new ArrayList<>();
+        List<StatTableRow> rows = new ArrayList<>();
+
+        StatTableParser parser = new StatTableParser(
+                StatTableParser.hasClasses("per_match_toggle", "stats_table"));
+        parser.parse(new StringReader(PAGE), new StatTableHandler() {
+
+            @Override
+            public void startTable(String tableId, Map<String, String> attributes) {
+                tableIds.add(tableId);
+            }
+
+            @Override
+            public void row(StatTableRow row) {
+                rows.add(row);
+            }
+
+            @Override
+            public void endTable(String tableId) {
+                // Do nothing.
+            }
+        });
+
+        assertEquals(Arrays.asList("passing", "defense"), tableIds);
+        assertEquals(3, rows.size());
+
+        StatTableRow row = rows.get(0);
+        assertEquals("passing", row.getTableId());
+        assertEquals(Arrays.asList("year_id", "age", "team", ""), row.getHeader());
+        assertEquals(Arrays.asList("2010*+", "23", "GNB", "A&B\u00A0C"), row.getCells());
+        assertEquals("GNB", row.getCellAttribute(2, "data-append-csv"));
+        assertEquals("", row.getCellAttribute(1, "data-append-csv"));
+
+        assertEquals(Arrays.asList("Year", "Age", "Tm", ""), rows.get(1).getCells());
+
+        row = rows.get(2);
+        assertEquals("defense", row.getTableId());
+        assertEquals(Arrays.asList("year_id"), row.getHeader());
+        assertEquals(Arrays.asList("2011"), row.getCells());
+    }
+}
@@ -0,0 +1,95 @@
+package com.rosterreview.data;
+
+import static com.rosterreview.service.PfrTestFixtures.BEARS;
+import static com.rosterreview.service.PfrTestFixtures.PACKERS;
+import static com.rosterreview.service.PfrTestFixtures.page;
+import static com.rosterreview.service.PfrTestFixtures.playerRow;
+import static com.rosterreview.service.PfrTestFixtures.table;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.rosterreview.dao.PlayerSeasonBatchWriter;
+import com.rosterreview.entity.Player;
+import com.rosterreview.entity.PlayerSeason;
+import com.rosterreview.entity.Team;
+import com.rosterreview.service.PfrDataParsingService;
+import com.rosterreview.service.PfrTestFixtures.StubTeamService;
+import com.rosterreview.service.PlayerService;
+import com.rosterreview.service.TeamService;
+
+/**
+ * JUnit tests for the {@link TeamSeasonIngester}.
+ */
+public class TeamSeasonIngesterTest {
+
+    private static final Team UNLISTED = new Team("xxx", 2020, "NFL", "Nowhere", "Team",
+            "XXX", null, null);
+
+    private static final String PACKERS_PAGE = page(table("rushing_and_receiving",
+            "player pos rush_yds",
+            playerRow("JoneAa00", "pos=RB", "rush_yds=1,104"),
+            playerRow("DillAJ00", "pos=RB", "rush_yds=242")));
+
+    @Test
+    public void testIngest() throws Exception {
+        List<String> fetchedUrls = new ArrayList<>();
+        List<PlayerSeason> writtenSeasons = new ArrayList<>();
+        TeamSeasonIngester ingester = new TeamSeasonIngester();
+
+        TeamService teamService = new StubTeamService(UNLISTED, BEARS, PACKERS);
+
+        PfrDataParsingService pfrDataParsingService = new PfrDataParsingService();
+        ReflectionTestUtils.setField(pfrDataParsingService, "teamService", teamService);
+        ReflectionTestUtils.setField(ingester, "pfrDataParsingService", pfrDataParsingService);
+        ReflectionTestUtils.setField(ingester, "teamService", teamService);
+        ReflectionTestUtils.setField(ingester, "playerService", new PlayerService() {
+
+            @Override
+            public Map<String, Player> getPlayerPageVersions() {
+                return Collections.singletonMap("JoneAa00", new Player("id-JoneAa00"));
+            }
+
+            @Override
+            public List<PlayerSeason> getTeamSeasonStatistics(Team team) {
+                return Collections.emptyList();
+            }
+        });
+        ReflectionTestUtils.setField(ingester, "pageFetcher", (PageFetcher) (url, headers) -> {
+            fetchedUrls.add(url);
+            return url.equals(pfrDataParsingService.getTeamSeasonUrl(PACKERS))
+                    ? new FetchedPage(url, 200, PACKERS_PAGE, Collections.emptyMap(), null)
+                    : new FetchedPage(url, 404, "", Collections.emptyMap(), null);
+        });
+        ReflectionTestUtils.setField(ingester, "playerSeasonBatchWriter",
+                new PlayerSeasonBatchWriter() {
+
+            @Override
+            public void writeSeasons(List<PlayerSeason> seasons) {
+                writtenSeasons.addAll(seasons);
+            }
+        });
+
+        Set<String> playerUrls = ingester.ingest(2020);
+
+        // Teams without a PFR id are not fetched, and a failed team page is skipped
+        assertEquals(Arrays.asList(pfrDataParsingService.getTeamSeasonUrl(BEARS),
+                pfrDataParsingService.getTeamSeasonUrl(PACKERS)), fetchedUrls);
+
+        assertEquals(1, writtenSeasons.size());
+        assertEquals("id-JoneAa00", writtenSeasons.get(0).getPlayerId());
+        assertEquals(PACKERS, writtenSeasons.get(0).getTeam());
+        assertEquals(1104, writtenSeasons.get(0).getRushYds());
+
+        assertEquals(Collections.singleton(pfrDataParsingService.getPlayerUrl("DillAJ00")),
+                playerUrls);
+    }
+}
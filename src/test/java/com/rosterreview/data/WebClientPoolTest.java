@@ -0,0 +1,76 @@
+package com.rosterreview.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import com.gargoylesoftware.htmlunit.WebClient;
+import com.rosterreview.config.PageFetcherConfig;
+import com.rosterreview.data.WebClientPool.PooledWebClient;
+
+/**
+ * JUnit tests for the {@link WebClientPool}.
+ */
+@Timeout(30)
+public class WebClientPoolTest {
+
+    private final WebClientPool pool = new WebClientPool(1, PageFetcherConfig.HTTP_MODE);
+
+    @AfterEach
+    public void tearDown() {
+        pool.destroy();
+    }
+
+    @Test
+    public void testReturnedClientIsReused() throws Exception {
+        WebClient webClient;
+        try (PooledWebClient client = pool.borrow()) {
+            webClient = client.getWebClient();
+            assertFalse(webClient.getOptions().isJavaScriptEnabled());
+        }
+        try (PooledWebClient client = pool.borrow()) {
+            assertSame(webClient, client.getWebClient());
+        }
+
+        assertEquals(1, pool.getClientCount());
+        assertEquals(2, pool.getBorrowCount());
+        assertEquals(2.0, pool.getAverageBorrowsPerClient());
+    }
+
+    @Test
+    public void testBorrowWaitsForReturnedClient() throws Exception {
+        PooledWebClient first = pool.borrow();
+        CompletableFuture<PooledWebClient> second = CompletableFuture.supplyAsync(() -> {
+            try {
+                return pool.borrow();
+            } catch (InterruptedException ie) {
+                throw new CompletionException(ie);
+            }
+        });
+
+        Thread.sleep(100);
+        assertFalse(second.isDone());
+        first.close();
+
+        assertSame(first, second.get(10, TimeUnit.SECONDS));
+        assertEquals(1, pool.getClientCount());
+        assertTrue(pool.getMaxBorrowWaitMillis() > 0.0);
+    }
+
+    @Test
+    public void testDestroyClosesClients() throws Exception {
+        pool.borrow().close();
+        pool.destroy();
+
+        assertEquals(0, pool.getClientCount());
+    }
+}
@@ -0,0 +1,95 @@
+package com.rosterreview.entity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.persistence.Column;
+import javax.persistence.Id;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * JUnit tests for the {@link StatColumn} registry and the
+ * {@link PlayerSeasonSerializer}.
+ */
+public class StatColumnTest {
+
+    /**
+     * The non-key columns of {@link PlayerSeason} that are not statistics.
+     */
+    private static final List<String> DESCRIPTIVE_COLUMNS = Arrays.asList("age", "position",
+            "probowl", "all_pro");
+
+    @Test
+    public void testEveryStatisticIsRegistered() {
+        Set<String> registered = StatColumn.values().stream()
+                .map(StatColumn::getColumn).collect(Collectors.toSet());
+
+        for (Field field : PlayerSeason.class.getDeclaredFields()) {
+            Column column = field.getAnnotation(Column.class);
+            if (column != null && field.getAnnotation(Id.class) == null
+                    && !DESCRIPTIVE_COLUMNS.contains(column.name())) {
+                assertTrue(registered.contains(column.name()),
+                        "Column " + column.name() + " is not registered.");
+            }
+        }
+        assertEquals(registered.size(), StatColumn.values().size());
+    }
+
+    @Test
+    public void testParse() {
+        PlayerSeason playerSeason = new PlayerSeason();
+
+        assertSame(StatColumn.PASS_COMP, StatColumn.forDataStat("pass_cmp"));
+        assertSame(StatColumn.RUSH_TDS, StatColumn.forDataStat("rushtd"));
+        assertNull(StatColumn.forDataStat("pos"));
+
+        StatColumn.forDataStat("pass_cmp").parse(playerSeason, "312");
+        StatColumn.forDataStat("sacks").parse(playerSeason, "7.5");
+        StatColumn.forDataStat("uniform_number").parse(playerSeason, "");
+        assertEquals(312, playerSeason.getPassComp());
+        assertEquals(7.5, playerSeason.getSacks());
+        assertNull(playerSeason.getJerseyNumber());
+
+        StatColumn.forDataStat("pass_cmp").parse(playerSeason, "");
+        assertEquals(0, playerSeason.getPassComp());
+    }
+
+    @Test
+    public void testSerialize() throws Exception {
+        PlayerSeason playerSeason = new PlayerSeason();
+        playerSeason.setPlayerId("RodgAa00");
+        playerSeason.setFranchiseId("gnb");
+        playerSeason.setSeason(2020);
+        playerSeason.setSeasonType(PlayerSeason.SeasonType.REGULAR);
+        playerSeason.setPosition(Position.QB);
+        playerSeason.setProbowl(true);
+        playerSeason.setPassRating(121.5);
+        playerSeason.setPassTds(48);
+
+        JsonNode json = new ObjectMapper().valueToTree(playerSeason);
+
+        assertTrue(!json.has("playerId"));
+        assertEquals("gnb", json.get("franchiseId").asText());
+        assertEquals("REGULAR", json.get("seasonType").asText());
+        assertEquals("QB", json.get("position").asText());
+        assertTrue(json.get("team").isNull());
+        assertTrue(json.get("probowl").asBoolean());
+        assertTrue(json.get("allPro").isNull());
+        assertTrue(json.get("jerseyNumber").isNull());
+        assertEquals(121.5, json.get("passerRating").asDouble());
+        assertEquals(48, json.get("passTds").asInt());
+        assertEquals(StatColumn.values().size() + 8, json.size());
+    }
+}
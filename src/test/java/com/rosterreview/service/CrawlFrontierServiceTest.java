@@ -0,0 +1,188 @@
+package com.rosterreview.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.rosterreview.data.HttpStatusException;
+import com.rosterreview.entity.CrawlFrontierEntry;
+import com.rosterreview.entity.CrawlFrontierEntry.State;
+
+/**
+ * JUnit tests for the {@link CrawlFrontierService}, run against an in-memory
+ * crawl frontier.
+ */
+public class CrawlFrontierServiceTest {
+
+    private static final String URL = "https://www.pro-football-reference.com/players/";
+
+    private final InMemoryCrawlFrontierDao dao = new InMemoryCrawlFrontierDao();
+
+    private final CrawlFrontierService frontier = new CrawlFrontierService();
+
+    @Test
+    public void testClaimAndComplete() {
+        configure(4, 1000, 10000);
+        Map<String, Integer> urlPriorities = new LinkedHashMap<>();
+        urlPriorities.put(URL + "A/AaaaAa00.htm", 0);
+        urlPriorities.put(URL + "B/BbbbBb00.htm", 1);
+        urlPriorities.put(URL + "C/CcccCc00.htm", 0);
+        frontier.startUpdate(CrawlFrontierService.UPDATE_JOB, urlPriorities);
+        assertTrue(frontier.isUpdateInProgress());
+        assertEquals(CrawlFrontierService.UPDATE_JOB, frontier.getUnfinishedJob());
+
+        List<String> claimed = frontier.claim(2);
+        assertEquals(Arrays.asList(URL + "B/BbbbBb00.htm", URL + "A/AaaaAa00.htm"), claimed);
+        assertEquals(State.CLAIMED, dao.getEntry(claimed.get(0)).getState());
+        assertEquals(1, dao.getEntry(claimed.get(0)).getAttempts());
+
+        frontier.release(Collections.singletonList(URL + "A/AaaaAa00.htm"));
+        frontier.complete(URL + "B/BbbbBb00.htm");
+        assertEquals(Arrays.asList(URL + "A/AaaaAa00.htm", URL + "C/CcccCc00.htm"),
+                frontier.claim(10));
+        assertEquals(2, dao.getEntry(URL + "A/AaaaAa00.htm").getAttempts());
+        assertTrue(frontier.claim(10).isEmpty());
+
+        // An interrupted update resumes with its claimed pages pending
+        frontier.resumeUpdate();
+        assertEquals(2, frontier.getStateCounts().get(State.PENDING));
+        frontier.complete(frontier.claim(10));
+
+        assertFalse(frontier.isUpdateInProgress());
+        assertNull(frontier.getUnfinishedJob());
+        CrawlFrontierService.JobProgress progress =
+                frontier.getProgress(CrawlFrontierService.UPDATE_JOB);
+        assertEquals(3, progress.getTotal());
+        assertEquals(3, progress.getComplete());
+        assertEquals(100.0, progress.getPercentDone(), 1e-9);
+        assertNotNull(dao.getEntry(URL + "C/CcccCc00.htm").getLastSuccess());
+    }
+
+    @Test
+    public void testTransientFailuresAreRetried() {
+        configure(4, 1000, 10000);
+        for (Throwable ex : Arrays.asList(new HttpStatusException(URL, 408),
+                new HttpStatusException(URL, 429), new HttpStatusException(URL, 500),
+                new HttpStatusException(URL, 503), new SocketTimeoutException(),
+                new SQLTransientConnectionException(), new SQLRecoverableException(),
+                new QueryTimeoutException("timeout"), new CannotAcquireLockException("lock"),
+                new RecoverableDataAccessException("recoverable"),
+                new IllegalStateException(new IOException("wrapped")))) {
+            String url = claimOne(ex.toString());
+            frontier.fail(url, ex);
+
+            CrawlFrontierEntry entry = dao.getEntry(url);
+            assertEquals(State.PENDING, entry.getState(), ex.toString());
+            assertNotNull(entry.getNextAttempt(), ex.toString());
+            assertEquals(ex.getClass().getName(), entry.getErrorClass());
+        }
+    }
+
+    @Test
+    public void testPermanentFailuresAreNotRetried() {
+        configure(4, 1000, 10000);
+        for (Throwable ex : Arrays.asList(new HttpStatusException(URL, 403),
+                new HttpStatusException(URL, 404), new SQLException("bad row"),
+                new DataIntegrityViolationException("duplicate"),
+                new IllegalStateException("unknown team"),
+                new RuntimeException(new HttpStatusException(URL, 410)))) {
+            String url = claimOne(ex.toString());
+            frontier.fail(url, ex);
+
+            CrawlFrontierEntry entry = dao.getEntry(url);
+            assertEquals(State.FAILED, entry.getState(), ex.toString());
+            assertNull(entry.getNextAttempt(), ex.toString());
+            assertTrue(entry.getErrorSummary().startsWith(ex.toString()));
+        }
+    }
+
+    @Test
+    public void testRetryDelayBackoffAndCap() {
+        configure(10, 1000, 5000);
+        String url = claimOne("backoff");
+        IOException ex = new IOException("connection reset");
+
+        for (long expectedMillis : new long[] {1000, 2000, 4000, 5000, 5000}) {
+            LocalDateTime before = LocalDateTime.now();
+            frontier.fail(url, ex);
+            LocalDateTime after = LocalDateTime.now();
+
+            LocalDateTime nextAttempt = dao.getEntry(url).getNextAttempt();
+            assertFalse(nextAttempt.isBefore(before.plus(Duration.ofMillis(expectedMillis))));
+            assertFalse(nextAttempt.isAfter(after.plus(Duration.ofMillis(expectedMillis))));
+
+            // The page is not claimed again until its retry is due
+            assertTrue(frontier.claim(1).isEmpty());
+            makeDue(url);
+            assertEquals(Collections.singletonList(url), frontier.claim(1));
+        }
+    }
+
+    @Test
+    public void testExhaustedAttemptsAreDeadLettered() {
+        configure(3, 1000, 5000);
+        String url = claimOne("exhausted");
+        HttpStatusException ex = new HttpStatusException(url, 503);
+
+        frontier.fail(url, ex);
+        makeDue(url);
+        frontier.claim(1);
+        frontier.fail(url, ex);
+        makeDue(url);
+        frontier.claim(1);
+        assertEquals(3, dao.getEntry(url).getAttempts());
+        frontier.fail(url, ex);
+
+        List<CrawlFrontierEntry> failed = frontier.getFailedPages();
+        assertEquals(1, failed.size());
+        assertEquals(url, failed.get(0).getUrl());
+        assertEquals(HttpStatusException.class.getName(), failed.get(0).getErrorClass());
+        assertFalse(frontier.isUpdateInProgress());
+        assertTrue(frontier.claim(1).isEmpty());
+
+        // A failure of a page that is not in the frontier is ignored
+        frontier.fail(URL + "missing.htm", ex);
+        assertNull(dao.getEntry(URL + "missing.htm"));
+    }
+
+    private void configure(int maxAttempts, long retryDelayMillis, long maxRetryDelayMillis) {
+        ReflectionTestUtils.setField(frontier, "crawlFrontierDao", dao);
+        ReflectionTestUtils.setField(frontier, "maxAttempts", maxAttempts);
+        ReflectionTestUtils.setField(frontier, "retryDelayMillis", retryDelayMillis);
+        ReflectionTestUtils.setField(frontier, "maxRetryDelayMillis", maxRetryDelayMillis);
+    }
+
+    private String claimOne(String name) {
+        String url = URL + Integer.toHexString(name.hashCode()) + ".htm";
+        frontier.startUpdate(CrawlFrontierService.UPDATE_JOB, Collections.singletonMap(url, 0));
+        assertEquals(Collections.singletonList(url), frontier.claim(1));
+
+        return url;
+    }
+
+    private void makeDue(String url) {
+        dao.getEntry(url).setNextAttempt(LocalDateTime.now().minusSeconds(1));
+    }
+}
@@ -0,0 +1,206 @@
+package com.rosterreview.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.rosterreview.dao.CrawlFrontierDao;
+import com.rosterreview.entity.CrawlFrontierEntry;
+import com.rosterreview.entity.CrawlFrontierEntry.State;
+
+/**
+ * A {@link CrawlFrontierDao} that holds the crawl frontier in memory, for
+ * tests of the {@link CrawlFrontierService}. Entries are claimed in the same
+ * order as by the database query, with entries that have never succeeded
+ * first among entries of equal priority.
+ */
+class InMemoryCrawlFrontierDao extends CrawlFrontierDao {
+
+    private static final Comparator<CrawlFrontierEntry> CLAIM_ORDER = Comparator
+            .comparing(CrawlFrontierEntry::getPriority, Comparator.reverseOrder())
+            .thenComparing(CrawlFrontierEntry::getLastSuccess,
+                    Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(CrawlFrontierEntry::getUrl);
+
+    private final Map<String, CrawlFrontierEntry> entries = new TreeMap<>();
+
+    /**
+     * @param url  the URL of an entry
+     * @return     the entry, or <code>null</code> if it is not in the frontier
+     */
+    CrawlFrontierEntry getEntry(String url) {
+        return entries.get(url);
+    }
+
+    @Override
+    public void addPendingUrls(String job, Map<String, Integer> urlPriorities) {
+        for (Map.Entry<String, Integer> urlPriority : urlPriorities.entrySet()) {
+            CrawlFrontierEntry entry = entries.computeIfAbsent(urlPriority.getKey(),
+                    url -> new CrawlFrontierEntry(url, job));
+            entry.setJob(job);
+            entry.setPriority(urlPriority.getValue());
+            entry.setState(State.PENDING);
+            entry.setAttempts(0);
+            entry.setNextAttempt(null);
+            entry.setErrorClass(null);
+            entry.setErrorSummary(null);
+        }
+    }
+
+    @Override
+    public List<String> claimPendingUrls(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<CrawlFrontierEntry> due = new ArrayList<>();
+        for (CrawlFrontierEntry entry : entries.values()) {
+            if (entry.getState() == State.PENDING && (entry.getNextAttempt() == null
+                    || !entry.getNextAttempt().isAfter(now))) {
+                due.add(entry);
+            }
+        }
+        due.sort(CLAIM_ORDER);
+
+        List<String> urls = new ArrayList<>();
+        for (CrawlFrontierEntry entry : due.subList(0, Math.min(limit, due.size()))) {
+            entry.setState(State.CLAIMED);
+            entry.setAttempts(entry.getAttempts() + 1);
+            entry.setLastAttempt(now);
+            urls.add(entry.getUrl());
+        }
+
+        return urls;
+    }
+
+    @Override
+    public boolean updateState(String url, State state) {
+        if (state == State.COMPLETE) {
+            return completeEntries(List.of(url)) == 1;
+        }
+        CrawlFrontierEntry entry = entries.get(url);
+        if (entry != null) {
+            entry.setState(state);
+        }
+
+        return entry != null;
+    }
+
+    @Override
+    public int completeEntries(Collection<String> urls) {
+        int updated = 0;
+        for (String url : urls) {
+            CrawlFrontierEntry entry = entries.get(url);
+            if (entry != null) {
+                entry.setState(State.COMPLETE);
+                entry.setLastSuccess(LocalDateTime.now());
+                entry.setNextAttempt(null);
+                entry.setErrorClass(null);
+                entry.setErrorSummary(null);
+                updated++;
+            }
+        }
+
+        return updated;
+    }
+
+    @Override
+    public boolean recordFailure(String url, String errorClass, String errorSummary,
+            LocalDateTime nextAttempt) {
+        CrawlFrontierEntry entry = entries.get(url);
+        if (entry == null) {
+            return false;
+        }
+
+        entry.setState(nextAttempt == null ? State.FAILED : State.PENDING);
+        entry.setNextAttempt(nextAttempt);
+        entry.setErrorClass(errorClass);
+        entry.setErrorSummary(errorSummary);
+
+        return true;
+    }
+
+    @Override
+    public Integer getAttempts(String url) {
+        CrawlFrontierEntry entry = entries.get(url);
+
+        return entry == null ? null : entry.getAttempts();
+    }
+
+    @Override
+    public List<CrawlFrontierEntry> getEntries(State state) {
+        List<CrawlFrontierEntry> matching = new ArrayList<>();
+        for (CrawlFrontierEntry entry : entries.values()) {
+            if (entry.getState() == state) {
+                matching.add(entry);
+            }
+        }
+        matching.sort(Comparator.comparing(CrawlFrontierEntry::getLastAttempt,
+                Comparator.nullsLast(Comparator.reverseOrder())));
+
+        return matching;
+    }
+
+    @Override
+    public int updateStates(State from, State to) {
+        int updated = 0;
+        for (CrawlFrontierEntry entry : entries.values()) {
+            if (entry.getState() == from) {
+                entry.setState(to);
+                updated++;
+            }
+        }
+
+        return updated;
+    }
+
+    @Override
+    public int releaseClaims(Collection<String> urls) {
+        int updated = 0;
+        for (String url : urls) {
+            CrawlFrontierEntry entry = entries.get(url);
+            if (entry != null && entry.getState() == State.CLAIMED) {
+                entry.setState(State.PENDING);
+                updated++;
+            }
+        }
+
+        return updated;
+    }
+
+    @Override
+    public String getUnfinishedJob() {
+        for (CrawlFrontierEntry entry : entries.values()) {
+            if (entry.getState() == State.PENDING || entry.getState() == State.CLAIMED) {
+                return entry.getJob();
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public Map<State, Long> countEntriesByState(String job) {
+        Map<State, Long> counts = new EnumMap<>(State.class);
+        for (State state : State.values()) {
+            counts.put(state, 0L);
+        }
+        for (CrawlFrontierEntry entry : entries.values()) {
+            if (job == null || job.equals(entry.getJob())) {
+                counts.merge(entry.getState(), 1L, Long::sum);
+            }
+        }
+
+        return counts;
+    }
+
+    @Override
+    public long countCompletedSince(String job, LocalDateTime since) {
+        return entries.values().stream()
+                .filter(entry -> job.equals(entry.getJob()) && entry.getState() == State.COMPLETE
+                        && !entry.getLastSuccess().isBefore(since))
+                .count();
+    }
+}
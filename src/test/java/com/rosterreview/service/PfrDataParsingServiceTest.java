@@ -0,0 +1,295 @@
+package com.rosterreview.service;
+
+import static com.rosterreview.service.PfrTestFixtures.BEARS;
+import static com.rosterreview.service.PfrTestFixtures.PACKERS;
+import static com.rosterreview.service.PfrTestFixtures.page;
+import static com.rosterreview.service.PfrTestFixtures.playerRow;
+import static com.rosterreview.service.PfrTestFixtures.table;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.rosterreview.data.FetchedPage;
+import com.rosterreview.entity.DraftPick;
+import com.rosterreview.entity.Player;
+import com.rosterreview.entity.PlayerSeason;
+import com.rosterreview.entity.Position;
+import com.rosterreview.entity.Team;
+import com.rosterreview.service.PfrTestFixtures.StubTeamService;
+
+/**
+ * JUnit tests for the statistics table parsing of the
+ * {@link PfrDataParsingService}, over saved PFR pages.
+ */
+public class PfrDataParsingServiceTest {
+
+    private static final String TEAM_SEASON_PAGE = page(table("passing",
+            "player age pos g pass_cmp pass_yds",
+            "<tr><td data-stat=\"player\" data-append-csv=\"RodgAa00\">"
+                    + "<a href=\"/players/R/RodgAa00.htm\">Aaron Rodgers</a>*+</td>"
+                    + "<td data-stat=\"age\">37</td><td data-stat=\"pos\">QB</td>"
+                    + "<td data-stat=\"g\">16</td><td data-stat=\"pass_cmp\">372</td>"
+                    + "<td data-stat=\"pass_yds\">4,299</td></tr>",
+            "<tr><td data-stat=\"player\">Team Total</td>"
+                    + "<td data-stat=\"age\">27.1</td><td data-stat=\"pos\"></td>"
+                    + "<td data-stat=\"g\">16</td><td data-stat=\"pass_cmp\">372</td>"
+                    + "<td data-stat=\"pass_yds\">4,299</td></tr>"),
+            "<div id=\"all_rushing_and_receiving\"><!--\n",
+            table("rushing_and_receiving", "player age pos g rush_att rush_yds",
+            "<tr><td data-stat=\"player\" data-append-csv=\"JoneAa00\">"
+                    + "<a href=\"/players/J/JoneAa00.htm\">Aaron Jones</a>*</td>"
+                    + "<td data-stat=\"age\">26</td><td data-stat=\"pos\">RB</td>"
+                    + "<td data-stat=\"g\">14</td><td data-stat=\"rush_att\">201</td>"
+                    + "<td data-stat=\"rush_yds\">1,104</td></tr>",
+            "<tr><td data-stat=\"player\" data-append-csv=\"DillAJ00\">"
+                    + "<a href=\"/players/D/DillAJ00.htm\">AJ Dillon</a></td>"
+                    + "<td data-stat=\"age\">22</td><td data-stat=\"pos\"></td>"
+                    + "<td data-stat=\"g\">11</td><td data-stat=\"rush_att\">46</td>"
+                    + "<td data-stat=\"rush_yds\">242</td></tr>",
+            "<tr><td data-stat=\"player\" data-append-csv=\"LoveJo03\">"
+                    + "<a href=\"/players/L/LoveJo03.htm\">Jordan Love</a></td>"
+                    + "<td data-stat=\"age\">22</td><td data-stat=\"pos\">QB</td>"
+                    + "<td data-stat=\"g\">0</td><td data-stat=\"rush_att\">0</td>"
+                    + "<td data-stat=\"rush_yds\">0</td></tr>"),
+            "\n--></div>");
+
+    private static final String TEAM_COLUMN_PAGE = page(table("rushing",
+            "player team pos rush_yds",
+            playerRow("JoneAa00", "team=GNB", "pos=RB", "rush_yds=1,104"),
+            playerRow("MontDa01", "team= chi ", "pos=RB", "rush_yds=1,070"),
+            playerRow("DillAJ00", "team=2TM", "pos=RB", "rush_yds=242"),
+            playerRow("LoveJo03", "team=", "pos=RB", "rush_yds=0"),
+            playerRow("RodgAa00", "team=XYZ", "pos=RB", "rush_yds=149")));
+
+    private static final String PASSING_LEADERS_PAGE = page(table("passing",
+            "ranker player team age pos pass_yds",
+            leaderRow("RodgAa00", "GNB", "QB", "4,299"),
+            leaderRow("LoveJo03", "GNB", "QB", "0"),
+            "<tr class=\"thead\"><th>Rk</th><td>Player</td><td>Tm</td><td>Age</td>"
+                    + "<td>Pos</td><td>Yds</td></tr>",
+            leaderRow("MontDa01", "CHI", "", "0")));
+
+    private static final String RUSHING_LEADERS_PAGE = page(table("rushing",
+            "ranker player team age pos rush_yds",
+            leaderRow("JoneAa00", "GNB", "RB", "1,104"),
+            leaderRow("RodgAa00", "GNB", "", "149"),
+            leaderRow("DillAJ00", "2TM", "RB", "242")));
+
+    private static final String DRAFT_PAGE = page(table("drafts",
+            "draft_round draft_pick team player",
+            draftRow("1", "26", "GNB", "RodgAa00"),
+            draftRow("1", "30", "GNB", "LoveJo03"),
+            "<tr class=\"thead\"><th>Rnd</th><th>Pick</th><td>Tm</td><td>Player</td></tr>",
+            draftRow("2", "62", "XYZ", "JoneAa00"),
+            draftRow("", "", "CHI", "MontDa01"),
+            draftRow("5", "175", " chi ", "DillAJ00")),
+            table("supplemental", "draft_round draft_pick team player",
+            draftRow("3", "1", "CHI", "MontDa01")));
+
+    private PfrDataParsingService pfrDataParsingService;
+
+    private Map<String, Player> knownPlayers;
+
+    private List<String> teamLookups;
+
+    @BeforeEach
+    public void setUp() {
+        pfrDataParsingService = new PfrDataParsingService();
+        teamLookups = new ArrayList<>();
+        ReflectionTestUtils.setField(pfrDataParsingService, "teamService",
+                new StubTeamService(PACKERS, BEARS) {
+
+            @Override
+            public Team getTeamWithPfrAbbrev(String pfrTeamAbbrev, Integer season) {
+                teamLookups.add(pfrTeamAbbrev);
+                return super.getTeamWithPfrAbbrev(pfrTeamAbbrev, season);
+            }
+        });
+
+        knownPlayers = new HashMap<>();
+        for (String pfrId : Arrays.asList("RodgAa00", "JoneAa00", "DillAJ00", "MontDa01")) {
+            knownPlayers.put(pfrId, new Player("id-" + pfrId));
+        }
+    }
+
+    @Test
+    public void testGetPlayerUrl() {
+        assertEquals(PfrDataParsingService.DEFAULT_PFR_URL + "/players/D/DillAJ00.htm",
+                pfrDataParsingService.getPlayerUrl("DillAJ00"));
+
+        for (String pfrId : Arrays.asList("", "../x", "Rodg/a00", "rodgAa00", "RodgAa0")) {
+            assertFalse(PfrDataParsingService.isPfrId(pfrId), pfrId);
+            assertThrows(IllegalArgumentException.class,
+                    () -> pfrDataParsingService.getPlayerUrl(pfrId), pfrId);
+        }
+    }
+
+    @Test
+    public void testParseTeamSeasonPage() throws IOException {
+        PlayerSeason persisted = season("id-RodgAa00", "gnb");
+        persisted.setPosition(Position.QB);
+        persisted.setPassYds(100);
+        persisted.setRushYds(149);
+        Set<String> playerUrls = new LinkedHashSet<>();
+
+        List<PlayerSeason> seasons = pfrDataParsingService.parseTeamSeasonPage(
+                fetchedPage("/teams/gnb/2020.htm", TEAM_SEASON_PAGE), PACKERS, knownPlayers,
+                Collections.singletonList(persisted), playerUrls);
+
+        assertEquals(2, seasons.size());
+
+        // The persisted season is copied, and values the page omits are retained
+        PlayerSeason rodgers = seasons.get(0);
+        assertNotSame(persisted, rodgers);
+        assertEquals(persisted, rodgers);
+        assertEquals(PACKERS, rodgers.getTeam());
+        assertEquals(Position.QB, rodgers.getPosition());
+        assertEquals(37, rodgers.getAge());
+        assertEquals(16, rodgers.getGamesPlayed());
+        assertEquals(372, rodgers.getPassComp());
+        assertEquals(4299, rodgers.getPassYds());
+        assertEquals(149, rodgers.getRushYds());
+        assertTrue(rodgers.getProbowl());
+        assertTrue(rodgers.getAllPro());
+        assertEquals(100, persisted.getPassYds());
+        assertNull(persisted.getTeam());
+
+        // A new season takes its position from the page
+        PlayerSeason jones = seasons.get(1);
+        assertEquals(season("id-JoneAa00", "gnb"), jones);
+        assertEquals(Position.RB, jones.getPosition());
+        assertEquals(1104, jones.getRushYds());
+        assertTrue(jones.getProbowl());
+        assertFalse(jones.getAllPro());
+
+        // New seasons without a position, and unknown players, are crawled individually
+        assertEquals(new LinkedHashSet<>(Arrays.asList(
+                pfrDataParsingService.getPlayerUrl("LoveJo03"),
+                pfrDataParsingService.getPlayerUrl("DillAJ00"))), playerUrls);
+    }
+
+    @Test
+    public void testSeasonStatisticsTeamColumn() throws IOException {
+        Set<String> playerUrls = new LinkedHashSet<>();
+
+        List<PlayerSeason> seasons = pfrDataParsingService.parseSeasonLeaderPages(
+                Collections.singletonList(
+                        fetchedPage("/years/2020/rushing.htm", TEAM_COLUMN_PAGE)),
+                2020, knownPlayers, Collections.emptyList(), playerUrls);
+
+        assertEquals(2, seasons.size());
+        assertEquals("id-JoneAa00", seasons.get(0).getPlayerId());
+        assertEquals(PACKERS, seasons.get(0).getTeam());
+        assertEquals(1104, seasons.get(0).getRushYds());
+        assertEquals("id-MontDa01", seasons.get(1).getPlayerId());
+        assertEquals(BEARS, seasons.get(1).getTeam());
+
+        // Combined and blank teams are not looked up, and no team can be attributed
+        assertEquals(Arrays.asList("GNB", "chi", "XYZ"), teamLookups);
+        assertEquals(new HashSet<>(Arrays.asList(
+                pfrDataParsingService.getPlayerUrl("LoveJo03"),
+                pfrDataParsingService.getPlayerUrl("DillAJ00"),
+                pfrDataParsingService.getPlayerUrl("RodgAa00"))), playerUrls);
+    }
+
+    @Test
+    public void testParseSeasonLeaderPages() throws IOException {
+        Set<String> playerUrls = new LinkedHashSet<>();
+
+        List<PlayerSeason> seasons = pfrDataParsingService.parseSeasonLeaderPages(
+                Arrays.asList(fetchedPage("/years/2020/passing.htm", PASSING_LEADERS_PAGE),
+                        fetchedPage("/years/2020/rushing.htm", RUSHING_LEADERS_PAGE)),
+                2020, knownPlayers, Collections.emptyList(), playerUrls);
+
+        // A player listed on several pages is parsed into a single season
+        assertEquals(2, seasons.size());
+        PlayerSeason rodgers = seasons.get(0);
+        assertEquals(season("id-RodgAa00", "gnb"), rodgers);
+        assertEquals(Position.QB, rodgers.getPosition());
+        assertEquals(36, rodgers.getAge());
+        assertEquals(4299, rodgers.getPassYds());
+        assertEquals(149, rodgers.getRushYds());
+        assertEquals(season("id-JoneAa00", "gnb"), seasons.get(1));
+        assertEquals(1104, seasons.get(1).getRushYds());
+
+        // Unknown players, players without a position and traded players are crawled
+        assertEquals(new HashSet<>(Arrays.asList(
+                "https://www.pro-football-reference.com/players/L/LoveJo03.htm",
+                "https://www.pro-football-reference.com/players/M/MontDa01.htm",
+                "https://www.pro-football-reference.com/players/D/DillAJ00.htm")),
+                playerUrls);
+    }
+
+    @Test
+    public void testParseDraftPage() throws IOException {
+        List<DraftPick> draftPicks = pfrDataParsingService.parseDraftPage(
+                fetchedPage("/years/2020/draft.htm", DRAFT_PAGE), "NFL", 2020, knownPlayers);
+
+        // Unknown players, unknown teams, unnumbered picks and other tables are skipped
+        assertEquals(Arrays.asList(
+                new DraftPick("id-RodgAa00", "NFL", "gnb", 2020, 1, 26, false),
+                new DraftPick("id-DillAJ00", "NFL", "chi", 2020, 5, 175, false)),
+                draftPicks);
+        assertDraftPick(PACKERS, 1, 26, draftPicks.get(0));
+        assertDraftPick(BEARS, 5, 175, draftPicks.get(1));
+        assertEquals(Arrays.asList("GNB", "XYZ", "chi"), teamLookups);
+    }
+
+    private static void assertDraftPick(Team team, int round, int slot, DraftPick draftPick) {
+        assertEquals(team, draftPick.getTeam());
+        assertEquals(team.getFranchiseId(), draftPick.getFranchiseId());
+        assertEquals(round, draftPick.getRound());
+        assertEquals(slot, draftPick.getSlot());
+    }
+
+    private static PlayerSeason season(String playerId, String franchiseId) {
+        PlayerSeason playerSeason = new PlayerSeason();
+        playerSeason.setPlayerId(playerId);
+        playerSeason.setFranchiseId(franchiseId);
+        playerSeason.setSeason(2020);
+        playerSeason.setSeasonType(PlayerSeason.SeasonType.REGULAR);
+        return playerSeason;
+    }
+
+    private static String leaderRow(String pfrId, String team, String position,
+            String yards) {
+        return "<tr><th data-stat=\"ranker\">1</th>"
+                + "<td data-stat=\"player\" data-append-csv=\"" + pfrId + "\">"
+                + "<a href=\"/players/" + pfrId.charAt(0) + "/" + pfrId + ".htm\">" + pfrId
+                + "</a></td><td data-stat=\"team\"><a href=\"/teams/x/2020.htm\">" + team
+                + "</a></td><td data-stat=\"age\">36</td>"
+                + "<td data-stat=\"pos\">" + position + "</td>"
+                + "<td>" + yards + "</td></tr>";
+    }
+
+    private static String draftRow(String round, String pick, String team, String pfrId) {
+        return "<tr><th data-stat=\"draft_round\">" + round + "</th>"
+                + "<td data-stat=\"draft_pick\">" + pick + "</td>"
+                + "<td data-stat=\"team\">" + team + "</td>"
+                + "<td data-stat=\"player\" data-append-csv=\"" + pfrId + "\">" + pfrId
+                + "</td></tr>";
+    }
+
+    private FetchedPage fetchedPage(String path, String content) {
+        return new FetchedPage(pfrDataParsingService.getPfrUrl() + path, 200, content,
+                Collections.emptyMap(), null);
+    }
+}
@@ -0,0 +1,120 @@
+package com.rosterreview.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.rosterreview.entity.Team;
+
+/**
+ * Teams and PFR statistics table pages shared by the tests of the
+ * {@link PfrDataParsingService} and of the ingesters that use it.
+ */
+public final class PfrTestFixtures {
+
+    public static final Team PACKERS = new Team("gnb", 2020, "NFL", "Green Bay", "Packers",
+            "GB", "gnb", "GNB");
+
+    public static final Team BEARS = new Team("chi", 2020, "NFL", "Chicago", "Bears",
+            "CHI", "chi", "CHI");
+
+    private PfrTestFixtures() {}
+
+    /**
+     * @param content  the page's tables and other elements
+     * @return         a page holding the indicated content
+     */
+    public static String page(String... content) {
+        return "<html><body>" + String.join("", content) + "</body></html>";
+    }
+
+    /**
+     * Creates a statistics table whose header has a cell for each of the
+     * indicated <code>data-stat</code> attributes.
+     *
+     * @param id         the table's id
+     * @param dataStats  the <code>data-stat</code> attributes of the header
+     *                   cells, separated by spaces
+     * @param rows       the rows of the table's body
+     * @return           the table
+     */
+    public static String table(String id, String dataStats, String... rows) {
+        StringBuilder table = new StringBuilder("<table class=\"stats_table\" id=\"")
+                .append(id).append("\"><thead><tr>");
+        for (String dataStat : dataStats.split(" ")) {
+            table.append("<th data-stat=\"").append(dataStat).append("\">").append(dataStat)
+                    .append("</th>");
+        }
+        table.append("</tr></thead><tbody>");
+        for (String row : rows) {
+            table.append(row);
+        }
+
+        return table.append("</tbody></table>").toString();
+    }
+
+    /**
+     * Creates a table row of a player's statistics, whose first cell links to
+     * the player's profile page.
+     *
+     * @param pfrId  the player's PFR id
+     * @param cells  the row's remaining cells, each a <code>data-stat</code>
+     *               attribute and the cell's text separated by
+     *               <code>=</code>, e.g. <code>rush_yds=1,104</code>
+     * @return       the row
+     */
+    public static String playerRow(String pfrId, String... cells) {
+        StringBuilder row = new StringBuilder("<tr><td data-stat=\"player\" data-append-csv=\"")
+                .append(pfrId).append("\"><a href=\"/players/").append(pfrId.charAt(0))
+                .append("/").append(pfrId).append(".htm\">").append(pfrId).append("</a></td>");
+        for (String cell : cells) {
+            int separator = cell.indexOf('=');
+            row.append("<td data-stat=\"").append(cell, 0, separator).append("\">")
+                    .append(cell.substring(separator + 1)).append("</td>");
+        }
+
+        return row.append("</tr>").toString();
+    }
+
+    /**
+     * A {@link TeamService} whose team index holds only the indicated teams.
+     * Teams are found by their PFR abbreviation, ignoring case and
+     * surrounding whitespace.
+     */
+    public static class StubTeamService extends TeamService {
+
+        private final List<Team> teams;
+
+        /**
+         * A constructor for {@link StubTeamService}.
+         *
+         * @param teams  the indexed teams
+         */
+        public StubTeamService(Team... teams) {
+            this.teams = Arrays.asList(teams);
+        }
+
+        @Override
+        public void refreshTeamIndex() {
+            // Do nothing.
+        }
+
+        @Override
+        public List<Team> getTeams(Integer season) {
+            return teams.stream().filter(team -> team.getSeason().equals(season))
+                    .collect(Collectors.toList());
+        }
+
+        @Override
+        public Team getTeamWithPfrAbbrev(String pfrTeamAbbrev, Integer season) {
+            for (Team team : teams) {
+                if (pfrTeamAbbrev.trim().equalsIgnoreCase(team.getPfrAbbrev())
+                        && team.getSeason().equals(season)) {
+                    return team;
+                }
+            }
+
+            return null;
+        }
+    }
+}
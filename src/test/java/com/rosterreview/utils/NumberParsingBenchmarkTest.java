@@ -0,0 +1,152 @@
+package com.rosterreview.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A benchmark of the numeric parsing of {@link WebScrapingUtils} against the
+ * original {@link NumberFormatException} based parsing, over a mix of table
+ * cells like those of a PFR statistics table.
+ * <p>
+ * The benchmark only runs when the <code>benchmark</code> system property is
+ * <code>true</code>, e.g.
+ * <code>mvn test -Dtest=NumberParsingBenchmarkTest -Dbenchmark=true</code>.
+ * Results are logged at the INFO level. It accepts the following system
+ * properties:
+ * <ul>
+ * <li>benchmark.cells:       The number of cells generated (default
+ *                            1000000).</li>
+ * <li>benchmark.blank.rate:  The fraction of cells that are blank (default
+ *                            0.3).</li>
+ * <li>benchmark.iterations:  The number of measured passes over the cells,
+ *                            each preceded by a warm-up pass (default 5).</li>
+ * </ul>
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class NumberParsingBenchmarkTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NumberParsingBenchmarkTest.class);
+
+    @Test
+    public void benchmarkIntegerParsing() {
+        String[] cells = generateCells(false);
+
+        for (int i = 0; i < Integer.getInteger("benchmark.iterations", 5); i++) {
+            legacyIntegers(cells);
+            long legacyNanos = System.nanoTime();
+            long legacySum = legacyIntegers(cells);
+            legacyNanos = System.nanoTime() - legacyNanos;
+
+            integers(cells);
+            long nanos = System.nanoTime();
+            long sum = integers(cells);
+            nanos = System.nanoTime() - nanos;
+
+            log("Integer", i, cells.length, legacyNanos, nanos);
+            assertEquals(legacySum, sum);
+        }
+    }
+
+    @Test
+    public void benchmarkDoubleParsing() {
+        String[] cells = generateCells(true);
+
+        for (int i = 0; i < Integer.getInteger("benchmark.iterations", 5); i++) {
+            legacyDoubles(cells);
+            long legacyNanos = System.nanoTime();
+            double legacySum = legacyDoubles(cells);
+            legacyNanos = System.nanoTime() - legacyNanos;
+
+            doubles(cells);
+            long nanos = System.nanoTime();
+            double sum = doubles(cells);
+            nanos = System.nanoTime() - nanos;
+
+            log("Double", i, cells.length, legacyNanos, nanos);
+            assertEquals(legacySum, sum);
+        }
+    }
+
+    private static void log(String type, int iteration, int cells, long legacyNanos,
+            long nanos) {
+        LOG.info("{} iteration {}: exception based {} ns/cell, {} ns/cell ({}x).", type,
+                iteration + 1, String.format("%.1f", (double) legacyNanos / cells),
+                String.format("%.1f", (double) nanos / cells),
+                String.format("%.2f", (double) legacyNanos / nanos));
+    }
+
+    private static long legacyIntegers(String[] cells) {
+        long sum = 0;
+        for (String cell : cells) {
+            Integer value;
+            try {
+                value = Integer.valueOf(cell);
+            } catch (NumberFormatException e) {
+                value = 0;
+            }
+            sum += value;
+        }
+
+        return sum;
+    }
+
+    private static long integers(String[] cells) {
+        long sum = 0;
+        for (String cell : cells) {
+            sum += WebScrapingUtils.parseInt(cell, 0);
+        }
+
+        return sum;
+    }
+
+    private static double legacyDoubles(String[] cells) {
+        double sum = 0;
+        for (String cell : cells) {
+            Double value;
+            try {
+                value = Double.valueOf(cell);
+            } catch (NumberFormatException e) {
+                value = 0.0;
+            }
+            sum += value;
+        }
+
+        return sum;
+    }
+
+    private static double doubles(String[] cells) {
+        double sum = 0;
+        for (String cell : cells) {
+            sum += WebScrapingUtils.parseDouble(cell, 0.0);
+        }
+
+        return sum;
+    }
+
+    /**
+     * Generates blank cells and numbers in the formats both parsers accept.
+     */
+    private static String[] generateCells(boolean decimal) {
+        Random random = new Random(42L);
+        double blankRate = Double.parseDouble(System.getProperty("benchmark.blank.rate", "0.3"));
+        String[] cells = new String[Integer.getInteger("benchmark.cells", 1000000)];
+
+        for (int i = 0; i < cells.length; i++) {
+            if (random.nextDouble() < blankRate) {
+                cells[i] = "";
+            } else if (decimal) {
+                cells[i] = String.valueOf(random.nextInt(1500) / 10.0);
+            } else {
+                cells[i] = String.valueOf(random.nextInt(5000) - 50);
+            }
+        }
+
+        return cells;
+    }
+}
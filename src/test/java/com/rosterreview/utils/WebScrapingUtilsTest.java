@@ -0,0 +1,115 @@
+package com.rosterreview.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit tests for the numeric parsing and content hashing of
+ * {@link WebScrapingUtils}.
+ */
+public class WebScrapingUtilsTest {
+
+    private static final String PAGE = "<html>\n  <SCRIPT>var x = 1;</script>"
+            + "<style>p {}</STYLE>\n<p>Roster   Review</p> <scrip</html>";
+
+    private static final String PAGE_HASH =
+            "151ac9c73700dff58991d49e7f3e8eb0f6888742e66a1472e4a5683c1ed2485a";
+
+    @Test
+    public void testHashNormalizedContent() {
+        assertEquals(PAGE_HASH, WebScrapingUtils.hashNormalizedContent(PAGE));
+        assertEquals(WebScrapingUtils.hashNormalizedContent("<p>Roster Review</p>"),
+                WebScrapingUtils.hashNormalizedContent(
+                        " <p>Roster\n\tReview</p><script src='ad.js'></script>"));
+    }
+
+    @Test
+    public void testContentHasherChunked() {
+        char[] chars = PAGE.toCharArray();
+        for (int chunk = 1; chunk <= chars.length; chunk++) {
+            WebScrapingUtils.ContentHasher hasher = new WebScrapingUtils.ContentHasher();
+            for (int i = 0; i < chars.length; i += chunk) {
+                hasher.update(chars, i, Math.min(chunk, chars.length - i));
+            }
+            assertEquals(PAGE_HASH, hasher.digest(), "chunk size " + chunk);
+        }
+    }
+
+    @Test
+    public void testParseInt() {
+        assertEquals(1234, WebScrapingUtils.parseInt("1234", -1));
+        assertEquals(-12, WebScrapingUtils.parseInt("-12", -1));
+        assertEquals(7, WebScrapingUtils.parseInt("+7", -1));
+        assertEquals(1234, WebScrapingUtils.parseInt(" 1,234\u00A0", -1));
+        assertEquals(-1234567, WebScrapingUtils.parseInt("-1,234,567", -1));
+        assertEquals(45, WebScrapingUtils.parseInt("45%", -1));
+        assertEquals(Integer.MAX_VALUE, WebScrapingUtils.parseInt("2147483647", -1));
+        assertEquals(Integer.MIN_VALUE, WebScrapingUtils.parseInt("-2147483648", -1));
+    }
+
+    @Test
+    public void testParseIntNotANumber() {
+        for (String value : new String[] {null, "", "  ", "-", "+", "%", "1.5", "1,", ",1",
+                "1,,2", "1,2345", "12,34", "1234,567", "12a", "--1", "2147483648",
+                "-2147483649", "99999999999999999999"}) {
+            assertEquals(-1, WebScrapingUtils.parseInt(value, -1), value);
+        }
+        assertNull(WebScrapingUtils.parseIntegerWithDefault("", null));
+        assertEquals(0, WebScrapingUtils.parseIntegerWithDefault("-", 0));
+    }
+
+    @Test
+    public void testParseDouble() {
+        assertEquals(95.8, WebScrapingUtils.parseDouble("95.8", -1.0));
+        assertEquals(0.5, WebScrapingUtils.parseDouble(".500", -1.0));
+        assertEquals(5.0, WebScrapingUtils.parseDouble("5.", -1.0));
+        assertEquals(-3.25, WebScrapingUtils.parseDouble("-3.25", -1.0));
+        assertEquals(1234.5, WebScrapingUtils.parseDouble("1,234.5", -1.0));
+        assertEquals(62.5, WebScrapingUtils.parseDouble(" 62.5% ", -1.0));
+        assertEquals(-0.0, WebScrapingUtils.parseDouble("-0", -1.0));
+        assertEquals(0.1234567890123456789,
+                WebScrapingUtils.parseDouble("0.1234567890123456789", -1.0));
+    }
+
+    @Test
+    public void testParseDoubleNotANumber() {
+        for (String value : new String[] {null, "", "-", ".", "-.", "1.2.3", "1.2,3", "1e3",
+                "NaN", "Infinity", "0x1p3", "1,", "1,23.5"}) {
+            assertEquals(-1.0, WebScrapingUtils.parseDouble(value, -1.0), value);
+        }
+        assertNull(WebScrapingUtils.parseDoubleWithDefault(" ", null));
+    }
+
+    @Test
+    public void testParseDoubleMatchesDoubleParseDouble() {
+        Random random = new Random(42L);
+
+        for (int i = 0; i < 100000; i++) {
+            String value = randomDecimal(random);
+            assertEquals(Double.parseDouble(value), WebScrapingUtils.parseDouble(value, -1.0),
+                    value);
+        }
+    }
+
+    private static String randomDecimal(Random random) {
+        StringBuilder value = new StringBuilder();
+        if (random.nextInt(4) == 0) {
+            value.append('-');
+        }
+        int integerDigits = random.nextInt(8);
+        for (int i = 0; i < integerDigits; i++) {
+            value.append((char) ('0' + random.nextInt(10)));
+        }
+        value.append('.');
+        int fractionDigits = 1 + random.nextInt(random.nextInt(10) == 0 ? 25 : 4);
+        for (int i = 0; i < fractionDigits; i++) {
+            value.append((char) ('0' + random.nextInt(10)));
+        }
+
+        return value.toString();
+    }
+}